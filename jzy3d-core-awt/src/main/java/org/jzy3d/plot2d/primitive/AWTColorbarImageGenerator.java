@@ -2,9 +2,12 @@ package org.jzy3d.plot2d.primitive;
 
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
 
 import org.jzy3d.colors.AWTColor;
 import org.jzy3d.colors.Color;
+import org.jzy3d.colors.ColorLUT;
 import org.jzy3d.colors.ColorMapper;
 import org.jzy3d.colors.colormaps.IColorMap;
 import org.jzy3d.plot3d.primitives.axis.layout.providers.ITickProvider;
@@ -53,7 +56,7 @@ public class AWTColorbarImageGenerator extends AWTAbstractImageGenerator
 
     configureText(graphic);
     drawBackground(width, height, graphic);
-    drawBarColors(height, barWidth, graphic);
+    drawBarColors(image, height, barWidth, graphic);
     drawBarContour(height, barWidth, graphic);
     drawTextAnnotations(height, barWidth, graphic);
     return image;
@@ -77,6 +80,39 @@ public class AWTColorbarImageGenerator extends AWTAbstractImageGenerator
     }
   }
 
+  /**
+   * Fill the bar by writing the colors of a lookup table sampled once per row directly into the
+   * image raster, rather than drawing a line per row. Rows having a translucent color are drawn
+   * with the graphics to be blended with the background.
+   */
+  public void drawBarColors(BufferedImage image, int height, int barWidth, Graphics2D graphic) {
+    int first = textSize / 2;
+    int last = height - textSize / 2;
+    if (last < first)
+      return;
+    double vFirst = min + (max - min) * first / (height - textSize);
+    double vLast = min + (max - min) * last / (height - textSize);
+    ColorLUT lut = new ColorLUT(mapper, vFirst, vLast, last - first + 1);
+    int[] rows = lut.getRGBTable();
+
+    int width = image.getWidth();
+    int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    int xmax = Math.min(barWidth, width - 1);
+
+    for (int h = first; h <= last; h++) {
+      int y = height - h;
+      if (y < 0 || y >= image.getHeight())
+        continue;
+      int rgb = rows[h - first];
+      if ((rgb >>> 24) == 0xFF)
+        Arrays.fill(pixels, y * width, y * width + xmax + 1, rgb);
+      else {
+        graphic.setColor(new java.awt.Color(rgb, true));
+        graphic.drawLine(0, y, barWidth, y);
+      }
+    }
+  }
+
   public void drawTextAnnotations(int height, int barWidth, Graphics2D graphic) {
     if (provider != null) {
       double[] ticks = provider.generateTicks(min, max);
@@ -103,6 +139,18 @@ public class AWTColorbarImageGenerator extends AWTAbstractImageGenerator
     }
   }
 
+  public ColorMapper getColorMapper() {
+    return mapper;
+  }
+
+  public ITickProvider getTickProvider() {
+    return provider;
+  }
+
+  public ITickRenderer getTickRenderer() {
+    return renderer;
+  }
+
   /* */
 
   protected ColorMapper mapper;
@@ -2,15 +2,28 @@ package org.jzy3d.plot3d.rendering.legends;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.log4j.Logger;
 import org.jzy3d.chart.ChartView;
 import org.jzy3d.colors.Color;
 import org.jzy3d.events.DrawableChangedEvent;
 import org.jzy3d.events.IDrawableListener;
 import org.jzy3d.io.AWTImageFile;
 import org.jzy3d.maths.Dimension;
+import org.jzy3d.painters.IPainter;
 import org.jzy3d.plot2d.primitive.AWTImageGenerator;
 import org.jzy3d.plot3d.primitives.Drawable;
+import org.jzy3d.plot3d.rendering.canvas.ICanvas;
+import org.jzy3d.plot3d.rendering.canvas.IScreenCanvas;
+import org.jzy3d.plot3d.rendering.image.GLImage;
 import org.jzy3d.plot3d.rendering.view.AWTImageViewport;
 
 /**
@@ -31,9 +44,17 @@ import org.jzy3d.plot3d.rendering.view.AWTImageViewport;
  * Last, a {@link AWTLegend} optimizes rendering by :
  * <ul>
  * <li>storing current image dimension,
- * <li>computing a new image only if the required {@link AWTLegend} dimensions changed.
+ * <li>computing a new image only if the required {@link AWTLegend} dimensions changed,
+ * <li>computing images on a background thread when displayed by an {@link IScreenCanvas}, once
+ * requests stop arriving for {@link #getDebounceDelay()} milliseconds, e.g. while the window is
+ * resized, the previous image being rendered until the new one is ready,
+ * <li>keeping the latest images in a cache, if {@link #getImageKey(int, int)} identifies them.
  * </ul>
  * 
+ * The first image is computed synchronously, so that the legend appears at the first rendering.
+ * Legends of offscreen canvases, or having no canvas, are always computed synchronously so that
+ * rendered images and screenshots are deterministic.
+ * 
  * @author Martin Pernollet
  */
 public abstract class AWTLegend extends AWTImageViewport implements IDrawableListener, ILegend {
@@ -57,6 +78,15 @@ public abstract class AWTLegend extends AWTImageViewport implements IDrawableLis
 
   public abstract BufferedImage toImage(int width, int height);
 
+  /**
+   * Return a key identifying the image that {@link #toImage(int, int)} would return, e.g. made of
+   * the size, colormap and range of a colorbar, or null if images should not be cached, which is
+   * the default.
+   */
+  protected Object getImageKey(int width, int height) {
+    return null;
+  }
+
   /**
    * Defines viewport dimensions, and precompute an image if required (i.e. if the viewport
    * dimension have changed
@@ -67,8 +97,9 @@ public abstract class AWTLegend extends AWTImageViewport implements IDrawableLis
 
     int imgWidth = (int) (width * (right - left));
 
-    if (imageWidth != imgWidth || imageHeight != height)
-      setImage(toImage(imgWidth, height));
+    // compare to the requested size, as legends may draw images smaller than requested
+    if (requestedWidth != imgWidth || requestedHeight != height)
+      requestImage(imgWidth, height);
   }
 
   @Override
@@ -80,7 +111,114 @@ public abstract class AWTLegend extends AWTImageViewport implements IDrawableLis
 
   @Override
   public void updateImage() {
-    setImage(toImage(imageWidth, imageHeight));
+    if (requestedWidth > 0 || requestedHeight > 0)
+      requestImage(requestedWidth, requestedHeight);
+    else
+      requestImage(imageWidth, imageHeight);
+  }
+
+  /**
+   * Publish an image ready in the cache, or compute it now if there is no image yet or if the
+   * legend is not {@link #isAsyncRendering() asynchronous}, or else schedule its computation.
+   */
+  protected void requestImage(final int width, final int height) {
+    requestedWidth = width;
+    requestedHeight = height;
+
+    final Object key = getImageKey(width, height);
+    LegendImage cached = getCached(key);
+    final int request;
+    synchronized (this) {
+      request = ++requests;
+      if (pending != null) {
+        pending.cancel(false);
+        pending = null;
+      }
+      if (cached != null || !isAsyncRendering() || imageObj == null) {
+        ready = null;
+        if (cached == null)
+          cached = computeImage(key, width, height);
+        if (cached != null)
+          setImage(cached.image, cached.width, cached.height, cached.buffer);
+        return;
+      }
+      pending = getExecutor().schedule(new Runnable() {
+        @Override
+        public void run() {
+          computeImageAsync(request, key, width, height);
+        }
+      }, debounceDelay, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  protected void computeImageAsync(int request, Object key, int width, int height) {
+    if (request != requests)
+      return;
+    LegendImage image;
+    try {
+      image = computeImage(key, width, height);
+    } catch (RuntimeException e) {
+      LOGGER.error("Could not compute legend image", e);
+      return;
+    }
+    synchronized (this) {
+      if (request != requests || image == null)
+        return;
+      ready = image;
+    }
+    if (canvas != null)
+      canvas.forceRepaint();
+  }
+
+  /** Compute an image and its OpenGL buffer, and cache it if the key is not null. */
+  protected LegendImage computeImage(Object key, int width, int height) {
+    BufferedImage image = toImage(width, height);
+    if (image == null)
+      return null;
+    int w = image.getWidth(null);
+    int h = image.getHeight(null);
+    LegendImage legendImage =
+        new LegendImage(image, w, h, GLImage.getImageAsGlByteBuffer(image, w, h));
+    if (key != null) {
+      synchronized (cache) {
+        cache.put(key, legendImage);
+      }
+    }
+    return legendImage;
+  }
+
+  protected LegendImage getCached(Object key) {
+    if (key == null)
+      return null;
+    synchronized (cache) {
+      return cache.get(key);
+    }
+  }
+
+  public void clearImageCache() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  @Override
+  public void render(IPainter painter) {
+    publishReadyImage();
+    super.render(painter);
+  }
+
+  /**
+   * Replace the current image by the image computed in background, if any. Invoked before
+   * rendering, hence by the rendering thread.
+   */
+  public void publishReadyImage() {
+    LegendImage image;
+    synchronized (this) {
+      image = ready;
+      ready = null;
+    }
+    if (image != null)
+      setImage(image.image, image.width, image.height, image.buffer);
   }
 
   public void saveImage(String filename) throws IOException {
@@ -133,7 +271,105 @@ public abstract class AWTLegend extends AWTImageViewport implements IDrawableLis
     this.minimumDimension = minimumDimension;
   }
 
+  public boolean isAsync() {
+    return async;
+  }
+
+  /**
+   * If false, images are computed synchronously when requested. Default is true, which only
+   * applies to legends displayed by an {@link IScreenCanvas}.
+   */
+  public void setAsync(boolean async) {
+    this.async = async;
+  }
+
+  /** True if images are computed in background, i.e. if async and displayed on screen. */
+  public boolean isAsyncRendering() {
+    return async && canvas instanceof IScreenCanvas;
+  }
+
+  public long getDebounceDelay() {
+    return debounceDelay;
+  }
+
+  /**
+   * Delay in milliseconds without new request before computing an image in background. Default
+   * is {@link #DEFAULT_DEBOUNCE_DELAY}.
+   */
+  public void setDebounceDelay(long debounceDelay) {
+    this.debounceDelay = debounceDelay;
+  }
+
+  /** The canvas repainted once an image computed in background is ready. */
+  @Override
+  public void setCanvas(ICanvas canvas) {
+    this.canvas = canvas;
+  }
+
+  public ICanvas getCanvas() {
+    return canvas;
+  }
+
+  /* */
+
+  /** The single daemon thread computing the images of all legends. */
+  protected static synchronized ScheduledExecutorService getExecutor() {
+    if (executor == null) {
+      ScheduledThreadPoolExecutor e = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread t = new Thread(r, "jzy3d-legend");
+          t.setDaemon(true);
+          return t;
+        }
+      });
+      e.setRemoveOnCancelPolicy(true);
+      executor = e;
+    }
+    return executor;
+  }
+
+  /** An image and its OpenGL buffer. */
+  protected static class LegendImage {
+    public LegendImage(BufferedImage image, int width, int height, ByteBuffer buffer) {
+      this.image = image;
+      this.width = width;
+      this.height = height;
+      this.buffer = buffer;
+    }
+
+    final BufferedImage image;
+    final int width;
+    final int height;
+    final ByteBuffer buffer;
+  }
+
+  /* */
+
+  protected static Logger LOGGER = Logger.getLogger(AWTLegend.class);
+
+  public static final long DEFAULT_DEBOUNCE_DELAY = 50;
+  public static final int DEFAULT_CACHE_SIZE = 8;
+
+  protected static ScheduledExecutorService executor;
+
+  protected boolean async = true;
+  protected long debounceDelay = DEFAULT_DEBOUNCE_DELAY;
+  protected ICanvas canvas;
+  protected int requestedWidth;
+  protected int requestedHeight;
+  protected volatile int requests;
+  protected ScheduledFuture<?> pending;
+  protected LegendImage ready;
+  protected Map<Object, LegendImage> cache =
+      new LinkedHashMap<Object, LegendImage>(DEFAULT_CACHE_SIZE, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
 
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, LegendImage> eldest) {
+          return size() > DEFAULT_CACHE_SIZE;
+        }
+      };
 
   protected Drawable drawable;
   protected Color foreground;
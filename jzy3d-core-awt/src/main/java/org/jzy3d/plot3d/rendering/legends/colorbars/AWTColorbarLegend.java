@@ -1,9 +1,14 @@
 package org.jzy3d.plot3d.rendering.legends.colorbars;
 
+import java.awt.Font;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Objects;
 
 import org.jzy3d.chart.Chart;
+import org.jzy3d.colors.AWTColor;
 import org.jzy3d.colors.Color;
+import org.jzy3d.colors.ColorMapper;
 import org.jzy3d.colors.IMultiColorable;
 import org.jzy3d.maths.Dimension;
 import org.jzy3d.painters.IPainter;
@@ -74,6 +79,75 @@ public class AWTColorbarLegend extends AWTLegend implements IColorbarLegend {
     return null;
   }
 
+  /**
+   * Identify colorbar images by their size, colors, font, tick provider and renderer, and by the
+   * range and colors sampled from the color mapper, so that a colormap edited in place is not
+   * confused with its previous state. Tick providers and renderers are compared with their equals
+   * method, hence by identity unless they override it.
+   */
+  @Override
+  protected Object getImageKey(int width, int height) {
+    if (!(imageGenerator instanceof AWTColorbarImageGenerator))
+      return null;
+    AWTColorbarImageGenerator generator = (AWTColorbarImageGenerator) imageGenerator;
+    ColorMapper mapper = generator.getColorMapper();
+    double min = mapper.getMin();
+    double max = mapper.getMax();
+    int[] samples = new int[KEY_SAMPLES];
+    for (int i = 0; i < KEY_SAMPLES; i++)
+      samples[i] = AWTColor.toAWT(mapper.getColor(min + (max - min) * i / (KEY_SAMPLES - 1)))
+          .getRGB();
+    return new ImageKey(width, height, min, max, samples, foreground, background,
+        generator.getFont(), generator.getTickProvider(), generator.getTickRenderer());
+  }
+
+  protected static class ImageKey {
+    public ImageKey(int width, int height, double min, double max, int[] samples,
+        Color foreground, Color background, Font font, ITickProvider provider,
+        ITickRenderer renderer) {
+      this.width = width;
+      this.height = height;
+      this.min = min;
+      this.max = max;
+      this.samples = samples;
+      this.foreground = foreground;
+      this.background = background;
+      this.font = font;
+      this.provider = provider;
+      this.renderer = renderer;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(width, height, min, max, Arrays.hashCode(samples), foreground,
+          background, font, provider, renderer);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ImageKey))
+        return false;
+      ImageKey k = (ImageKey) obj;
+      return width == k.width && height == k.height && min == k.min && max == k.max
+          && Arrays.equals(samples, k.samples) && Objects.equals(foreground, k.foreground)
+          && Objects.equals(background, k.background) && Objects.equals(font, k.font)
+          && Objects.equals(provider, k.provider) && Objects.equals(renderer, k.renderer);
+    }
+
+    final int width;
+    final int height;
+    final double min;
+    final double max;
+    final int[] samples;
+    final Color foreground;
+    final Color background;
+    final Font font;
+    final ITickProvider provider;
+    final ITickRenderer renderer;
+  }
+
+  /** Number of colors sampled from the color mapper to identify images */
+  protected static final int KEY_SAMPLES = 16;
 
   protected ITickProvider provider;
   protected ITickRenderer renderer;
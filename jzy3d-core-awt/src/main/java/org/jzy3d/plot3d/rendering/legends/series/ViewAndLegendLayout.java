@@ -60,6 +60,7 @@ public class ViewAndLegendLayout implements IViewportLayout {
   protected void renderLegends(IPainter painter, float left, float right, List<ILegend> data,
       ICanvas canvas) {
     for (ILegend legend : data) {
+      legend.setCanvas(canvas);
       legend.setViewportMode(ViewportMode.STRETCH_TO_FILL);
       legend.setViewPort(canvas.getRendererWidth(), canvas.getRendererHeight(), left, right);
       legend.render(painter);
@@ -0,0 +1,134 @@
+package org.jzy3d.plot3d.rendering.legends;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.jzy3d.plot3d.rendering.canvas.IScreenCanvas;
+
+public class TestAWTLegend {
+  @Test
+  public void withoutScreenCanvasImagesAreComputedSynchronously() {
+    CountingLegend legend = new CountingLegend();
+    legend.setViewPort(100, 50, 0, 1);
+    legend.setViewPort(200, 50, 0, 1);
+
+    assertEquals(Arrays.asList(100, 200), legend.computed);
+    assertEquals(Arrays.asList(100, 200), legend.published);
+    assertEquals(200, legend.getImage().getWidth(null));
+  }
+
+  @Test
+  public void repeatedSizeHitsTheCache() {
+    CountingLegend legend = new CountingLegend();
+    legend.setViewPort(100, 50, 0, 1);
+    Image first = legend.getImage();
+    legend.setViewPort(200, 50, 0, 1);
+    legend.setViewPort(100, 50, 0, 1);
+
+    assertEquals(Arrays.asList(100, 200), legend.computed);
+    assertEquals(Arrays.asList(100, 200, 100), legend.published);
+    assertSame(first, legend.getImage());
+  }
+
+  @Test
+  public void supersededRequestIsDropped() throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    CountingLegend legend = new CountingLegend() {
+      @Override
+      public BufferedImage toImage(int width, int height) {
+        // hold the computation of the first background image until it is superseded
+        if (width == 200) {
+          started.countDown();
+          try {
+            release.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return super.toImage(width, height);
+      }
+    };
+    CountDownLatch repainted = new CountDownLatch(1);
+    legend.setCanvas(screenCanvas(repainted));
+    legend.setDebounceDelay(0);
+
+    // the first image is computed synchronously, the next ones in background
+    legend.setViewPort(100, 50, 0, 1);
+    legend.setViewPort(200, 50, 0, 1);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    legend.setViewPort(300, 50, 0, 1);
+    release.countDown();
+
+    assertTrue(repainted.await(10, TimeUnit.SECONDS));
+    legend.publishReadyImage();
+
+    assertEquals(Arrays.asList(100, 200, 300), legend.computed);
+    assertEquals(Arrays.asList(100, 300), legend.published);
+    assertNotNull(legend.getImage());
+    assertEquals(300, legend.getImage().getWidth(null));
+  }
+
+  /** A legend drawing empty images of the requested size, identified by their size. */
+  static class CountingLegend extends AWTLegend {
+    public CountingLegend() {
+      super(null);
+    }
+
+    @Override
+    public BufferedImage toImage(int width, int height) {
+      synchronized (computed) {
+        computed.add(width);
+      }
+      return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Override
+    protected Object getImageKey(int width, int height) {
+      return width + "x" + height;
+    }
+
+    @Override
+    public void setImage(Image image, int width, int height, ByteBuffer buffer) {
+      published.add(width);
+      super.setImage(image, width, height, buffer);
+    }
+
+    final List<Integer> computed = new ArrayList<Integer>();
+    final List<Integer> published = new ArrayList<Integer>();
+  }
+
+  /** A screen canvas counting down the latch when repainted. */
+  private static IScreenCanvas screenCanvas(final CountDownLatch repainted) {
+    InvocationHandler handler = new InvocationHandler() {
+      @Override
+      public Object invoke(Object proxy, Method method, Object[] args) {
+        if (method.getName().equals("forceRepaint"))
+          repainted.countDown();
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class)
+          return false;
+        if (type == int.class)
+          return 0;
+        return null;
+      }
+    };
+    return (IScreenCanvas) Proxy.newProxyInstance(IScreenCanvas.class.getClassLoader(),
+        new Class<?>[] {IScreenCanvas.class}, handler);
+  }
+}
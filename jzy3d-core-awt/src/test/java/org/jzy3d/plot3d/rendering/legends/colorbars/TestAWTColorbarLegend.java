@@ -0,0 +1,36 @@
+package org.jzy3d.plot3d.rendering.legends.colorbars;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.junit.Test;
+import org.jzy3d.colors.ColorMapper;
+import org.jzy3d.colors.colormaps.ColorMapRainbow;
+import org.jzy3d.plot3d.primitives.Shape;
+import org.jzy3d.plot3d.primitives.axis.layout.providers.SmartTickProvider;
+import org.jzy3d.plot3d.primitives.axis.layout.renderers.DefaultDecimalTickRenderer;
+
+public class TestAWTColorbarLegend {
+  @Test
+  public void imageKeyChangesWhenColormapIsEditedInPlace() {
+    ColorMapRainbow colormap = new ColorMapRainbow();
+    ColorMapper mapper = new ColorMapper(colormap, 0, 1);
+    Shape shape = new Shape();
+    shape.setColorMapper(mapper);
+    AWTColorbarLegend legend = new AWTColorbarLegend(shape, new SmartTickProvider(),
+        new DefaultDecimalTickRenderer());
+
+    Object key = legend.getImageKey(100, 200);
+    assertNotNull(key);
+    assertEquals(key, legend.getImageKey(100, 200));
+    assertNotEquals(key, legend.getImageKey(100, 300));
+
+    colormap.setDirection(false);
+    Object reversed = legend.getImageKey(100, 200);
+    assertNotEquals(key, reversed);
+
+    mapper.setMax(2);
+    assertNotEquals(reversed, legend.getImageKey(100, 200));
+  }
+}
@@ -8,11 +8,13 @@ import org.jzy3d.chart.controllers.thread.camera.CameraThreadController;
 import org.jzy3d.maths.BoundingBox3d;
 import org.jzy3d.maths.Coord3d;
 import org.jzy3d.maths.IBoundingPolicy;
+import org.jzy3d.plot2d.primitives.DecimatedLineSerie2d;
 import org.jzy3d.plot2d.primitives.LineSerie2d;
 import org.jzy3d.plot2d.primitives.LineSerie2dSplitted;
 import org.jzy3d.plot2d.primitives.ScatterPointSerie2d;
 import org.jzy3d.plot2d.primitives.ScatterSerie2d;
 import org.jzy3d.plot2d.primitives.Serie2d;
+import org.jzy3d.plot2d.primitives.StreamingSerie2d;
 import org.jzy3d.plot3d.primitives.axis.AxisBox;
 import org.jzy3d.plot3d.primitives.axis.IAxis;
 import org.jzy3d.plot3d.rendering.canvas.ICanvas;
@@ -126,6 +128,10 @@ public abstract class ChartFactory implements IChartFactory {
       return new ScatterSerie2d(name);
     else if (Serie2d.Type.SCATTER_POINTS.equals(type))
       return new ScatterPointSerie2d(name);
+    else if (Serie2d.Type.STREAMING.equals(type))
+      return new StreamingSerie2d(name);
+    else if (Serie2d.Type.LINE_DECIMATED.equals(type))
+      return new DecimatedLineSerie2d(name);
     else
       throw new IllegalArgumentException("Unsupported serie type " + type);
   }
@@ -0,0 +1,147 @@
+package org.jzy3d.colors;
+
+/**
+ * A lookup table of colors sampled from a {@link ColorMapper}, to color large amounts of values
+ * without calling the colormap and allocating a {@link Color} for each of them. Colors are available
+ * as RGBA float components for GL buffers and as packed ARGB integers for image rasters.
+ *
+ * Values are mapped to the nearest of the <code>size</code> evenly spaced samples of [min;max].
+ * Values out of the range are clamped, NaN values are mapped to {@link #getNaNColor()}.
+ */
+public class ColorLUT {
+  public static final int DEFAULT_SIZE = 1024;
+
+  public ColorLUT(ColorMapper mapper) {
+    this(mapper, mapper.getMin(), mapper.getMax(), DEFAULT_SIZE);
+  }
+
+  public ColorLUT(ColorMapper mapper, double min, double max, int size) {
+    this(min, max, size);
+    for (int i = 0; i < size; i++) {
+      double v = size > 1 ? min + (max - min) * i / (size - 1) : min;
+      Color c = mapper.getColor(v);
+      rgba[i * 4] = c.r;
+      rgba[i * 4 + 1] = c.g;
+      rgba[i * 4 + 2] = c.b;
+      rgba[i * 4 + 3] = c.a;
+      argb[i] = toARGB(c.r, c.g, c.b, c.a);
+    }
+  }
+
+  /** A table of packed ARGB colors evenly spaced on [min;max], which is kept. */
+  public ColorLUT(double min, double max, int[] argb) {
+    this(min, max, argb.length, argb);
+    for (int i = 0; i < size; i++) {
+      rgba[i * 4] = ((argb[i] >> 16) & 0xFF) / 255f;
+      rgba[i * 4 + 1] = ((argb[i] >> 8) & 0xFF) / 255f;
+      rgba[i * 4 + 2] = (argb[i] & 0xFF) / 255f;
+      rgba[i * 4 + 3] = (argb[i] >>> 24) / 255f;
+    }
+  }
+
+  private ColorLUT(double min, double max, int size) {
+    this(min, max, size, new int[size]);
+  }
+
+  private ColorLUT(double min, double max, int size, int[] argb) {
+    this.min = min;
+    this.max = max;
+    this.size = size;
+    this.scale = max > min ? (size - 1) / (max - min) : 0;
+    this.rgba = new float[size * 4];
+    this.argb = argb;
+  }
+
+  /** Index of the color of the value in the table, or -1 for NaN. */
+  public int index(double value) {
+    if (value != value) // NaN
+      return -1;
+    int i = (int) ((value - min) * scale + 0.5);
+    return i < 0 ? 0 : i >= size ? size - 1 : i;
+  }
+
+  /** Write the RGBA components of the color of the value at the given offset. */
+  public void getColor(double value, float[] out, int offset) {
+    int i = index(value);
+    if (i < 0) {
+      out[offset] = nan.r;
+      out[offset + 1] = nan.g;
+      out[offset + 2] = nan.b;
+      out[offset + 3] = nan.a;
+    } else {
+      System.arraycopy(rgba, i * 4, out, offset, 4);
+    }
+  }
+
+  /** Packed ARGB color of the value. */
+  public int getRGB(double value) {
+    int i = index(value);
+    return i < 0 ? nanARGB : argb[i];
+  }
+
+  /** Color all values into the given packed buffer, which may back a BufferedImage raster. */
+  public void getRGB(double[] values, int[] out) {
+    for (int i = 0; i < values.length; i++)
+      out[i] = getRGB(values[i]);
+  }
+
+  /** RGBA components of each color, not copied. */
+  public float[] getTable() {
+    return rgba;
+  }
+
+  /** Packed ARGB value of each color, not copied. */
+  public int[] getRGBTable() {
+    return argb;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public double getMin() {
+    return min;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  public Color getNaNColor() {
+    return nan;
+  }
+
+  public void setNaNColor(Color nan) {
+    this.nan = nan;
+    this.nanARGB = toARGB(nan.r, nan.g, nan.b, nan.a);
+  }
+
+  public int getNaNRGB() {
+    return nanARGB;
+  }
+
+  public void setNaNRGB(int nanARGB) {
+    this.nanARGB = nanARGB;
+    this.nan = new Color((nanARGB >> 16) & 0xFF, (nanARGB >> 8) & 0xFF, nanARGB & 0xFF,
+        nanARGB >>> 24);
+  }
+
+  /** Pack float components the way java.awt.Color does. */
+  public static int toARGB(float r, float g, float b, float a) {
+    return (component(a) << 24) | (component(r) << 16) | (component(g) << 8) | component(b);
+  }
+
+  private static int component(float value) {
+    int c = (int) (value * 255 + 0.5);
+    return c < 0 ? 0 : c > 255 ? 255 : c;
+  }
+
+  protected double min;
+  protected double max;
+  protected double scale;
+  protected int size;
+  protected float[] rgba;
+  protected int[] argb;
+  protected Color nan = new Color(0f, 0f, 0f, 0f);
+  protected int nanARGB = 0;
+}
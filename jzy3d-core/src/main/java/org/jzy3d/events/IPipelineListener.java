@@ -0,0 +1,6 @@
+package org.jzy3d.events;
+
+
+public interface IPipelineListener {
+  public void pipelineChanged(PipelineEvent e);
+}
@@ -0,0 +1,65 @@
+package org.jzy3d.events;
+
+import java.util.EventObject;
+
+import org.jzy3d.plot3d.primitives.Drawable;
+
+/**
+ * Notify the progress of an asynchronous pipeline task, the publication of a preview or final
+ * {@link Drawable}, or the termination of the task.
+ */
+public class PipelineEvent extends EventObject {
+  public static final int PROGRESS = 0;
+  public static final int PREVIEW = 1;
+  public static final int COMPLETED = 2;
+  public static final int CANCELLED = 3;
+  public static final int FAILED = 4;
+
+  public PipelineEvent(Object source, int what, String stage, float progress) {
+    this(source, what, stage, progress, null, null);
+  }
+
+  public PipelineEvent(Object source, int what, String stage, float progress, Drawable drawable,
+      Throwable error) {
+    super(source);
+    this.what = what;
+    this.stage = stage;
+    this.progress = progress;
+    this.drawable = drawable;
+    this.error = error;
+  }
+
+  public int what() {
+    return what;
+  }
+
+  /** The name of the stage emitting this event. */
+  public String getStage() {
+    return stage;
+  }
+
+  /** Progress of the stage, between 0 and 1. */
+  public float getProgress() {
+    return progress;
+  }
+
+  /** The drawable published to the graph, for {@link #PREVIEW} and {@link #COMPLETED} events. */
+  public Drawable getDrawable() {
+    return drawable;
+  }
+
+  /** The failure cause, for {@link #FAILED} events. */
+  public Throwable getError() {
+    return error;
+  }
+
+  /*************************************************************************/
+
+  private int what = -1;
+  private String stage;
+  private float progress;
+  private Drawable drawable;
+  private Throwable error;
+
+  private static final long serialVersionUID = -2256014392170624384L;
+}
@@ -0,0 +1,119 @@
+package org.jzy3d.maths;
+
+import java.util.Arrays;
+
+/**
+ * Maps values to the bins of a {@link Histogram}, defined by n+1 increasing edges. Bin i holds
+ * values in [edge(i);edge(i+1)[, except the last bin which also holds its upper edge.
+ *
+ * Bins of regular width are found arithmetically in O(1). Other bins, such as logarithmic bins or
+ * explicit edges, are found by a binary search of the edges.
+ */
+public class Binning {
+  /** n bins of equal width between min and max. */
+  public static Binning uniform(float min, float max, int bins) {
+    if (bins < 1)
+      throw new IllegalArgumentException("bins should be at least 1: " + bins);
+    if (!(max >= min))
+      throw new IllegalArgumentException("min " + min + " is greater than max " + max);
+    float[] edges = new float[bins + 1];
+    for (int i = 0; i < bins; i++)
+      edges[i] = (float) (min + (double) (max - min) * i / bins);
+    edges[bins] = max;
+    return new Binning(edges, true);
+  }
+
+  /** n bins which width grows geometrically between min and max, both strictly positive. */
+  public static Binning log(float min, float max, int bins) {
+    if (bins < 1)
+      throw new IllegalArgumentException("bins should be at least 1: " + bins);
+    if (!(min > 0) || !(max > min))
+      throw new IllegalArgumentException("log bins require 0 < min < max: " + min + ", " + max);
+    float[] edges = new float[bins + 1];
+    double ratio = Math.log(max / (double) min);
+    for (int i = 0; i < bins; i++)
+      edges[i] = (float) (min * Math.exp(ratio * i / bins));
+    edges[bins] = max;
+    return new Binning(edges, false);
+  }
+
+  /** Bins defined by explicit increasing edges. */
+  public static Binning edges(float... edges) {
+    if (edges.length < 2)
+      throw new IllegalArgumentException("at least two edges are required");
+    for (int i = 1; i < edges.length; i++)
+      if (!(edges[i] > edges[i - 1]))
+        throw new IllegalArgumentException("edges should be increasing: " + edges[i - 1] + ", "
+            + edges[i]);
+    return new Binning(edges.clone(), false);
+  }
+
+  protected Binning(float[] edges, boolean uniform) {
+    this.edges = edges;
+    this.uniform = uniform;
+    this.min = edges[0];
+    this.max = edges[edges.length - 1];
+    this.scale = max > min ? (edges.length - 1) / ((double) max - min) : 0;
+  }
+
+  /** Number of bins */
+  public int size() {
+    return edges.length - 1;
+  }
+
+  /** The bin holding value, or -1 if value is out of [min;max] or NaN. */
+  public int bin(double value) {
+    if (!(value >= min && value <= max))
+      return -1;
+    int last = edges.length - 2;
+
+    if (uniform) {
+      int i = (int) ((value - min) * scale);
+      if (i > last)
+        i = last;
+      // rounding of edges may shift the computed bin
+      while (i > 0 && value < edges[i])
+        i--;
+      while (i < last && value >= edges[i + 1])
+        i++;
+      return i;
+    } else {
+      int i = Arrays.binarySearch(edges, (float) value);
+      if (i < 0)
+        i = -i - 2; // insertion point - 1
+      else if (value < edges[i])
+        i--; // value was rounded up to the edge
+      return Math.min(i, last);
+    }
+  }
+
+  public float getMin() {
+    return min;
+  }
+
+  public float getMax() {
+    return max;
+  }
+
+  public float getEdge(int i) {
+    return edges[i];
+  }
+
+  public float[] getEdges() {
+    return edges.clone();
+  }
+
+  public Range getRange(int bin) {
+    return new Range(edges[bin], edges[bin + 1]);
+  }
+
+  public boolean isUniform() {
+    return uniform;
+  }
+
+  protected float[] edges;
+  protected boolean uniform;
+  protected float min;
+  protected float max;
+  protected double scale;
+}
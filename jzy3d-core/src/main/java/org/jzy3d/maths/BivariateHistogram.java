@@ -0,0 +1,105 @@
+package org.jzy3d.maths;
+
+import java.util.Arrays;
+
+/**
+ * Counts (x,y) samples in the cells of a grid, defined by a {@link Binning} of each axis. Counts
+ * are stored row by row in a single array, cell (i,j) standing at j * xBins + i.
+ *
+ * As with {@link Histogram}, bulk additions of large arrays are counted by parallel tasks into
+ * partial histograms merged at the end, and adding a sample out of the grid throws an
+ * {@link IllegalArgumentException}.
+ */
+public class BivariateHistogram {
+  public BivariateHistogram(float xmin, float xmax, int xbins, float ymin, float ymax, int ybins) {
+    this(Binning.uniform(xmin, xmax, xbins), Binning.uniform(ymin, ymax, ybins));
+  }
+
+  public BivariateHistogram(Binning x, Binning y) {
+    this.x = x;
+    this.y = y;
+    this.counts = new int[x.size() * y.size()];
+  }
+
+  public void add(float xv, float yv) {
+    counts[cell(xv, yv)]++;
+  }
+
+  /** Add samples (xs[k],ys[k]) */
+  public void add(final float[] xs, final float[] ys) {
+    checkLength(xs.length, ys.length);
+    Histogram.count(xs.length, counts, (from, to, partial) -> {
+      for (int k = from; k < to; k++)
+        partial[cell(xs[k], ys[k])]++;
+    });
+  }
+
+  /** Add samples (xs[k],ys[k]) */
+  public void add(final double[] xs, final double[] ys) {
+    checkLength(xs.length, ys.length);
+    Histogram.count(xs.length, counts, (from, to, partial) -> {
+      for (int k = from; k < to; k++)
+        partial[cell(xs[k], ys[k])]++;
+    });
+  }
+
+  /** Add the counts of a histogram having the same grid. */
+  public void add(BivariateHistogram other) {
+    if (other.counts.length != counts.length)
+      throw new IllegalArgumentException("histograms have a different number of cells");
+    for (int c = 0; c < counts.length; c++)
+      counts[c] += other.counts[c];
+  }
+
+  public void clear() {
+    Arrays.fill(counts, 0);
+  }
+
+  /* */
+
+  public Binning getXBinning() {
+    return x;
+  }
+
+  public Binning getYBinning() {
+    return y;
+  }
+
+  public int getCount(int xbin, int ybin) {
+    return counts[ybin * x.size() + xbin];
+  }
+
+  /** The counts of all cells, row by row, not copied. */
+  public int[] getCounts() {
+    return counts;
+  }
+
+  public int computeMaxCount() {
+    int max = Integer.MIN_VALUE;
+    for (int v : counts)
+      if (v > max)
+        max = v;
+    return max;
+  }
+
+  /* */
+
+  protected int cell(double xv, double yv) {
+    int i = x.bin(xv);
+    int j = y.bin(yv);
+    if (i < 0 || j < 0)
+      throw new IllegalArgumentException("sample (" + xv + "," + yv
+          + ") could not be added to any pre-configured cell. x range: [" + x.getMin() + ";"
+          + x.getMax() + "], y range: [" + y.getMin() + ";" + y.getMax() + "]");
+    return j * x.size() + i;
+  }
+
+  private static void checkLength(int xl, int yl) {
+    if (xl != yl)
+      throw new IllegalArgumentException("x and y have different lengths: " + xl + ", " + yl);
+  }
+
+  protected Binning x;
+  protected Binning y;
+  protected int[] counts;
+}
@@ -4,7 +4,8 @@ import java.util.Deque;
 import java.util.List;
 
 import org.jzy3d.maths.algorithms.convexhull.ConvexHullFunction;
-import org.jzy3d.maths.algorithms.convexhull.GrahamScan;
+import org.jzy3d.maths.algorithms.convexhull.MonotoneChain;
+import org.jzy3d.maths.algorithms.convexhull.QuickHull3d;
 
 public class ConvexHull {
   public static Polygon2d hull(List<Coord3d> cell) {
@@ -36,9 +37,28 @@ public class ConvexHull {
     return f.getConvexHull(data);
   }
 
+  /**
+   * Returns the indices of the points standing on the 2d hull of (x[i],y[i]) points, counter
+   * clockwise. Large inputs are processed in parallel.
+   * 
+   * @see MonotoneChain
+   */
+  public static int[] hull(float[] x, float[] y) {
+    return MonotoneChain.hull(x, y);
+  }
+
+  /**
+   * Returns the 3d hull of a point cloud, made of triangles that can be drawn as an envelope.
+   * 
+   * @see QuickHull3d
+   */
+  public static QuickHull3d hull(Coord3ds points) {
+    return new QuickHull3d(points);
+  }
+
   protected static Coord2d asPoint2f(Coord3d c) {
     return new Coord2d(c.x, c.y);
   }
 
-  protected static ConvexHullFunction f = new GrahamScan();// new JarvisMarch();
+  protected static ConvexHullFunction f = new MonotoneChain();// new GrahamScan();
 }
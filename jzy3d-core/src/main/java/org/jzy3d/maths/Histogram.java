@@ -1,16 +1,30 @@
 package org.jzy3d.maths;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Counts values in bins defined by a {@link Binning}, either of equal width or defined by
+ * logarithmic or explicit edges.
+ *
+ * Bulk additions of primitive arrays larger than {@link Parallel#THRESHOLD} are split
+ * in parallel tasks, each counting a part of the values in its own partial histogram, then merged.
+ * Adding a value out of the bins throws an {@link IllegalArgumentException}, in which case a bulk
+ * addition leaves the counts unchanged.
+ */
 public class Histogram {
+  protected Binning binning;
   protected Range[] ranges;
-  protected Map<Range, Integer> data;
+  protected int[] counts;
 
   public Histogram(float min, float max, int bins) {
-    initBins(min, max, bins);
+    this(Binning.uniform(min, max, bins));
+  }
+
+  public Histogram(Binning binning) {
+    initBins(binning);
   }
 
   public Histogram(List<Float> values, int bins) {
@@ -22,24 +36,22 @@ public class Histogram {
       if (v > max)
         max = v;
     }
-    initBins(min, max, bins);
+    initBins(Binning.uniform(min, max, bins));
     add(values);
   }
 
-  private void initBins(float min, float max, int bins) {
-    data = new HashMap<Range, Integer>(bins);
-    ranges = new Range[bins];
-
+  /** A histogram of equal width bins between the min and max of the values, holding the values. */
+  public Histogram(float[] values, int bins) {
+    initBins(Binning.uniform(Statistics.min(values), Statistics.max(values), bins));
+    add(values);
+  }
 
-    float step = (max - min) / bins;
-    float rmin = min;
-    for (int i = 0; i < bins - 1; i++) {
-      ranges[i] = new Range(rmin, rmin + step);
-      data.put(ranges[i], 0);
-      rmin = rmin + step;
-    }
-    ranges[bins - 1] = new Range(rmin, max);
-    data.put(ranges[bins - 1], 0);
+  private void initBins(Binning binning) {
+    this.binning = binning;
+    this.counts = new int[binning.size()];
+    this.ranges = new Range[binning.size()];
+    for (int i = 0; i < ranges.length; i++)
+      ranges[i] = binning.getRange(i);
   }
 
   public void add(List<Float> values) {
@@ -49,14 +61,82 @@ public class Histogram {
   }
 
   public void add(float value) {
-    for (Entry<Range, Integer> e : data.entrySet()) {
-      Range r = e.getKey();
-      if (r.isIn(value, true, true)) {
-        e.setValue(e.getValue() + 1);
-        return;
+    int bin = binning.bin(value);
+    if (bin < 0)
+      illegalValueException(value);
+    counts[bin]++;
+  }
+
+  public void add(float[] values) {
+    add(values.length, (from, to, partial) -> {
+      for (int i = from; i < to; i++) {
+        int bin = binning.bin(values[i]);
+        if (bin < 0)
+          illegalValueException(values[i]);
+        partial[bin]++;
+      }
+    });
+  }
+
+  public void add(double[] values) {
+    add(values.length, (from, to, partial) -> {
+      for (int i = from; i < to; i++) {
+        int bin = binning.bin(values[i]);
+        if (bin < 0)
+          illegalValueException((float) values[i]);
+        partial[bin]++;
       }
+    });
+  }
+
+  /** Count values[from,to[ into partial counts */
+  protected interface PartialCounter {
+    void count(int from, int to, int[] partial);
+  }
+
+  protected void add(int n, PartialCounter counter) {
+    count(n, counts, counter);
+  }
+
+  /**
+   * Count n values into counts, in parallel tasks if n is large. Each task counts a contiguous
+   * part of the values into its own partial counts, which are summed at the end. Counts are left
+   * unchanged if a value is out of the bins.
+   */
+  protected static void count(final int n, int[] counts, final PartialCounter counter) {
+    final int bins = counts.length;
+    if (n < Parallel.THRESHOLD) {
+      int[] partial = new int[bins];
+      counter.count(0, n, partial);
+      for (int b = 0; b < bins; b++)
+        counts[b] += partial[b];
+      return;
     }
-    illegalValueException(value);
+
+    int tasks = Math.min(4 * ForkJoinPool.getCommonPoolParallelism(), Parallel.chunks(n));
+    final int step = (n + tasks - 1) / tasks;
+    final int[][] partials = new int[tasks][];
+    IntStream.range(0, tasks).parallel().forEach(t -> {
+      partials[t] = new int[bins];
+      counter.count(t * step, Math.min(n, (t + 1) * step), partials[t]);
+    });
+
+    for (int[] partial : partials)
+      for (int b = 0; b < bins; b++)
+        counts[b] += partial[b];
+  }
+
+  /** Add the counts of a histogram having the same bins. */
+  public void add(Histogram other) {
+    if (other.counts.length != counts.length)
+      throw new IllegalArgumentException("histograms have a different number of bins");
+    for (int b = 0; b < counts.length; b++)
+      counts[b] += other.counts[b];
+  }
+
+  /** Reset all counts to 0 */
+  public void clear() {
+    Arrays.fill(counts, 0);
   }
 
   private void illegalValueException(float value) {
@@ -75,25 +155,46 @@ public class Histogram {
     return ranges;
   }
 
+  public Binning getBinning() {
+    return binning;
+  }
+
+  /** The bin holding value, or -1 if value is out of the bins. */
+  public int getBin(float value) {
+    return binning.bin(value);
+  }
+
   public int getCount(int bin) {
-    return data.get(ranges[bin]);
+    return counts[bin];
   }
 
   public void setCount(int bin, int value) {
-    data.put(ranges[bin], value);
+    counts[bin] = value;
+  }
+
+  /** The counts of all bins, not copied. */
+  public int[] getCounts() {
+    return counts;
+  }
+
+  /** Sum of all counts */
+  public long getTotal() {
+    long total = 0;
+    for (int count : counts)
+      total += count;
+    return total;
   }
 
   public void console() {
     for (int i = 0; i < ranges.length; i++) {
-      System.out.println(ranges[i] + " : " + data.get(ranges[0]));
+      System.out.println(ranges[i] + " : " + counts[i]);
     }
   }
 
 
   public int computeMaxCount() {
     int max = Integer.MIN_VALUE;
-    for (Entry<Range, Integer> e : data.entrySet()) {
-      int v = e.getValue();
+    for (int v : counts) {
       if (v > max)
         max = v;
     }
@@ -0,0 +1,216 @@
+package org.jzy3d.maths;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Formats numbers as {@link String#format(String, Object...)} does with patterns
+ * <code>%.{precision}f</code>, <code>%.{precision}e</code> and <code>%.{precision}g</code>, without
+ * parsing a pattern and building a {@link java.util.Formatter} for each number, which makes
+ * formatting many numbers, such as axis tick labels, much cheaper.
+ *
+ * Digits are computed with double and long arithmetic, which is exact up to 12 digits. Other
+ * modes, numbers requiring more digits and non finite values are formatted with
+ * {@link String#format(String, Object...)}.
+ */
+public class NumberFormatter {
+  public static final int MAX_PRECISION = 15;
+
+  /**
+   * Format a number as <code>String.format("%." + precision + mode, value)</code>.
+   *
+   * @param mode one of 'f', 'e' or 'g', other modes being delegated to String.format
+   */
+  public static String format(char mode, double value, int precision) {
+    if (precision >= 0 && precision <= MAX_PRECISION && !Double.isNaN(value)
+        && !Double.isInfinite(value)) {
+      char separator = separator();
+      if (separator != 0) {
+        StringBuilder sb = new StringBuilder(24);
+        boolean done = false;
+        if (mode == 'f')
+          done = fixed(sb, value, precision, separator);
+        else if (mode == 'e')
+          done = scientific(sb, value, precision, separator);
+        else if (mode == 'g')
+          done = general(sb, value, precision, separator);
+        if (done)
+          return sb.toString();
+      }
+    }
+    return String.format("%." + precision + mode, value);
+  }
+
+  /* */
+
+  protected static boolean fixed(StringBuilder sb, double value, int precision, char separator) {
+    long digits = round(Math.abs(value), precision);
+    if (digits < 0)
+      return false;
+    sign(sb, value);
+    digits(sb, digits, precision, separator);
+    return true;
+  }
+
+  protected static boolean scientific(StringBuilder sb, double value, int precision,
+      char separator) {
+    long[] digits = new long[2];
+    if (!significant(value, precision + 1, digits))
+      return false;
+    sign(sb, value);
+    digits(sb, digits[0], precision, separator);
+    exponent(sb, (int) digits[1]);
+    return true;
+  }
+
+  protected static boolean general(StringBuilder sb, double value, int precision,
+      char separator) {
+    if (precision == 0)
+      precision = 1;
+    if (value == 0) {
+      sign(sb, value);
+      digits(sb, 0, precision - 1, separator);
+      return true;
+    }
+    long[] digits = new long[2];
+    if (!significant(value, precision, digits))
+      return false;
+    int exponent = (int) digits[1];
+    sign(sb, value);
+    if (exponent >= -4 && exponent < precision)
+      digits(sb, digits[0], precision - 1 - exponent, separator);
+    else {
+      digits(sb, digits[0], precision - 1, separator);
+      exponent(sb, exponent);
+    }
+    return true;
+  }
+
+  /**
+   * Round a value to the given number of significant digits, giving the digits as a long and the
+   * decimal exponent of the first digit.
+   */
+  protected static boolean significant(double value, int count, long[] out) {
+    double abs = Math.abs(value);
+    if (count > MAX_DIGITS)
+      return false;
+    if (abs == 0) {
+      out[0] = 0;
+      out[1] = 0;
+      return true;
+    }
+    int exponent = (int) Math.floor(Math.log10(abs));
+    for (int attempt = 0; attempt < 2; attempt++) {
+      long digits = round(abs, count - 1 - exponent);
+      if (digits < 0)
+        return false;
+      else if (digits >= POW10[count])
+        exponent++;
+      else if (digits < POW10[count - 1])
+        exponent--;
+      else {
+        out[0] = digits;
+        out[1] = exponent;
+        return true;
+      }
+    }
+    // rounding to the next power of ten, e.g. 9.99 to 2 digits
+    long digits = round(abs, count - 1 - exponent);
+    if (digits == POW10[count]) {
+      out[0] = POW10[count - 1];
+      out[1] = exponent + 1;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Round value * 10^power half up, as String.format rounds the shortest decimal representation of
+   * the value: a value such as 1.005 which scaled value is slightly below the tie is rounded up,
+   * while 1.0049999999999999 is rounded down.
+   *
+   * @return the rounded value, or -1 if it can not be computed exactly.
+   */
+  protected static long round(double value, int power) {
+    if (power <= -POW10.length || power >= POW10.length)
+      return -1;
+    double scaled = power >= 0 ? value * POW10[power] : value / POW10[-power];
+    if (!(scaled < MAX_SCALED))
+      return -1;
+    long down = (long) Math.floor(scaled);
+    double fraction = scaled - down;
+    if (Math.abs(fraction - 0.5) > 4 * Math.ulp(scaled))
+      return fraction > 0.5 ? down + 1 : down;
+
+    // near a tie, compare to the double nearest to the tie, which division is exact
+    double half = down + 0.5;
+    double tie = power >= 0 ? half / POW10[power] : half * POW10[-power];
+    return value >= tie ? down + 1 : down;
+  }
+
+  protected static void sign(StringBuilder sb, double value) {
+    if (value < 0 || (value == 0 && 1 / value < 0))
+      sb.append('-');
+  }
+
+  /** Append digits as a decimal number with the given count of fraction digits. */
+  protected static void digits(StringBuilder sb, long digits, int fraction, char separator) {
+    long unit = POW10[fraction];
+    sb.append(digits / unit);
+    if (fraction > 0) {
+      sb.append(separator);
+      padded(sb, digits % unit, fraction);
+    }
+  }
+
+  protected static void exponent(StringBuilder sb, int exponent) {
+    sb.append('e').append(exponent < 0 ? '-' : '+');
+    padded(sb, Math.abs(exponent), 2);
+  }
+
+  protected static void padded(StringBuilder sb, long value, int width) {
+    for (long p = POW10[width - 1]; p > 1 && value < p; p /= 10)
+      sb.append('0');
+    sb.append(value);
+  }
+
+  /**
+   * The decimal separator String.format uses for the default locale, or 0 if that locale does not
+   * use ASCII digits.
+   */
+  protected static char separator() {
+    Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+    Symbols symbols = NumberFormatter.symbols;
+    if (symbols == null || symbols.locale != locale) {
+      DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(locale);
+      symbols = new Symbols(locale, dfs.getZeroDigit() == '0' ? dfs.getDecimalSeparator() : 0);
+      NumberFormatter.symbols = symbols;
+    }
+    return symbols.separator;
+  }
+
+  protected static class Symbols {
+    public Symbols(Locale locale, char separator) {
+      this.locale = locale;
+      this.separator = separator;
+    }
+
+    final Locale locale;
+    final char separator;
+  }
+
+  /* */
+
+  protected static final long[] POW10 = new long[MAX_PRECISION + 2];
+  static {
+    POW10[0] = 1;
+    for (int i = 1; i < POW10.length; i++)
+      POW10[i] = POW10[i - 1] * 10;
+  }
+
+  /** Number of digits above which rounding may differ from String.format */
+  protected static final int MAX_DIGITS = 12;
+  protected static final double MAX_SCALED = 1e12;
+
+  protected static volatile Symbols symbols;
+}
@@ -0,0 +1,39 @@
+package org.jzy3d.maths;
+
+import java.util.stream.IntStream;
+
+/**
+ * Split the processing of large arrays in chunks run on the common fork/join pool.
+ *
+ * Arrays smaller than {@link #THRESHOLD} are processed by the caller, as a single chunk.
+ */
+public class Parallel {
+  /** Number of values above which parallel variants split the work in tasks. */
+  public static final int THRESHOLD = 1 << 16;
+
+  /** Number of values processed by a single task of parallel variants. */
+  public static final int CHUNK = 1 << 14;
+
+  /** Number of tasks of {@link #CHUNK} values processing n values. */
+  public static int chunks(int n) {
+    return (n + CHUNK - 1) / CHUNK;
+  }
+
+  /** Process the values of indices [from,to[. */
+  public interface ChunkTask {
+    void run(int from, int to);
+  }
+
+  /**
+   * Run the task on [0,n[, in parallel chunks of {@link #CHUNK} values if n is at least
+   * {@link #THRESHOLD}.
+   */
+  public static void forEachChunk(final int n, final ChunkTask task) {
+    if (n < THRESHOLD) {
+      task.run(0, n);
+      return;
+    }
+    IntStream.range(0, chunks(n)).parallel()
+        .forEach(c -> task.run(c * CHUNK, Math.min(n, (c + 1) * CHUNK)));
+  }
+}
@@ -0,0 +1,290 @@
+package org.jzy3d.maths;
+
+/**
+ * A fixed capacity buffer of 2d samples, such as the (time, value) samples of a real time series,
+ * keeping the latest samples and forgetting the oldest ones, so that memory does not grow with the
+ * duration of the stream.
+ *
+ * Samples are stored in primitive arrays used as a ring. A sample is also forgotten once it is out
+ * of a sliding window, i.e. when its x value is older than the latest x value minus the window
+ * width. The x values are thus expected to be non decreasing, as time is.
+ *
+ * The min and max values of x and y over the kept samples are maintained incrementally with
+ * monotonic queues, so appending a sample and reading the bounds are O(1) (amortized).
+ *
+ * Producers appending samples are synchronized with each other. A renderer reads a consistent
+ * snapshot of the samples with {@link #copy(double[], double[])}, which holds the producers lock
+ * only for the time of the array copies. The bounds and counters are readable without locking.
+ *
+ * <pre>
+ * <code>
+ * RingBuffer2d buffer = new RingBuffer2d(65535, 10); // at most 65535 samples of the last 10s
+ * buffer.add(time, value);
+ * int n = buffer.copy(xs, ys);
+ * </code>
+ * </pre>
+ */
+public class RingBuffer2d {
+  public static final int MAX_CAPACITY = (1 << 30) - 1;
+
+  /** A buffer without sliding window. */
+  public RingBuffer2d(int capacity) {
+    this(capacity, 0);
+  }
+
+  /**
+   * @param capacity maximum number of samples, rounded up to a power of two minus one.
+   * @param window width of the sliding window on x, disabled if not positive.
+   */
+  public RingBuffer2d(int capacity, double window) {
+    if (capacity < 2 || capacity > MAX_CAPACITY)
+      throw new IllegalArgumentException(
+          "capacity should be in [2, " + MAX_CAPACITY + "], got " + capacity);
+    // a slot stays free for the sample being written
+    int size = Integer.highestOneBit(capacity) << 1;
+    this.mask = size - 1;
+    this.x = new double[size];
+    this.y = new double[size];
+    this.xmin = new MonotonicQueue(x, mask, false);
+    this.xmax = new MonotonicQueue(x, mask, true);
+    this.ymin = new MonotonicQueue(y, mask, false);
+    this.ymax = new MonotonicQueue(y, mask, true);
+    this.window = window;
+    publishBounds();
+  }
+
+  /* */
+
+  public void add(double x, double y) {
+    synchronized (lock) {
+      long i = head;
+
+      // forget the oldest sample, which slot is the next to overwrite
+      if (i - tail >= mask)
+        evict(i - mask + 1);
+
+      int slot = (int) (i & mask);
+      this.x[slot] = x;
+      this.y[slot] = y;
+      head = i + 1;
+
+      if (!Double.isNaN(x)) {
+        xmin.push(i);
+        xmax.push(i);
+      }
+      if (!Double.isNaN(y)) {
+        ymin.push(i);
+        ymax.push(i);
+      }
+
+      if (window > 0 && !Double.isNaN(x))
+        slide(x - window);
+
+      publishBounds();
+    }
+  }
+
+  public void add(double[] x, double[] y, int from, int to) {
+    synchronized (lock) {
+      for (int i = from; i < to; i++)
+        add(x[i], y[i]);
+    }
+  }
+
+  /** Forget all samples. */
+  public void clear() {
+    synchronized (lock) {
+      evict(head);
+      publishBounds();
+    }
+  }
+
+  /**
+   * Copy the samples, oldest first.
+   *
+   * @param xs an array of at least {@link #capacity()} length
+   * @param ys an array of at least {@link #capacity()} length
+   * @return the number of samples copied
+   */
+  public int copy(double[] xs, double[] ys) {
+    synchronized (lock) {
+      int n = (int) (head - tail);
+      if (n <= 0)
+        return 0;
+
+      int from = (int) (tail & mask);
+      int first = Math.min(n, x.length - from);
+      System.arraycopy(x, from, xs, 0, first);
+      System.arraycopy(y, from, ys, 0, first);
+      System.arraycopy(x, 0, xs, first, n - first);
+      System.arraycopy(y, 0, ys, first, n - first);
+      return n;
+    }
+  }
+
+  /* */
+
+  /** Number of samples currently kept. */
+  public int size() {
+    return (int) (head - tail);
+  }
+
+  /** Maximum number of samples kept. */
+  public int capacity() {
+    return mask;
+  }
+
+  /** Total number of samples added since creation. */
+  public long getCount() {
+    return head;
+  }
+
+  public double getWindow() {
+    return window;
+  }
+
+  /** Set the width of the sliding window on x, disabled if not positive. */
+  public void setWindow(double window) {
+    synchronized (lock) {
+      this.window = window;
+      if (window > 0 && !Double.isNaN(lastX))
+        slide(lastX - window);
+      publishBounds();
+    }
+  }
+
+  /** The x value of the latest sample, or NaN if there is no sample. */
+  public double getLastX() {
+    return lastX;
+  }
+
+  /** The y value of the latest sample, or NaN if there is no sample. */
+  public double getLastY() {
+    return lastY;
+  }
+
+  public double getXMin() {
+    return minX;
+  }
+
+  public double getXMax() {
+    return maxX;
+  }
+
+  public double getYMin() {
+    return minY;
+  }
+
+  public double getYMax() {
+    return maxY;
+  }
+
+  /** Bounds of the kept samples, or null if there is no sample. */
+  public BoundingBox2d getBounds() {
+    double x0 = minX, x1 = maxX, y0 = minY, y1 = maxY;
+    if (Double.isNaN(x0) || Double.isNaN(y0))
+      return null;
+    BoundingBox2d bounds = new BoundingBox2d();
+    bounds.add((float) x0, (float) y0);
+    bounds.add((float) x1, (float) y1);
+    return bounds;
+  }
+
+  /* */
+
+  /** Forget samples until the given index, excluded. */
+  protected void evict(long until) {
+    tail = until;
+    xmin.evict(until);
+    xmax.evict(until);
+    ymin.evict(until);
+    ymax.evict(until);
+  }
+
+  /** Forget samples older than the given x value. */
+  protected void slide(double from) {
+    long t = tail;
+    long h = head;
+    while (t < h && x[(int) (t & mask)] < from)
+      t++;
+    if (t != tail)
+      evict(t);
+  }
+
+  protected void publishBounds() {
+    long h = head;
+    lastX = h > tail ? x[(int) ((h - 1) & mask)] : Double.NaN;
+    lastY = h > tail ? y[(int) ((h - 1) & mask)] : Double.NaN;
+    minX = xmin.get();
+    maxX = xmax.get();
+    minY = ymin.get();
+    maxY = ymax.get();
+  }
+
+  /**
+   * Indices of the samples which may become the extremum of the kept samples, in increasing order
+   * of index, and of value (min) or decreasing order of value (max). The extremum is the first.
+   */
+  protected static class MonotonicQueue {
+    public MonotonicQueue(double[] values, int mask, boolean max) {
+      this.values = values;
+      this.mask = mask;
+      this.max = max;
+      this.indices = new long[mask + 1];
+    }
+
+    public void push(long index) {
+      double v = values[(int) (index & mask)];
+      while (size > 0) {
+        double last = values[(int) (indices[(start + size - 1) & mask] & mask)];
+        if (max ? last > v : last < v)
+          break;
+        size--;
+      }
+      indices[(start + size) & mask] = index;
+      size++;
+    }
+
+    public void evict(long until) {
+      while (size > 0 && indices[start] < until) {
+        start = (start + 1) & mask;
+        size--;
+      }
+    }
+
+    public double get() {
+      return size > 0 ? values[(int) (indices[start] & mask)] : Double.NaN;
+    }
+
+    protected final double[] values;
+    protected final int mask;
+    protected final boolean max;
+    protected final long[] indices;
+    protected int start;
+    protected int size;
+  }
+
+  /* */
+
+  protected final Object lock = new Object();
+  protected final int mask;
+  protected final double[] x;
+  protected final double[] y;
+  protected final MonotonicQueue xmin;
+  protected final MonotonicQueue xmax;
+  protected final MonotonicQueue ymin;
+  protected final MonotonicQueue ymax;
+  protected double window;
+
+  /** Index of the next sample */
+  protected volatile long head;
+  /** Index of the oldest sample kept */
+  protected volatile long tail;
+
+  protected volatile double lastX;
+  protected volatile double lastY;
+  protected volatile double minX;
+  protected volatile double maxX;
+  protected volatile double minY;
+  protected volatile double maxY;
+}
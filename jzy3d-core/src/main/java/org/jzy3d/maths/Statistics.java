@@ -2,6 +2,8 @@ package org.jzy3d.maths;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
 
 public class Statistics {
   /**
@@ -275,31 +277,67 @@ public class Statistics {
     return Math.sqrt(variance(values));
   }
 
+  public static float std(float[] values) {
+    if (values.length == 0)
+      return Float.NaN;
+
+    return (float) Math.sqrt(variance(values));
+  }
+
   /**
    * Compute the variance of an array of doubles. {@link variance} normalizes the output by N-1 if
    * N>1, where N is the sample size. This is an unbiased estimator of the variance of the
    * population For N=1, the output is 0.
    * 
+   * The variance is computed in a single pass with Welford's algorithm. NaN values are ignored.
+   * 
    * @param values
    * @return
    */
   public static double variance(double[] values) {
-    double mean = mean(values);
-    double sum = 0;
-    int count = 0;
+    if (values.length == 0)
+      throw new IllegalArgumentException("Input array must have a length greater than 0");
+
+    long count = 0;
+    double mean = 0;
+    double m2 = 0;
 
     for (int i = 0; i < values.length; i++)
       if (!Double.isNaN(values[i])) {
-        sum += Math.pow(values[i] - mean, 2);
         count++;
+        double delta = values[i] - mean;
+        mean += delta / count;
+        m2 += delta * (values[i] - mean);
+      }
+    return variance(count, m2);
+  }
+
+  public static double variance(float[] values) {
+    if (values.length == 0)
+      throw new IllegalArgumentException("Input array must have a length greater than 0");
+
+    long count = 0;
+    double mean = 0;
+    double m2 = 0;
+
+    for (int i = 0; i < values.length; i++)
+      if (!Float.isNaN(values[i])) {
+        count++;
+        double delta = values[i] - mean;
+        mean += delta / count;
+        m2 += delta * (values[i] - mean);
       }
+    return variance(count, m2);
+  }
 
+  /** The unbiased variance of count values which sum of squared distances to mean is m2. */
+  static double variance(long count, double m2) {
     if (count == 0)
       return Double.NaN;
     else if (count == 1)
       return 0;
     else
-      return sum / (count - 1);
+      return m2 / (count - 1);
   }
 
   /*****************************************************************************/
@@ -320,42 +358,138 @@ public class Statistics {
     if (values.length == 0)
       return new double[0];
 
-    double[] quantiles = new double[levels.length];
-    double[] sorted = new double[values.length];
-    System.arraycopy(values, 0, sorted, 0, values.length);
-    Arrays.sort(sorted);
+    double[] work = new double[values.length];
+    int m = copyWithoutNaN(values, 0, values.length, work, 0, values.length);
+    int[] ranks = quantileRanks(values.length, m, levels);
+    select(work, 0, m, ranks);
+    return quantile(work, values.length, m, levels, interpolated);
+  }
 
-    double quantileIdx;
-    double quantileIdxCeil;
-    double quantileIdxFloor;
+  public static double[] quantile(float[] values, double[] levels, boolean interpolated) {
+    double[] doubles = new double[values.length];
+    for (int i = 0; i < values.length; i++)
+      doubles[i] = values[i];
+    return quantile(doubles, levels, interpolated);
+  }
 
+  /**
+   * Same as {@link #quantile(double[], double[], boolean)}, but large arrays are processed by
+   * parallel tasks.
+   * 
+   * Each quantile is found by counting, in parallel, the values below and between two pivots drawn
+   * from a random sample and bracketing the quantile rank, then selecting the quantile among the
+   * few values between the pivots.
+   */
+  public static double[] parallelQuantile(final double[] values, double[] levels,
+      boolean interpolated) {
+    final int n = values.length;
+    if (n < Parallel.THRESHOLD)
+      return quantile(values, levels, interpolated);
+
+    // copy values, moving NaN values to the end as done by sorting
+    final int chunks = Parallel.chunks(n);
+    final int[] nans = new int[chunks + 1];
+    IntStream.range(0, chunks).parallel().forEach(c -> {
+      int count = 0;
+      for (int i = c * Parallel.CHUNK; i < Math.min(n, (c + 1) * Parallel.CHUNK); i++)
+        if (Double.isNaN(values[i]))
+          count++;
+      nans[c + 1] = count;
+    });
+    for (int c = 0; c < chunks; c++)
+      nans[c + 1] += nans[c];
+    final int m = n - nans[chunks];
+    final double[] work = new double[n];
+    IntStream.range(0, chunks).parallel().forEach(c -> {
+      int from = c * Parallel.CHUNK;
+      int to = Math.min(n, from + Parallel.CHUNK);
+      copyWithoutNaN(values, from, to, work, from - nans[c], m + nans[c + 1]);
+    });
+
+    int[] ranks = quantileRanks(n, m, levels);
+    double[] selected = new double[ranks.length];
+    for (int r = 0; r < ranks.length; r++)
+      selected[r] = parallelSelect(work, m, ranks[r]);
+    for (int r = 0; r < ranks.length; r++)
+      work[ranks[r]] = selected[r];
+    return quantile(work, n, m, levels, interpolated);
+  }
+
+  /** Copy non NaN values to the beginning of out and NaN values to the end, return the count. */
+  private static int copyWithoutNaN(double[] values, int from, int to, double[] out, int head,
+      int tail) {
+    int start = head;
+    for (int i = from; i < to; i++) {
+      if (Double.isNaN(values[i]))
+        out[--tail] = values[i];
+      else
+        out[head++] = values[i];
+    }
+    return head - start;
+  }
+
+  /**
+   * The sorted ranks that must be selected among m non NaN values to compute levels. The n-m NaN
+   * values are considered greater than others.
+   */
+  private static int[] quantileRanks(int n, int m, double[] levels) {
+    int[] ranks = new int[2 * levels.length];
+    int k = 0;
     for (int i = 0; i < levels.length; i++) {
       if (levels[i] > 100 || levels[i] < 0)
         throw new IllegalArgumentException(
             "input level " + levels[i] + " is out of bounds [0;100].");
+      double quantileIdx = (n - 1) * levels[i] / 100;
+      ranks[k++] = (int) Math.floor(quantileIdx);
+      ranks[k++] = (int) Math.ceil(quantileIdx);
+    }
+    Arrays.sort(ranks);
 
-      quantileIdx = (sorted.length - 1) * levels[i] / 100;
+    int unique = 0;
+    for (int i = 0; i < ranks.length; i++)
+      if (ranks[i] < m && (unique == 0 || ranks[i] != ranks[unique - 1]))
+        ranks[unique++] = ranks[i];
+    return Arrays.copyOf(ranks, unique);
+  }
+
+  /**
+   * Compute levels from n values where the ranks required by the levels have been selected, NaN
+   * values standing from m.
+   */
+  private static double[] quantile(double[] selected, int n, int m, double[] levels,
+      boolean interpolated) {
+    double[] quantiles = new double[levels.length];
+    double quantileIdx;
+    double quantileIdxCeil;
+    double quantileIdxFloor;
+
+    for (int i = 0; i < levels.length; i++) {
+      quantileIdx = (n - 1) * levels[i] / 100;
 
       if (quantileIdx == (int) quantileIdx) // exactly find the quantile
-        quantiles[i] = sorted[(int) quantileIdx];
+        quantiles[i] = rank(selected, m, (int) quantileIdx);
       else {
         quantileIdxCeil = Math.ceil(quantileIdx);
         quantileIdxFloor = Math.floor(quantileIdx);
 
         if (interpolated) { // generate an interpolated quantile
-          quantiles[i] = sorted[(int) quantileIdxFloor] * (quantileIdxCeil - quantileIdx)
-              + sorted[(int) quantileIdxCeil] * (quantileIdx - quantileIdxFloor);
+          quantiles[i] = rank(selected, m, (int) quantileIdxFloor) * (quantileIdxCeil - quantileIdx)
+              + rank(selected, m, (int) quantileIdxCeil) * (quantileIdx - quantileIdxFloor);
         } else { // return the quantile corresponding to the closest value
           if (quantileIdx - quantileIdxFloor < quantileIdxCeil - quantileIdx)
-            quantiles[i] = sorted[(int) quantileIdxFloor];
+            quantiles[i] = rank(selected, m, (int) quantileIdxFloor);
           else
-            quantiles[i] = sorted[(int) quantileIdxCeil];
+            quantiles[i] = rank(selected, m, (int) quantileIdxCeil);
         }
       }
     }
     return quantiles;
   }
 
+  private static double rank(double[] selected, int m, int rank) {
+    return rank < m ? selected[rank] : Double.NaN;
+  }
+
   /**
    * A convenient shortcut for:
    * 
@@ -386,4 +520,187 @@ public class Statistics {
     return out[0];
   }
 
+  public static double median(float[] values, boolean interpolated) {
+    if (values.length == 0)
+      throw new IllegalArgumentException("Input array must have a length greater than 0");
+
+    double[] med = {50};
+    double[] out = quantile(values, med, interpolated);
+
+    return out[0];
+  }
+
+  /*****************************************************************************/
+
+  /**
+   * Reorder values so that values[k] is the value that would stand at k if values were sorted,
+   * lower values standing before k and greater values after k. Runs in O(n) on average and O(n
+   * log(n)) in the worst case (introselect).
+   * 
+   * Values must not contain NaN.
+   * 
+   * @return the k-th smallest value
+   */
+  public static double select(double[] values, int k) {
+    if (k < 0 || k >= values.length)
+      throw new IllegalArgumentException("rank " + k + " is out of bounds [0;" + values.length
+          + "[");
+    select(values, 0, values.length, new int[] {k});
+    return values[k];
+  }
+
+  /**
+   * Reorder values so that each rank of the sorted ranks array holds the value that would stand at
+   * this rank if values were sorted. Selecting q ranks at once runs in O(n log(q)) on average.
+   * 
+   * Values must not contain NaN.
+   */
+  public static void select(double[] values, int[] ranks) {
+    select(values, 0, values.length, ranks);
+  }
+
+  private static void select(double[] values, int from, int to, int[] ranks) {
+    int depth = 2 * (32 - Integer.numberOfLeadingZeros(Math.max(1, to - from)));
+    select(values, from, to, ranks, 0, ranks.length, depth);
+  }
+
+  /** Size of ranges sorted by insertion instead of being partitioned. */
+  private static final int INSERTION_SORT_SIZE = 16;
+
+  private static void select(double[] a, int from, int to, int[] ranks, int rFrom, int rTo,
+      int depth) {
+    while (rFrom < rTo && to - from > 1) {
+      if (to - from <= INSERTION_SORT_SIZE) {
+        insertionSort(a, from, to);
+        return;
+      }
+      if (depth-- == 0) {
+        // partitions are unbalanced, fall back on a O(n log(n)) sort
+        Arrays.sort(a, from, to);
+        return;
+      }
+
+      // three way partition around the median of three: [from,lt[ < pivot, [lt,gt] == pivot,
+      // ]gt,to[ > pivot
+      double pivot = medianOf3(a[from], a[(from + to) >>> 1], a[to - 1]);
+      int lt = from;
+      int gt = to - 1;
+      int i = from;
+      while (i <= gt) {
+        double v = a[i];
+        if (v < pivot) {
+          a[i++] = a[lt];
+          a[lt++] = v;
+        } else if (v > pivot) {
+          a[i] = a[gt];
+          a[gt--] = v;
+        } else
+          i++;
+      }
+
+      // ranks below lt are in the left partition, ranks above gt in the right partition
+      int left = rFrom;
+      while (left < rTo && ranks[left] < lt)
+        left++;
+      int right = left;
+      while (right < rTo && ranks[right] <= gt)
+        right++;
+
+      // recurse on the smallest side, loop on the other one
+      if (lt - from < to - gt - 1) {
+        select(a, from, lt, ranks, rFrom, left, depth);
+        from = gt + 1;
+        rFrom = right;
+      } else {
+        select(a, gt + 1, to, ranks, right, rTo, depth);
+        to = lt;
+        rTo = left;
+      }
+    }
+  }
+
+  private static double medianOf3(double a, double b, double c) {
+    if (a < b) {
+      if (b < c)
+        return b;
+      return a < c ? c : a;
+    } else {
+      if (a < c)
+        return a;
+      return b < c ? c : b;
+    }
+  }
+
+  private static void insertionSort(double[] a, int from, int to) {
+    for (int i = from + 1; i < to; i++) {
+      double v = a[i];
+      int j = i - 1;
+      while (j >= from && a[j] > v) {
+        a[j + 1] = a[j];
+        j--;
+      }
+      a[j + 1] = v;
+    }
+  }
+
+  /** Size of the sample drawn to bracket a rank by {@link #parallelSelect(double[], int, int)} */
+  private static final int PARALLEL_SAMPLE_SIZE = 1 << 12;
+
+  /**
+   * The value of rank k among values[0,m[, found by counting in parallel the values below and
+   * between two pivots drawn from a sample, then selecting among values between pivots. Values
+   * are left unchanged.
+   */
+  private static double parallelSelect(final double[] values, final int m, int k) {
+    Random random = new Random(k);
+    double[] sample = new double[PARALLEL_SAMPLE_SIZE];
+    for (int i = 0; i < sample.length; i++)
+      sample[i] = values[random.nextInt(m)];
+    Arrays.sort(sample);
+
+    // pivots bracket the rank with a margin of about 3 standard deviations of the sample rank
+    int r = (int) ((long) k * sample.length / m);
+    int margin = (int) (3 * Math.sqrt(sample.length)) + 1;
+    final double lo = sample[Math.max(0, r - margin)];
+    final double hi = sample[Math.min(sample.length - 1, r + margin)];
+
+    final int chunks = Parallel.chunks(m);
+    final int[] below = new int[chunks];
+    final int[] between = new int[chunks + 1];
+    IntStream.range(0, chunks).parallel().forEach(c -> {
+      int b = 0, w = 0;
+      for (int i = c * Parallel.CHUNK; i < Math.min(m, (c + 1) * Parallel.CHUNK); i++) {
+        double v = values[i];
+        if (v < lo)
+          b++;
+        else if (v <= hi)
+          w++;
+      }
+      below[c] = b;
+      between[c + 1] = w;
+    });
+    int countBelow = 0;
+    for (int c = 0; c < chunks; c++) {
+      countBelow += below[c];
+      between[c + 1] += between[c];
+    }
+
+    if (k < countBelow || k >= countBelow + between[chunks]) {
+      // unlucky sample, select among all values
+      double[] copy = Arrays.copyOf(values, m);
+      return select(copy, k);
+    }
+
+    final double[] candidates = new double[between[chunks]];
+    IntStream.range(0, chunks).parallel().forEach(c -> {
+      int j = between[c];
+      for (int i = c * Parallel.CHUNK; i < Math.min(m, (c + 1) * Parallel.CHUNK); i++) {
+        double v = values[i];
+        if (v >= lo && v <= hi)
+          candidates[j++] = v;
+      }
+    });
+    return select(candidates, k - countBelow);
+  }
+
 }
@@ -0,0 +1,206 @@
+package org.jzy3d.maths;
+
+import java.util.stream.IntStream;
+
+/**
+ * Accumulates statistics of an unbounded stream of values in a single pass and a bounded memory:
+ * count, min, max, mean and variance (Welford's algorithm), and optionally approximate quantiles
+ * with a {@link TDigest}.
+ *
+ * Accumulators can be merged, which is how {@link #of(double[], boolean)} processes large arrays
+ * with parallel tasks. NaN values are ignored.
+ *
+ * <pre>
+ * <code>
+ * StreamingStatistics stats = new StreamingStatistics();
+ * stats.add(frame);
+ * Scale scale = stats.getQuantileScale(1, 99);
+ * </code>
+ * </pre>
+ */
+public class StreamingStatistics {
+  /** Create an accumulator estimating quantiles with a default {@link TDigest}. */
+  public StreamingStatistics() {
+    this(true);
+  }
+
+  /**
+   * @param quantiles if false, quantiles are not estimated, which makes adding values cheaper.
+   */
+  public StreamingStatistics(boolean quantiles) {
+    this(quantiles ? new TDigest() : null);
+  }
+
+  public StreamingStatistics(TDigest digest) {
+    this.digest = digest;
+    reset();
+  }
+
+  /**
+   * Compute statistics of all values, with parallel tasks if there are more than
+   * {@link Parallel#THRESHOLD} values.
+   */
+  public static StreamingStatistics of(final double[] values, final boolean quantiles) {
+    final int n = values.length;
+    if (n < Parallel.THRESHOLD) {
+      StreamingStatistics stats = new StreamingStatistics(quantiles);
+      stats.add(values);
+      return stats;
+    }
+
+    int chunks = Parallel.chunks(n);
+    final StreamingStatistics[] partials = new StreamingStatistics[chunks];
+    IntStream.range(0, chunks).parallel().forEach(c -> {
+      partials[c] = new StreamingStatistics(quantiles);
+      partials[c].add(values, c * Parallel.CHUNK, Math.min(n, (c + 1) * Parallel.CHUNK));
+    });
+    for (int c = 1; c < chunks; c++)
+      partials[0].add(partials[c]);
+    return partials[0];
+  }
+
+  public static StreamingStatistics of(final float[] values, final boolean quantiles) {
+    final int n = values.length;
+    if (n < Parallel.THRESHOLD) {
+      StreamingStatistics stats = new StreamingStatistics(quantiles);
+      stats.add(values);
+      return stats;
+    }
+
+    int chunks = Parallel.chunks(n);
+    final StreamingStatistics[] partials = new StreamingStatistics[chunks];
+    IntStream.range(0, chunks).parallel().forEach(c -> {
+      partials[c] = new StreamingStatistics(quantiles);
+      for (int i = c * Parallel.CHUNK; i < Math.min(n, (c + 1) * Parallel.CHUNK); i++)
+        partials[c].add(values[i]);
+    });
+    for (int c = 1; c < chunks; c++)
+      partials[0].add(partials[c]);
+    return partials[0];
+  }
+
+  /* */
+
+  public void add(double value) {
+    if (Double.isNaN(value))
+      return;
+    count++;
+    double delta = value - mean;
+    mean += delta / count;
+    m2 += delta * (value - mean);
+    if (value < min)
+      min = value;
+    if (value > max)
+      max = value;
+    if (digest != null)
+      digest.add(value);
+  }
+
+  public void add(double[] values) {
+    add(values, 0, values.length);
+  }
+
+  /** Add values[from,to[ */
+  public void add(double[] values, int from, int to) {
+    for (int i = from; i < to; i++)
+      add(values[i]);
+  }
+
+  public void add(float[] values) {
+    for (int i = 0; i < values.length; i++)
+      add(values[i]);
+  }
+
+  /** Add all values accumulated by other (Chan's parallel variance formula). */
+  public void add(StreamingStatistics other) {
+    if (other.count == 0)
+      return;
+    long total = count + other.count;
+    double delta = other.mean - mean;
+    mean += delta * other.count / total;
+    m2 += other.m2 + delta * delta * count * other.count / total;
+    count = total;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+    if (digest != null && other.digest != null)
+      digest.add(other.digest);
+  }
+
+  public void reset() {
+    count = 0;
+    mean = 0;
+    m2 = 0;
+    min = Double.POSITIVE_INFINITY;
+    max = Double.NEGATIVE_INFINITY;
+    if (digest != null)
+      digest = new TDigest(digest.getCompression());
+  }
+
+  /* */
+
+  /** Number of non NaN values. */
+  public long getCount() {
+    return count;
+  }
+
+  public double getMin() {
+    return count == 0 ? Double.NaN : min;
+  }
+
+  public double getMax() {
+    return count == 0 ? Double.NaN : max;
+  }
+
+  public double getMean() {
+    return count == 0 ? Double.NaN : mean;
+  }
+
+  /** Unbiased variance, as {@link Statistics#variance(double[])} */
+  public double getVariance() {
+    return Statistics.variance(count, m2);
+  }
+
+  public double getStd() {
+    return Math.sqrt(getVariance());
+  }
+
+  public Scale getScale() {
+    return new Scale((float) getMin(), (float) getMax());
+  }
+
+  /**
+   * Estimate the quantile of a level in [0;100], as {@link Statistics#quantile(double[], double[])}
+   *
+   * @throws IllegalStateException if quantiles are not estimated.
+   */
+  public double getQuantile(double level) {
+    if (digest == null)
+      throw new IllegalStateException("quantiles are not estimated by this accumulator");
+    if (level > 100 || level < 0)
+      throw new IllegalArgumentException("input level " + level + " is out of bounds [0;100].");
+    return digest.quantile(level / 100);
+  }
+
+  public double getMedian() {
+    return getQuantile(50);
+  }
+
+  /**
+   * A scale between two quantiles, which is less sensitive to outliers than {@link #getScale()}.
+   */
+  public Scale getQuantileScale(double lowLevel, double highLevel) {
+    return new Scale((float) getQuantile(lowLevel), (float) getQuantile(highLevel));
+  }
+
+  /** The quantile sketch, or null if quantiles are not estimated. */
+  public TDigest getDigest() {
+    return digest;
+  }
+
+  protected long count;
+  protected double mean;
+  protected double m2;
+  protected double min;
+  protected double max;
+  protected TDigest digest;
+}
@@ -0,0 +1,199 @@
+package org.jzy3d.maths;
+
+import java.util.Arrays;
+
+/**
+ * An approximate quantile sketch of an unbounded stream of values, with a bounded memory footprint
+ * (merging t-digest of Dunning &amp; Ertl).
+ *
+ * Values are summarized by centroids, i.e. weighted means of adjacent values. The scale function
+ * k(q) = compression / (2 * PI) * asin(2q - 1) limits the weight of centroids close to the
+ * extreme quantiles, so that tails are estimated with a better accuracy than the median. The
+ * number of centroids is at most about compression.
+ *
+ * Added values are buffered and merged into centroids in sorted order when the buffer is full. Two
+ * digests can be merged, which allows to build digests of large arrays in parallel.
+ */
+public class TDigest {
+  public static final double DEFAULT_COMPRESSION = 100;
+
+  /** Number of buffered values, relative to the compression. */
+  protected static final int BUFFER_FACTOR = 5;
+
+  public TDigest() {
+    this(DEFAULT_COMPRESSION);
+  }
+
+  public TDigest(double compression) {
+    if (compression < 10)
+      throw new IllegalArgumentException("compression should be at least 10: " + compression);
+    this.compression = compression;
+    this.buffer = new double[(int) (BUFFER_FACTOR * compression)];
+    this.means = new double[0];
+    this.weights = new double[0];
+    this.min = Double.POSITIVE_INFINITY;
+    this.max = Double.NEGATIVE_INFINITY;
+  }
+
+  /** Add a value. NaN values are ignored. */
+  public void add(double value) {
+    if (Double.isNaN(value))
+      return;
+    if (buffered == buffer.length)
+      flush();
+    buffer[buffered++] = value;
+    if (value < min)
+      min = value;
+    if (value > max)
+      max = value;
+  }
+
+  /** Add all values of other to this digest. */
+  public void add(TDigest other) {
+    other.flush();
+    if (other.centroids == 0)
+      return;
+    flush();
+    compress(means, weights, centroids, other.means, other.weights, other.centroids);
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+  }
+
+  /** Number of added values. */
+  public long size() {
+    return (long) totalWeight + buffered;
+  }
+
+  public double getMin() {
+    return size() == 0 ? Double.NaN : min;
+  }
+
+  public double getMax() {
+    return size() == 0 ? Double.NaN : max;
+  }
+
+  /**
+   * Estimate the quantile of level q in [0;1], interpolating between centroid means. Return NaN if
+   * no value was added.
+   */
+  public double quantile(double q) {
+    if (q < 0 || q > 1)
+      throw new IllegalArgumentException("quantile level " + q + " is out of bounds [0;1].");
+    flush();
+    if (centroids == 0)
+      return Double.NaN;
+    if (centroids == 1)
+      return means[0];
+
+    double index = q * totalWeight;
+
+    // left tail, between min and the first centroid
+    if (index < weights[0] / 2)
+      return min + (means[0] - min) * index / (weights[0] / 2);
+
+    double weightSoFar = weights[0] / 2;
+    for (int i = 0; i < centroids - 1; i++) {
+      double step = (weights[i] + weights[i + 1]) / 2;
+      if (index < weightSoFar + step)
+        return means[i] + (means[i + 1] - means[i]) * (index - weightSoFar) / step;
+      weightSoFar += step;
+    }
+
+    // right tail, between the last centroid and max
+    double last = weights[centroids - 1] / 2;
+    if (last == 0)
+      return max;
+    return means[centroids - 1]
+        + (max - means[centroids - 1]) * Math.min(1, (index - weightSoFar) / last);
+  }
+
+  /** Number of centroids summarizing the added values. */
+  public int getCentroidCount() {
+    flush();
+    return centroids;
+  }
+
+  public double getCompression() {
+    return compression;
+  }
+
+  /* */
+
+  /** Merge buffered values into centroids. */
+  protected void flush() {
+    if (buffered == 0)
+      return;
+    Arrays.sort(buffer, 0, buffered);
+    double[] ones = new double[buffered];
+    Arrays.fill(ones, 1);
+    int n = buffered;
+    buffered = 0;
+    compress(means, weights, centroids, buffer, ones, n);
+  }
+
+  /**
+   * Replace centroids by the compression of two sorted sequences of weighted means, merging
+   * adjacent means as long as a centroid does not span more than one unit of the scale function.
+   */
+  protected void compress(double[] m1, double[] w1, int n1, double[] m2, double[] w2, int n2) {
+    double total = 0;
+    for (int i = 0; i < n1; i++)
+      total += w1[i];
+    for (int i = 0; i < n2; i++)
+      total += w2[i];
+
+    double[] outMeans = new double[n1 + n2];
+    double[] outWeights = new double[n1 + n2];
+    int out = -1;
+    double weightSoFar = 0;
+    double weightLimit = 0;
+
+    for (int i = 0, j = 0; i < n1 || j < n2;) {
+      double mean, weight;
+      if (j == n2 || (i < n1 && m1[i] <= m2[j])) {
+        mean = m1[i];
+        weight = w1[i++];
+      } else {
+        mean = m2[j];
+        weight = w2[j++];
+      }
+
+      if (out >= 0 && weightSoFar + outWeights[out] + weight <= weightLimit) {
+        outWeights[out] += weight;
+        outMeans[out] += (mean - outMeans[out]) * weight / outWeights[out];
+      } else {
+        if (out >= 0)
+          weightSoFar += outWeights[out];
+        out++;
+        outMeans[out] = mean;
+        outWeights[out] = weight;
+        weightLimit = total * inverseScale(scale(weightSoFar / total) + 1);
+      }
+    }
+
+    means = outMeans;
+    weights = outWeights;
+    centroids = out + 1;
+    totalWeight = total;
+  }
+
+  protected double scale(double q) {
+    return compression / (2 * Math.PI) * Math.asin(2 * q - 1);
+  }
+
+  protected double inverseScale(double k) {
+    if (k >= compression / 4)
+      return 1;
+    return (Math.sin(k * 2 * Math.PI / compression) + 1) / 2;
+  }
+
+  protected double compression;
+  protected double[] buffer;
+  protected int buffered;
+  protected double[] means;
+  protected double[] weights;
+  protected int centroids;
+  protected double totalWeight;
+  protected double min;
+  protected double max;
+}
@@ -17,11 +17,14 @@ public class Utils {
    * result is formatted using computerized scientific notation or decimal format, depending on the
    * precision and the value after rounding.
    * 
+   * 'f', 'e' and 'g' modes are formatted by {@link NumberFormatter}, which gives the same result
+   * as String.format at a fraction of its cost.
+   * 
    * @see http ://java.sun.com/j2se/1.5.0/docs/api/java/util/Formatter.html#syntax
    * @see String.format
    */
   public static String num2str(char parseMode, double num, int precision) {
-    return String.format("%." + precision + parseMode, new Double(num));
+    return NumberFormatter.format(parseMode, num, precision);
   }
 
   /**
@@ -0,0 +1,188 @@
+package org.jzy3d.maths.algorithms;
+
+/**
+ * Reduce the samples of a line to draw to the first, min, max and last samples of each pixel
+ * column (M4 aggregation). The rasterized line is the same as the one made of all samples, since
+ * the segments drawn in a column always span from its min to its max value, and the segments
+ * between two columns join the same samples.
+ *
+ * Samples x values should be non decreasing. The samples preceding and following the visible range
+ * are kept so that the line enters and leaves the plot as it would without decimation.
+ *
+ * An instance indexes the y values with a {@link MinMaxPyramid}, so that decimating for a new range
+ * or width costs O(width.log(n)) rather than O(n), and caches its result until the range, the
+ * width or the samples change. The static
+ * {@link #decimate(double[], double[], int, int, double, double, int, int[])} scans the samples
+ * instead, for samples which change at each frame.
+ *
+ * <pre>
+ * <code>
+ * int n = decimator.decimate(x, y, size, xmin, xmax, width);
+ * int[] indices = decimator.getIndices(); // indices of the samples to draw
+ * </code>
+ * </pre>
+ */
+public class M4Decimator {
+  public M4Decimator() {
+    pyramid = new MinMaxPyramid();
+    indices = new int[0];
+    invalidate(0);
+  }
+
+  /**
+   * Decimate the samples for a plot of the given width showing the given x range. Samples which
+   * were appended since the previous call are indexed, and the previous result is returned if
+   * nothing changed.
+   *
+   * @return the number of samples to draw, which indices are given by {@link #getIndices()}, or -1
+   *         if the range or width are empty, in which case all samples should be drawn.
+   */
+  public int decimate(double[] x, double[] y, int size, double xmin, double xmax, int width) {
+    if (size != indexed) {
+      pyramid.update(y, Math.min(indexed, size), size);
+      indexed = size;
+      count = UNKNOWN;
+    }
+    if (count != UNKNOWN && xmin == lastXmin && xmax == lastXmax && width == lastWidth)
+      return count;
+
+    if (width > 0 && indices.length < 4 * width + 2)
+      indices = new int[4 * width + 2];
+    count = decimate(x, y, 0, size, xmin, xmax, width, pyramid, indices);
+    lastXmin = xmin;
+    lastXmax = xmax;
+    lastWidth = width;
+    return count;
+  }
+
+  /** Indices of the samples to draw, computed by the last call to decimate. */
+  public int[] getIndices() {
+    return indices;
+  }
+
+  /** Index again the samples from the given index, e.g. after they were edited. */
+  public void invalidate(int from) {
+    indexed = Math.min(indexed, from);
+    count = UNKNOWN;
+  }
+
+  /* */
+
+  /**
+   * Decimate samples in [from, to[ by scanning them, for a plot of the given width showing the
+   * given x range.
+   *
+   * @param out receives the indices of the samples to draw, should hold 4 * width + 2 indices.
+   * @return the number of samples to draw, or -1 if the range or width are empty, in which case
+   *         all samples should be drawn.
+   */
+  public static int decimate(double[] x, double[] y, int from, int to, double xmin, double xmax,
+      int width, int[] out) {
+    return decimate(x, y, from, to, xmin, xmax, width, null, out);
+  }
+
+  protected static int decimate(double[] x, double[] y, int from, int to, double xmin,
+      double xmax, int width, MinMaxPyramid pyramid, int[] out) {
+    if (!(xmax > xmin) || width <= 0)
+      return -1;
+
+    int first = firstAbove(x, from, to, xmin, true);
+    int last = firstAbove(x, first, to, xmax, false);
+
+    int n = 0;
+    if (first > from)
+      out[n++] = first - 1;
+
+    if (last - first <= 4 * width) {
+      for (int i = first; i < last; i++)
+        out[n++] = i;
+    } else {
+      double scale = width / (xmax - xmin);
+      int[] minmax = new int[2];
+      int i = first;
+      while (i < last) {
+        int column = column(x[i], xmin, scale, width);
+        int j = column == width - 1 ? last
+            : nextColumn(x, i + 1, last, column, xmin, scale, width);
+
+        if (pyramid != null)
+          pyramid.query(y, i, j, minmax);
+        else
+          scan(y, i, j, minmax);
+
+        int a = Math.min(minmax[0], minmax[1]);
+        int b = Math.max(minmax[0], minmax[1]);
+        out[n++] = i;
+        if (a > i)
+          out[n++] = a;
+        if (b > a && b > i)
+          out[n++] = b;
+        if (j - 1 > Math.max(b, i))
+          out[n++] = j - 1;
+        i = j;
+      }
+    }
+
+    if (last < to)
+      out[n++] = last;
+    return n;
+  }
+
+  /** The first index which x value is above (or equal if inclusive) the given value */
+  protected static int firstAbove(double[] x, int from, int to, double value, boolean inclusive) {
+    int lo = from, hi = to;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (inclusive ? x[mid] < value : x[mid] <= value)
+        lo = mid + 1;
+      else
+        hi = mid;
+    }
+    return lo;
+  }
+
+  /** The first index which x value is in a column after the given one */
+  protected static int nextColumn(double[] x, int from, int to, int column, double xmin,
+      double scale, int width) {
+    int lo = from, hi = to;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (column(x[mid], xmin, scale, width) <= column)
+        lo = mid + 1;
+      else
+        hi = mid;
+    }
+    return lo;
+  }
+
+  protected static int column(double x, double xmin, double scale, int width) {
+    int column = (int) ((x - xmin) * scale);
+    return column < 0 ? 0 : column >= width ? width - 1 : column;
+  }
+
+  protected static void scan(double[] y, int from, int to, int[] minmax) {
+    int min = -1, max = -1;
+    for (int i = from; i < to; i++) {
+      if (!Double.isNaN(y[i])) {
+        min = MinMaxPyramid.min(y, min, i);
+        max = MinMaxPyramid.max(y, max, i);
+      }
+    }
+    minmax[0] = min;
+    minmax[1] = max;
+  }
+
+  /* */
+
+  protected static final int UNKNOWN = -2;
+
+  protected MinMaxPyramid pyramid;
+  /** Number of samples indexed by the pyramid */
+  protected int indexed;
+
+  protected int[] indices;
+  protected int count;
+  protected double lastXmin;
+  protected double lastXmax;
+  protected int lastWidth;
+}
@@ -0,0 +1,135 @@
+package org.jzy3d.maths.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * A multi resolution index of the minimum and maximum of an array of values, storing for each
+ * block of 2^k consecutive values the index of its min and max values.
+ *
+ * The min and max of any range of n values are found in O(log n) by combining the largest blocks
+ * covering the range. Blocks smaller than 2^{@link #BASE_LEVEL} values are not stored but scanned,
+ * so that the pyramid uses about n/4 int. Values appended to the array are indexed incrementally
+ * with {@link #update(double[], int, int)}. NaN values are ignored.
+ */
+public class MinMaxPyramid {
+  public static final int BASE_LEVEL = 3;
+
+  public MinMaxPyramid() {
+    mins = new int[0][];
+    maxs = new int[0][];
+  }
+
+  /**
+   * Index the values which were appended or edited since the given index.
+   *
+   * @param values the indexed values
+   * @param from the first value appended or edited
+   * @param size the number of values
+   */
+  public void update(double[] values, int from, int size) {
+    from = Math.min(from, this.size);
+    this.size = size;
+
+    int levels = 0;
+    while ((size >> (BASE_LEVEL + levels)) > 0)
+      levels++;
+    if (levels > mins.length) {
+      mins = Arrays.copyOf(mins, levels);
+      maxs = Arrays.copyOf(maxs, levels);
+    }
+
+    for (int l = 0; l < levels; l++) {
+      int shift = BASE_LEVEL + l;
+      int blocks = size >> shift;
+      if (mins[l] == null || mins[l].length < blocks) {
+        int length = Math.max(blocks, mins[l] == null ? 0 : mins[l].length * 2);
+        mins[l] = mins[l] == null ? new int[length] : Arrays.copyOf(mins[l], length);
+        maxs[l] = maxs[l] == null ? new int[length] : Arrays.copyOf(maxs[l], length);
+      }
+      for (int b = from >> shift; b < blocks; b++) {
+        if (l == 0) {
+          int min = -1, max = -1;
+          for (int i = b << shift; i < (b + 1) << shift; i++) {
+            if (!Double.isNaN(values[i])) {
+              min = min(values, min, i);
+              max = max(values, max, i);
+            }
+          }
+          mins[0][b] = min;
+          maxs[0][b] = max;
+        } else {
+          mins[l][b] = min(values, mins[l - 1][2 * b], mins[l - 1][2 * b + 1]);
+          maxs[l][b] = max(values, maxs[l - 1][2 * b], maxs[l - 1][2 * b + 1]);
+        }
+      }
+    }
+  }
+
+  /** Forget all values. */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Find the min and max of values in [from, to[, which should have been indexed.
+   *
+   * @param minmax receives the index of the min and max values, or -1 if there are only NaN
+   */
+  public void query(double[] values, int from, int to, int[] minmax) {
+    if (to > size)
+      throw new IllegalArgumentException("Values up to " + to + " are not indexed, only " + size);
+
+    int min = -1, max = -1;
+    int i = from;
+    while (i < to) {
+      // the largest block aligned on i and ending before to
+      int shift = Math.min(Integer.numberOfTrailingZeros(i), BASE_LEVEL + mins.length - 1);
+      while (shift >= BASE_LEVEL && i + (1 << shift) > to)
+        shift--;
+
+      if (shift < BASE_LEVEL) {
+        if (!Double.isNaN(values[i])) {
+          min = min(values, min, i);
+          max = max(values, max, i);
+        }
+        i++;
+      } else {
+        int l = shift - BASE_LEVEL;
+        min = min(values, min, mins[l][i >> shift]);
+        max = max(values, max, maxs[l][i >> shift]);
+        i += 1 << shift;
+      }
+    }
+    minmax[0] = min;
+    minmax[1] = max;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /* */
+
+  protected static int min(double[] values, int a, int b) {
+    if (a < 0)
+      return b;
+    if (b < 0)
+      return a;
+    return values[b] < values[a] ? b : a;
+  }
+
+  protected static int max(double[] values, int a, int b) {
+    if (a < 0)
+      return b;
+    if (b < 0)
+      return a;
+    return values[b] > values[a] ? b : a;
+  }
+
+  /* */
+
+  protected int size;
+  /** Index of the min value of block b of level l is mins[l][b] */
+  protected int[][] mins;
+  protected int[][] maxs;
+}
@@ -9,14 +9,33 @@ public class ScaleFinder {
    * Apply an outlier remover on input data ({@link OutlierRemover.getInlierValues}) and retrieve
    * the min and max values of the non-rejected values.
    * 
+   * Inliers are not copied: once the inlier bounds are known, min and max inliers are found in a
+   * single pass.
+   * 
    * @param values
    * @param nVariance
    * @return
    */
   public static Scale getFilteredScale(double[] values, int nVariance) {
-    double[] inliers = OutlierRemover.getInlierValues(values, nVariance);
+    Scale bounds = OutlierRemover.getInlierBounds(values, nVariance);
+
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    int count = 0;
 
-    return getMinMaxScale(inliers);
+    for (int i = 0; i < values.length; i++) {
+      if (bounds.contains((float) values[i])) {
+        count++;
+        if (values[i] < min)
+          min = values[i];
+        if (values[i] > max)
+          max = values[i];
+      }
+    }
+
+    if (count == 0)
+      return new Scale(Float.NaN, Float.NaN);
+    return new Scale((float) min, (float) max);
   }
 
   /**
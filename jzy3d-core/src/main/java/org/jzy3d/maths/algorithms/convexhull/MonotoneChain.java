@@ -0,0 +1,244 @@
+package org.jzy3d.maths.algorithms.convexhull;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.stream.IntStream;
+
+import org.jzy3d.maths.Coord2d;
+import org.jzy3d.maths.Parallel;
+import org.jzy3d.maths.algorithms.convexhull.algorithms.RobustDeterminant;
+
+/**
+ * Andrew's monotone chain convex hull over packed x and y arrays, working on point indices only.
+ *
+ * Points strictly inside the octagon joining the extreme points in the 8 directions of the axes and
+ * diagonals are first discarded (Akl-Toussaint heuristic), which usually leaves a small fraction of
+ * the input to sort. Remaining indices are sorted by x then y with primitive keys, then the lower
+ * and upper chains are built in a single pass each.
+ *
+ * Inputs larger than {@link Parallel#THRESHOLD} are split in chunks which hulls are
+ * computed in parallel, then the hull of the union of chunk hulls is computed.
+ *
+ * Orientations are evaluated in double precision, and by {@link RobustDeterminant} when the
+ * determinant is too close to 0 for its sign to be trusted. Collinear points of the hull edges and
+ * NaN points are not part of the hull.
+ */
+public class MonotoneChain implements ConvexHullFunction {
+
+  /**
+   * Returns the hull starting at the lowest point, with the lowest x among the lowest points,
+   * clockwise, and ending with the starting point again, as {@link GrahamScan} does.
+   */
+  @Override
+  public Deque<Coord2d> getConvexHull(Coord2d[] pts) {
+    float[] x = new float[pts.length];
+    float[] y = new float[pts.length];
+    for (int i = 0; i < pts.length; i++) {
+      x[i] = pts[i].x;
+      y[i] = pts[i].y;
+    }
+    int[] hull = hull(x, y);
+
+    Deque<Coord2d> out = new ArrayDeque<Coord2d>(hull.length + 1);
+    if (hull.length == 0)
+      return out;
+
+    int start = 0;
+    for (int k = 1; k < hull.length; k++) {
+      int i = hull[k];
+      int s = hull[start];
+      if (y[i] < y[s] || (y[i] == y[s] && x[i] < x[s]))
+        start = k;
+    }
+    for (int k = 0; k <= hull.length; k++) {
+      int i = hull[((start - k) % hull.length + hull.length) % hull.length];
+      out.addLast(new Coord2d(x[i], y[i]));
+    }
+    return out;
+  }
+
+  /**
+   * Returns the indices of the hull vertices, counter clockwise, starting at the point of lowest x
+   * (and lowest y among them).
+   */
+  public static int[] hull(final float[] x, final float[] y) {
+    final int n = x.length;
+    if (n < Parallel.THRESHOLD) {
+      int[] indices = new int[n];
+      for (int i = 0; i < n; i++)
+        indices[i] = i;
+      return hull(x, y, indices, n);
+    }
+
+    final int chunks = Parallel.chunks(n);
+    final int[][] hulls = new int[chunks][];
+    IntStream.range(0, chunks).parallel().forEach(c -> {
+      int from = c * Parallel.CHUNK;
+      int to = Math.min(n, from + Parallel.CHUNK);
+      int[] indices = new int[to - from];
+      for (int i = from; i < to; i++)
+        indices[i - from] = i;
+      hulls[c] = hull(x, y, indices, indices.length);
+    });
+
+    int count = 0;
+    for (int[] h : hulls)
+      count += h.length;
+    int[] union = new int[count];
+    int k = 0;
+    for (int[] h : hulls) {
+      System.arraycopy(h, 0, union, k, h.length);
+      k += h.length;
+    }
+    return hull(x, y, union, count);
+  }
+
+  /** Hull of the points which indices stand in indices[0,n[, which is modified. */
+  public static int[] hull(float[] x, float[] y, int[] indices, int n) {
+    // drop NaN points
+    int m = 0;
+    for (int k = 0; k < n; k++) {
+      int i = indices[k];
+      if (!Float.isNaN(x[i]) && !Float.isNaN(y[i]))
+        indices[m++] = i;
+    }
+
+    m = filter(x, y, indices, m);
+    sort(x, y, indices, m);
+
+    if (m < 3) {
+      if (m == 2 && x[indices[0]] == x[indices[1]] && y[indices[0]] == y[indices[1]])
+        m = 1;
+      return Arrays.copyOf(indices, m);
+    }
+
+    // lower chain, then upper chain
+    int[] h = new int[2 * m];
+    int k = 0;
+    for (int s = 0; s < m; s++) {
+      int i = indices[s];
+      while (k >= 2 && orientation(x, y, h[k - 2], h[k - 1], i) <= 0)
+        k--;
+      h[k++] = i;
+    }
+    for (int s = m - 2, t = k + 1; s >= 0; s--) {
+      int i = indices[s];
+      while (k >= t && orientation(x, y, h[k - 2], h[k - 1], i) <= 0)
+        k--;
+      h[k++] = i;
+    }
+    // the last point is the first one
+    return Arrays.copyOf(h, Math.max(1, k - 1));
+  }
+
+  /**
+   * Akl-Toussaint heuristic: move points that are not strictly inside the octagon of extreme points
+   * to indices[0,count[ and return count.
+   */
+  protected static int filter(float[] x, float[] y, int[] indices, int n) {
+    if (n <= 8)
+      return n;
+
+    // extreme points in the directions -y, x-y, x, x+y, y, y-x, -x, -x-y, i.e. counter clockwise
+    int[] ext = new int[8];
+    Arrays.fill(ext, indices[0]);
+    for (int k = 1; k < n; k++) {
+      int i = indices[k];
+      float xi = x[i], yi = y[i];
+      if (yi < y[ext[0]])
+        ext[0] = i;
+      if (xi - yi > x[ext[1]] - y[ext[1]])
+        ext[1] = i;
+      if (xi > x[ext[2]])
+        ext[2] = i;
+      if (xi + yi > x[ext[3]] + y[ext[3]])
+        ext[3] = i;
+      if (yi > y[ext[4]])
+        ext[4] = i;
+      if (yi - xi > y[ext[5]] - x[ext[5]])
+        ext[5] = i;
+      if (xi < x[ext[6]])
+        ext[6] = i;
+      if (-xi - yi > -x[ext[7]] - y[ext[7]])
+        ext[7] = i;
+    }
+
+    // polygon of distinct extreme points
+    int[] poly = new int[8];
+    int p = 0;
+    for (int e = 0; e < 8; e++)
+      if (p == 0 || !same(x, y, poly[p - 1], ext[e]))
+        poly[p++] = ext[e];
+    while (p > 1 && same(x, y, poly[p - 1], poly[0]))
+      p--;
+    if (p < 3)
+      return n;
+
+    int count = 0;
+    for (int k = 0; k < n; k++) {
+      int i = indices[k];
+      boolean inside = true;
+      for (int e = 0; e < p && inside; e++)
+        inside = orientation(x, y, poly[e], poly[(e + 1) % p], i) > 0;
+      if (!inside)
+        indices[count++] = i;
+    }
+    return count;
+  }
+
+  private static boolean same(float[] x, float[] y, int i, int j) {
+    return x[i] == x[j] && y[i] == y[j];
+  }
+
+  /** Sort indices[0,n[ by x, then y. */
+  protected static void sort(float[] x, float[] y, int[] indices, int n) {
+    long[] keys = new long[n];
+    for (int k = 0; k < n; k++)
+      keys[k] = ((long) sortable(x[indices[k]]) << 32) | indices[k];
+    Arrays.sort(keys);
+    for (int k = 0; k < n; k++)
+      indices[k] = (int) keys[k];
+
+    // sort runs of equal x by y, with the same keys, so that vertical inputs stay in O(n log n)
+    for (int start = 0, end; start < n; start = end) {
+      end = start + 1;
+      while (end < n && x[indices[end]] == x[indices[start]])
+        end++;
+      if (end - start < 2)
+        continue;
+      for (int k = start; k < end; k++)
+        keys[k] = ((long) sortable(y[indices[k]]) << 32) | indices[k];
+      Arrays.sort(keys, start, end);
+      for (int k = start; k < end; k++)
+        indices[k] = (int) keys[k];
+    }
+  }
+
+  /** An int which signed order is the order of the float, -0 and 0 being equal. */
+  private static int sortable(float value) {
+    int bits = Float.floatToIntBits(value + 0f);
+    return bits ^ ((bits >> 31) & 0x7fffffff);
+  }
+
+  /**
+   * Orientation of point k relative to the directed segment i-j: 1 if counter clockwise, -1 if
+   * clockwise, 0 if collinear.
+   */
+  public static int orientation(float[] x, float[] y, int i, int j, int k) {
+    double dx1 = (double) x[j] - x[i];
+    double dy1 = (double) y[j] - y[i];
+    double dx2 = (double) x[k] - x[j];
+    double dy2 = (double) y[k] - y[j];
+
+    double left = dx1 * dy2;
+    double right = dy1 * dx2;
+    double det = left - right;
+    if (Math.abs(det) > ERROR_BOUND * (Math.abs(left) + Math.abs(right)))
+      return det > 0 ? 1 : -1;
+    return RobustDeterminant.signOfDet2x2(dx1, dy1, dx2, dy2);
+  }
+
+  /** Relative error above which the sign of a determinant evaluated in double can be trusted. */
+  private static final double ERROR_BOUND = 1e-14;
+}
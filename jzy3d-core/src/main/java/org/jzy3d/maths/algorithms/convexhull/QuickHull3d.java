@@ -0,0 +1,404 @@
+package org.jzy3d.maths.algorithms.convexhull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import org.jzy3d.maths.Coord3ds;
+
+/**
+ * 3-D convex hull of points given as packed x, y and z arrays, such as the ones of
+ * {@link Coord3ds}, computed with the quickhull algorithm.
+ *
+ * The hull starts from a tetrahedron of extreme points. Each remaining point is assigned to a face
+ * it stands outside of. Then, as long as a face has outside points, its farthest point is added to
+ * the hull: faces visible from this point are removed and replaced by a cone of triangles joining
+ * the point to the horizon, and the outside points of removed faces are assigned to the new faces.
+ * Points closer to a face than a tolerance relative to the extent of the input are considered
+ * inside, so that nearly coplanar points do not create degenerated faces.
+ *
+ * The hull is made of triangles, which vertices are given counter clockwise when seen from outside
+ * the hull. Use {@link #getVertices()} and {@link #getIndices()} to build an indexed mesh of the
+ * hull envelope, e.g. with {@link org.jzy3d.plot3d.builder.delaunay.TriangleMesh}.
+ */
+public class QuickHull3d {
+  public QuickHull3d(Coord3ds points) {
+    this(points.x, points.y, points.z);
+  }
+
+  public QuickHull3d(float[] x, float[] y, float[] z) {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+    build();
+  }
+
+  /** Triangles of the hull, three indices per triangle referring to input points. */
+  public int[] getTriangles() {
+    return triangles;
+  }
+
+  /** Input indices of the hull vertices, i.e. of the vertices of {@link #getVertices()}. */
+  public int[] getVertexIndices() {
+    return vertexIndices;
+  }
+
+  /** Packed coordinates of the hull vertices, x,y,z for each vertex. */
+  public float[] getVertices() {
+    float[] vertices = new float[vertexIndices.length * 3];
+    for (int v = 0; v < vertexIndices.length; v++) {
+      vertices[v * 3] = x[vertexIndices[v]];
+      vertices[v * 3 + 1] = y[vertexIndices[v]];
+      vertices[v * 3 + 2] = z[vertexIndices[v]];
+    }
+    return vertices;
+  }
+
+  /** Triangles of the hull, three indices per triangle referring to {@link #getVertices()}. */
+  public int[] getIndices() {
+    int[] compact = new int[x.length];
+    for (int v = 0; v < vertexIndices.length; v++)
+      compact[vertexIndices[v]] = v;
+    int[] indices = new int[triangles.length];
+    for (int t = 0; t < triangles.length; t++)
+      indices[t] = compact[triangles[t]];
+    return indices;
+  }
+
+  /** False if all points are coplanar, in which case the hull has no triangle. */
+  public boolean isVolume() {
+    return triangles.length > 0;
+  }
+
+  /* */
+
+  protected void build() {
+    int n = x.length;
+    triangles = new int[0];
+    vertexIndices = new int[0];
+    if (n < 4)
+      return;
+
+    tolerance = tolerance();
+    int[] simplex = initialSimplex();
+    if (simplex == null)
+      return;
+
+    createSimplexFaces(simplex);
+
+    // assign points to the first face they stand outside of
+    for (int i = 0; i < n; i++) {
+      if (i == simplex[0] || i == simplex[1] || i == simplex[2] || i == simplex[3])
+        continue;
+      if (Float.isNaN(x[i]) || Float.isNaN(y[i]) || Float.isNaN(z[i]))
+        continue;
+      for (Face f : faces)
+        if (f.addIfOutside(i))
+          break;
+    }
+
+    Deque<Face> pending = new ArrayDeque<Face>(faces);
+    horizonStart = new Face[n];
+    horizonEnd = new Face[n];
+    while (!pending.isEmpty()) {
+      Face face = pending.pop();
+      if (face.dead || face.outsideCount == 0)
+        continue;
+      addPoint(face.farthest(), face, pending);
+    }
+
+    collectTriangles();
+  }
+
+  /** Add point eye, standing outside face, to the hull. */
+  protected void addPoint(int eye, Face face, Deque<Face> pending) {
+    // find visible faces by a walk from face, and the horizon edges between visible and hidden
+    // faces, directed as in the visible faces
+    List<Face> visible = new ArrayList<Face>();
+    List<int[]> horizon = new ArrayList<int[]>(); // {from, to}
+    List<Face> hidden = new ArrayList<Face>();
+    Deque<Face> stack = new ArrayDeque<Face>();
+    face.visited = true;
+    stack.push(face);
+    while (!stack.isEmpty()) {
+      Face f = stack.pop();
+      visible.add(f);
+      for (int e = 0; e < 3; e++) {
+        Face g = f.neighbors[e];
+        if (g.visited)
+          continue;
+        if (g.distance(eye) > tolerance) {
+          g.visited = true;
+          stack.push(g);
+        } else {
+          horizon.add(new int[] {f.vertices[e], f.vertices[(e + 1) % 3]});
+          hidden.add(g);
+        }
+      }
+    }
+    for (Face f : visible)
+      f.dead = true;
+
+    // cone of new faces joining horizon edges to the eye
+    List<Face> created = new ArrayList<Face>(horizon.size());
+    for (int h = 0; h < horizon.size(); h++) {
+      int from = horizon.get(h)[0];
+      int to = horizon.get(h)[1];
+      Face nf = new Face(from, to, eye);
+      Face other = hidden.get(h);
+      nf.neighbors[0] = other;
+      other.replaceNeighbor(to, from, nf);
+      horizonStart[from] = nf;
+      horizonEnd[to] = nf;
+      created.add(nf);
+    }
+    for (Face nf : created) {
+      // edge to -> eye is shared with the face starting at to, edge eye -> from with the face
+      // ending at from
+      nf.neighbors[1] = horizonStart[nf.vertices[1]];
+      nf.neighbors[2] = horizonEnd[nf.vertices[0]];
+    }
+    faces.addAll(created);
+
+    // reassign outside points of removed faces
+    for (Face f : visible) {
+      for (int k = 0; k < f.outsideCount; k++) {
+        int i = f.outside[k];
+        if (i == eye)
+          continue;
+        for (Face nf : created)
+          if (nf.addIfOutside(i))
+            break;
+      }
+      f.outside = null;
+      f.outsideCount = 0;
+    }
+    for (Face nf : created)
+      if (nf.outsideCount > 0)
+        pending.push(nf);
+  }
+
+  protected void collectTriangles() {
+    List<Face> alive = new ArrayList<Face>();
+    for (Face f : faces)
+      if (!f.dead)
+        alive.add(f);
+    faces = alive;
+
+    triangles = new int[alive.size() * 3];
+    boolean[] used = new boolean[x.length];
+    int count = 0;
+    for (int t = 0; t < alive.size(); t++) {
+      for (int v = 0; v < 3; v++) {
+        int i = alive.get(t).vertices[v];
+        triangles[t * 3 + v] = i;
+        if (!used[i]) {
+          used[i] = true;
+          count++;
+        }
+      }
+    }
+    vertexIndices = new int[count];
+    for (int i = 0, v = 0; i < used.length; i++)
+      if (used[i])
+        vertexIndices[v++] = i;
+  }
+
+  /** Distance under which a point is considered to lie on a plane. */
+  protected double tolerance() {
+    double mx = 0, my = 0, mz = 0;
+    for (int i = 0; i < x.length; i++) {
+      if (Float.isNaN(x[i]) || Float.isNaN(y[i]) || Float.isNaN(z[i]))
+        continue;
+      mx = Math.max(mx, Math.abs(x[i]));
+      my = Math.max(my, Math.abs(y[i]));
+      mz = Math.max(mz, Math.abs(z[i]));
+    }
+    // coordinates are floats, hence known up to their own precision
+    return 3 * Math.ulp(1f) * (mx + my + mz);
+  }
+
+  /** Four points making a tetrahedron of non null volume, or null if all points are coplanar. */
+  protected int[] initialSimplex() {
+    int n = x.length;
+    int[] min = {-1, -1, -1};
+    int[] max = {-1, -1, -1};
+    for (int i = 0; i < n; i++) {
+      if (Float.isNaN(x[i]) || Float.isNaN(y[i]) || Float.isNaN(z[i]))
+        continue;
+      for (int a = 0; a < 3; a++) {
+        if (min[a] < 0 || coord(i, a) < coord(min[a], a))
+          min[a] = i;
+        if (max[a] < 0 || coord(i, a) > coord(max[a], a))
+          max[a] = i;
+      }
+    }
+    if (min[0] < 0)
+      return null;
+
+    // the two most distant extreme points along an axis
+    int axis = 0;
+    double extent = -1;
+    for (int a = 0; a < 3; a++) {
+      double d = coord(max[a], a) - coord(min[a], a);
+      if (d > extent) {
+        extent = d;
+        axis = a;
+      }
+    }
+    if (extent <= tolerance)
+      return null;
+    int v0 = min[axis];
+    int v1 = max[axis];
+
+    // the farthest point from the line v0-v1
+    double ux = x[v1] - x[v0], uy = y[v1] - y[v0], uz = z[v1] - z[v0];
+    int v2 = -1;
+    double best = 0;
+    double nx = 0, ny = 0, nz = 0;
+    for (int i = 0; i < n; i++) {
+      double wx = x[i] - x[v0], wy = y[i] - y[v0], wz = z[i] - z[v0];
+      double cx = uy * wz - uz * wy, cy = uz * wx - ux * wz, cz = ux * wy - uy * wx;
+      double d = cx * cx + cy * cy + cz * cz;
+      if (d > best) {
+        best = d;
+        v2 = i;
+        nx = cx;
+        ny = cy;
+        nz = cz;
+      }
+    }
+    if (v2 < 0 || Math.sqrt(best) / Math.sqrt(ux * ux + uy * uy + uz * uz) <= tolerance)
+      return null;
+
+    // the farthest point from the plane v0-v1-v2
+    double norm = Math.sqrt(nx * nx + ny * ny + nz * nz);
+    nx /= norm;
+    ny /= norm;
+    nz /= norm;
+    int v3 = -1;
+    best = 0;
+    for (int i = 0; i < n; i++) {
+      double d = Math.abs(nx * (x[i] - x[v0]) + ny * (y[i] - y[v0]) + nz * (z[i] - z[v0]));
+      if (d > best) {
+        best = d;
+        v3 = i;
+      }
+    }
+    if (v3 < 0 || best <= tolerance)
+      return null;
+    return new int[] {v0, v1, v2, v3};
+  }
+
+  protected void createSimplexFaces(int[] s) {
+    // orient the base triangle so that the apex stands behind it
+    Face probe = new Face(s[0], s[1], s[2]);
+    int a = s[0], b = s[1], c = s[2], d = s[3];
+    if (probe.distance(d) > 0) {
+      b = s[2];
+      c = s[1];
+    }
+    Face base = new Face(a, b, c);
+    Face f1 = new Face(b, a, d);
+    Face f2 = new Face(c, b, d);
+    Face f3 = new Face(a, c, d);
+
+    // neighbors across edges (v0,v1), (v1,v2), (v2,v0)
+    base.setNeighbors(f1, f2, f3);
+    f1.setNeighbors(base, f3, f2);
+    f2.setNeighbors(base, f1, f3);
+    f3.setNeighbors(base, f2, f1);
+
+    faces = new ArrayList<Face>();
+    faces.add(base);
+    faces.add(f1);
+    faces.add(f2);
+    faces.add(f3);
+  }
+
+  private double coord(int i, int axis) {
+    return axis == 0 ? x[i] : axis == 1 ? y[i] : z[i];
+  }
+
+  /**
+   * A triangle of the hull, which vertices are counter clockwise when seen from outside. Neighbor e
+   * shares the edge from vertex e to vertex e+1.
+   */
+  protected class Face {
+    final int[] vertices;
+    final Face[] neighbors = new Face[3];
+    final double nx, ny, nz, offset;
+    int[] outside;
+    int outsideCount;
+    boolean visited;
+    boolean dead;
+
+    Face(int a, int b, int c) {
+      vertices = new int[] {a, b, c};
+      double ux = x[b] - x[a], uy = y[b] - y[a], uz = z[b] - z[a];
+      double vx = x[c] - x[a], vy = y[c] - y[a], vz = z[c] - z[a];
+      double cx = uy * vz - uz * vy, cy = uz * vx - ux * vz, cz = ux * vy - uy * vx;
+      double norm = Math.sqrt(cx * cx + cy * cy + cz * cz);
+      if (norm == 0)
+        norm = 1;
+      nx = cx / norm;
+      ny = cy / norm;
+      nz = cz / norm;
+      offset = nx * x[a] + ny * y[a] + nz * z[a];
+    }
+
+    void setNeighbors(Face f0, Face f1, Face f2) {
+      neighbors[0] = f0;
+      neighbors[1] = f1;
+      neighbors[2] = f2;
+    }
+
+    /** Replace the neighbor across edge from-to by face. */
+    void replaceNeighbor(int from, int to, Face face) {
+      for (int e = 0; e < 3; e++)
+        if (vertices[e] == from && vertices[(e + 1) % 3] == to)
+          neighbors[e] = face;
+    }
+
+    /** Signed distance of point i to the plane of the face, positive outside. */
+    double distance(int i) {
+      return nx * x[i] + ny * y[i] + nz * z[i] - offset;
+    }
+
+    boolean addIfOutside(int i) {
+      if (distance(i) <= tolerance)
+        return false;
+      if (outside == null)
+        outside = new int[4];
+      else if (outsideCount == outside.length)
+        outside = Arrays.copyOf(outside, outsideCount * 2);
+      outside[outsideCount++] = i;
+      return true;
+    }
+
+    int farthest() {
+      int best = outside[0];
+      double max = distance(best);
+      for (int k = 1; k < outsideCount; k++) {
+        double d = distance(outside[k]);
+        if (d > max) {
+          max = d;
+          best = outside[k];
+        }
+      }
+      return best;
+    }
+  }
+
+  protected float[] x;
+  protected float[] y;
+  protected float[] z;
+  protected double tolerance;
+  protected List<Face> faces;
+  protected Face[] horizonStart;
+  protected Face[] horizonEnd;
+  protected int[] triangles;
+  protected int[] vertexIndices;
+}
@@ -0,0 +1,445 @@
+package org.jzy3d.painters;
+
+import java.util.Arrays;
+
+import org.jzy3d.plot3d.primitives.PolygonFill;
+import org.jzy3d.plot3d.primitives.PolygonMode;
+import org.jzy3d.plot3d.rendering.lights.MaterialProperty;
+
+/**
+ * A compact list of {@link IPainter} commands, as recorded by a {@link RecordingPainter}, that can
+ * be replayed on any painter.
+ *
+ * Each command is stored as an opcode followed by its integer operands in an int array, while its
+ * float operands are stored in a float array. Replaying a buffer hence does not traverse any
+ * object, and only allocates the value arrays of material commands: it invokes the painter methods
+ * that were recorded, with the same arguments, which keeps the result identical for native and
+ * emulated painters.
+ *
+ * Double precision vertices are stored in single precision.
+ */
+public class CommandBuffer {
+  /* COMMANDS WITHOUT OPERAND */
+
+  public static final int END = 0;
+  public static final int BEGIN_POLYGON = 1;
+  public static final int BEGIN_QUAD = 2;
+  public static final int BEGIN_TRIANGLE = 3;
+  public static final int BEGIN_POINT = 4;
+  public static final int BEGIN_LINE_STRIP = 5;
+  public static final int BEGIN_LINE_LOOP = 6;
+  public static final int BEGIN_LINE = 7;
+  public static final int PUSH_MATRIX = 8;
+  public static final int POP_MATRIX = 9;
+  public static final int LOAD_IDENTITY = 10;
+  public static final int MATRIX_MODE_MODELVIEW = 11;
+  public static final int MATRIX_MODE_PROJECTION = 12;
+  public static final int ENABLE_BLEND = 13;
+  public static final int DISABLE_BLEND = 14;
+  public static final int ENABLE_LINE_STIPPLE = 15;
+  public static final int DISABLE_LINE_STIPPLE = 16;
+  public static final int ENABLE_POLYGON_OFFSET_FILL = 17;
+  public static final int DISABLE_POLYGON_OFFSET_FILL = 18;
+  public static final int ENABLE_POLYGON_OFFSET_LINE = 19;
+  public static final int DISABLE_POLYGON_OFFSET_LINE = 20;
+  public static final int ENABLE_CULL_FACE = 21;
+  public static final int DISABLE_CULL_FACE = 22;
+  public static final int FRONT_FACE_CLOCKWISE = 23;
+  public static final int CULL_FACE_FRONT = 24;
+  public static final int ENABLE_LIGHTING = 25;
+  public static final int DISABLE_LIGHTING = 26;
+  public static final int ENABLE_COLOR_MATERIAL = 27;
+  public static final int ENABLE_POINT_SMOOTH = 28;
+  public static final int HINT_POINT_SMOOTH_NICEST = 29;
+
+  /* COMMANDS WITH INTEGER OPERANDS */
+
+  public static final int BEGIN = 30;
+  public static final int ENABLE = 31;
+  public static final int DISABLE = 32;
+  public static final int MATRIX_MODE = 33;
+  public static final int DEPTH_FUNC = 34;
+  public static final int FRONT_FACE = 35;
+  public static final int CULL_FACE = 36;
+  public static final int SHADE_MODEL = 37;
+  public static final int ENABLE_LIGHT = 38;
+  public static final int DISABLE_LIGHT = 39;
+  public static final int BLEND_FUNC = 40;
+  public static final int POLYGON_MODE = 41;
+  public static final int POLYGON_MODE_FILL = 42;
+  public static final int LINE_STIPPLE = 43;
+  public static final int HINT = 44;
+
+  /* COMMANDS WITH FLOAT OPERANDS */
+
+  public static final int VERTEX = 45;
+  public static final int COLOR3 = 46;
+  public static final int COLOR4 = 47;
+  public static final int NORMAL = 48;
+  public static final int TEX_COORD = 49;
+  public static final int LINE_WIDTH = 50;
+  public static final int POINT_SIZE = 51;
+  public static final int POLYGON_OFFSET = 52;
+  public static final int SCALE = 53;
+  public static final int TRANSLATE = 54;
+  public static final int ROTATE = 55;
+  public static final int DEPTH_RANGE = 56;
+
+  /* COMMANDS WITH INTEGER AND FLOAT OPERANDS */
+
+  /** material property ordinal, front flag, value count, then the values */
+  public static final int MATERIAL = 57;
+  /** face, property name, value count, then the values */
+  public static final int MATERIAL_FV = 58;
+
+  public CommandBuffer() {
+    this(256);
+  }
+
+  public CommandBuffer(int initialCapacity) {
+    ints = new int[Math.max(16, initialCapacity)];
+    floats = new float[Math.max(16, initialCapacity * 3)];
+  }
+
+  /* RECORD */
+
+  public void add(int op) {
+    ensureInts(1);
+    ints[intCount++] = op;
+    commands++;
+  }
+
+  public void add(int op, int a) {
+    ensureInts(2);
+    ints[intCount++] = op;
+    ints[intCount++] = a;
+    commands++;
+  }
+
+  public void add(int op, int a, int b) {
+    ensureInts(3);
+    ints[intCount++] = op;
+    ints[intCount++] = a;
+    ints[intCount++] = b;
+    commands++;
+  }
+
+  public void add(int op, float x) {
+    add(op);
+    ensureFloats(1);
+    floats[floatCount++] = x;
+  }
+
+  public void add(int op, float x, float y) {
+    add(op);
+    ensureFloats(2);
+    floats[floatCount++] = x;
+    floats[floatCount++] = y;
+  }
+
+  public void add(int op, float x, float y, float z) {
+    add(op);
+    ensureFloats(3);
+    floats[floatCount++] = x;
+    floats[floatCount++] = y;
+    floats[floatCount++] = z;
+  }
+
+  public void add(int op, float x, float y, float z, float w) {
+    add(op);
+    ensureFloats(4);
+    floats[floatCount++] = x;
+    floats[floatCount++] = y;
+    floats[floatCount++] = z;
+    floats[floatCount++] = w;
+  }
+
+  /** Add a command with two integer operands and at most 4 float values. */
+  public void add(int op, int a, int b, float[] values, int offset) {
+    int n = Math.max(0, Math.min(4, values.length - offset));
+    ensureInts(4);
+    ints[intCount++] = op;
+    ints[intCount++] = a;
+    ints[intCount++] = b;
+    ints[intCount++] = n;
+    ensureFloats(n);
+    System.arraycopy(values, offset, floats, floatCount, n);
+    floatCount += n;
+    commands++;
+  }
+
+  /** Remove all commands, keeping the allocated storage. */
+  public void clear() {
+    intCount = 0;
+    floatCount = 0;
+    commands = 0;
+  }
+
+  /** Release the storage exceeding the recorded commands. */
+  public void trim() {
+    ints = Arrays.copyOf(ints, Math.max(16, intCount));
+    floats = Arrays.copyOf(floats, Math.max(16, floatCount));
+  }
+
+  /* REPLAY */
+
+  /** Invoke all recorded commands on the given painter, in the order they were recorded. */
+  public void replay(IPainter painter) {
+    int[] ints = this.ints;
+    float[] floats = this.floats;
+    int f = 0;
+    int i = 0;
+
+    while (i < intCount) {
+      switch (ints[i++]) {
+        case END:
+          painter.glEnd();
+          break;
+        case BEGIN_POLYGON:
+          painter.glBegin_Polygon();
+          break;
+        case BEGIN_QUAD:
+          painter.glBegin_Quad();
+          break;
+        case BEGIN_TRIANGLE:
+          painter.glBegin_Triangle();
+          break;
+        case BEGIN_POINT:
+          painter.glBegin_Point();
+          break;
+        case BEGIN_LINE_STRIP:
+          painter.glBegin_LineStrip();
+          break;
+        case BEGIN_LINE_LOOP:
+          painter.glBegin_LineLoop();
+          break;
+        case BEGIN_LINE:
+          painter.glBegin_Line();
+          break;
+        case PUSH_MATRIX:
+          painter.glPushMatrix();
+          break;
+        case POP_MATRIX:
+          painter.glPopMatrix();
+          break;
+        case LOAD_IDENTITY:
+          painter.glLoadIdentity();
+          break;
+        case MATRIX_MODE_MODELVIEW:
+          painter.glMatrixMode_ModelView();
+          break;
+        case MATRIX_MODE_PROJECTION:
+          painter.glMatrixMode_Projection();
+          break;
+        case ENABLE_BLEND:
+          painter.glEnable_Blend();
+          break;
+        case DISABLE_BLEND:
+          painter.glDisable_Blend();
+          break;
+        case ENABLE_LINE_STIPPLE:
+          painter.glEnable_LineStipple();
+          break;
+        case DISABLE_LINE_STIPPLE:
+          painter.glDisable_LineStipple();
+          break;
+        case ENABLE_POLYGON_OFFSET_FILL:
+          painter.glEnable_PolygonOffsetFill();
+          break;
+        case DISABLE_POLYGON_OFFSET_FILL:
+          painter.glDisable_PolygonOffsetFill();
+          break;
+        case ENABLE_POLYGON_OFFSET_LINE:
+          painter.glEnable_PolygonOffsetLine();
+          break;
+        case DISABLE_POLYGON_OFFSET_LINE:
+          painter.glDisable_PolygonOffsetLine();
+          break;
+        case ENABLE_CULL_FACE:
+          painter.glEnable_CullFace();
+          break;
+        case DISABLE_CULL_FACE:
+          painter.glDisable_CullFace();
+          break;
+        case FRONT_FACE_CLOCKWISE:
+          painter.glFrontFace_ClockWise();
+          break;
+        case CULL_FACE_FRONT:
+          painter.glCullFace_Front();
+          break;
+        case ENABLE_LIGHTING:
+          painter.glEnable_Lighting();
+          break;
+        case DISABLE_LIGHTING:
+          painter.glDisable_Lighting();
+          break;
+        case ENABLE_COLOR_MATERIAL:
+          painter.glEnable_ColorMaterial();
+          break;
+        case ENABLE_POINT_SMOOTH:
+          painter.glEnable_PointSmooth();
+          break;
+        case HINT_POINT_SMOOTH_NICEST:
+          painter.glHint_PointSmooth_Nicest();
+          break;
+
+        case BEGIN:
+          painter.glBegin(ints[i++]);
+          break;
+        case ENABLE:
+          painter.glEnable(ints[i++]);
+          break;
+        case DISABLE:
+          painter.glDisable(ints[i++]);
+          break;
+        case MATRIX_MODE:
+          painter.glMatrixMode(ints[i++]);
+          break;
+        case DEPTH_FUNC:
+          painter.glDepthFunc(ints[i++]);
+          break;
+        case FRONT_FACE:
+          painter.glFrontFace(ints[i++]);
+          break;
+        case CULL_FACE:
+          painter.glCullFace(ints[i++]);
+          break;
+        case SHADE_MODEL:
+          painter.glShadeModel(ints[i++]);
+          break;
+        case ENABLE_LIGHT:
+          painter.glEnable_Light(ints[i++]);
+          break;
+        case DISABLE_LIGHT:
+          painter.glDisable_Light(ints[i++]);
+          break;
+        case BLEND_FUNC:
+          painter.glBlendFunc(ints[i], ints[i + 1]);
+          i += 2;
+          break;
+        case POLYGON_MODE:
+          painter.glPolygonMode(ints[i], ints[i + 1]);
+          i += 2;
+          break;
+        case POLYGON_MODE_FILL:
+          painter.glPolygonMode(POLYGON_MODES[ints[i]], POLYGON_FILLS[ints[i + 1]]);
+          i += 2;
+          break;
+        case LINE_STIPPLE:
+          painter.glLineStipple(ints[i], (short) ints[i + 1]);
+          i += 2;
+          break;
+        case HINT:
+          painter.glHint(ints[i], ints[i + 1]);
+          i += 2;
+          break;
+
+        case VERTEX:
+          painter.glVertex3f(floats[f], floats[f + 1], floats[f + 2]);
+          f += 3;
+          break;
+        case COLOR3:
+          painter.glColor3f(floats[f], floats[f + 1], floats[f + 2]);
+          f += 3;
+          break;
+        case COLOR4:
+          painter.glColor4f(floats[f], floats[f + 1], floats[f + 2], floats[f + 3]);
+          f += 4;
+          break;
+        case NORMAL:
+          painter.glNormal3f(floats[f], floats[f + 1], floats[f + 2]);
+          f += 3;
+          break;
+        case TEX_COORD:
+          painter.glTexCoord2f(floats[f], floats[f + 1]);
+          f += 2;
+          break;
+        case LINE_WIDTH:
+          painter.glLineWidth(floats[f++]);
+          break;
+        case POINT_SIZE:
+          painter.glPointSize(floats[f++]);
+          break;
+        case POLYGON_OFFSET:
+          painter.glPolygonOffset(floats[f], floats[f + 1]);
+          f += 2;
+          break;
+        case SCALE:
+          painter.glScalef(floats[f], floats[f + 1], floats[f + 2]);
+          f += 3;
+          break;
+        case TRANSLATE:
+          painter.glTranslatef(floats[f], floats[f + 1], floats[f + 2]);
+          f += 3;
+          break;
+        case ROTATE:
+          painter.glRotatef(floats[f], floats[f + 1], floats[f + 2], floats[f + 3]);
+          f += 4;
+          break;
+        case DEPTH_RANGE:
+          painter.glDepthRangef(floats[f], floats[f + 1]);
+          f += 2;
+          break;
+
+        case MATERIAL: {
+          int n = ints[i + 2];
+          float[] values = Arrays.copyOfRange(floats, f, f + n);
+          painter.glMaterial(MATERIALS[ints[i]], values, ints[i + 1] != 0);
+          i += 3;
+          f += n;
+          break;
+        }
+        case MATERIAL_FV: {
+          int n = ints[i + 2];
+          float[] values = Arrays.copyOfRange(floats, f, f + n);
+          painter.glMaterialfv(ints[i], ints[i + 1], values, 0);
+          i += 3;
+          f += n;
+          break;
+        }
+        default:
+          throw new IllegalStateException("Unknown command " + ints[i - 1] + " at " + (i - 1));
+      }
+    }
+  }
+
+  /* */
+
+  /** Number of recorded commands. */
+  public int size() {
+    return commands;
+  }
+
+  public boolean isEmpty() {
+    return commands == 0;
+  }
+
+  /** Number of bytes used by the recorded commands. */
+  public int getByteSize() {
+    return (intCount + floatCount) * 4;
+  }
+
+  protected void ensureInts(int n) {
+    if (intCount + n > ints.length)
+      ints = Arrays.copyOf(ints, Math.max(ints.length * 2, intCount + n));
+  }
+
+  protected void ensureFloats(int n) {
+    if (floatCount + n > floats.length)
+      floats = Arrays.copyOf(floats, Math.max(floats.length * 2, floatCount + n));
+  }
+
+  /* */
+
+  protected static final PolygonMode[] POLYGON_MODES = PolygonMode.values();
+  protected static final PolygonFill[] POLYGON_FILLS = PolygonFill.values();
+  protected static final MaterialProperty[] MATERIALS = MaterialProperty.values();
+
+  /** Opcodes and integer operands */
+  protected int[] ints;
+  protected int intCount;
+  /** Float operands */
+  protected float[] floats;
+  protected int floatCount;
+  protected int commands;
+}
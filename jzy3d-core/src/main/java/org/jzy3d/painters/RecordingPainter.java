@@ -0,0 +1,822 @@
+package org.jzy3d.painters;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.jzy3d.colors.Color;
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.plot3d.primitives.PolygonFill;
+import org.jzy3d.plot3d.primitives.PolygonMode;
+import org.jzy3d.plot3d.rendering.canvas.ICanvas;
+import org.jzy3d.plot3d.rendering.canvas.Quality;
+import org.jzy3d.plot3d.rendering.lights.LightModel;
+import org.jzy3d.plot3d.rendering.lights.MaterialProperty;
+import org.jzy3d.plot3d.rendering.view.Camera;
+import org.jzy3d.plot3d.rendering.view.View;
+
+/**
+ * A painter recording the vertex, color, matrix and state commands it receives in a
+ * {@link CommandBuffer}, while forwarding all commands to a delegate painter, so that what is drawn
+ * while recording is also drawn on screen.
+ *
+ * Commands that can not be replayed identically in a later frame are forwarded without being
+ * recorded, and make the recording not retainable. These are commands reading the current camera,
+ * matrices or viewport, which results depend on the viewpoint, as well as texts, pixels, display
+ * lists, GLU/GLUT shapes, lights and frame buffer operations.
+ *
+ * <pre>
+ * <code>
+ * RecordingPainter recorder = new RecordingPainter();
+ * recorder.begin(painter, buffer);
+ * drawable.draw(recorder);
+ * if (recorder.end())
+ *   buffer.replay(painter); // at next frames
+ * </code>
+ * </pre>
+ */
+public class RecordingPainter extends AbstractPainter {
+  public RecordingPainter() {
+    super();
+  }
+
+  public RecordingPainter(IPainter delegate, CommandBuffer buffer) {
+    super();
+    begin(delegate, buffer);
+  }
+
+  /** Start recording in the given buffer, which is first cleared. */
+  public void begin(IPainter delegate, CommandBuffer buffer) {
+    this.delegate = delegate;
+    this.buffer = buffer;
+    this.retainable = true;
+    buffer.clear();
+  }
+
+  /**
+   * Stop recording and release the delegate painter.
+   *
+   * @return true if all commands received since {@link #begin(IPainter, CommandBuffer)} were
+   *         recorded, in which case replaying the buffer is equivalent to drawing again.
+   */
+  public boolean end() {
+    delegate = null;
+    buffer = null;
+    return retainable;
+  }
+
+  public boolean isRetainable() {
+    return retainable;
+  }
+
+  public IPainter getDelegate() {
+    return delegate;
+  }
+
+  public CommandBuffer getBuffer() {
+    return buffer;
+  }
+
+  /** Forward a command that can not be recorded. */
+  protected IPainter unrecorded() {
+    retainable = false;
+    return delegate;
+  }
+
+  /* CONTEXT */
+
+  @Override
+  public Object acquireGL(ICanvas canvas) {
+    return unrecorded().acquireGL(canvas);
+  }
+
+  @Override
+  public void releaseGL(ICanvas canvas) {
+    unrecorded().releaseGL(canvas);
+  }
+
+  @Override
+  public Camera getCamera() {
+    return unrecorded().getCamera();
+  }
+
+  @Override
+  public void setCamera(Camera camera) {
+    delegate.setCamera(camera);
+  }
+
+  @Override
+  public View getView() {
+    return unrecorded().getView();
+  }
+
+  @Override
+  public void setView(View view) {
+    delegate.setView(view);
+  }
+
+  @Override
+  public void configureGL(Quality quality) {
+    unrecorded().configureGL(quality);
+  }
+
+  @Override
+  public int[] getViewPortAsInt() {
+    return unrecorded().getViewPortAsInt();
+  }
+
+  @Override
+  public double[] getProjectionAsDouble() {
+    return unrecorded().getProjectionAsDouble();
+  }
+
+  @Override
+  public float[] getProjectionAsFloat() {
+    return unrecorded().getProjectionAsFloat();
+  }
+
+  @Override
+  public double[] getModelViewAsDouble() {
+    return unrecorded().getModelViewAsDouble();
+  }
+
+  @Override
+  public float[] getModelViewAsFloat() {
+    return unrecorded().getModelViewAsFloat();
+  }
+
+  /* MATRICES */
+
+  @Override
+  public void glLoadIdentity() {
+    buffer.add(CommandBuffer.LOAD_IDENTITY);
+    delegate.glLoadIdentity();
+  }
+
+  @Override
+  public void glPushMatrix() {
+    buffer.add(CommandBuffer.PUSH_MATRIX);
+    delegate.glPushMatrix();
+  }
+
+  @Override
+  public void glPopMatrix() {
+    buffer.add(CommandBuffer.POP_MATRIX);
+    delegate.glPopMatrix();
+  }
+
+  @Override
+  public void glMatrixMode(int mode) {
+    buffer.add(CommandBuffer.MATRIX_MODE, mode);
+    delegate.glMatrixMode(mode);
+  }
+
+  @Override
+  public void glMatrixMode_ModelView() {
+    buffer.add(CommandBuffer.MATRIX_MODE_MODELVIEW);
+    delegate.glMatrixMode_ModelView();
+  }
+
+  @Override
+  public void glMatrixMode_Projection() {
+    buffer.add(CommandBuffer.MATRIX_MODE_PROJECTION);
+    delegate.glMatrixMode_Projection();
+  }
+
+  @Override
+  public void glScalef(float x, float y, float z) {
+    buffer.add(CommandBuffer.SCALE, x, y, z);
+    delegate.glScalef(x, y, z);
+  }
+
+  @Override
+  public void glTranslatef(float x, float y, float z) {
+    buffer.add(CommandBuffer.TRANSLATE, x, y, z);
+    delegate.glTranslatef(x, y, z);
+  }
+
+  @Override
+  public void glRotatef(float angle, float x, float y, float z) {
+    buffer.add(CommandBuffer.ROTATE, angle, x, y, z);
+    delegate.glRotatef(angle, x, y, z);
+  }
+
+  @Override
+  public void glOrtho(double left, double right, double bottom, double top, double near_val,
+      double far_val) {
+    unrecorded().glOrtho(left, right, bottom, top, near_val, far_val);
+  }
+
+  @Override
+  public void gluPerspective(double fovy, double aspect, double zNear, double zFar) {
+    unrecorded().gluPerspective(fovy, aspect, zNear, zFar);
+  }
+
+  @Override
+  public void gluLookAt(float eyeX, float eyeY, float eyeZ, float centerX, float centerY,
+      float centerZ, float upX, float upY, float upZ) {
+    unrecorded().gluLookAt(eyeX, eyeY, eyeZ, centerX, centerY, centerZ, upX, upY, upZ);
+  }
+
+  @Override
+  public void glViewport(int x, int y, int width, int height) {
+    unrecorded().glViewport(x, y, width, height);
+  }
+
+  @Override
+  public boolean gluUnProject(float winX, float winY, float winZ, float[] model, int model_offset,
+      float[] proj, int proj_offset, int[] view, int view_offset, float[] objPos,
+      int objPos_offset) {
+    return unrecorded().gluUnProject(winX, winY, winZ, model, model_offset, proj, proj_offset,
+        view, view_offset, objPos, objPos_offset);
+  }
+
+  @Override
+  public boolean gluProject(float objX, float objY, float objZ, float[] model, int model_offset,
+      float[] proj, int proj_offset, int[] view, int view_offset, float[] winPos,
+      int winPos_offset) {
+    return unrecorded().gluProject(objX, objY, objZ, model, model_offset, proj, proj_offset, view,
+        view_offset, winPos, winPos_offset);
+  }
+
+  /* GEOMETRY */
+
+  @Override
+  public void glBegin(int type) {
+    buffer.add(CommandBuffer.BEGIN, type);
+    delegate.glBegin(type);
+  }
+
+  @Override
+  public void glBegin_Polygon() {
+    buffer.add(CommandBuffer.BEGIN_POLYGON);
+    delegate.glBegin_Polygon();
+  }
+
+  @Override
+  public void glBegin_Quad() {
+    buffer.add(CommandBuffer.BEGIN_QUAD);
+    delegate.glBegin_Quad();
+  }
+
+  @Override
+  public void glBegin_Triangle() {
+    buffer.add(CommandBuffer.BEGIN_TRIANGLE);
+    delegate.glBegin_Triangle();
+  }
+
+  @Override
+  public void glBegin_Point() {
+    buffer.add(CommandBuffer.BEGIN_POINT);
+    delegate.glBegin_Point();
+  }
+
+  @Override
+  public void glBegin_LineStrip() {
+    buffer.add(CommandBuffer.BEGIN_LINE_STRIP);
+    delegate.glBegin_LineStrip();
+  }
+
+  @Override
+  public void glBegin_LineLoop() {
+    buffer.add(CommandBuffer.BEGIN_LINE_LOOP);
+    delegate.glBegin_LineLoop();
+  }
+
+  @Override
+  public void glBegin_Line() {
+    buffer.add(CommandBuffer.BEGIN_LINE);
+    delegate.glBegin_Line();
+  }
+
+  @Override
+  public void glEnd() {
+    buffer.add(CommandBuffer.END);
+    delegate.glEnd();
+  }
+
+  @Override
+  public void glVertex3f(float x, float y, float z) {
+    buffer.add(CommandBuffer.VERTEX, x, y, z);
+    delegate.glVertex3f(x, y, z);
+  }
+
+  @Override
+  public void glVertex3d(double x, double y, double z) {
+    glVertex3f((float) x, (float) y, (float) z);
+  }
+
+  @Override
+  public void glColor3f(float r, float g, float b) {
+    buffer.add(CommandBuffer.COLOR3, r, g, b);
+    delegate.glColor3f(r, g, b);
+  }
+
+  @Override
+  public void glColor4f(float r, float g, float b, float a) {
+    buffer.add(CommandBuffer.COLOR4, r, g, b, a);
+    delegate.glColor4f(r, g, b, a);
+  }
+
+  @Override
+  public void glNormal3f(float nx, float ny, float nz) {
+    buffer.add(CommandBuffer.NORMAL, nx, ny, nz);
+    delegate.glNormal3f(nx, ny, nz);
+  }
+
+  @Override
+  public void glTexCoord2f(float s, float t) {
+    buffer.add(CommandBuffer.TEX_COORD, s, t);
+    delegate.glTexCoord2f(s, t);
+  }
+
+  @Override
+  public void glEvalCoord2f(float u, float v) {
+    unrecorded().glEvalCoord2f(u, v);
+  }
+
+  @Override
+  public void glMap2f(int target, float u1, float u2, int ustride, int uorder, float v1, float v2,
+      int vstride, int vorder, FloatBuffer points) {
+    unrecorded().glMap2f(target, u1, u2, ustride, uorder, v1, v2, vstride, vorder, points);
+  }
+
+  @Override
+  public void gluDisk(double inner, double outer, int slices, int loops) {
+    unrecorded().gluDisk(inner, outer, slices, loops);
+  }
+
+  @Override
+  public void glutSolidSphere(double radius, int slices, int stacks) {
+    unrecorded().glutSolidSphere(radius, slices, stacks);
+  }
+
+  @Override
+  public void gluSphere(double radius, int slices, int stacks) {
+    unrecorded().gluSphere(radius, slices, stacks);
+  }
+
+  @Override
+  public void gluCylinder(double base, double top, double height, int slices, int stacks) {
+    unrecorded().gluCylinder(base, top, height, slices, stacks);
+  }
+
+  @Override
+  public void glutSolidCube(float size) {
+    unrecorded().glutSolidCube(size);
+  }
+
+  /* STATE */
+
+  @Override
+  public void glEnable(int type) {
+    buffer.add(CommandBuffer.ENABLE, type);
+    delegate.glEnable(type);
+  }
+
+  @Override
+  public void glDisable(int type) {
+    buffer.add(CommandBuffer.DISABLE, type);
+    delegate.glDisable(type);
+  }
+
+  @Override
+  public void glDepthFunc(int func) {
+    buffer.add(CommandBuffer.DEPTH_FUNC, func);
+    delegate.glDepthFunc(func);
+  }
+
+  @Override
+  public void glDepthRangef(float near, float far) {
+    buffer.add(CommandBuffer.DEPTH_RANGE, near, far);
+    delegate.glDepthRangef(near, far);
+  }
+
+  @Override
+  public void glBlendFunc(int sfactor, int dfactor) {
+    buffer.add(CommandBuffer.BLEND_FUNC, sfactor, dfactor);
+    delegate.glBlendFunc(sfactor, dfactor);
+  }
+
+  @Override
+  public void glFrontFace(int mode) {
+    buffer.add(CommandBuffer.FRONT_FACE, mode);
+    delegate.glFrontFace(mode);
+  }
+
+  @Override
+  public void glCullFace(int mode) {
+    buffer.add(CommandBuffer.CULL_FACE, mode);
+    delegate.glCullFace(mode);
+  }
+
+  @Override
+  public void glPolygonMode(PolygonMode mode, PolygonFill fill) {
+    buffer.add(CommandBuffer.POLYGON_MODE_FILL, mode.ordinal(), fill.ordinal());
+    delegate.glPolygonMode(mode, fill);
+  }
+
+  @Override
+  public void glPolygonMode(int frontOrBack, int fill) {
+    buffer.add(CommandBuffer.POLYGON_MODE, frontOrBack, fill);
+    delegate.glPolygonMode(frontOrBack, fill);
+  }
+
+  @Override
+  public void glPolygonOffset(float factor, float units) {
+    buffer.add(CommandBuffer.POLYGON_OFFSET, factor, units);
+    delegate.glPolygonOffset(factor, units);
+  }
+
+  @Override
+  public void glLineStipple(int factor, short pattern) {
+    buffer.add(CommandBuffer.LINE_STIPPLE, factor, (int) pattern);
+    delegate.glLineStipple(factor, pattern);
+  }
+
+  @Override
+  public void glLineWidth(float width) {
+    buffer.add(CommandBuffer.LINE_WIDTH, width);
+    delegate.glLineWidth(width);
+  }
+
+  @Override
+  public void glPointSize(float width) {
+    buffer.add(CommandBuffer.POINT_SIZE, width);
+    delegate.glPointSize(width);
+  }
+
+  @Override
+  public void glShadeModel(int mode) {
+    buffer.add(CommandBuffer.SHADE_MODEL, mode);
+    delegate.glShadeModel(mode);
+  }
+
+  @Override
+  public void glHint(int target, int mode) {
+    buffer.add(CommandBuffer.HINT, target, mode);
+    delegate.glHint(target, mode);
+  }
+
+  @Override
+  public void glEnable_Blend() {
+    buffer.add(CommandBuffer.ENABLE_BLEND);
+    delegate.glEnable_Blend();
+  }
+
+  @Override
+  public void glDisable_Blend() {
+    buffer.add(CommandBuffer.DISABLE_BLEND);
+    delegate.glDisable_Blend();
+  }
+
+  @Override
+  public void glEnable_LineStipple() {
+    buffer.add(CommandBuffer.ENABLE_LINE_STIPPLE);
+    delegate.glEnable_LineStipple();
+  }
+
+  @Override
+  public void glDisable_LineStipple() {
+    buffer.add(CommandBuffer.DISABLE_LINE_STIPPLE);
+    delegate.glDisable_LineStipple();
+  }
+
+  @Override
+  public void glEnable_PolygonOffsetFill() {
+    buffer.add(CommandBuffer.ENABLE_POLYGON_OFFSET_FILL);
+    delegate.glEnable_PolygonOffsetFill();
+  }
+
+  @Override
+  public void glDisable_PolygonOffsetFill() {
+    buffer.add(CommandBuffer.DISABLE_POLYGON_OFFSET_FILL);
+    delegate.glDisable_PolygonOffsetFill();
+  }
+
+  @Override
+  public void glEnable_PolygonOffsetLine() {
+    buffer.add(CommandBuffer.ENABLE_POLYGON_OFFSET_LINE);
+    delegate.glEnable_PolygonOffsetLine();
+  }
+
+  @Override
+  public void glDisable_PolygonOffsetLine() {
+    buffer.add(CommandBuffer.DISABLE_POLYGON_OFFSET_LINE);
+    delegate.glDisable_PolygonOffsetLine();
+  }
+
+  @Override
+  public void glEnable_CullFace() {
+    buffer.add(CommandBuffer.ENABLE_CULL_FACE);
+    delegate.glEnable_CullFace();
+  }
+
+  @Override
+  public void glDisable_CullFace() {
+    buffer.add(CommandBuffer.DISABLE_CULL_FACE);
+    delegate.glDisable_CullFace();
+  }
+
+  @Override
+  public void glFrontFace_ClockWise() {
+    buffer.add(CommandBuffer.FRONT_FACE_CLOCKWISE);
+    delegate.glFrontFace_ClockWise();
+  }
+
+  @Override
+  public void glCullFace_Front() {
+    buffer.add(CommandBuffer.CULL_FACE_FRONT);
+    delegate.glCullFace_Front();
+  }
+
+  @Override
+  public void glEnable_PointSmooth() {
+    buffer.add(CommandBuffer.ENABLE_POINT_SMOOTH);
+    delegate.glEnable_PointSmooth();
+  }
+
+  @Override
+  public void glHint_PointSmooth_Nicest() {
+    buffer.add(CommandBuffer.HINT_POINT_SMOOTH_NICEST);
+    delegate.glHint_PointSmooth_Nicest();
+  }
+
+  @Override
+  public void glTexEnvf(int target, int pname, float param) {
+    unrecorded().glTexEnvf(target, pname, param);
+  }
+
+  @Override
+  public void glTexEnvi(int target, int pname, int param) {
+    unrecorded().glTexEnvi(target, pname, param);
+  }
+
+  /* LIGHTS AND MATERIALS */
+
+  @Override
+  public void glEnable_Lighting() {
+    buffer.add(CommandBuffer.ENABLE_LIGHTING);
+    delegate.glEnable_Lighting();
+  }
+
+  @Override
+  public void glDisable_Lighting() {
+    buffer.add(CommandBuffer.DISABLE_LIGHTING);
+    delegate.glDisable_Lighting();
+  }
+
+  @Override
+  public void glEnable_Light(int light) {
+    buffer.add(CommandBuffer.ENABLE_LIGHT, light);
+    delegate.glEnable_Light(light);
+  }
+
+  @Override
+  public void glDisable_Light(int light) {
+    buffer.add(CommandBuffer.DISABLE_LIGHT, light);
+    delegate.glDisable_Light(light);
+  }
+
+  @Override
+  public void glEnable_ColorMaterial() {
+    buffer.add(CommandBuffer.ENABLE_COLOR_MATERIAL);
+    delegate.glEnable_ColorMaterial();
+  }
+
+  @Override
+  public void glMaterial(MaterialProperty material, Color color, boolean isFront) {
+    glMaterial(material, color.toArray(), isFront);
+  }
+
+  @Override
+  public void glMaterial(MaterialProperty material, float[] value, boolean isFront) {
+    buffer.add(CommandBuffer.MATERIAL, material.ordinal(), isFront ? 1 : 0, value, 0);
+    delegate.glMaterial(material, value, isFront);
+  }
+
+  @Override
+  public void glMaterialfv(int face, int pname, float[] params, int params_offset) {
+    buffer.add(CommandBuffer.MATERIAL_FV, face, pname, params, params_offset);
+    delegate.glMaterialfv(face, pname, params, params_offset);
+  }
+
+  @Override
+  public void glLightfv(int light, int pname, float[] params, int params_offset) {
+    unrecorded().glLightfv(light, pname, params, params_offset);
+  }
+
+  @Override
+  public void glLightModeli(int mode, int value) {
+    unrecorded().glLightModeli(mode, value);
+  }
+
+  @Override
+  public void glLightModel(LightModel model, boolean value) {
+    unrecorded().glLightModel(model, value);
+  }
+
+  @Override
+  public void glLight_Position(int lightId, float[] positionZero) {
+    unrecorded().glLight_Position(lightId, positionZero);
+  }
+
+  @Override
+  public void glLight_Ambiant(int lightId, Color ambiantColor) {
+    unrecorded().glLight_Ambiant(lightId, ambiantColor);
+  }
+
+  @Override
+  public void glLight_Diffuse(int lightId, Color diffuseColor) {
+    unrecorded().glLight_Diffuse(lightId, diffuseColor);
+  }
+
+  @Override
+  public void glLight_Specular(int lightId, Color specularColor) {
+    unrecorded().glLight_Specular(lightId, specularColor);
+  }
+
+  /* DISPLAY LISTS */
+
+  @Override
+  public int glGenLists(int range) {
+    return unrecorded().glGenLists(range);
+  }
+
+  @Override
+  public void glNewList(int list, int mode) {
+    unrecorded().glNewList(list, mode);
+  }
+
+  @Override
+  public void glNewList(int list, ListMode compile) {
+    unrecorded().glNewList(list, compile);
+  }
+
+  @Override
+  public void glEndList() {
+    unrecorded().glEndList();
+  }
+
+  @Override
+  public void glCallList(int list) {
+    unrecorded().glCallList(list);
+  }
+
+  @Override
+  public boolean glIsList(int list) {
+    return unrecorded().glIsList(list);
+  }
+
+  @Override
+  public void glDeleteLists(int list, int range) {
+    unrecorded().glDeleteLists(list, range);
+  }
+
+  /* PIXELS AND TEXTS */
+
+  @Override
+  public void glDrawPixels(int width, int height, int format, int type, Buffer pixels) {
+    unrecorded().glDrawPixels(width, height, format, type, pixels);
+  }
+
+  @Override
+  public void glPixelZoom(float xfactor, float yfactor) {
+    unrecorded().glPixelZoom(xfactor, yfactor);
+  }
+
+  @Override
+  public void glPixelStorei(int pname, int param) {
+    unrecorded().glPixelStorei(pname, param);
+  }
+
+  @Override
+  public void glPixelStore(PixelStore unpackAlignment, int param) {
+    unrecorded().glPixelStore(unpackAlignment, param);
+  }
+
+  @Override
+  public void glRasterPos3f(float x, float y, float z) {
+    unrecorded().glRasterPos3f(x, y, z);
+  }
+
+  @Override
+  public void glBitmap(int width, int height, float xorig, float yorig, float xmove, float ymove,
+      byte[] bitmap, int bitmap_offset) {
+    unrecorded().glBitmap(width, height, xorig, yorig, xmove, ymove, bitmap, bitmap_offset);
+  }
+
+  @Override
+  public void glutBitmapString(int font, String string) {
+    unrecorded().glutBitmapString(font, string);
+  }
+
+  @Override
+  public int glutBitmapLength(int font, String string) {
+    return delegate.glutBitmapLength(font, string);
+  }
+
+  @Override
+  public void glutBitmapString(Font axisFont, String label, Coord3d p, Color c) {
+    unrecorded().glutBitmapString(axisFont, label, p, c);
+  }
+
+  /* FRAME BUFFER, FEEDBACK AND SELECTION */
+
+  @Override
+  public void glClearColor(float red, float green, float blue, float alpha) {
+    unrecorded().glClearColor(red, green, blue, alpha);
+  }
+
+  @Override
+  public void glClearDepth(double d) {
+    unrecorded().glClearDepth(d);
+  }
+
+  @Override
+  public void glClear(int mask) {
+    unrecorded().glClear(mask);
+  }
+
+  @Override
+  public void glClearColorAndDepthBuffers() {
+    unrecorded().glClearColorAndDepthBuffers();
+  }
+
+  @Override
+  public void glFlush() {
+    unrecorded().glFlush();
+  }
+
+  @Override
+  public void glFeedbackBuffer(int size, int type, FloatBuffer buffer) {
+    unrecorded().glFeedbackBuffer(size, type, buffer);
+  }
+
+  @Override
+  public int glRenderMode(int mode) {
+    return unrecorded().glRenderMode(mode);
+  }
+
+  @Override
+  public int glRenderMode(RenderMode mode) {
+    return unrecorded().glRenderMode(mode);
+  }
+
+  @Override
+  public void glPassThrough(float token) {
+    unrecorded().glPassThrough(token);
+  }
+
+  @Override
+  public void glGetIntegerv(int pname, int[] data, int data_offset) {
+    unrecorded().glGetIntegerv(pname, data, data_offset);
+  }
+
+  @Override
+  public void glGetDoublev(int pname, double[] params, int params_offset) {
+    unrecorded().glGetDoublev(pname, params, params_offset);
+  }
+
+  @Override
+  public void glGetFloatv(int pname, float[] data, int data_offset) {
+    unrecorded().glGetFloatv(pname, data, data_offset);
+  }
+
+  @Override
+  public void glInitNames() {
+    unrecorded().glInitNames();
+  }
+
+  @Override
+  public void glLoadName(int name) {
+    unrecorded().glLoadName(name);
+  }
+
+  @Override
+  public void glPushName(int name) {
+    unrecorded().glPushName(name);
+  }
+
+  @Override
+  public void glPopName() {
+    unrecorded().glPopName();
+  }
+
+  @Override
+  public void glSelectBuffer(int size, IntBuffer buffer) {
+    unrecorded().glSelectBuffer(size, buffer);
+  }
+
+  @Override
+  public void gluPickMatrix(double x, double y, double delX, double delY, int[] viewport,
+      int viewport_offset) {
+    unrecorded().gluPickMatrix(x, y, delX, delY, viewport, viewport_offset);
+  }
+
+  /* */
+
+  protected IPainter delegate;
+  protected CommandBuffer buffer;
+  protected boolean retainable;
+}
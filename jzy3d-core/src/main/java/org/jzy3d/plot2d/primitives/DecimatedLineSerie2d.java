@@ -0,0 +1,98 @@
+package org.jzy3d.plot2d.primitives;
+
+import java.util.List;
+
+import org.jzy3d.colors.Color;
+import org.jzy3d.maths.Coord2d;
+import org.jzy3d.plot3d.primitives.DecimatedLineStrip;
+
+/**
+ * A line serie for series holding many more samples than pixels, which only draws the samples
+ * needed to render the line at the current resolution.
+ *
+ * Samples x values should be non decreasing. The serie has a single color, hence colors given with
+ * samples are ignored.
+ */
+public class DecimatedLineSerie2d implements Serie2d {
+  public DecimatedLineSerie2d(String name) {
+    this.name = name;
+    this.line = new DecimatedLineStrip();
+  }
+
+  @Override
+  public void add(float x, float y) {
+    line.add(x, y);
+  }
+
+  @Override
+  public void add(double x, double y) {
+    line.add(x, y);
+  }
+
+  @Override
+  public void add(Coord2d c) {
+    line.add(c.x, c.y);
+  }
+
+  @Override
+  public void add(Coord2d c, Color color) {
+    line.add(c.x, c.y);
+  }
+
+  @Override
+  public void add(float x, float y, Color color) {
+    line.add(x, y);
+  }
+
+  @Override
+  public void add(double x, double y, Color color) {
+    line.add(x, y);
+  }
+
+  @Override
+  public void add(List<Coord2d> c) {
+    for (Coord2d c2 : c) {
+      line.add(c2.x, c2.y);
+    }
+  }
+
+  public void add(double[] x, double[] y) {
+    line.add(x, y);
+  }
+
+  @Override
+  public void setColor(Color color) {
+    line.setWireframeColor(color);
+  }
+
+  @Override
+  public Color getColor() {
+    return line.getWireframeColor();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public DecimatedLineStrip getDrawable() {
+    return line;
+  }
+
+  @Override
+  public void clear() {
+    line.clear();
+  }
+
+  @Override
+  public void setWidth(int width) {
+    line.setWireframeWidth(width);
+  }
+
+  /* */
+
+  protected DecimatedLineStrip line;
+
+  protected String name;
+}
@@ -1,5 +1,8 @@
 package org.jzy3d.plot2d.primitives;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.jzy3d.chart.Chart;
 import org.jzy3d.colors.Color;
 import org.jzy3d.maths.Coord3d;
@@ -51,20 +54,52 @@ public class Histogram2d {
     return model;
   }
 
+  /**
+   * Replace the counts of the model by the counts of values and update the bars of the drawable,
+   * which may already be displayed by a chart. Values are counted in parallel if they are many.
+   */
+  public void update(float[] values) {
+    model.clear();
+    model.add(values);
+    updateDrawable();
+  }
+
+  /** @see #update(float[]) */
+  public void update(double[] values) {
+    model.clear();
+    model.add(values);
+    updateDrawable();
+  }
+
+  /** Rebuild the bars of the drawable after counts of the model changed. */
+  public void updateDrawable() {
+    List<Polygon> bars = makeCountBars(model);
+
+    // swap bars at once, reporting a data change to retained renderers
+    drawable.set(bars);
+    drawable.updateBounds();
+  }
+
   public Composite getDrawable() {
     return drawable;
   }
 
   protected Composite buildDrawable(Histogram model) {
     Composite c = new Composite() {};
+    c.add(makeCountBars(model));
+    return c;
+  }
+
+  protected List<Polygon> makeCountBars(Histogram model) {
+    List<Polygon> bars = new ArrayList<Polygon>(model.ranges().length);
     for (int i = 0; i < model.ranges().length; i++) {
       Range range = model.ranges()[i];
       int count = model.getCount(i);
 
       Polygon p = makeCountBar(range, count);
-      c.add(p);
+      bars.add(p);
     }
-    return c;
+    return bars;
   }
 
   private Polygon makeCountBar(Range range, int count) {
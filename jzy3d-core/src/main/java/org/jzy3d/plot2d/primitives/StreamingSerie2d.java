@@ -0,0 +1,113 @@
+package org.jzy3d.plot2d.primitives;
+
+import java.util.List;
+
+import org.jzy3d.colors.Color;
+import org.jzy3d.maths.Coord2d;
+import org.jzy3d.maths.RingBuffer2d;
+import org.jzy3d.plot3d.primitives.StreamingLineStrip;
+
+/**
+ * A line serie keeping a bounded number of the latest samples, optionally within a sliding window
+ * on x, for real time charts receiving samples continuously and for a long time.
+ *
+ * Samples may be added from any thread without waiting for the renderer. The serie has a single
+ * color, hence colors given with samples are ignored.
+ */
+public class StreamingSerie2d implements Serie2d {
+  public static final int DEFAULT_CAPACITY = (1 << 16) - 1;
+
+  public StreamingSerie2d(String name) {
+    this(name, DEFAULT_CAPACITY, 0);
+  }
+
+  /**
+   * @param capacity maximum number of samples, rounded up to a power of two minus one.
+   * @param window width of the sliding window on x, disabled if not positive.
+   */
+  public StreamingSerie2d(String name, int capacity, double window) {
+    this.name = name;
+    this.line = new StreamingLineStrip(capacity, window);
+  }
+
+  @Override
+  public void add(float x, float y) {
+    line.add(x, y);
+  }
+
+  @Override
+  public void add(double x, double y) {
+    line.add(x, y);
+  }
+
+  @Override
+  public void add(Coord2d c) {
+    line.add(c.x, c.y);
+  }
+
+  @Override
+  public void add(Coord2d c, Color color) {
+    line.add(c.x, c.y);
+  }
+
+  @Override
+  public void add(float x, float y, Color color) {
+    line.add(x, y);
+  }
+
+  @Override
+  public void add(double x, double y, Color color) {
+    line.add(x, y);
+  }
+
+  @Override
+  public void add(List<Coord2d> c) {
+    for (Coord2d c2 : c) {
+      line.add(c2.x, c2.y);
+    }
+  }
+
+  public RingBuffer2d getBuffer() {
+    return line.getBuffer();
+  }
+
+  public void setWindow(double window) {
+    line.getBuffer().setWindow(window);
+  }
+
+  @Override
+  public void setColor(Color color) {
+    line.setWireframeColor(color);
+  }
+
+  @Override
+  public Color getColor() {
+    return line.getWireframeColor();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public StreamingLineStrip getDrawable() {
+    return line;
+  }
+
+  @Override
+  public void clear() {
+    line.clear();
+  }
+
+  @Override
+  public void setWidth(int width) {
+    line.setWireframeWidth(width);
+  }
+
+  /* */
+
+  protected StreamingLineStrip line;
+
+  protected String name;
+}
@@ -0,0 +1,153 @@
+package org.jzy3d.plot3d.builder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Range;
+import org.jzy3d.plot3d.builder.concrete.OrthonormalGrid;
+
+/**
+ * A {@link Mapper} sampled once on an orthonormal grid and stored in a packed row-major array, so
+ * that the same samples can feed a surface, contour lines and contour images without evaluating the
+ * mapper several times.
+ * 
+ * Value of grid point (xi, yi) is stored at index <code>yi * xRes + xi</code>, where
+ * <code>x = xmin + xi * xstep</code> and <code>y = ymin + yi * ystep</code>.
+ */
+public class HeightField {
+  public HeightField(Range xrange, int xRes, Range yrange, int yRes) {
+    this(xrange, xRes, yrange, yRes, new double[xRes * yRes]);
+  }
+
+  public HeightField(Range xrange, int xRes, Range yrange, int yRes, double[] values) {
+    if (values.length != xRes * yRes)
+      throw new IllegalArgumentException(
+          "expect " + (xRes * yRes) + " values, got " + values.length);
+    this.xrange = xrange;
+    this.yrange = yrange;
+    this.xRes = xRes;
+    this.yRes = yRes;
+    this.values = values;
+    this.xstep = xrange.getRange() / (double) (xRes - 1);
+    this.ystep = yrange.getRange() / (double) (yRes - 1);
+    updateMinMax();
+  }
+
+  /**
+   * Evaluate the mapper on all grid points, in parallel over rows. The mapper must thus be thread
+   * safe.
+   */
+  public static HeightField compute(Mapper mapper, Range xrange, int xRes, Range yrange, int yRes) {
+    return compute(mapper, xrange, xRes, yrange, yRes, true);
+  }
+
+  public static HeightField compute(final Mapper mapper, Range xrange, final int xRes,
+      Range yrange, int yRes, boolean parallel) {
+    final double[] values = new double[xRes * yRes];
+    final double xmin = xrange.getMin();
+    final double ymin = yrange.getMin();
+    final double xstep = xrange.getRange() / (double) (xRes - 1);
+    final double ystep = yrange.getRange() / (double) (yRes - 1);
+
+    IntStream rows = IntStream.range(0, yRes);
+    if (parallel)
+      rows = rows.parallel();
+    rows.forEach(yi -> {
+      double y = ymin + yi * ystep;
+      int offset = yi * xRes;
+      for (int xi = 0; xi < xRes; xi++) {
+        values[offset + xi] = mapper.f(xmin + xi * xstep, y);
+      }
+    });
+    return new HeightField(xrange, xRes, yrange, yRes, values);
+  }
+
+  /** Recompute min and max values, to be called after editing {@link #getValues()}. */
+  public void updateMinMax() {
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    for (double v : values) {
+      if (v < min)
+        min = v;
+      if (v > max)
+        max = v;
+    }
+    this.min = min;
+    this.max = max;
+  }
+
+  public double get(int xi, int yi) {
+    return values[yi * xRes + xi];
+  }
+
+  public double getX(int xi) {
+    return xrange.getMin() + xi * xstep;
+  }
+
+  public double getY(int yi) {
+    return yrange.getMin() + yi * ystep;
+  }
+
+  /**
+   * Return coordinates in the same order than {@link OrthonormalGrid#apply(Mapper)}, so that they
+   * can be processed by the same tessellators.
+   */
+  public List<Coord3d> toCoordinates() {
+    List<Coord3d> output = new ArrayList<Coord3d>(xRes * yRes);
+    for (int xi = 0; xi < xRes; xi++) {
+      for (int yi = 0; yi < yRes; yi++) {
+        output.add(new Coord3d(getX(xi), getY(yi), get(xi, yi)));
+      }
+    }
+    return output;
+  }
+
+  /** The packed row-major values. */
+  public double[] getValues() {
+    return values;
+  }
+
+  public Range getXRange() {
+    return xrange;
+  }
+
+  public Range getYRange() {
+    return yrange;
+  }
+
+  public int getXRes() {
+    return xRes;
+  }
+
+  public int getYRes() {
+    return yRes;
+  }
+
+  public double getXStep() {
+    return xstep;
+  }
+
+  public double getYStep() {
+    return ystep;
+  }
+
+  public double getMin() {
+    return min;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  protected Range xrange;
+  protected Range yrange;
+  protected int xRes;
+  protected int yRes;
+  protected double xstep;
+  protected double ystep;
+  protected double[] values;
+  protected double min;
+  protected double max;
+}
@@ -7,18 +7,23 @@ import org.jzy3d.plot3d.primitives.Composite;
 import org.jzy3d.plot3d.primitives.Drawable;
 import org.jzy3d.plot3d.primitives.Point;
 import org.jzy3d.plot3d.primitives.Polygon;
+import org.jzy3d.plot3d.primitives.Shape;
+import org.jzy3d.plot3d.primitives.VertexNormals;
 
 public abstract class Mapper {
   public abstract double f(double x, double y);
 
   /**
-   * Update the shape by remapping its polygon points' z coordinate according to f(x,y)
+   * Update the shape by remapping its polygon points' z coordinate according to f(x,y), and update
+   * the normals of the vertices that moved if the shape has {@link VertexNormals}.
    */
   public void remap(Composite shape) {
     List<Drawable> polygons = shape.getDrawables();
     for (Drawable d : polygons) {
       remapDrawable(d);
     }
+    if (shape instanceof Shape && ((Shape) shape).getVertexNormals() != null)
+      ((Shape) shape).getVertexNormals().update();
   }
 
   public void remapDrawable(Drawable d) {
@@ -31,6 +31,15 @@ public class SurfaceBuilder {
     return (Shape) tesselator.build(grid.apply(mapper));
   }
 
+  /**
+   * Build a drawable surface object out of an already sampled {@link HeightField}, which can be
+   * shared with contour generators.
+   */
+  public Shape orthonormal(HeightField field) {
+    OrthonormalTessellator tesselator = new OrthonormalTessellator();
+    return (Shape) tesselator.build(field.toCoordinates());
+  }
+
   /**
    * Apply a function to an orthonormal grid and then slice a ring from it between a min and max
    * radius
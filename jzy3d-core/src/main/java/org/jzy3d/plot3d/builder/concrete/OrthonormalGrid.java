@@ -24,15 +24,22 @@ public class OrthonormalGrid extends Grid {
     double xstep = xrange.getRange() / (double) (xsteps - 1);
     double ystep = yrange.getRange() / (double) (ysteps - 1);
 
-    List<Coord3d> output = new ArrayList<Coord3d>(xsteps * ysteps);
-
+    // evaluate all points at once to let mappers process batches
+    double[] x = new double[xsteps * ysteps];
+    double[] y = new double[xsteps * ysteps];
+    int k = 0;
     for (int xi = 0; xi < xsteps; xi++) {
       for (int yi = 0; yi < ysteps; yi++) {
-        double x = xrange.getMin() + xi * xstep;
-        double y = yrange.getMin() + yi * ystep;
-        output.add(new Coord3d(x, y, mapper.f(x, y)));
+        x[k] = xrange.getMin() + xi * xstep;
+        y[k] = yrange.getMin() + yi * ystep;
+        k++;
       }
     }
+    double[] z = mapper.f(x, y);
+
+    List<Coord3d> output = new ArrayList<Coord3d>(xsteps * ysteps);
+    for (int i = 0; i < z.length; i++)
+      output.add(new Coord3d(x[i], y[i], z[i]));
     return output;
   }
 }
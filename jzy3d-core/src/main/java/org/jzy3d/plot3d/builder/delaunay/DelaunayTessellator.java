@@ -1,7 +1,6 @@
 package org.jzy3d.plot3d.builder.delaunay;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import org.jzy3d.maths.Coord3d;
@@ -11,7 +10,8 @@ import org.jzy3d.plot3d.primitives.Polygon;
 import org.jzy3d.plot3d.primitives.Shape;
 
 import il.ac.idc.jdt.DelaunayTriangulation;
-import il.ac.idc.jdt.Triangle;
+import il.ac.idc.jdt.ParallelDelaunayTriangulator;
+import il.ac.idc.jdt.Point;
 
 public class DelaunayTessellator extends Tessellator {
   @Override
@@ -22,27 +22,52 @@ public class DelaunayTessellator extends Tessellator {
   }
 
   protected List<Polygon> computePolygons(List<Coord3d> coordinates) {
+    return buildMesh(coordinates).toPolygons();
+  }
+
+  /**
+   * Triangulate the coordinates and return the resulting indexed mesh, where vertices shared by
+   * several triangles are stored once. Points are inserted at once in JDT so that it can order them
+   * for fast point location.
+   */
+  public TriangleMesh buildMesh(List<Coord3d> coordinates) {
     // Append all input Jzy3d coordinates in JDT triangulator
-    DelaunayTriangulation triangulator = new DelaunayTriangulation();
+    List<Point> points = new ArrayList<Point>(coordinates.size());
     for (Coord3d coord : coordinates) {
-      triangulator.insertPoint(JDTConverter.toJdtPoint(coord));
+      points.add(JDTConverter.toJdtPoint(coord));
     }
-
-    // Retrieve triangles computed by JDT
-    List<Polygon> polygons = new ArrayList<Polygon>(triangulator.trianglesSize());
-    Iterator<Triangle> it = triangulator.trianglesIterator();
-    while (it.hasNext()) {
-      Triangle triangle = it.next();
-      // isHalfplane indicates a degenerated triangle
-      if (triangle.isHalfplane())
-        continue;
-      polygons.add(JDTConverter.toJzyPolygon(triangle));
+    DelaunayTriangulation triangulator;
+    if (parallelThreshold > 0 && points.size() >= parallelThreshold) {
+      triangulator = new ParallelDelaunayTriangulator().triangulate(points);
+    } else {
+      triangulator = new DelaunayTriangulation();
+      triangulator.insertPointsBulk(points);
     }
-    return polygons;
+
+    // Retrieve triangles computed by JDT, without degenerated (halfplane) triangles
+    List<Point> vertices = new ArrayList<Point>(points.size());
+    int[] indices = triangulator.getIndexedTriangulation(vertices);
+    return JDTConverter.toJzyMesh(vertices, indices);
   }
 
   @Override
   public Composite build(float[] x, float[] y, float[] z) {
     throw new RuntimeException("not called");
   }
+
+  public int getParallelThreshold() {
+    return parallelThreshold;
+  }
+
+  /**
+   * Set the number of points above which the triangulation is computed by several threads with a
+   * {@link ParallelDelaunayTriangulator}, or 0 to always triangulate on the calling thread.
+   */
+  public void setParallelThreshold(int parallelThreshold) {
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 500000;
+
+  protected int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
 }
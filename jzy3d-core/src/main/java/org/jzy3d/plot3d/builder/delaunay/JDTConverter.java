@@ -1,5 +1,7 @@
 package org.jzy3d.plot3d.builder.delaunay;
 
+import java.util.List;
+
 import org.jzy3d.maths.Coord3d;
 import org.jzy3d.plot3d.primitives.Polygon;
 
@@ -19,6 +21,17 @@ public class JDTConverter {
     return new Coord3d((float) point.getX(), (float) point.getY(), (float) point.getZ());
   }
 
+  public static TriangleMesh toJzyMesh(List<Point> vertices, int[] indices) {
+    float[] xyz = new float[vertices.size() * 3];
+    int k = 0;
+    for (Point p : vertices) {
+      xyz[k++] = (float) p.getX();
+      xyz[k++] = (float) p.getY();
+      xyz[k++] = (float) p.getZ();
+    }
+    return new TriangleMesh(xyz, indices);
+  }
+
   // TODO may build an actual triangle
   public static Polygon toJzyPolygon(Triangle triangle) {
     Coord3d c1 = toJzyCoord(triangle.getA());
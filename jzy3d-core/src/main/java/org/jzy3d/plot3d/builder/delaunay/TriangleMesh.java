@@ -0,0 +1,69 @@
+package org.jzy3d.plot3d.builder.delaunay;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.plot3d.primitives.Point;
+import org.jzy3d.plot3d.primitives.Polygon;
+
+/**
+ * An indexed triangle mesh made of a packed array of vertices (x,y,z for each vertex) and an array
+ * of vertex indices (three per triangle).
+ *
+ * Vertices shared by adjacent triangles are stored once, which makes this structure suitable for
+ * indexed vertex buffers, or for building {@link Polygon}s sharing the same {@link Coord3d}
+ * instances.
+ */
+public class TriangleMesh {
+  public TriangleMesh(float[] vertices, int[] indices) {
+    this.vertices = vertices;
+    this.indices = indices;
+  }
+
+  /** Packed vertex coordinates, x,y,z for each vertex. */
+  public float[] getVertices() {
+    return vertices;
+  }
+
+  /** Vertex indices, three per triangle. */
+  public int[] getIndices() {
+    return indices;
+  }
+
+  public int getVertexCount() {
+    return vertices.length / 3;
+  }
+
+  public int getTriangleCount() {
+    return indices.length / 3;
+  }
+
+  public Coord3d getVertex(int i) {
+    return new Coord3d(vertices[i * 3], vertices[i * 3 + 1], vertices[i * 3 + 2]);
+  }
+
+  /**
+   * Build one {@link Polygon} per triangle. Polygons referencing the same vertex share the same
+   * {@link Coord3d} instance but each of them has its own {@link Point}, since drawables transform
+   * their points independently.
+   */
+  public List<Polygon> toPolygons() {
+    Coord3d[] coords = new Coord3d[getVertexCount()];
+    for (int i = 0; i < coords.length; i++)
+      coords[i] = getVertex(i);
+
+    List<Polygon> polygons = new ArrayList<Polygon>(getTriangleCount());
+    for (int t = 0; t < indices.length; t += 3) {
+      Polygon polygon = new Polygon();
+      polygon.add(new Point(coords[indices[t]]));
+      polygon.add(new Point(coords[indices[t + 1]]));
+      polygon.add(new Point(coords[indices[t + 2]]));
+      polygons.add(polygon);
+    }
+    return polygons;
+  }
+
+  protected float[] vertices;
+  protected int[] indices;
+}
@@ -0,0 +1,211 @@
+package org.jzy3d.plot3d.pipelines;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.jzy3d.events.IPipelineListener;
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Range;
+import org.jzy3d.plot3d.builder.Mapper;
+import org.jzy3d.plot3d.builder.SurfaceBuilder;
+import org.jzy3d.plot3d.primitives.Drawable;
+import org.jzy3d.plot3d.rendering.scene.Graph;
+
+/**
+ * Load, build, color and add a drawable to a {@link Graph} without blocking the calling thread, as
+ * an asynchronous alternative to {@link SurfaceBuilder}.
+ * 
+ * A submitted job goes through three stages :
+ * <ul>
+ * <li>an {@link IPipelineLoader} running on the load executor,
+ * <li>an {@link IPipelineBuilder} and an {@link IPipelineColorizer} running on the build executor.
+ * </ul>
+ * 
+ * A coarse preview is built and published first, either provided by
+ * {@link IPipelineLoader#loadPreview(PipelineTask)} or obtained by decimating the loaded dataset to
+ * {@link #getPreviewSize()} points. The full resolution drawable then atomically replaces the
+ * preview in the graph.
+ * 
+ * Both executors have bounded queues. When the build queue is full, the load thread builds by
+ * itself, which throttles loading. When the load queue is full, {@link #submit} throws a
+ * {@link java.util.concurrent.RejectedExecutionException}.
+ * 
+ * <pre>
+ * <code>
+ * AsyncPipeline pipeline = new AsyncPipeline();
+ * PipelineTask task = pipeline.surface(mapper, new Range(-3, 3), 1000, chart.getScene().getGraph());
+ * ...
+ * task.cancel();
+ * </code>
+ * </pre>
+ */
+public class AsyncPipeline {
+  static Logger logger = Logger.getLogger(AsyncPipeline.class);
+
+  public static final String STAGE_BUILD = "build";
+  public static final int DEFAULT_QUEUE_SIZE = 16;
+  public static final int DEFAULT_PREVIEW_SIZE = 2500;
+
+  public AsyncPipeline() {
+    this(1, Math.max(1, Runtime.getRuntime().availableProcessors() - 1), DEFAULT_QUEUE_SIZE);
+  }
+
+  public AsyncPipeline(int loadThreads, int buildThreads, int queueSize) {
+    this.loadExecutor = newExecutor("jzy3d-pipeline-load", loadThreads, queueSize,
+        new ThreadPoolExecutor.AbortPolicy());
+    this.buildExecutor = newExecutor("jzy3d-pipeline-build", buildThreads, queueSize,
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  /** Evaluate a mapper on an orthonormal grid and add the colored surface to the graph. */
+  public PipelineTask surface(Mapper mapper, Range range, int steps, Graph graph) {
+    return submit(new MapperGridLoader(mapper, range, steps), TessellatorBuilder.orthonormal(),
+        new ColorMapperColorizer(), graph);
+  }
+
+  /** Load a CSV file, triangulate it and add the colored surface to the graph. */
+  public PipelineTask delaunay(String filename, Graph graph) {
+    return submit(new FileDatasetLoader(filename), TessellatorBuilder.delaunay(),
+        new ColorMapperColorizer(), graph);
+  }
+
+  /**
+   * Start loading, building and coloring a drawable in background.
+   * 
+   * @param colorizer may be null.
+   * @param graph the graph to which the drawable is added, may be null if only the events are of
+   *        interest.
+   */
+  public PipelineTask submit(final IPipelineLoader loader, final IPipelineBuilder builder,
+      final IPipelineColorizer colorizer, Graph graph) {
+    final PipelineTask task = new PipelineTask(graph, listeners);
+
+    loadExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          task.checkCancelled();
+
+          List<Coord3d> preview = loader.loadPreview(task);
+          if (preview != null)
+            build(task, preview, builder, colorizer, true);
+
+          List<Coord3d> full = loader.load(task);
+
+          if (preview == null && previewSize > 0 && full.size() > previewSize)
+            build(task, decimate(full, previewSize), builder, colorizer, true);
+
+          build(task, full, builder, colorizer, false);
+        } catch (Throwable t) {
+          task.failed(t);
+        }
+      }
+    });
+    return task;
+  }
+
+  protected void build(final PipelineTask task, final List<Coord3d> coordinates,
+      final IPipelineBuilder builder, final IPipelineColorizer colorizer, final boolean preview) {
+    task.checkCancelled();
+    buildExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          task.checkCancelled();
+          Drawable drawable = builder.build(coordinates, task);
+          if (colorizer != null)
+            colorizer.colorize(drawable, task);
+          task.checkCancelled();
+          if (!preview)
+            task.progress(STAGE_BUILD, 1);
+          task.publish(drawable, preview);
+        } catch (Throwable t) {
+          // a failing preview should not fail the task, unless it was cancelled
+          if (!preview || t instanceof CancellationException)
+            task.failed(t);
+          else
+            logger.warn("preview failed", t);
+        }
+      }
+    });
+  }
+
+  /** Keep one point every n so that the output has at most size points. */
+  protected List<Coord3d> decimate(List<Coord3d> coordinates, int size) {
+    int stride = (int) Math.ceil(coordinates.size() / (double) size);
+    List<Coord3d> out = new ArrayList<Coord3d>(coordinates.size() / stride + 1);
+    for (int i = 0; i < coordinates.size(); i += stride)
+      out.add(coordinates.get(i));
+    return out;
+  }
+
+  /** Stop all executors once pending tasks are done. */
+  public void shutdown() {
+    loadExecutor.shutdown();
+    buildExecutor.shutdown();
+  }
+
+  /** Stop all executors immediately, interrupting running stages. */
+  public void shutdownNow() {
+    loadExecutor.shutdownNow();
+    buildExecutor.shutdownNow();
+  }
+
+  /* */
+
+  public void addListener(IPipelineListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(IPipelineListener listener) {
+    listeners.remove(listener);
+  }
+
+  public List<IPipelineListener> getListeners() {
+    return listeners;
+  }
+
+  /**
+   * Number of points of the preview built by decimating the full dataset when the loader does not
+   * provide a preview. Set 0 to disable.
+   */
+  public int getPreviewSize() {
+    return previewSize;
+  }
+
+  public void setPreviewSize(int previewSize) {
+    this.previewSize = previewSize;
+  }
+
+  /* */
+
+  protected static ExecutorService newExecutor(final String name, int threads, int queueSize,
+      RejectedExecutionHandler policy) {
+    ThreadFactory factory = new ThreadFactory() {
+      AtomicInteger id = new AtomicInteger();
+
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, name + "-" + id.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+      }
+    };
+    return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<Runnable>(queueSize), factory, policy);
+  }
+
+  protected ExecutorService loadExecutor;
+  protected ExecutorService buildExecutor;
+  protected List<IPipelineListener> listeners = new ArrayList<IPipelineListener>();
+  protected int previewSize = DEFAULT_PREVIEW_SIZE;
+}
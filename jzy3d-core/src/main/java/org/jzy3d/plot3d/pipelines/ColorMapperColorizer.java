@@ -0,0 +1,73 @@
+package org.jzy3d.plot3d.pipelines;
+
+import org.jzy3d.colors.Color;
+import org.jzy3d.colors.ColorMapper;
+import org.jzy3d.colors.IMultiColorable;
+import org.jzy3d.colors.colormaps.ColorMapRainbow;
+import org.jzy3d.colors.colormaps.IColorMap;
+import org.jzy3d.plot3d.builder.SurfaceBuilder;
+import org.jzy3d.plot3d.primitives.Drawable;
+import org.jzy3d.plot3d.primitives.Wireframeable;
+
+/**
+ * Apply a {@link ColorMapper} ranging over the drawable Z bounds, and the same face and wireframe
+ * styling than {@link SurfaceBuilder#applyStyling(org.jzy3d.plot3d.primitives.Shape)}.
+ */
+public class ColorMapperColorizer implements IPipelineColorizer {
+  public ColorMapperColorizer() {
+    this(new ColorMapRainbow());
+  }
+
+  public ColorMapperColorizer(IColorMap colormap) {
+    this(colormap, new Color(1, 1, 1, 1f));
+  }
+
+  public ColorMapperColorizer(IColorMap colormap, Color factor) {
+    this.colormap = colormap;
+    this.factor = factor;
+  }
+
+  @Override
+  public void colorize(Drawable drawable, PipelineTask task) throws Exception {
+    if (drawable instanceof IMultiColorable) {
+      ((IMultiColorable) drawable).setColorMapper(new ColorMapper(colormap,
+          drawable.getBounds().getZmin(), drawable.getBounds().getZmax(), factor));
+    }
+    if (drawable instanceof Wireframeable) {
+      Wireframeable w = (Wireframeable) drawable;
+      w.setFaceDisplayed(faceDisplayed);
+      w.setWireframeDisplayed(wireframeDisplayed);
+      w.setWireframeColor(wireframeColor);
+    }
+  }
+
+  public boolean isFaceDisplayed() {
+    return faceDisplayed;
+  }
+
+  public void setFaceDisplayed(boolean faceDisplayed) {
+    this.faceDisplayed = faceDisplayed;
+  }
+
+  public boolean isWireframeDisplayed() {
+    return wireframeDisplayed;
+  }
+
+  public void setWireframeDisplayed(boolean wireframeDisplayed) {
+    this.wireframeDisplayed = wireframeDisplayed;
+  }
+
+  public Color getWireframeColor() {
+    return wireframeColor;
+  }
+
+  public void setWireframeColor(Color wireframeColor) {
+    this.wireframeColor = wireframeColor;
+  }
+
+  protected IColorMap colormap;
+  protected Color factor;
+  protected boolean faceDisplayed = true;
+  protected boolean wireframeDisplayed = false;
+  protected Color wireframeColor = Color.BLACK;
+}
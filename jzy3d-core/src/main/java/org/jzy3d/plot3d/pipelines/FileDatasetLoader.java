@@ -0,0 +1,104 @@
+package org.jzy3d.plot3d.pipelines;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jzy3d.io.FileDataset;
+import org.jzy3d.maths.Coord3d;
+
+import au.com.bytecode.opencsv.CSVReader;
+
+/**
+ * Load a CSV file the same way {@link FileDataset#loadList(String, int, int, int)} does, but report
+ * progress according to the amount of characters read and honour cancellation between lines.
+ * 
+ * This loader does not provide any preview : the {@link AsyncPipeline} will build the preview by
+ * decimating the loaded coordinates.
+ */
+public class FileDatasetLoader implements IPipelineLoader {
+  public static final String STAGE = "load";
+
+  public FileDatasetLoader(String filename) {
+    this(filename, 0, 1, 2);
+  }
+
+  public FileDatasetLoader(String filename, int xColumn, int yColumn, int zColumn) {
+    this.filename = filename;
+    this.xColumn = xColumn;
+    this.yColumn = yColumn;
+    this.zColumn = zColumn;
+  }
+
+  @Override
+  public List<Coord3d> load(PipelineTask task) throws Exception {
+    long length = Math.max(1, new File(filename).length());
+    CountingReader counter = new CountingReader(new FileReader(filename));
+    CSVReader reader = new CSVReader(counter);
+
+    int columns = Math.max(xColumn, Math.max(yColumn, zColumn)) + 1;
+    List<Coord3d> coords = new ArrayList<Coord3d>();
+    try {
+      String[] nextLine;
+      int k = 0;
+      while ((nextLine = reader.readNext()) != null) {
+        if (nextLine.length < columns)
+          continue;
+        float x = Float.parseFloat(nextLine[xColumn]);
+        float y = Float.parseFloat(nextLine[yColumn]);
+        float z = Float.parseFloat(nextLine[zColumn]);
+        coords.add(new Coord3d(x, y, z));
+
+        if ((++k % REPORT_EVERY) == 0) {
+          task.checkCancelled();
+          task.progress(STAGE, Math.min(1, counter.count / (float) length));
+        }
+      }
+    } finally {
+      reader.close();
+    }
+    task.progress(STAGE, 1);
+    return coords;
+  }
+
+  @Override
+  public List<Coord3d> loadPreview(PipelineTask task) throws Exception {
+    return null;
+  }
+
+  /** A reader that counts the characters it has read. */
+  protected static class CountingReader extends FilterReader {
+    protected long count = 0;
+
+    public CountingReader(Reader in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int c = super.read();
+      if (c != -1)
+        count++;
+      return c;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+      int n = super.read(cbuf, off, len);
+      if (n > 0)
+        count += n;
+      return n;
+    }
+  }
+
+  protected static final int REPORT_EVERY = 10000;
+
+  protected String filename;
+  protected int xColumn;
+  protected int yColumn;
+  protected int zColumn;
+}
@@ -0,0 +1,11 @@
+package org.jzy3d.plot3d.pipelines;
+
+import java.util.List;
+
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.plot3d.primitives.Drawable;
+
+/** Second stage of an {@link AsyncPipeline} : build a geometry out of loaded coordinates. */
+public interface IPipelineBuilder {
+  public Drawable build(List<Coord3d> coordinates, PipelineTask task) throws Exception;
+}
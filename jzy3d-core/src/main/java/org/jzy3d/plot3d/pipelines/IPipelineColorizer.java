@@ -0,0 +1,11 @@
+package org.jzy3d.plot3d.pipelines;
+
+import org.jzy3d.plot3d.primitives.Drawable;
+
+/**
+ * Third stage of an {@link AsyncPipeline} : apply colors and styling to a built geometry before it
+ * is added to the scene graph.
+ */
+public interface IPipelineColorizer {
+  public void colorize(Drawable drawable, PipelineTask task) throws Exception;
+}
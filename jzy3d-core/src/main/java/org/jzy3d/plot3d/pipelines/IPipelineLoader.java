@@ -0,0 +1,23 @@
+package org.jzy3d.plot3d.pipelines;
+
+import java.util.List;
+
+import org.jzy3d.maths.Coord3d;
+
+/**
+ * First stage of an {@link AsyncPipeline} : produce the coordinates to be tessellated.
+ * 
+ * Implementations should regularly report progress through
+ * {@link PipelineTask#progress(String, float)} and stop as soon as possible when
+ * {@link PipelineTask#checkCancelled()} throws.
+ */
+public interface IPipelineLoader {
+  /** Load the full resolution dataset. */
+  public List<Coord3d> load(PipelineTask task) throws Exception;
+
+  /**
+   * Load a coarse version of the dataset that can be built and displayed quickly while the full
+   * dataset is loading, or return null if this loader can not provide a cheap preview.
+   */
+  public List<Coord3d> loadPreview(PipelineTask task) throws Exception;
+}
@@ -0,0 +1,81 @@
+package org.jzy3d.plot3d.pipelines;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Range;
+import org.jzy3d.plot3d.builder.Mapper;
+
+/**
+ * Evaluate a {@link Mapper} on an orthonormal grid, row by row, so that progress can be reported
+ * and cancellation honoured while evaluating large grids.
+ * 
+ * The preview is the same function evaluated on a grid having at most {@link #getPreviewSteps()}
+ * steps on each dimension. Set a value lower than 2 to disable the preview.
+ */
+public class MapperGridLoader implements IPipelineLoader {
+  public static final String STAGE = "load";
+  public static final int DEFAULT_PREVIEW_STEPS = 20;
+
+  public MapperGridLoader(Mapper mapper, Range range, int steps) {
+    this(mapper, range, steps, range, steps);
+  }
+
+  public MapperGridLoader(Mapper mapper, Range xrange, int xsteps, Range yrange, int ysteps) {
+    this.mapper = mapper;
+    this.xrange = xrange;
+    this.xsteps = xsteps;
+    this.yrange = yrange;
+    this.ysteps = ysteps;
+  }
+
+  @Override
+  public List<Coord3d> load(PipelineTask task) throws Exception {
+    return evaluate(task, xsteps, ysteps, true);
+  }
+
+  @Override
+  public List<Coord3d> loadPreview(PipelineTask task) throws Exception {
+    if (previewSteps < 2 || (xsteps <= previewSteps && ysteps <= previewSteps))
+      return null;
+    return evaluate(task, Math.min(xsteps, previewSteps), Math.min(ysteps, previewSteps), false);
+  }
+
+  protected List<Coord3d> evaluate(PipelineTask task, int xsteps, int ysteps, boolean report)
+      throws Exception {
+    double xstep = xrange.getRange() / (double) (xsteps - 1);
+    double ystep = yrange.getRange() / (double) (ysteps - 1);
+
+    List<Coord3d> output = new ArrayList<Coord3d>(xsteps * ysteps);
+
+    for (int xi = 0; xi < xsteps; xi++) {
+      task.checkCancelled();
+
+      for (int yi = 0; yi < ysteps; yi++) {
+        double x = xrange.getMin() + xi * xstep;
+        double y = yrange.getMin() + yi * ystep;
+        output.add(new Coord3d(x, y, mapper.f(x, y)));
+      }
+
+      if (report)
+        task.progress(STAGE, (xi + 1) / (float) xsteps);
+    }
+    return output;
+  }
+
+  public int getPreviewSteps() {
+    return previewSteps;
+  }
+
+  public void setPreviewSteps(int previewSteps) {
+    this.previewSteps = previewSteps;
+  }
+
+  protected Mapper mapper;
+  protected Range xrange;
+  protected Range yrange;
+  protected int xsteps;
+  protected int ysteps;
+  protected int previewSteps = DEFAULT_PREVIEW_STEPS;
+}
@@ -0,0 +1,170 @@
+package org.jzy3d.plot3d.pipelines;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.jzy3d.events.IPipelineListener;
+import org.jzy3d.events.PipelineEvent;
+import org.jzy3d.plot3d.primitives.Drawable;
+import org.jzy3d.plot3d.rendering.scene.Graph;
+
+/**
+ * A handle on a dataset being loaded, built and colored by an {@link AsyncPipeline}.
+ * 
+ * The task publishes at most one preview drawable and one full resolution drawable into its
+ * {@link Graph}. The full resolution drawable atomically replaces the preview with
+ * {@link Graph#replace(Drawable, Drawable, boolean)}, so that the rendering thread never sees both
+ * or none of them.
+ * 
+ * Stages must call {@link #checkCancelled()} regularly so that {@link #cancel()} stops them early.
+ */
+public class PipelineTask {
+  static Logger logger = Logger.getLogger(PipelineTask.class);
+
+  public PipelineTask(Graph graph, List<IPipelineListener> listeners) {
+    this.graph = graph;
+    this.listeners = new ArrayList<IPipelineListener>(listeners);
+  }
+
+  /**
+   * Request the task to stop. A preview that was already published is removed from the graph,
+   * while a completed drawable is left untouched.
+   */
+  public void cancel() {
+    Drawable removed = null;
+    synchronized (this) {
+      if (done)
+        return;
+      cancelled = true;
+      done = true;
+      removed = published;
+      published = null;
+    }
+    if (removed != null && graph != null)
+      graph.remove(removed);
+    fire(new PipelineEvent(this, PipelineEvent.CANCELLED, null, progress));
+    latch.countDown();
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /** Return true once the task has completed, failed or was cancelled. */
+  public boolean isDone() {
+    return done;
+  }
+
+  /** Return true once the full resolution drawable was published. */
+  public boolean isCompleted() {
+    return completed;
+  }
+
+  /** Throws a {@link CancellationException} if this task was cancelled. */
+  public void checkCancelled() {
+    if (cancelled)
+      throw new CancellationException();
+  }
+
+  /** Report progress of a stage, between 0 and 1. */
+  public void progress(String stage, float progress) {
+    this.progress = progress;
+    fire(new PipelineEvent(this, PipelineEvent.PROGRESS, stage, progress));
+  }
+
+  /** Return the drawable currently published by this task, being the preview or the final one. */
+  public Drawable getDrawable() {
+    return published;
+  }
+
+  /** Return the failure cause if the task failed, null otherwise. */
+  public Throwable getError() {
+    return error;
+  }
+
+  /** Wait until the task has completed, failed or was cancelled. */
+  public void await() throws InterruptedException {
+    latch.await();
+  }
+
+  /**
+   * Wait until the task has completed, failed or was cancelled.
+   * 
+   * @return false if the timeout elapsed before the task ended.
+   */
+  public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+    return latch.await(timeout, unit);
+  }
+
+  /* */
+
+  /**
+   * Add or swap the drawable in the graph. A preview is ignored if the final drawable was already
+   * published, which may happen if the preview takes longer to build than the full dataset.
+   */
+  protected void publish(Drawable drawable, boolean preview) {
+    synchronized (this) {
+      if (done || (preview && published != null))
+        return;
+      if (graph != null)
+        graph.replace(published, drawable, true);
+      published = drawable;
+      if (!preview) {
+        completed = true;
+        done = true;
+      }
+    }
+    fire(new PipelineEvent(this, preview ? PipelineEvent.PREVIEW : PipelineEvent.COMPLETED, null,
+        preview ? progress : 1, drawable, null));
+    if (!preview)
+      latch.countDown();
+  }
+
+  /**
+   * Stop the task on a failure. As for {@link #cancel()}, a preview that was already published is
+   * removed from the graph, so that it is not mistaken for the full resolution drawable.
+   */
+  protected void failed(Throwable t) {
+    if (t instanceof CancellationException) {
+      cancel();
+      return;
+    }
+    Drawable removed = null;
+    synchronized (this) {
+      if (done)
+        return;
+      done = true;
+      error = t;
+      removed = published;
+      published = null;
+    }
+    if (removed != null && graph != null)
+      graph.remove(removed);
+    logger.error("pipeline task failed", t);
+    fire(new PipelineEvent(this, PipelineEvent.FAILED, null, progress, null, t));
+    latch.countDown();
+  }
+
+  protected void fire(PipelineEvent e) {
+    for (IPipelineListener listener : listeners) {
+      listener.pipelineChanged(e);
+    }
+  }
+
+  /* */
+
+  protected Graph graph;
+  protected List<IPipelineListener> listeners;
+  protected CountDownLatch latch = new CountDownLatch(1);
+
+  protected volatile boolean cancelled = false;
+  protected volatile boolean done = false;
+  protected volatile boolean completed = false;
+  protected volatile float progress = 0;
+  protected volatile Drawable published;
+  protected volatile Throwable error;
+}
@@ -0,0 +1,42 @@
+package org.jzy3d.plot3d.pipelines;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.plot3d.builder.Tessellator;
+import org.jzy3d.plot3d.builder.concrete.OrthonormalTessellator;
+import org.jzy3d.plot3d.builder.delaunay.DelaunayTessellator;
+import org.jzy3d.plot3d.primitives.Drawable;
+
+/**
+ * Build a geometry with a {@link Tessellator}, e.g. an {@link OrthonormalTessellator} for grid
+ * data or a {@link DelaunayTessellator} for scattered data.
+ * 
+ * Tessellators keep the grid they are building in their fields, and the preview and the full
+ * resolution of a task may be built concurrently : a new tessellator is hence created for each
+ * build.
+ */
+public class TessellatorBuilder implements IPipelineBuilder {
+  public TessellatorBuilder(Supplier<? extends Tessellator> tessellators) {
+    this.tessellators = tessellators;
+  }
+
+  @Override
+  public Drawable build(List<Coord3d> coordinates, PipelineTask task) throws Exception {
+    task.checkCancelled();
+    Drawable d = tessellators.get().build(coordinates);
+    task.checkCancelled();
+    return d;
+  }
+
+  public static TessellatorBuilder orthonormal() {
+    return new TessellatorBuilder(OrthonormalTessellator::new);
+  }
+
+  public static TessellatorBuilder delaunay() {
+    return new TessellatorBuilder(DelaunayTessellator::new);
+  }
+
+  protected Supplier<? extends Tessellator> tessellators;
+}
@@ -33,7 +33,28 @@ public abstract class Composite extends Wireframeable implements ISingleColorabl
   public void add(List<? extends Drawable> drawables) {
     synchronized (components) {
       components.addAll(drawables);
+      if (transform != null)
+        for (Drawable d : drawables)
+          if (d != null)
+            d.setTransform(transform);
     }
+    fireDrawableChanged(DrawableChangedEvent.FIELD_DATA);
+  }
+
+  /**
+   * Replace the Drawables of this composite at once, so that it is never drawn empty, and report a
+   * single change.
+   */
+  public void set(List<? extends Drawable> drawables) {
+    synchronized (components) {
+      components.clear();
+      components.addAll(drawables);
+      if (transform != null)
+        for (Drawable d : drawables)
+          if (d != null)
+            d.setTransform(transform);
+    }
+    fireDrawableChanged(DrawableChangedEvent.FIELD_DATA);
   }
 
   /** Clear the list of Drawables from this composite. */
@@ -41,13 +62,17 @@ public abstract class Composite extends Wireframeable implements ISingleColorabl
     synchronized (components) {
       components.clear();
     }
+    fireDrawableChanged(DrawableChangedEvent.FIELD_DATA);
   }
 
   /** Add a Drawable to this composite. */
   public void add(Drawable drawable) {
     synchronized (components) {
       components.add(drawable);
+      if (transform != null && drawable != null)
+        drawable.setTransform(transform);
     }
+    fireDrawableChanged(DrawableChangedEvent.FIELD_DATA);
   }
 
   /** Remove a Drawable from this composite. */
@@ -55,6 +80,7 @@ public abstract class Composite extends Wireframeable implements ISingleColorabl
     synchronized (components) {
       components.remove(drawable);
     }
+    fireDrawableChanged(DrawableChangedEvent.FIELD_DATA);
   }
 
   /** Get a Drawable stored by this composite. */
@@ -108,6 +134,7 @@ public abstract class Composite extends Wireframeable implements ISingleColorabl
           c.setTransform(transform);
       }
     }
+    fireDrawableChanged(DrawableChangedEvent.FIELD_TRANSFORM);
   }
 
   @Override
@@ -120,6 +147,7 @@ public abstract class Composite extends Wireframeable implements ISingleColorabl
           c.setTransformBefore(transform);
       }
     }
+    fireDrawableChanged(DrawableChangedEvent.FIELD_TRANSFORM);
   }
 
   @Override
@@ -132,6 +160,7 @@ public abstract class Composite extends Wireframeable implements ISingleColorabl
           c.setSpaceTransformer(spaceTransformer);
       }
     }
+    fireDrawableChanged(DrawableChangedEvent.FIELD_TRANSFORM);
   }
 
   /** Return the transform that was affected to this composite. */
@@ -50,6 +50,7 @@ public class ConcurrentLineStrip extends LineStrip {
       for (Point p : points) {
         p.xyz = transform.compute(p.xyz);
       }
+      lod = null;
     }
     updateBounds();
   }
@@ -75,6 +76,7 @@ public class ConcurrentLineStrip extends LineStrip {
   public void clear() {
     synchronized (points) {
       points.clear();
+      lod = null;
     }
     updateBounds();
   }
@@ -45,9 +45,7 @@ public class ConcurrentScatterMultiColor extends ScatterMultiColor implements IM
   @Override
   public void applyGeometryTransform(Transform transform) {
     synchronized (coordinates) {
-      for (Coord3d c : coordinates) {
-        c.set(transform.compute(c));
-      }
+      transform.computeInPlace(coordinates);
     }
     updateBounds();
   }
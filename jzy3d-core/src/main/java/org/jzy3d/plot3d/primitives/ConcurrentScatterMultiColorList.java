@@ -50,9 +50,7 @@ public class ConcurrentScatterMultiColorList extends ScatterMultiColorList
   @Override
   public void applyGeometryTransform(Transform transform) {
     synchronized (coordinates) {
-      for (Coord3d c : coordinates) {
-        c.set(transform.compute(c));
-      }
+      transform.computeInPlace(coordinates);
     }
     updateBounds();
   }
@@ -0,0 +1,153 @@
+package org.jzy3d.plot3d.primitives;
+
+import java.util.Arrays;
+
+import org.apache.log4j.Logger;
+import org.jzy3d.colors.Color;
+import org.jzy3d.maths.BoundingBox3d;
+import org.jzy3d.maths.algorithms.M4Decimator;
+import org.jzy3d.painters.IPainter;
+import org.jzy3d.plot3d.rendering.view.ViewportConfiguration;
+import org.jzy3d.plot3d.transform.Transform;
+
+/**
+ * A line strip in the z=0 plane for series holding many more samples than pixels, which only draws
+ * the first, min, max and last samples of each pixel column of the viewport, as computed by a
+ * {@link M4Decimator}. The rendered line is the same as if all samples were drawn.
+ *
+ * Samples are stored in primitive arrays, and their x values should be non decreasing. Decimation
+ * is computed again only when samples are added, or when the x range of the view or the width of
+ * the viewport changes. The line has a single color.
+ */
+public class DecimatedLineStrip extends Wireframeable {
+  public DecimatedLineStrip() {
+    this(1024);
+  }
+
+  public DecimatedLineStrip(int capacity) {
+    x = new double[Math.max(capacity, 2)];
+    y = new double[x.length];
+    decimator = new M4Decimator();
+    bbox = new BoundingBox3d();
+    setWireframeColor(Color.BLACK);
+  }
+
+  /* */
+
+  @Override
+  public synchronized void draw(IPainter painter) {
+    doTransform(painter);
+    if (size == 0)
+      return;
+
+    int n = -1;
+    BoundingBox3d bounds = painter.getView() != null ? painter.getView().getBounds() : null;
+    int width = getPixelWidth(painter);
+    if (bounds != null && width > 0
+        && (spaceTransformer == null || spaceTransformer.getX().isIdentity()))
+      n = decimator.decimate(x, y, size, bounds.getXmin(), bounds.getXmax(), width);
+    drawn = n < 0 ? size : n;
+
+    painter.glLineWidth(wireframeWidth);
+    painter.color(wireframeColor);
+    if (size == 1)
+      painter.glBegin_Point();
+    else
+      painter.glBegin_LineStrip();
+    if (n < 0) {
+      for (int i = 0; i < size; i++)
+        painter.vertex((float) x[i], (float) y[i], 0, spaceTransformer);
+    } else {
+      int[] indices = decimator.getIndices();
+      for (int k = 0; k < n; k++)
+        painter.vertex((float) x[indices[k]], (float) y[indices[k]], 0, spaceTransformer);
+    }
+    painter.glEnd();
+  }
+
+  /** The width in pixels of the viewport the painter renders to, or 0 if it is not known yet. */
+  protected static int getPixelWidth(IPainter painter) {
+    if (painter.getCamera() == null)
+      return 0;
+    ViewportConfiguration viewport = painter.getCamera().getLastViewPort();
+    return viewport != null ? viewport.getWidth() : 0;
+  }
+
+  /** Samples are not edited by transforms. */
+  @Override
+  public void applyGeometryTransform(Transform transform) {
+    Logger.getLogger(DecimatedLineStrip.class).warn("not implemented");
+  }
+
+  @Override
+  public synchronized void updateBounds() {
+    bbox.reset();
+    for (int i = 0; i < size; i++)
+      bbox.add((float) x[i], (float) y[i], 0);
+  }
+
+  /**
+   * Append a sample.
+   *
+   * @throws IllegalArgumentException if x is lower than the x value of the previous sample.
+   */
+  public synchronized void add(double x, double y) {
+    if (size > 0 && x < this.x[size - 1])
+      throw new IllegalArgumentException(
+          "x values should be non decreasing, got " + x + " after " + this.x[size - 1]);
+    if (size == this.x.length) {
+      this.x = Arrays.copyOf(this.x, size * 2);
+      this.y = Arrays.copyOf(this.y, size * 2);
+    }
+    this.x[size] = x;
+    this.y[size] = y;
+    size++;
+    bbox.add((float) x, (float) y, 0);
+  }
+
+  public synchronized void add(double[] x, double[] y) {
+    if (size + x.length > this.x.length) {
+      int capacity = Math.max(size + x.length, this.x.length * 2);
+      this.x = Arrays.copyOf(this.x, capacity);
+      this.y = Arrays.copyOf(this.y, capacity);
+    }
+    for (int i = 0; i < x.length; i++)
+      add(x[i], y[i]);
+  }
+
+  public synchronized void clear() {
+    size = 0;
+    decimator.invalidate(0);
+    updateBounds();
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  /** Number of samples drawn by the last rendering. */
+  public int getDrawnSize() {
+    return drawn;
+  }
+
+  public M4Decimator getDecimator() {
+    return decimator;
+  }
+
+  /** A shortcut for {@link #setWireframeColor} */
+  public void setColor(Color color) {
+    setWireframeColor(color);
+  }
+
+  public Color getColor() {
+    return getWireframeColor();
+  }
+
+  /* */
+
+  protected double[] x;
+  protected double[] y;
+  protected int size;
+  protected M4Decimator decimator;
+  protected int drawn;
+}
@@ -1,7 +1,7 @@
 package org.jzy3d.plot3d.primitives;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.jzy3d.colors.Color;
 import org.jzy3d.events.DrawableChangedEvent;
@@ -117,6 +117,8 @@ public abstract class Drawable implements IGLRenderer, ISortableDraw {
 
   public void setTransformBefore(Transform transformBefore) {
     this.transformBefore = transformBefore;
+
+    fireDrawableChanged(DrawableChangedEvent.FIELD_TRANSFORM);
   }
 
   /**
@@ -219,19 +221,51 @@ public abstract class Drawable implements IGLRenderer, ISortableDraw {
 
   public void setSpaceTransformer(SpaceTransformer spaceTransformer) {
     this.spaceTransformer = spaceTransformer;
+
+    fireDrawableChanged(DrawableChangedEvent.FIELD_TRANSFORM);
+  }
+
+  public boolean isRetained() {
+    return retained;
+  }
+
+  /**
+   * When true, a {@link org.jzy3d.plot3d.rendering.scene.Graph} records the painter commands of
+   * this drawable the first time it is drawn, and replays them at the next frames until this
+   * drawable reports a change with a {@link DrawableChangedEvent}.
+   *
+   * @see org.jzy3d.plot3d.rendering.scene.RetainedRenderer
+   */
+  public void setRetained(boolean retained) {
+    this.retained = retained;
+  }
+
+  /**
+   * Return false if the commands this drawable sends to a painter can not be recorded and replayed
+   * by a {@link org.jzy3d.plot3d.rendering.scene.RetainedRenderer}, in which case it is always
+   * drawn with the actual painter. This is the case of drawables binding GL resources
+   * ({@link IGLBindedResource}) or casting the painter to a concrete painter.
+   */
+  public boolean isRetainable() {
+    return !(this instanceof IGLBindedResource);
   }
 
   /* */
 
-  public void addDrawableListener(IDrawableListener listener) {
+  /**
+   * Listeners may be added and removed by any thread, including the rendering thread while another
+   * thread fires an event.
+   */
+  public synchronized void addDrawableListener(IDrawableListener listener) {
     if (listeners == null)
-      listeners = new ArrayList<IDrawableListener>();
+      listeners = new CopyOnWriteArrayList<IDrawableListener>();
     listeners.add(listener);
     hasListeners = true;
   }
 
   public void removeDrawableListener(IDrawableListener listener) {
-    listeners.remove(listener);
+    if (listeners != null)
+      listeners.remove(listener);
   }
 
   protected void fireDrawableChanged(int eventType) {
@@ -265,12 +299,13 @@ public abstract class Drawable implements IGLRenderer, ISortableDraw {
   protected Transform transformBefore;
   protected BoundingBox3d bbox;
   protected ILegend legend = null;
-  protected List<IDrawableListener> listeners;
+  protected volatile List<IDrawableListener> listeners;
   protected boolean hasListeners = true;
 
   protected boolean displayed = true;
   protected boolean legendDisplayed = false;
   protected boolean boundingBoxDisplayed = false;
+  protected boolean retained = false;
   protected Color boundingBoxColor = Color.BLACK.clone();
 
   protected SpaceTransformer spaceTransformer = null;
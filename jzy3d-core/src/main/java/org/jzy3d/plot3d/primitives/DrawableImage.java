@@ -4,4 +4,10 @@ public abstract class DrawableImage extends Drawable {
   public DrawableImage() {
     super();
   }
+
+  /** Images bind textures with the actual painter, hence are not retainable. */
+  @Override
+  public boolean isRetainable() {
+    return false;
+  }
 }
@@ -15,7 +15,8 @@ import org.jzy3d.painters.IPainter;
 import org.jzy3d.plot3d.rendering.view.Camera;
 import org.jzy3d.plot3d.transform.Transform;
 
-public abstract class Geometry extends Wireframeable implements ISingleColorable, IMultiColorable {
+public abstract class Geometry extends Wireframeable
+    implements ISingleColorable, IMultiColorable, IMeshFace {
   /**
    * Initializes an empty {@link Geometry} with face status defaulting to true, and wireframe status
    * defaulting to false.
@@ -105,13 +106,17 @@ public abstract class Geometry extends Wireframeable implements ISingleColorable
    */
   protected void callPointsForFace(IPainter painter) {
     begin(painter);
-    for (Point p : points) {
+    boolean smooth = vertexNormals != null;
+    for (int i = 0; i < points.size(); i++) {
+      Point p = points.get(i);
       if (mapper != null) {
         Color c = mapper.getColor(p.xyz);
         painter.color(c);
       } else {
         painter.color(p.rgb);
       }
+      if (smooth)
+        smooth = vertexNormals.normal(painter, vertexNormalsFace, i, points.size());
       painter.vertex(p.xyz, spaceTransformer);
     }
     painter.glEnd();
@@ -219,6 +224,17 @@ public abstract class Geometry extends Wireframeable implements ISingleColorable
 
   /* SETTINGS */
 
+  @Override
+  public void setVertexNormals(VertexNormals normals, int face) {
+    this.vertexNormals = normals;
+    this.vertexNormalsFace = face;
+  }
+
+  @Override
+  public VertexNormals getVertexNormals() {
+    return vertexNormals;
+  }
+
   public PolygonMode getPolygonMode() {
     return polygonMode;
   }
@@ -272,4 +288,6 @@ public abstract class Geometry extends Wireframeable implements ISingleColorable
   protected List<Point> points;
   protected Color color;
   protected Coord3d center;
+  protected VertexNormals vertexNormals;
+  protected int vertexNormalsFace;
 }
@@ -13,8 +13,10 @@ public class HistogramBar extends Composite {
     this.slices = slices;
   }
 
+  /** Build the bar, replacing the tube and disks of a previous call. */
   public void setData(Coord3d position, float height, float radius, Color color) {
     int loops = 5;
+    clear();
 
     // Tube
     Tube tube = new Tube(position, radius, height, slices, 1, color);
@@ -26,8 +28,7 @@ public class HistogramBar extends Composite {
     add(dsk1);
 
     // Top disk
-    Coord3d top = position;
-    top.z = position.z + height;
+    Coord3d top = new Coord3d(position.x, position.y, position.z + height);
     Disk dsk2 = new Disk(top, 0f, radius, slices, loops, color);
     add(dsk2);
   }
@@ -0,0 +1,96 @@
+package org.jzy3d.plot3d.primitives;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jzy3d.colors.Color;
+import org.jzy3d.events.DrawableChangedEvent;
+import org.jzy3d.maths.Binning;
+import org.jzy3d.maths.BivariateHistogram;
+import org.jzy3d.maths.Coord3d;
+
+/**
+ * Draws the counts of a {@link BivariateHistogram} as one {@link HistogramBar} per non empty cell,
+ * standing at the center of the cell and which height is the count of the cell.
+ *
+ * {@link #update(float[], float[])} counts new samples, in parallel if they are many, and swaps
+ * all bars at once so that the composite can be updated while it is displayed.
+ */
+public class HistogramBars extends Composite {
+  public HistogramBars(BivariateHistogram model) {
+    this(model, Color.BLUE, 10);
+  }
+
+  public HistogramBars(BivariateHistogram model, Color barColor, int slices) {
+    this.model = model;
+    this.barColor = barColor;
+    this.slices = slices;
+    this.radiusRatio = 0.4f;
+    updateBars();
+  }
+
+  /** Replace the counts of the model by the counts of samples (xs[k],ys[k]) and rebuild bars. */
+  public void update(float[] xs, float[] ys) {
+    model.clear();
+    model.add(xs, ys);
+    updateBars();
+  }
+
+  /** @see #update(float[], float[]) */
+  public void update(double[] xs, double[] ys) {
+    model.clear();
+    model.add(xs, ys);
+    updateBars();
+  }
+
+  /** Rebuild bars after counts of the model changed. */
+  public void updateBars() {
+    Binning xb = model.getXBinning();
+    Binning yb = model.getYBinning();
+    List<HistogramBar> bars = new ArrayList<HistogramBar>();
+
+    for (int j = 0; j < yb.size(); j++) {
+      for (int i = 0; i < xb.size(); i++) {
+        int count = model.getCount(i, j);
+        if (count == 0)
+          continue;
+        float width = xb.getEdge(i + 1) - xb.getEdge(i);
+        float depth = yb.getEdge(j + 1) - yb.getEdge(j);
+        Coord3d center = new Coord3d(xb.getEdge(i) + width / 2, yb.getEdge(j) + depth / 2, 0);
+
+        HistogramBar bar = new HistogramBar(slices);
+        bar.setData(center, count, radiusRatio * Math.min(width, depth), barColor);
+        // bars get the composite transform as with add(...)
+        if (transform != null)
+          bar.setTransform(transform);
+        bars.add(bar);
+      }
+    }
+
+    // swap bars at once, as the composite is locked while it is drawn
+    synchronized (components) {
+      components.clear();
+      components.addAll(bars);
+    }
+    updateBounds();
+    fireDrawableChanged(DrawableChangedEvent.FIELD_DATA);
+  }
+
+  public BivariateHistogram getModel() {
+    return model;
+  }
+
+  public float getRadiusRatio() {
+    return radiusRatio;
+  }
+
+  /** Set the radius of bars relative to the smallest side of a cell, 0.4 by default. */
+  public void setRadiusRatio(float radiusRatio) {
+    this.radiusRatio = radiusRatio;
+  }
+
+  protected BivariateHistogram model;
+  protected Color barColor;
+  protected int slices;
+  protected float radiusRatio;
+}
@@ -0,0 +1,21 @@
+package org.jzy3d.plot3d.primitives;
+
+import java.util.List;
+
+/**
+ * A polygon of a mesh, which corners may be smoothly shaded with the normals of a
+ * {@link VertexNormals}.
+ */
+public interface IMeshFace {
+  public List<Point> getPoints();
+
+  public int size();
+
+  /**
+   * Use the smooth normals of the given face of a mesh when drawing this polygon, or flat shading
+   * if normals is null.
+   */
+  public void setVertexNormals(VertexNormals normals, int face);
+
+  public VertexNormals getVertexNormals();
+}
@@ -121,7 +121,15 @@ public class LineStrip extends Wireframeable {
     painter.glLineWidth(wireframeWidth);
     painter.glBegin_LineStrip();
 
-    if (wireframeColor == null) {
+    int n = selectLOD(painter);
+    if (n >= 0) {
+      int[] indices = lod.getIndices();
+      for (int k = 0; k < n; k++) {
+        Point p = points.get(indices[k]);
+        painter.color(wireframeColor == null ? p.rgb : wireframeColor);
+        painter.vertex(p.xyz, spaceTransformer);
+      }
+    } else if (wireframeColor == null) {
       for (Point p : points) {
         painter.color(p.rgb);
         painter.vertex(p.xyz, spaceTransformer);
@@ -139,6 +147,21 @@ public class LineStrip extends Wireframeable {
     }
   }
 
+  /**
+   * Select the vertices to draw according to the level of detail tolerance, building the levels of
+   * detail if the strip changed.
+   *
+   * @return the number of vertices to draw, or -1 to draw all vertices.
+   */
+  protected int selectLOD(IPainter painter) {
+    if (lodTolerance <= 0 || points.size() < 3
+        || (spaceTransformer != null && !spaceTransformer.isIdentity()))
+      return -1;
+    if (lod == null || lod.size() != points.size())
+      lod = new LineStripLOD(points);
+    return lod.select(painter, lodTolerance);
+  }
+
   public void drawPointsIfEnabled(IPainter painter) {
     if (showPoints) {
       drawPoints(painter);
@@ -168,6 +191,7 @@ public class LineStrip extends Wireframeable {
     for (Point p : points) {
       p.xyz = transform.compute(p.xyz);
     }
+    lod = null;
     updateBounds();
   }
 
@@ -214,6 +238,7 @@ public class LineStrip extends Wireframeable {
 
   public void clear() {
     points.clear();
+    lod = null;
     updateBounds();
   }
 
@@ -246,6 +271,31 @@ public class LineStrip extends Wireframeable {
     return getWireframeWidth();
   }
 
+  public float getLODTolerance() {
+    return lodTolerance;
+  }
+
+  /**
+   * Only draw the vertices which move the rendered line by more than the given number of pixels,
+   * e.g. 0.5, according to a {@link LineStripLOD} built at the first rendering and each time
+   * vertices are added or removed. Editing vertices in place requires {@link #clearLOD()}.
+   * 
+   * Levels of detail are disabled if the tolerance is not positive (default), and for lines with a
+   * space transform.
+   */
+  public void setLODTolerance(float pixels) {
+    this.lodTolerance = pixels;
+  }
+
+  public LineStripLOD getLOD() {
+    return lod;
+  }
+
+  /** Forget the levels of detail, which are built again at next rendering if enabled. */
+  public void clearLOD() {
+    lod = null;
+  }
+
   public boolean isShowPoints() {
     return showPoints;
   }
@@ -417,4 +467,7 @@ public class LineStrip extends Wireframeable {
   protected int stippleFactor = 4;
   protected short stipplePattern = (short) 0xAAAA;
   protected SymbolHandler symbolHandler = null;
+
+  protected float lodTolerance = 0;
+  protected LineStripLOD lod;
 }
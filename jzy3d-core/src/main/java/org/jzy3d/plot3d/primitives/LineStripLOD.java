@@ -0,0 +1,289 @@
+package org.jzy3d.plot3d.primitives;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.jzy3d.maths.BoundingBox3d;
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.algorithms.MinMaxPyramid;
+import org.jzy3d.painters.IPainter;
+
+/**
+ * Levels of detail of a {@link LineStrip}, allowing to draw only the vertices of a long strip which
+ * move its rendering by more than a given number of pixels.
+ *
+ * The strip is simplified once with the Douglas-Peucker algorithm, which gives each vertex the
+ * error it fixes: its distance to the segment joining the two vertices kept before it. Errors are
+ * clamped to the error of the parent vertex, so that keeping the vertices which error exceeds a
+ * threshold gives the Douglas-Peucker simplification for that threshold. Distances are measured in
+ * coordinates normalized by the strip bounds.
+ *
+ * At each frame, {@link #select(IPainter, float)} converts a pixel tolerance into an error
+ * threshold according to the current projection of the view bounds, and walks the simplification
+ * hierarchy with a {@link MinMaxPyramid} of the errors, so that its cost depends on the number of
+ * vertices kept rather than on the strip length. Runs of vertices which bounds are out of the view
+ * are reduced to their extremities.
+ */
+public class LineStripLOD {
+  /** Number of vertices of a block which bounds are kept to skip runs out of the view */
+  public static final int BLOCK = 1024;
+
+  public LineStripLOD(List<Point> points) {
+    this.points = points.toArray(new Point[points.size()]);
+    int n = this.points.length;
+
+    BoundingBox3d bounds = new BoundingBox3d();
+    blocks = new float[((n + BLOCK - 1) / BLOCK) * 6];
+    for (int b = 0; b * BLOCK < n; b++) {
+      BoundingBox3d block = new BoundingBox3d();
+      for (int i = b * BLOCK; i < Math.min(n, (b + 1) * BLOCK); i++)
+        block.add(this.points[i].xyz);
+      blocks[b * 6] = block.getXmin();
+      blocks[b * 6 + 1] = block.getXmax();
+      blocks[b * 6 + 2] = block.getYmin();
+      blocks[b * 6 + 3] = block.getYmax();
+      blocks[b * 6 + 4] = block.getZmin();
+      blocks[b * 6 + 5] = block.getZmax();
+      bounds.add(block);
+    }
+    range = new float[] {range(bounds.getXmin(), bounds.getXmax()),
+        range(bounds.getYmin(), bounds.getYmax()), range(bounds.getZmin(), bounds.getZmax())};
+
+    errors = new double[n];
+    if (n > 0) {
+      errors[0] = Double.MAX_VALUE;
+      errors[n - 1] = Double.MAX_VALUE;
+      simplify(0, n - 1);
+    }
+    pyramid = new MinMaxPyramid();
+    pyramid.update(errors, 0, n);
+    indices = new int[Math.min(n, 1024)];
+  }
+
+  /* */
+
+  /**
+   * Select the vertices to draw so that the rendering moves by less than the given number of
+   * pixels. Must be invoked while rendering, so that the projection of the view is current.
+   *
+   * @return the number of vertices to draw, which indices are given by {@link #getIndices()}, or -1
+   *         if the projection is not available, in which case all vertices should be drawn.
+   */
+  public int select(IPainter painter, float tolerance) {
+    if (painter.getView() == null || painter.getCamera() == null)
+      return -1;
+    BoundingBox3d visible = painter.getView().getBounds();
+    if (visible == null || !visible.valid())
+      return -1;
+
+    // the largest distance in pixels between projected corners of the view bounds
+    Coord3d[] screen = painter.getCamera().modelToScreen(painter, visible.corners());
+    double extent = 0;
+    for (int i = 0; i < screen.length; i++)
+      for (int j = i + 1; j < screen.length; j++)
+        extent =
+            Math.max(extent, Math.hypot(screen[i].x - screen[j].x, screen[i].y - screen[j].y));
+
+    // a normalized unit spans at most that many pixels along the axis zoomed the most
+    double zoom = Math.max(range[0] / range(visible.getXmin(), visible.getXmax()),
+        Math.max(range[1] / range(visible.getYmin(), visible.getYmax()),
+            range[2] / range(visible.getZmin(), visible.getZmax())));
+    double pixels = extent * zoom;
+    if (!(pixels > 0))
+      return -1;
+    return select(tolerance / pixels, visible);
+  }
+
+  /**
+   * Select the vertices which error exceeds the given threshold, skipping runs of vertices which
+   * bounds do not intersect the visible bounds, if not null.
+   *
+   * @return the number of vertices to draw, which indices are given by {@link #getIndices()}
+   */
+  public int select(double threshold, BoundingBox3d visible) {
+    int n = points.length;
+    count = 0;
+    if (n == 0)
+      return 0;
+    emit(0);
+
+    int[] minmax = new int[2];
+    int[] stack = new int[64];
+    int top = 0;
+    stack[top++] = 0;
+    stack[top++] = n - 1;
+    while (top > 0) {
+      int j = stack[--top];
+      int i = stack[--top];
+      if (j - i > 1) {
+        pyramid.query(errors, i + 1, j, minmax);
+        int split = minmax[1];
+        if (errors[split] > threshold && (visible == null || isVisible(i, j, visible))) {
+          if (top + 4 > stack.length)
+            stack = Arrays.copyOf(stack, stack.length * 2);
+          // right run is pushed first to be processed after the left run
+          stack[top++] = split;
+          stack[top++] = j;
+          stack[top++] = i;
+          stack[top++] = split;
+          continue;
+        }
+      }
+      emit(j);
+    }
+    return count;
+  }
+
+  /** Indices of the vertices to draw, computed by the last selection. */
+  public int[] getIndices() {
+    return indices;
+  }
+
+  /** The error fixed by each vertex, in normalized coordinates. */
+  public double[] getErrors() {
+    return errors;
+  }
+
+  public int size() {
+    return points.length;
+  }
+
+  /* */
+
+  protected void emit(int index) {
+    if (count == indices.length)
+      indices = Arrays.copyOf(indices, Math.max(16, indices.length * 2));
+    indices[count++] = index;
+  }
+
+  /** True if the bounds of the blocks holding vertices [i, j] intersect the visible bounds */
+  protected boolean isVisible(int i, int j, BoundingBox3d visible) {
+    for (int b = i / BLOCK; b <= j / BLOCK; b++) {
+      int k = b * 6;
+      if (blocks[k] <= visible.getXmax() && blocks[k + 1] >= visible.getXmin()
+          && blocks[k + 2] <= visible.getYmax() && blocks[k + 3] >= visible.getYmin()
+          && blocks[k + 4] <= visible.getZmax() && blocks[k + 5] >= visible.getZmin())
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * Douglas-Peucker simplification of [from, to]. The first levels are processed sequentially
+   * until there are enough independent runs to simplify them in parallel.
+   */
+  protected void simplify(int from, int to) {
+    int[] runs = {from, to};
+    double[] parents = {Double.MAX_VALUE};
+    int tasks = 4 * Runtime.getRuntime().availableProcessors();
+    while (runs.length / 2 < tasks && to - from > BLOCK) {
+      int[] next = new int[runs.length * 2];
+      double[] nextParents = new double[parents.length * 2];
+      int m = 0;
+      boolean split = false;
+      for (int r = 0; r < parents.length; r++) {
+        int i = runs[2 * r];
+        int j = runs[2 * r + 1];
+        if (j - i > BLOCK) {
+          int s = split(i, j, parents[r]);
+          next[2 * m] = i;
+          next[2 * m + 1] = s;
+          nextParents[m++] = errors[s];
+          next[2 * m] = s;
+          next[2 * m + 1] = j;
+          nextParents[m++] = errors[s];
+          split = true;
+        } else {
+          next[2 * m] = i;
+          next[2 * m + 1] = j;
+          nextParents[m++] = parents[r];
+        }
+      }
+      runs = Arrays.copyOf(next, 2 * m);
+      parents = Arrays.copyOf(nextParents, m);
+      if (!split)
+        break;
+    }
+
+    final int[] r = runs;
+    final double[] p = parents;
+    IntStream.range(0, p.length).parallel()
+        .forEach(k -> simplifyRun(r[2 * k], r[2 * k + 1], p[k]));
+  }
+
+  protected void simplifyRun(int from, int to, double parent) {
+    int[] stack = new int[64];
+    double[] parents = new double[32];
+    int top = 0;
+    stack[top++] = from;
+    stack[top++] = to;
+    parents[0] = parent;
+    while (top > 0) {
+      int j = stack[--top];
+      int i = stack[--top];
+      double error = parents[top / 2];
+      if (j - i < 2)
+        continue;
+      int s = split(i, j, error);
+      if (top + 4 > stack.length) {
+        stack = Arrays.copyOf(stack, stack.length * 2);
+        parents = Arrays.copyOf(parents, stack.length / 2);
+      }
+      parents[top / 2] = errors[s];
+      stack[top++] = i;
+      stack[top++] = s;
+      parents[top / 2] = errors[s];
+      stack[top++] = s;
+      stack[top++] = j;
+    }
+  }
+
+  /**
+   * Find the vertex of ]i, j[ farthest from segment [i, j], store its error clamped to the parent
+   * error, and return its index.
+   */
+  protected int split(int i, int j, double parent) {
+    Coord3d a = points[i].xyz;
+    Coord3d b = points[j].xyz;
+    double abx = (b.x - a.x) / range[0];
+    double aby = (b.y - a.y) / range[1];
+    double abz = (b.z - a.z) / range[2];
+    double ab2 = abx * abx + aby * aby + abz * abz;
+
+    int farthest = i + 1;
+    double max = -1;
+    for (int k = i + 1; k < j; k++) {
+      Coord3d c = points[k].xyz;
+      double acx = (c.x - a.x) / range[0], acy = (c.y - a.y) / range[1],
+          acz = (c.z - a.z) / range[2];
+      double t = ab2 > 0 ? (acx * abx + acy * aby + acz * abz) / ab2 : 0;
+      t = t < 0 ? 0 : t > 1 ? 1 : t;
+      double dx = acx - t * abx, dy = acy - t * aby, dz = acz - t * abz;
+      double d2 = dx * dx + dy * dy + dz * dz;
+      if (d2 > max) {
+        max = d2;
+        farthest = k;
+      }
+    }
+    errors[farthest] = Math.min(Math.sqrt(Math.max(max, 0)), parent);
+    return farthest;
+  }
+
+  protected static float range(float min, float max) {
+    return max > min ? max - min : 1;
+  }
+
+  /* */
+
+  protected Point[] points;
+  /** Normalization of each axis */
+  protected float[] range;
+  /** Bounds of each block, as {xmin,xmax,ymin,ymax,zmin,zmax} */
+  protected float[] blocks;
+  protected double[] errors;
+  protected MinMaxPyramid pyramid;
+
+  protected int[] indices;
+  protected int count;
+}
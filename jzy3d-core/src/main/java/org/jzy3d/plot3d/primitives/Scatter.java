@@ -10,6 +10,7 @@ import org.jzy3d.maths.Coord3d;
 import org.jzy3d.maths.Coord3ds;
 import org.jzy3d.painters.IPainter;
 import org.jzy3d.plot3d.transform.Transform;
+import org.jzy3d.plot3d.transform.space.SpaceTransformCache;
 
 /**
  * Experimental 3d object.
@@ -57,6 +58,7 @@ public class Scatter extends Drawable implements ISingleColorable {
 
   public void clear() {
     coordinates = null;
+    transformedCoordinates.invalidate();
     bbox.reset();
   }
 
@@ -78,13 +80,22 @@ public class Scatter extends Drawable implements ISingleColorable {
       painter.color(rgb);
 
     if (coordinates != null) {
-      int k = 0;
-      for (Coord3d c : coordinates) {
-        if (colors != null) {
-          painter.color(colors[k]);
-          k++;
+      if (spaceTransformer != null && !spaceTransformer.isIdentity()) {
+        float[] xyz = transformedCoordinates.get(coordinates, spaceTransformer);
+        for (int k = 0, i = 0; k < coordinates.length; k++, i += 3) {
+          if (colors != null)
+            painter.color(colors[k]);
+          painter.glVertex3f(xyz[i], xyz[i + 1], xyz[i + 2]);
+        }
+      } else {
+        int k = 0;
+        for (Coord3d c : coordinates) {
+          if (colors != null) {
+            painter.color(colors[k]);
+            k++;
+          }
+          painter.vertex(c);
         }
-        painter.vertex(c, spaceTransformer);
       }
     }
     painter.glEnd();
@@ -92,9 +103,8 @@ public class Scatter extends Drawable implements ISingleColorable {
 
   @Override
   public void applyGeometryTransform(Transform transform) {
-    for (Coord3d c : coordinates) {
-      c.set(transform.compute(c));
-    }
+    transform.computeInPlace(coordinates);
+    transformedCoordinates.invalidate();
     updateBounds();
   }
 
@@ -103,10 +113,14 @@ public class Scatter extends Drawable implements ISingleColorable {
   /**
    * Set the coordinates of the point.
    * 
+   * Coordinates modified in place should be set again so that their space transformed copy used
+   * for rendering log axes gets updated.
+   * 
    * @param xyz point's coordinates
    */
   public void setData(Coord3d[] coordinates) {
     this.coordinates = coordinates;
+    transformedCoordinates.invalidate();
 
     updateBounds();
   }
@@ -116,6 +130,7 @@ public class Scatter extends Drawable implements ISingleColorable {
     int k = 0;
     for (Coord3d c : coordinates)
       this.coordinates[k++] = c;
+    transformedCoordinates.invalidate();
   }
 
   @Override
@@ -174,4 +189,6 @@ public class Scatter extends Drawable implements ISingleColorable {
   public Coord3d[] coordinates;
   public Color rgb;
   public float width;
+
+  protected SpaceTransformCache transformedCoordinates = new SpaceTransformCache();
 }
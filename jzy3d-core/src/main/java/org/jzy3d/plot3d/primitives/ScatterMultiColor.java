@@ -8,6 +8,7 @@ import org.jzy3d.maths.BoundingBox3d;
 import org.jzy3d.maths.Coord3d;
 import org.jzy3d.painters.IPainter;
 import org.jzy3d.plot3d.transform.Transform;
+import org.jzy3d.plot3d.transform.space.SpaceTransformCache;
 
 /**
  * A scatter plot supporting a colormap for shading each dot color and alpha.
@@ -34,6 +35,7 @@ public class ScatterMultiColor extends Drawable implements IMultiColorable {
 
   public void clear() {
     coordinates = null;
+    transformedCoordinates.invalidate();
     bbox.reset();
   }
 
@@ -51,10 +53,18 @@ public class ScatterMultiColor extends Drawable implements IMultiColorable {
     painter.glBegin_Point();
 
     if (coordinates != null) {
-      for (Coord3d coord : coordinates) {
-        Color color = mapper.getColor(coord);
-        painter.color(color);
-        painter.vertex(coord, spaceTransformer);
+      if (spaceTransformer != null && !spaceTransformer.isIdentity()) {
+        float[] xyz = transformedCoordinates.get(coordinates, spaceTransformer);
+        for (int k = 0, i = 0; k < coordinates.length; k++, i += 3) {
+          painter.color(mapper.getColor(coordinates[k]));
+          painter.glVertex3f(xyz[i], xyz[i + 1], xyz[i + 2]);
+        }
+      } else {
+        for (Coord3d coord : coordinates) {
+          Color color = mapper.getColor(coord);
+          painter.color(color);
+          painter.vertex(coord);
+        }
       }
     }
     painter.glEnd();
@@ -62,9 +72,8 @@ public class ScatterMultiColor extends Drawable implements IMultiColorable {
 
   @Override
   public void applyGeometryTransform(Transform transform) {
-    for (Coord3d c : coordinates) {
-      c.set(transform.compute(c));
-    }
+    transform.computeInPlace(coordinates);
+    transformedCoordinates.invalidate();
     updateBounds();
   }
 
@@ -80,10 +89,14 @@ public class ScatterMultiColor extends Drawable implements IMultiColorable {
   /**
    * Set the coordinates of the point.
    * 
+   * Coordinates modified in place should be set again so that their space transformed copy used
+   * for rendering log axes gets updated.
+   * 
    * @param xyz point's coordinates
    */
   public void setData(Coord3d[] coordinates) {
     this.coordinates = coordinates;
+    transformedCoordinates.invalidate();
 
     bbox.reset();
     for (Coord3d c : coordinates)
@@ -125,5 +138,5 @@ public class ScatterMultiColor extends Drawable implements IMultiColorable {
   protected Color[] colors;
   protected float width;
   protected ColorMapper mapper;
-
+  protected SpaceTransformCache transformedCoordinates = new SpaceTransformCache();
 }
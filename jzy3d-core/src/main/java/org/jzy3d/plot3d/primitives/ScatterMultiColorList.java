@@ -60,9 +60,7 @@ public class ScatterMultiColorList extends Drawable implements IMultiColorable {
 
   @Override
   public void applyGeometryTransform(Transform transform) {
-    for (Coord3d c : coordinates) {
-      c.set(transform.compute(c));
-    }
+    transform.computeInPlace(coordinates);
     updateBounds();
   }
 
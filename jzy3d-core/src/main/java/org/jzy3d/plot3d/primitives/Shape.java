@@ -3,6 +3,7 @@ package org.jzy3d.plot3d.primitives;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jzy3d.plot3d.builder.Mapper;
 
 /**
  * Allows building custom shapes defined by an {@link ArrayList} of {@link Polygon}s. Such
@@ -26,4 +27,30 @@ public class Shape extends Composite {
     super();
     add(polygons);
   }
+
+  /**
+   * Compute area weighted normals at the vertices shared by the polygons of this shape, so that it
+   * is smoothly shaded when lit. Normals are computed again by {@link Mapper#remap(Composite)}, and
+   * should be computed again if polygons are added or removed.
+   */
+  public VertexNormals computeVertexNormals() {
+    vertexNormals = VertexNormals.of(this);
+    return vertexNormals;
+  }
+
+  /** Drop vertex normals, letting the polygons of this shape be flat shaded. */
+  public void clearVertexNormals() {
+    synchronized (components) {
+      for (Drawable d : components)
+        if (d instanceof IMeshFace)
+          ((IMeshFace) d).setVertexNormals(null, 0);
+    }
+    vertexNormals = null;
+  }
+
+  public VertexNormals getVertexNormals() {
+    return vertexNormals;
+  }
+
+  protected VertexNormals vertexNormals;
 }
@@ -0,0 +1,129 @@
+package org.jzy3d.plot3d.primitives;
+
+import org.apache.log4j.Logger;
+import org.jzy3d.colors.Color;
+import org.jzy3d.maths.BoundingBox3d;
+import org.jzy3d.maths.RingBuffer2d;
+import org.jzy3d.maths.algorithms.M4Decimator;
+import org.jzy3d.painters.IPainter;
+import org.jzy3d.plot3d.transform.Transform;
+
+/**
+ * A line strip drawing the samples of a {@link RingBuffer2d} in the z=0 plane, for series receiving
+ * samples continuously from other threads. Samples are decimated to the first, min, max and last
+ * samples of each pixel column with {@link M4Decimator}.
+ *
+ * Unlike {@link ConcurrentLineStrip}, adding a sample does not allocate any object and never waits
+ * for the renderer, and the memory and rendering cost are bounded by the buffer capacity. The line
+ * has a single color.
+ */
+public class StreamingLineStrip extends Wireframeable {
+  public StreamingLineStrip(int capacity) {
+    this(new RingBuffer2d(capacity));
+  }
+
+  public StreamingLineStrip(int capacity, double window) {
+    this(new RingBuffer2d(capacity, window));
+  }
+
+  public StreamingLineStrip(RingBuffer2d buffer) {
+    this.buffer = buffer;
+    this.bbox = new BoundingBox3d();
+    setWireframeColor(Color.BLACK);
+  }
+
+  /* */
+
+  @Override
+  public void draw(IPainter painter) {
+    doTransform(painter);
+
+    if (xs == null || xs.length < buffer.capacity()) {
+      xs = new double[buffer.capacity()];
+      ys = new double[buffer.capacity()];
+    }
+    int n = buffer.copy(xs, ys);
+    if (n == 0)
+      return;
+
+    // only draw the first, min, max and last samples of each pixel column
+    int m = -1;
+    BoundingBox3d bounds = painter.getView() != null ? painter.getView().getBounds() : null;
+    int width = DecimatedLineStrip.getPixelWidth(painter);
+    if (bounds != null && width > 0 && n > 4 * width
+        && (spaceTransformer == null || spaceTransformer.getX().isIdentity())) {
+      if (indices == null || indices.length < 4 * width + 2)
+        indices = new int[4 * width + 2];
+      m = M4Decimator.decimate(xs, ys, 0, n, bounds.getXmin(), bounds.getXmax(), width, indices);
+    }
+
+    painter.glLineWidth(wireframeWidth);
+    painter.color(wireframeColor);
+    if (n == 1)
+      painter.glBegin_Point();
+    else
+      painter.glBegin_LineStrip();
+    if (m < 0) {
+      for (int i = 0; i < n; i++)
+        painter.vertex((float) xs[i], (float) ys[i], 0, spaceTransformer);
+    } else {
+      for (int k = 0; k < m; k++)
+        painter.vertex((float) xs[indices[k]], (float) ys[indices[k]], 0, spaceTransformer);
+    }
+    painter.glEnd();
+  }
+
+  /** Samples are not edited by transforms. */
+  @Override
+  public void applyGeometryTransform(Transform transform) {
+    Logger.getLogger(StreamingLineStrip.class).warn("not implemented");
+  }
+
+  /** Return the bounds of the samples currently held by the buffer. */
+  @Override
+  public BoundingBox3d getBounds() {
+    updateBounds();
+    return bbox;
+  }
+
+  @Override
+  public void updateBounds() {
+    double xmin = buffer.getXMin(), xmax = buffer.getXMax();
+    double ymin = buffer.getYMin(), ymax = buffer.getYMax();
+    bbox.reset();
+    if (!Double.isNaN(xmin) && !Double.isNaN(ymin)) {
+      bbox.add((float) xmin, (float) ymin, 0);
+      bbox.add((float) xmax, (float) ymax, 0);
+    }
+  }
+
+  public void add(double x, double y) {
+    buffer.add(x, y);
+  }
+
+  public void clear() {
+    buffer.clear();
+  }
+
+  public RingBuffer2d getBuffer() {
+    return buffer;
+  }
+
+  /** A shortcut for {@link #setWireframeColor} */
+  public void setColor(Color color) {
+    setWireframeColor(color);
+  }
+
+  public Color getColor() {
+    return getWireframeColor();
+  }
+
+  /* */
+
+  protected RingBuffer2d buffer;
+
+  /** Renderer side copy of the samples */
+  protected double[] xs;
+  protected double[] ys;
+  protected int[] indices;
+}
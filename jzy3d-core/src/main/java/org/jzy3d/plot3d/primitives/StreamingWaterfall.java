@@ -0,0 +1,289 @@
+package org.jzy3d.plot3d.primitives;
+
+import java.nio.FloatBuffer;
+
+import org.apache.log4j.Logger;
+import org.jzy3d.colors.Color;
+import org.jzy3d.colors.ColorLUT;
+import org.jzy3d.colors.ColorMapper;
+import org.jzy3d.colors.IMultiColorable;
+import org.jzy3d.colors.colormaps.ColorMapRainbow;
+import org.jzy3d.events.DrawableChangedEvent;
+import org.jzy3d.maths.BoundingBox3d;
+import org.jzy3d.painters.IPainter;
+import org.jzy3d.plot3d.builder.concrete.WaterfallTessellator;
+import org.jzy3d.plot3d.transform.Transform;
+
+/**
+ * A waterfall, as built by {@link WaterfallTessellator}, receiving its rows one by one, such as the
+ * spectrums computed by a live spectrum analyzer, and keeping the latest <code>depth</code> rows.
+ *
+ * Rows are stored in a circular buffer of primitive arrays: appending a row overwrites the values
+ * and colors of the oldest row only, and does not allocate any object. Each row stands at the y
+ * value given when appending it, so that rows kept in the buffer never move. Values are colored
+ * with a {@link ColorLUT} sampled from the color mapper.
+ *
+ * Each row is drawn as a line colored by its values, over a face filling the area between the line
+ * and the floor. Renderers holding the geometry in GPU memory may upload the rows appended since
+ * their last upload, as given by {@link #getAppended()} and {@link #getSlot(long)}, with
+ * {@link #putRow(int, FloatBuffer)}.
+ */
+public class StreamingWaterfall extends Wireframeable implements IMultiColorable {
+  /**
+   * @param x the x value of each bin of the rows
+   * @param depth the number of rows to keep
+   */
+  public StreamingWaterfall(float[] x, int depth) {
+    this(x, depth, new ColorMapper(new ColorMapRainbow(), 0, 1));
+  }
+
+  public StreamingWaterfall(float[] x, int depth, ColorMapper mapper) {
+    if (x.length < 2 || depth < 1)
+      throw new IllegalArgumentException(
+          "Expect at least 2 bins and 1 row, got " + x.length + " bins and " + depth + " rows");
+    this.x = x.clone();
+    this.bins = x.length;
+    this.depth = depth;
+    this.y = new double[depth];
+    this.z = new float[depth * bins];
+    this.rgba = new float[depth * bins * 4];
+    this.zmin = new float[depth];
+    this.zmax = new float[depth];
+    this.bbox = new BoundingBox3d();
+    setFaceColor(Color.WHITE);
+    setWireframeColor(null);
+    setColorMapper(mapper);
+  }
+
+  /* */
+
+  /** Append a row standing at the y value following the previous row. */
+  public void append(float[] values) {
+    append(values, appended);
+  }
+
+  /**
+   * Append a row, which replaces the oldest row if the waterfall is full.
+   *
+   * @param values one value per bin
+   * @param y the y value of the row, expected to increase from a row to the next
+   */
+  public void append(float[] values, double y) {
+    synchronized (this) {
+      if (values.length != bins)
+        throw new IllegalArgumentException("Expect " + bins + " values, got " + values.length);
+      int slot = getSlot(appended);
+      int offset = slot * bins;
+      System.arraycopy(values, 0, z, offset, bins);
+      float min = Float.POSITIVE_INFINITY, max = Float.NEGATIVE_INFINITY;
+      for (int i = 0; i < bins; i++) {
+        lut.getColor(values[i], rgba, (offset + i) * 4);
+        if (values[i] < min)
+          min = values[i];
+        if (values[i] > max)
+          max = values[i];
+      }
+      this.y[slot] = y;
+      zmin[slot] = min;
+      zmax[slot] = max;
+      appended++;
+    }
+    fireDrawableChanged(DrawableChangedEvent.FIELD_DATA);
+  }
+
+  public void clear() {
+    synchronized (this) {
+      appended = 0;
+      version++;
+    }
+    fireDrawableChanged(DrawableChangedEvent.FIELD_DATA);
+  }
+
+  /* */
+
+  @Override
+  public synchronized void draw(IPainter painter) {
+    doTransform(painter);
+
+    int rows = getRowCount();
+    float base = getFloor();
+    for (long row = appended - rows; row < appended; row++) {
+      int slot = getSlot(row);
+      int offset = slot * bins;
+      float ry = (float) y[slot];
+
+      if (faceDisplayed) {
+        polygonOffseFillEnable(painter);
+        painter.color(faceColor);
+        painter.glBegin_Quad();
+        for (int i = 0; i < bins - 1; i++) {
+          painter.vertex(x[i], ry, base, spaceTransformer);
+          painter.vertex(x[i], ry, z[offset + i], spaceTransformer);
+          painter.vertex(x[i + 1], ry, z[offset + i + 1], spaceTransformer);
+          painter.vertex(x[i + 1], ry, base, spaceTransformer);
+        }
+        painter.glEnd();
+        polygonOffsetFillDisable(painter);
+      }
+
+      if (wireframeDisplayed) {
+        painter.glLineWidth(wireframeWidth);
+        painter.glBegin_LineStrip();
+        for (int i = 0; i < bins; i++) {
+          if (wireframeColor == null) {
+            int c = (offset + i) * 4;
+            painter.glColor4f(rgba[c], rgba[c + 1], rgba[c + 2], rgba[c + 3]);
+          } else
+            painter.color(wireframeColor);
+          painter.vertex(x[i], ry, z[offset + i], spaceTransformer);
+        }
+        painter.glEnd();
+      }
+    }
+  }
+
+  /**
+   * Write the vertices of a row as {x, y, z, r, g, b, a} for each bin, alternating the vertex of
+   * the value and the vertex on the floor, so that the row line is made of even vertices and the
+   * row face is the triangle strip made of all vertices.
+   */
+  public synchronized void putRow(int slot, FloatBuffer buffer) {
+    int offset = slot * bins;
+    float ry = (float) y[slot];
+    float base = getFloor();
+    for (int i = 0; i < bins; i++) {
+      int c = (offset + i) * 4;
+      buffer.put(x[i]).put(ry).put(z[offset + i]);
+      buffer.put(rgba, c, 4);
+      buffer.put(x[i]).put(ry).put(base);
+      buffer.put(rgba, c, 4);
+    }
+  }
+
+  /** Number of floats written by {@link #putRow(int, FloatBuffer)} */
+  public int getRowSize() {
+    return bins * 2 * VERTEX_SIZE;
+  }
+
+  /* */
+
+  @Override
+  public synchronized BoundingBox3d getBounds() {
+    updateBounds();
+    return bbox;
+  }
+
+  @Override
+  public synchronized void updateBounds() {
+    bbox.reset();
+    int rows = getRowCount();
+    for (long row = appended - rows; row < appended; row++) {
+      int slot = getSlot(row);
+      if (zmin[slot] <= zmax[slot]) {
+        bbox.add(x[0], (float) y[slot], zmin[slot]);
+        bbox.add(x[bins - 1], (float) y[slot], zmax[slot]);
+      }
+    }
+    if (bbox.valid())
+      bbox.add(x[0], bbox.getYmin(), getFloor());
+  }
+
+  /** Rows are not edited by transforms. */
+  @Override
+  public void applyGeometryTransform(Transform transform) {
+    Logger.getLogger(StreamingWaterfall.class).warn("not implemented");
+  }
+
+  /* */
+
+  @Override
+  public void setColorMapper(ColorMapper mapper) {
+    synchronized (this) {
+      this.mapper = mapper;
+      this.lut = new ColorLUT(mapper);
+      for (int i = 0; i < z.length; i++)
+        lut.getColor(z[i], rgba, i * 4);
+      version++;
+    }
+    fireDrawableChanged(DrawableChangedEvent.FIELD_COLOR);
+  }
+
+  @Override
+  public ColorMapper getColorMapper() {
+    return mapper;
+  }
+
+  public Color getFaceColor() {
+    return faceColor;
+  }
+
+  public void setFaceColor(Color faceColor) {
+    this.faceColor = faceColor;
+  }
+
+  /** The z value of the bottom of the faces, which is the color mapper min value by default. */
+  public float getFloor() {
+    return Float.isNaN(floor) ? (float) mapper.getMin() : floor;
+  }
+
+  public void setFloor(float floor) {
+    synchronized (this) {
+      this.floor = floor;
+      version++;
+    }
+    fireDrawableChanged(DrawableChangedEvent.FIELD_DATA);
+  }
+
+  /** Number of rows kept. */
+  public synchronized int getRowCount() {
+    return (int) Math.min(appended, depth);
+  }
+
+  /** Total number of rows appended since creation or last clear. */
+  public synchronized long getAppended() {
+    return appended;
+  }
+
+  /** The slot of the circular buffer holding the given row. */
+  public int getSlot(long row) {
+    return (int) (row % depth);
+  }
+
+  /**
+   * Incremented each time all rows change, e.g. when changing the color mapper, meaning that
+   * renderers holding rows should update all of them.
+   */
+  public synchronized int getVersion() {
+    return version;
+  }
+
+  public int getBins() {
+    return bins;
+  }
+
+  public int getDepth() {
+    return depth;
+  }
+
+  /* */
+
+  /** Number of floats of a vertex: x, y, z, r, g, b, a */
+  public static final int VERTEX_SIZE = 7;
+
+  protected final int bins;
+  protected final int depth;
+  protected final float[] x;
+  /** Values of slot s are z[s*bins, (s+1)*bins[, and their colors rgba[s*bins*4, (s+1)*bins*4[ */
+  protected final float[] z;
+  protected final float[] rgba;
+  protected final double[] y;
+  protected final float[] zmin;
+  protected final float[] zmax;
+  protected long appended;
+  protected int version;
+
+  protected ColorMapper mapper;
+  protected ColorLUT lut;
+  protected Color faceColor;
+  protected float floor = Float.NaN;
+}
@@ -0,0 +1,251 @@
+package org.jzy3d.plot3d.primitives;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Parallel;
+import org.jzy3d.painters.IPainter;
+
+/**
+ * Smooth normals of a mesh made of {@link IMeshFace} faces, such as the polygons of a surface built
+ * by a tessellator.
+ *
+ * Face corners standing at the same position are welded into a single vertex, which normal is the
+ * normalized sum of the normals of the faces sharing it, each face normal being weighted by the
+ * face area (Newell's method). Normals are stored packed as {x0,y0,z0,x1,y1,z1,...}, one per
+ * vertex, and are computed in parallel over faces then over vertices.
+ *
+ * Each face is bound to this object, and sends the normal of each of its corners to the painter
+ * before the corner vertex, so that lit meshes are smoothly shaded without computing any normal at
+ * rendering. When face coordinates are edited in place, e.g. by
+ * {@link org.jzy3d.plot3d.builder.Mapper#remap(Composite)}, {@link #update()} computes again the
+ * normals of the vertices that moved and of their neighbours only.
+ */
+public class VertexNormals {
+  /** Weld the corners of the faces and compute their normals. */
+  public VertexNormals(List<? extends IMeshFace> faces) {
+    this.faces = new ArrayList<IMeshFace>(faces);
+
+    int nFaces = faces.size();
+    faceStart = new int[nFaces + 1];
+    for (int f = 0; f < nFaces; f++)
+      faceStart[f + 1] = faceStart[f] + faces.get(f).size();
+
+    // weld corners at the same position
+    int nCorners = faceStart[nFaces];
+    cornerVertex = new int[nCorners];
+    Map<Coord3d, Integer> index = new HashMap<Coord3d, Integer>();
+    List<Point> vertices = new ArrayList<Point>();
+    for (int f = 0; f < nFaces; f++) {
+      List<Point> points = faces.get(f).getPoints();
+      for (int c = 0; c < points.size(); c++) {
+        Point p = points.get(c);
+        Integer v = index.get(p.xyz);
+        if (v == null) {
+          v = vertices.size();
+          index.put(p.xyz.clone(), v);
+          vertices.add(p);
+        }
+        cornerVertex[faceStart[f] + c] = v;
+      }
+      faces.get(f).setVertexNormals(this, f);
+    }
+    vertexPoint = vertices.toArray(new Point[vertices.size()]);
+
+    // faces of each vertex
+    int nVertices = vertexPoint.length;
+    vertexStart = new int[nVertices + 1];
+    for (int v : cornerVertex)
+      vertexStart[v + 1]++;
+    for (int v = 0; v < nVertices; v++)
+      vertexStart[v + 1] += vertexStart[v];
+    vertexFaces = new int[nCorners];
+    int[] fill = Arrays.copyOf(vertexStart, nVertices);
+    for (int f = 0; f < nFaces; f++)
+      for (int c = faceStart[f]; c < faceStart[f + 1]; c++)
+        vertexFaces[fill[cornerVertex[c]]++] = f;
+
+    positions = new float[nVertices * 3];
+    faceNormals = new float[nFaces * 3];
+    normals = new float[nVertices * 3];
+    compute();
+  }
+
+  /** Build the normals of the {@link IMeshFace} components of a composite. */
+  public static VertexNormals of(Composite composite) {
+    List<IMeshFace> faces = new ArrayList<IMeshFace>();
+    synchronized (composite.getDrawables()) {
+      for (Drawable d : composite.getDrawables())
+        if (d instanceof IMeshFace)
+          faces.add((IMeshFace) d);
+    }
+    return new VertexNormals(faces);
+  }
+
+  /** Compute all normals. */
+  public synchronized void compute() {
+    final int nFaces = faces.size();
+    final int nVertices = vertexPoint.length;
+    Parallel.forEachChunk(nVertices, (from, to) -> {
+      for (int v = from; v < to; v++)
+        readPosition(v);
+    });
+    Parallel.forEachChunk(nFaces, (from, to) -> {
+      for (int f = from; f < to; f++)
+        computeFaceNormal(f);
+    });
+    Parallel.forEachChunk(nVertices, (from, to) -> {
+      for (int v = from; v < to; v++)
+        computeVertexNormal(v);
+    });
+  }
+
+  /**
+   * Compute again the normals of vertices which position changed since last computation, and of
+   * the vertices of the faces they belong to.
+   *
+   * @return the number of vertices which moved
+   */
+  public synchronized int update() {
+    final int nFaces = faces.size();
+    final int nVertices = vertexPoint.length;
+
+    final boolean[] moved = new boolean[nVertices];
+    final int[] count = new int[1];
+    Parallel.forEachChunk(nVertices, (from, to) -> {
+      int n = 0;
+      for (int v = from; v < to; v++) {
+        int i = v * 3;
+        Coord3d c = vertexPoint[v].xyz;
+        if (c.x != positions[i] || c.y != positions[i + 1] || c.z != positions[i + 2]) {
+          readPosition(v);
+          moved[v] = true;
+          n++;
+        }
+      }
+      synchronized (count) {
+        count[0] += n;
+      }
+    });
+    if (count[0] == 0)
+      return 0;
+
+    final boolean[] changed = new boolean[nFaces];
+    Parallel.forEachChunk(nFaces, (from, to) -> {
+      for (int f = from; f < to; f++) {
+        for (int c = faceStart[f]; c < faceStart[f + 1] && !changed[f]; c++)
+          changed[f] = moved[cornerVertex[c]];
+        if (changed[f])
+          computeFaceNormal(f);
+      }
+    });
+    Parallel.forEachChunk(nVertices, (from, to) -> {
+      for (int v = from; v < to; v++) {
+        boolean dirty = false;
+        for (int k = vertexStart[v]; k < vertexStart[v + 1] && !dirty; k++)
+          dirty = changed[vertexFaces[k]];
+        if (dirty)
+          computeVertexNormal(v);
+      }
+    });
+    return count[0];
+  }
+
+  /* */
+
+  /**
+   * Send the normal of a face corner to the painter, if the face still has the number of corners
+   * it had when normals were built. Return false otherwise.
+   */
+  public boolean normal(IPainter painter, int face, int corner, int corners) {
+    int start = faceStart[face];
+    if (corners != faceStart[face + 1] - start)
+      return false;
+    int i = cornerVertex[start + corner] * 3;
+    painter.glNormal3f(normals[i], normals[i + 1], normals[i + 2]);
+    return true;
+  }
+
+  /** Normals packed as {x0,y0,z0,x1,y1,z1,...}, not copied. */
+  public float[] getNormals() {
+    return normals;
+  }
+
+  public int getVertexCount() {
+    return vertexPoint.length;
+  }
+
+  /** The index of the vertex standing at the given corner of the given face */
+  public int getVertex(int face, int corner) {
+    return cornerVertex[faceStart[face] + corner];
+  }
+
+  public Coord3d getNormal(int vertex) {
+    return new Coord3d(normals[vertex * 3], normals[vertex * 3 + 1], normals[vertex * 3 + 2]);
+  }
+
+  /* */
+
+  protected void readPosition(int v) {
+    Coord3d c = vertexPoint[v].xyz;
+    positions[v * 3] = c.x;
+    positions[v * 3 + 1] = c.y;
+    positions[v * 3 + 2] = c.z;
+  }
+
+  /** Newell's normal, which length is twice the face area */
+  protected void computeFaceNormal(int f) {
+    int from = faceStart[f];
+    int to = faceStart[f + 1];
+    float nx = 0, ny = 0, nz = 0;
+    for (int c = from; c < to; c++) {
+      int i = cornerVertex[c] * 3;
+      int j = cornerVertex[c + 1 < to ? c + 1 : from] * 3;
+      nx += (positions[i + 1] - positions[j + 1]) * (positions[i + 2] + positions[j + 2]);
+      ny += (positions[i + 2] - positions[j + 2]) * (positions[i] + positions[j]);
+      nz += (positions[i] - positions[j]) * (positions[i + 1] + positions[j + 1]);
+    }
+    faceNormals[f * 3] = nx;
+    faceNormals[f * 3 + 1] = ny;
+    faceNormals[f * 3 + 2] = nz;
+  }
+
+  protected void computeVertexNormal(int v) {
+    float nx = 0, ny = 0, nz = 0;
+    for (int k = vertexStart[v]; k < vertexStart[v + 1]; k++) {
+      int f = vertexFaces[k] * 3;
+      nx += faceNormals[f];
+      ny += faceNormals[f + 1];
+      nz += faceNormals[f + 2];
+    }
+    float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+    if (length > 0) {
+      nx /= length;
+      ny /= length;
+      nz /= length;
+    }
+    normals[v * 3] = nx;
+    normals[v * 3 + 1] = ny;
+    normals[v * 3 + 2] = nz;
+  }
+
+  /* */
+
+  protected List<IMeshFace> faces;
+  /** Corners of face f are [faceStart[f], faceStart[f+1][ */
+  protected int[] faceStart;
+  protected int[] cornerVertex;
+  /** Faces of vertex v are vertexFaces[vertexStart[v], vertexStart[v+1][ */
+  protected int[] vertexStart;
+  protected int[] vertexFaces;
+  /** A point of each vertex, used to read its current position */
+  protected Point[] vertexPoint;
+
+  protected float[] positions;
+  protected float[] faceNormals;
+  protected float[] normals;
+}
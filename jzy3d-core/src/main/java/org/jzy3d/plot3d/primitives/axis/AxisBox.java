@@ -14,6 +14,7 @@ import org.jzy3d.plot3d.primitives.PolygonFill;
 import org.jzy3d.plot3d.primitives.PolygonMode;
 import org.jzy3d.plot3d.primitives.axis.layout.AxisBoxLayout;
 import org.jzy3d.plot3d.primitives.axis.layout.IAxisLayout;
+import org.jzy3d.plot3d.primitives.axis.layout.renderers.ITickRenderer;
 import org.jzy3d.plot3d.rendering.view.Camera;
 import org.jzy3d.plot3d.rendering.view.View;
 import org.jzy3d.plot3d.rendering.view.modes.ViewPositionMode;
@@ -21,6 +22,7 @@ import org.jzy3d.plot3d.text.ITextRenderer;
 import org.jzy3d.plot3d.text.align.Halign;
 import org.jzy3d.plot3d.text.align.Valign;
 import org.jzy3d.plot3d.text.renderers.TextBitmapRenderer;
+import org.jzy3d.plot3d.transform.space.SpaceTransform;
 import org.jzy3d.plot3d.transform.space.SpaceTransformer;
 
 
@@ -137,9 +139,14 @@ public class AxisBox implements IAxis {
     wholeBounds.reset();
     wholeBounds.add(boxBounds);
 
-    drawTicksAndLabelsX(painter);
-    drawTicksAndLabelsY(painter);
-    drawTicksAndLabelsZ(painter);
+    textRenderer.beginBatch(painter);
+    try {
+      drawTicksAndLabelsX(painter);
+      drawTicksAndLabelsY(painter);
+      drawTicksAndLabelsZ(painter);
+    } finally {
+      textRenderer.flush(painter);
+    }
   }
 
   public void drawTicksAndLabelsX(IPainter painter) {
@@ -209,12 +216,13 @@ public class AxisBox implements IAxis {
    * 0.0f to 5.0f using glPassThrough, and may be traced in feedback mode when mode=GL2.GL_FEEDBACK
    */
   protected void drawCube(IPainter painter, RenderMode mode) {
+    updateTransformedBox();
     for (int q = 0; q < 6; q++) {
       if (mode == RenderMode.FEEDBACK)
         painter.glPassThrough(q);
       painter.glBegin_Quad();
       for (int v = 0; v < 4; v++) {
-        painter.vertex(quadx[q][v], quady[q][v], quadz[q][v], spaceTransformer);
+        painter.vertex(tquadx[q][v], tquady[q][v], tquadz[q][v], null);
       }
       painter.glEnd();
     }
@@ -224,13 +232,17 @@ public class AxisBox implements IAxis {
    * Draw a grid on the desired quad.
    */
   protected void drawGridOnQuad(IPainter painter, int quad) {
+    updateTransformedBox();
+
     // Draw X grid along X axis
     if ((quad != 0) && (quad != 1)) {
       double[] xticks = layout.getXTicks();
       for (int t = 0; t < xticks.length; t++) {
+        float x = spaceTransformer == null ? (float) xticks[t]
+            : spaceTransformer.getX().compute((float) xticks[t]);
         painter.glBegin_Line();
-        painter.vertex((float) xticks[t], quady[quad][0], quadz[quad][0], spaceTransformer);
-        painter.vertex((float) xticks[t], quady[quad][2], quadz[quad][2], spaceTransformer);
+        painter.vertex(x, tquady[quad][0], tquadz[quad][0], null);
+        painter.vertex(x, tquady[quad][2], tquadz[quad][2], null);
         painter.glEnd();
       }
     }
@@ -238,9 +250,11 @@ public class AxisBox implements IAxis {
     if ((quad != 2) && (quad != 3)) {
       double[] yticks = layout.getYTicks();
       for (int t = 0; t < yticks.length; t++) {
+        float y = spaceTransformer == null ? (float) yticks[t]
+            : spaceTransformer.getY().compute((float) yticks[t]);
         painter.glBegin_Line();
-        painter.vertex(quadx[quad][0], (float) yticks[t], quadz[quad][0], spaceTransformer);
-        painter.vertex(quadx[quad][2], (float) yticks[t], quadz[quad][2], spaceTransformer);
+        painter.vertex(tquadx[quad][0], y, tquadz[quad][0], null);
+        painter.vertex(tquadx[quad][2], y, tquadz[quad][2], null);
         painter.glEnd();
       }
     }
@@ -248,14 +262,60 @@ public class AxisBox implements IAxis {
     if ((quad != 4) && (quad != 5)) {
       double[] zticks = layout.getZTicks();
       for (int t = 0; t < zticks.length; t++) {
+        float z = spaceTransformer == null ? (float) zticks[t]
+            : spaceTransformer.getZ().compute((float) zticks[t]);
         painter.glBegin_Line();
-        painter.vertex(quadx[quad][0], quady[quad][0], (float) zticks[t], spaceTransformer);
-        painter.vertex(quadx[quad][2], quady[quad][2], (float) zticks[t], spaceTransformer);
+        painter.vertex(tquadx[quad][0], tquady[quad][0], z, null);
+        painter.vertex(tquadx[quad][2], tquady[quad][2], z, null);
         painter.glEnd();
       }
     }
   }
 
+  /**
+   * Compute the space transformed coordinates of the quads and their normals if the box or the
+   * space transformer changed since they were last computed, so that drawing the box, its grid and
+   * its ticks does not transform the same corners again at each frame.
+   */
+  protected void updateTransformedBox() {
+    if (spaceTransformer == null) {
+      tquadx = quadx;
+      tquady = quady;
+      tquadz = quadz;
+      tnormx = normx;
+      tnormy = normy;
+      tnormz = normz;
+      transformedQuads = null;
+      return;
+    }
+    if (transformedQuads == quadx && transformedBy == spaceTransformer
+        && transformedVersion == spaceTransformer.getVersion())
+      return;
+
+    tquadx = transform(quadx, spaceTransformer.getX());
+    tquady = transform(quady, spaceTransformer.getY());
+    tquadz = transform(quadz, spaceTransformer.getZ());
+    tnormx = transform(normx, spaceTransformer.getX());
+    tnormy = transform(normy, spaceTransformer.getY());
+    tnormz = transform(normz, spaceTransformer.getZ());
+    transformedQuads = quadx;
+    transformedBy = spaceTransformer;
+    transformedVersion = spaceTransformer.getVersion();
+  }
+
+  private static float[][] transform(float[][] values, SpaceTransform transform) {
+    float[][] out = new float[values.length][];
+    for (int i = 0; i < values.length; i++)
+      out[i] = transform(values[i], transform);
+    return out;
+  }
+
+  private static float[] transform(float[] values, SpaceTransform transform) {
+    float[] out = new float[values.length];
+    transform.compute(values, out, 0, values.length, 1);
+    return out;
+  }
+
   protected BoundingBox3d drawTicks(IPainter painter, int axis, int direction, Color color) {
     return drawTicks(painter, axis, direction, color, null, null);
   }
@@ -283,22 +343,10 @@ public class AxisBox implements IAxis {
 
     // Computes POSition of ticks lying on the selected axe
     // (i.e. 1st point of the tick line)
-    double xpos = 0;
-    double ypos = 0;
-    double zpos = 0;
-
-    if (spaceTransformer == null) {
-      xpos = normx[quad_0] + normx[quad_1];
-      ypos = normy[quad_0] + normy[quad_1];
-      zpos = normz[quad_0] + normz[quad_1];
-    } else {
-      xpos = spaceTransformer.getX().compute(normx[quad_0])
-          + spaceTransformer.getX().compute(normx[quad_1]);
-      ypos = spaceTransformer.getY().compute(normy[quad_0])
-          + spaceTransformer.getY().compute(normy[quad_1]);
-      zpos = spaceTransformer.getZ().compute(normz[quad_0])
-          + spaceTransformer.getZ().compute(normz[quad_1]);
-    }
+    updateTransformedBox();
+    double xpos = tnormx[quad_0] + tnormx[quad_1];
+    double ypos = tnormy[quad_0] + tnormy[quad_1];
+    double zpos = tnormz[quad_0] + tnormz[quad_1];
 
     // TODO : HERE SHOULD OVERRIDE IF TRANSFORM
 
@@ -405,7 +453,21 @@ public class AxisBox implements IAxis {
     double xlab;
     double ylab;
     double zlab;
-    String tickLabel = "";
+    String[] labels = getTickLabels(direction, ticks);
+    Coord3d[] positions = getTickPositions(direction, ticks.length);
+
+    // tick label shifts, that do not depend on the tick
+    double xshift = 0;
+    double yshift = 0;
+    double zshift = 0;
+    if (spaceTransformer != null) {
+      xshift = (xrange / spaceTransformer.getX().compute(Math.abs(tickLength)))
+          * spaceTransformer.getX().compute(Math.abs(xdir));
+      yshift = (yrange / spaceTransformer.getY().compute(Math.abs(tickLength)))
+          * spaceTransformer.getY().compute(Math.abs(ydir));
+      zshift = (zrange / spaceTransformer.getZ().compute(Math.abs(tickLength)))
+          * spaceTransformer.getZ().compute(Math.abs(zdir));
+    }
 
     for (int t = 0; t < ticks.length; t++) {
       // Shift the tick vector along the selected axis
@@ -419,9 +481,6 @@ public class AxisBox implements IAxis {
           ylab = (yrange / tickLength) * ydir + ypos;
           zlab = (zrange / tickLength) * zdir + zpos;
 
-          // Tick label
-          tickLabel = layout.getXTickRenderer().format(ticks[t]);
-
         } else if (isY(direction)) {
 
           // Tick position
@@ -430,9 +489,6 @@ public class AxisBox implements IAxis {
           ylab = ypos;
           zlab = (zrange / tickLength) * zdir + zpos;
 
-          // Tick label
-          tickLabel = layout.getYTickRenderer().format(ticks[t]);
-
         } else { // (axis==AXE_Z)
 
           // Tick position
@@ -440,45 +496,30 @@ public class AxisBox implements IAxis {
           xlab = (xrange / tickLength) * xdir + xpos;
           ylab = (yrange / tickLength) * ydir + ypos;
           zlab = zpos;
-
-          // Tick label
-          tickLabel = layout.getZTickRenderer().format(ticks[t]);
         }
       } else {
         // use space transform shift if we have a space transformer
         if (isX(direction)) {
           xpos = spaceTransformer.getX().compute((float) ticks[t]);
           xlab = xpos;
-          ylab = Math.signum(tickLength * ydir)
-              * (yrange / spaceTransformer.getY().compute(Math.abs(tickLength)))
-              * spaceTransformer.getY().compute(Math.abs(ydir)) + ypos;
-          zlab = Math.signum(tickLength * ydir)
-              * (zrange / spaceTransformer.getZ().compute(Math.abs(tickLength)))
-              * spaceTransformer.getZ().compute(Math.abs(zdir)) + zpos;
-          tickLabel = layout.getXTickRenderer().format(ticks[t]);
+          ylab = Math.signum(tickLength * ydir) * yshift + ypos;
+          zlab = Math.signum(tickLength * ydir) * zshift + zpos;
         } else if (isY(direction)) {
           ypos = spaceTransformer.getY().compute((float) ticks[t]);
-          xlab = Math.signum(tickLength * xdir)
-              * (xrange / spaceTransformer.getX().compute(Math.abs(tickLength)))
-              * spaceTransformer.getX().compute(Math.abs(xdir)) + xpos;
+          xlab = Math.signum(tickLength * xdir) * xshift + xpos;
           ylab = ypos;
-          zlab = Math.signum(tickLength * zdir)
-              * (zrange / spaceTransformer.getZ().compute(Math.abs(tickLength)))
-              * spaceTransformer.getZ().compute(Math.abs(zdir)) + zpos;
-          tickLabel = layout.getYTickRenderer().format(ticks[t]);
+          zlab = Math.signum(tickLength * zdir) * zshift + zpos;
         } else { // (axis==AXE_Z)
           zpos = spaceTransformer.getZ().compute((float) ticks[t]);
-          xlab = Math.signum(tickLength * xdir)
-              * (xrange / spaceTransformer.getX().compute(Math.abs(tickLength)))
-              * spaceTransformer.getX().compute(Math.abs(xdir)) + xpos;
-          ylab = Math.signum(tickLength * ydir)
-              * (yrange / spaceTransformer.getY().compute(Math.abs(tickLength)))
-              * spaceTransformer.getY().compute(Math.abs(ydir)) + ypos;
+          xlab = Math.signum(tickLength * xdir) * xshift + xpos;
+          ylab = Math.signum(tickLength * ydir) * yshift + ypos;
           zlab = zpos;
-          tickLabel = layout.getZTickRenderer().format(ticks[t]);
         }
       }
-      Coord3d tickPosition = new Coord3d(xlab, ylab, zlab);
+      Coord3d tickPosition = positions[t];
+      tickPosition.x = (float) xlab;
+      tickPosition.y = (float) ylab;
+      tickPosition.z = (float) zlab;
 
       if (layout.isTickLineDisplayed()) {
         drawTickLine(painter, color, xpos, ypos, zpos, xlab, ylab, zlab);
@@ -489,11 +530,53 @@ public class AxisBox implements IAxis {
       Valign vAlign = layoutVertical(direction, val, zdir);
 
       // Draw the text label of the current tick
-      drawAxisTickNumericLabel(painter, direction, color, hAlign, vAlign, ticksTxtBounds, tickLabel,
+      drawAxisTickNumericLabel(painter, direction, color, hAlign, vAlign, ticksTxtBounds, labels[t],
           tickPosition);
     }
   }
 
+  /**
+   * Return the labels of the given ticks, which are formatted again only if the ticks, hence the
+   * axis range, or the tick renderer of the axis changed since the previous call.
+   */
+  protected String[] getTickLabels(int direction, double[] ticks) {
+    ITickRenderer renderer = getTickRenderer(direction);
+    if (labelTicks[direction] != ticks || labelRenderers[direction] != renderer
+        || !renderer.isCacheable()) {
+      String[] labels = new String[ticks.length];
+      for (int t = 0; t < ticks.length; t++)
+        labels[t] = renderer.format(ticks[t]);
+      tickLabels[direction] = labels;
+      labelTicks[direction] = ticks;
+      labelRenderers[direction] = renderer;
+    }
+    return tickLabels[direction];
+  }
+
+  protected ITickRenderer getTickRenderer(int direction) {
+    if (isX(direction))
+      return layout.getXTickRenderer();
+    else if (isY(direction))
+      return layout.getYTickRenderer();
+    else
+      return layout.getZTickRenderer();
+  }
+
+  /**
+   * Return one position per tick of the axis, which is reused from a frame to the next and updated
+   * by {@link #drawAxisTicks}, each tick keeping its own instance during a frame.
+   */
+  protected Coord3d[] getTickPositions(int direction, int count) {
+    Coord3d[] positions = tickPositions[direction];
+    if (positions == null || positions.length != count) {
+      positions = new Coord3d[count];
+      for (int t = 0; t < count; t++)
+        positions[t] = new Coord3d();
+      tickPositions[direction] = positions;
+    }
+    return positions;
+  }
+
   public void drawAxisTickNumericLabel(IPainter painter, int direction, Color color, Halign hAlign,
       Valign vAlign, BoundingBox3d ticksTxtBounds, String tickLabel, Coord3d tickPosition) {
     // doTransform(gl);
@@ -1109,6 +1192,17 @@ public class AxisBox implements IAxis {
   protected float normy[];
   protected float normz[];
 
+  // quads and normals after space transform
+  protected float tquadx[][];
+  protected float tquady[][];
+  protected float tquadz[][];
+  protected float tnormx[];
+  protected float tnormy[];
+  protected float tnormz[];
+  protected float transformedQuads[][];
+  protected SpaceTransformer transformedBy;
+  protected int transformedVersion;
+
   protected float axeXx[][];
   protected float axeXy[][];
   protected float axeXz[][];
@@ -1125,6 +1219,12 @@ public class AxisBox implements IAxis {
 
   protected boolean quadIsHidden[];
 
+  // tick labels and positions of each axis, reused from a frame to the next
+  protected double labelTicks[][] = new double[3][];
+  protected ITickRenderer labelRenderers[] = new ITickRenderer[3];
+  protected String tickLabels[][] = new String[3][];
+  protected Coord3d tickPositions[][] = new Coord3d[3][];
+
   public static final int AXE_X = 0;
   public static final int AXE_Y = 1;
   public static final int AXE_Z = 2;
@@ -2,4 +2,12 @@ package org.jzy3d.plot3d.primitives.axis.layout.renderers;
 
 public interface ITickRenderer {
   public String format(double value);
+
+  /**
+   * Return true if the label of a value never changes, which lets axes keep the labels of their
+   * ticks as long as the ticks do not change, rather than formatting them at each frame.
+   */
+  public default boolean isCacheable() {
+    return true;
+  }
 }
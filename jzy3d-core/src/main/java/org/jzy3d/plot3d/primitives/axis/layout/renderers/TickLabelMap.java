@@ -29,5 +29,11 @@ public class TickLabelMap implements ITickRenderer {
       return "";
   }
 
+  /** Labels may be registered after being displayed. */
+  @Override
+  public boolean isCacheable() {
+    return false;
+  }
+
   protected Map<Double, String> tickValues = new HashMap<Double, String>();
 }
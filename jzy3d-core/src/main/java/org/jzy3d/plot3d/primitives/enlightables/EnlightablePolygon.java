@@ -11,13 +11,15 @@ import org.jzy3d.maths.Coord3d;
 import org.jzy3d.maths.Normal;
 import org.jzy3d.maths.Utils;
 import org.jzy3d.painters.IPainter;
+import org.jzy3d.plot3d.primitives.IMeshFace;
 import org.jzy3d.plot3d.primitives.Point;
 import org.jzy3d.plot3d.primitives.Polygon;
 import org.jzy3d.plot3d.primitives.PolygonFill;
 import org.jzy3d.plot3d.primitives.PolygonMode;
+import org.jzy3d.plot3d.primitives.VertexNormals;
 import org.jzy3d.plot3d.transform.Transform;
 
-public class EnlightablePolygon extends AbstractEnlightable {
+public class EnlightablePolygon extends AbstractEnlightable implements IMeshFace {
 
   /**
    * Initializes an empty {@link Polygon} with face status defaulting to true, and wireframe status
@@ -38,7 +40,7 @@ public class EnlightablePolygon extends AbstractEnlightable {
 
     applyMaterial(painter);
 
-    Coord3d norm = Normal.compute(points.get(0).xyz, points.get(1).xyz, points.get(2).xyz);
+    Coord3d norm = getNormal();
 
     // Draw content of polygon
 
@@ -51,14 +53,19 @@ public class EnlightablePolygon extends AbstractEnlightable {
       }
 
       painter.glBegin_Polygon();
-      for (Point p : points) {
+      boolean smooth = vertexNormals != null;
+      for (int i = 0; i < points.size(); i++) {
+        Point p = points.get(i);
         if (mapper != null) {
           Color c = mapper.getColor(p.xyz);
           painter.color(c);
         } else
           painter.color(p.rgb);
+        if (smooth)
+          smooth = vertexNormals.normal(painter, vertexNormalsFace, i, points.size());
+        if (!smooth)
+          painter.normal(norm);
         painter.vertex(p.xyz);
-        painter.normal(norm);
       }
       painter.glEnd();
       if (wireframeDisplayed)
@@ -77,8 +84,8 @@ public class EnlightablePolygon extends AbstractEnlightable {
 
       painter.glBegin_Polygon();
       for (Point p : points) {
-        painter.glVertex3f(p.xyz.x, p.xyz.y, p.xyz.z);
         painter.glNormal3f(norm.x, norm.y, norm.z);
+        painter.glVertex3f(p.xyz.x, p.xyz.y, p.xyz.z);
       }
       painter.glEnd();
       painter.glDisable_PolygonOffsetFill();
@@ -86,6 +93,25 @@ public class EnlightablePolygon extends AbstractEnlightable {
 
   }
 
+  /**
+   * Return the flat normal of this polygon, which is only computed again when one of the three
+   * points it depends on moved, rather than at each rendering.
+   */
+  protected Coord3d getNormal() {
+    boolean moved = normal == null;
+    for (int i = 0; i < 3; i++) {
+      Coord3d c = points.get(i).xyz;
+      moved |= c.x != normalFrom[i * 3] || c.y != normalFrom[i * 3 + 1]
+          || c.z != normalFrom[i * 3 + 2];
+      normalFrom[i * 3] = c.x;
+      normalFrom[i * 3 + 1] = c.y;
+      normalFrom[i * 3 + 2] = c.z;
+    }
+    if (moved)
+      normal = Normal.compute(points.get(0).xyz, points.get(1).xyz, points.get(2).xyz);
+    return normal;
+  }
+
   @Override
   public void applyGeometryTransform(Transform transform) {
     for (Point p : points) {
@@ -149,10 +175,29 @@ public class EnlightablePolygon extends AbstractEnlightable {
    * 
    * @return the number of points
    */
+  @Override
   public int size() {
     return points.size();
   }
 
+  @Override
+  public List<Point> getPoints() {
+    return points;
+  }
+
+  /**********************************************************************/
+
+  @Override
+  public void setVertexNormals(VertexNormals normals, int face) {
+    this.vertexNormals = normals;
+    this.vertexNormalsFace = face;
+  }
+
+  @Override
+  public VertexNormals getVertexNormals() {
+    return vertexNormals;
+  }
+
   /**********************************************************************/
 
   public void setColorMapper(ColorMapper mapper) {
@@ -195,4 +240,8 @@ public class EnlightablePolygon extends AbstractEnlightable {
   protected List<Point> points;
   protected Color color;
   protected Coord3d center;
+  protected Coord3d normal;
+  protected float[] normalFrom = new float[9];
+  protected VertexNormals vertexNormals;
+  protected int vertexNormalsFace;
 }
@@ -79,9 +79,16 @@ public class DefaultDrawableGraph2d<V, E> extends AbstractDrawableGraph2d<V, E>
     Logger.getLogger(DefaultDrawableGraph2d.class).warn("not implemented");
   }
 
+  /**
+   * Compute the bounds of the layout again, e.g. after it was updated by a
+   * {@link org.jzy3d.plot3d.primitives.graphs.layout.ForceDirectedLayout}.
+   */
   @Override
   public void updateBounds() {
-    Logger.getLogger(DefaultDrawableGraph2d.class).warn("not implemented");
+    bbox.reset();
+    if (layout != null)
+      for (Coord2d c : layout.values())
+        bbox.add(c.x, c.y, Z);
   }
 
 }
@@ -0,0 +1,584 @@
+package org.jzy3d.plot3d.primitives.graphs.layout;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.jzy3d.maths.Coord2d;
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Parallel;
+import org.jzy3d.maths.graphs.IGraph;
+
+/**
+ * Computes the position of the vertices of an {@link IGraph} by simulating repulsive forces
+ * between all vertices and spring forces along edges, in 2 or 3 dimensions.
+ *
+ * Repulsion is approximated with the Barnes-Hut method: vertices are stored in a quadtree (2d) or
+ * an octree (3d) which cells hold the mass and center of mass of the vertices they contain, and a
+ * cell which size seen from a vertex is smaller than {@link #setTheta(float) theta} acts as a single
+ * body. A step thus costs O(n log n) rather than O(n^2), and forces are computed in parallel over
+ * vertices.
+ *
+ * Positions and velocities are stored in primitive arrays. The layout is incremental: each call to
+ * {@link #step()} moves vertices once, and a layout given to {@link #setLayout(IGraphLayout2d)} is
+ * updated after each step, so that a chart drawing this layout animates while it converges.
+ * {@link #run(int, long)} iterates within an iteration and time budget.
+ *
+ * Not thread safe: steps should be run by a single thread.
+ */
+public class ForceDirectedLayout<V, E> {
+  /** Lay out a graph in 2 dimensions. */
+  public ForceDirectedLayout(IGraph<V, E> graph) {
+    this(graph, 2);
+  }
+
+  /**
+   * Lay out a graph in 2 or 3 dimensions, starting from random positions.
+   */
+  public ForceDirectedLayout(IGraph<V, E> graph, int dimensions) {
+    if (dimensions != 2 && dimensions != 3)
+      throw new IllegalArgumentException("dimensions should be 2 or 3 : " + dimensions);
+    this.dimensions = dimensions;
+
+    vertices = graph.getVertices();
+    n = vertices.size();
+    index = new HashMap<V, Integer>(n * 2);
+    for (int i = 0; i < n; i++)
+      index.put(vertices.get(i), i);
+
+    // undirected adjacency, self loops being ignored
+    List<E> edges = graph.getEdges();
+    int[] from = new int[edges.size()];
+    int[] to = new int[edges.size()];
+    int m = 0;
+    for (E e : edges) {
+      Integer a = index.get(graph.getEdgeStartVertex(e));
+      Integer b = index.get(graph.getEdgeStopVertex(e));
+      if (a != null && b != null && !a.equals(b)) {
+        from[m] = a;
+        to[m++] = b;
+      }
+    }
+    neighbourStart = new int[n + 1];
+    for (int k = 0; k < m; k++) {
+      neighbourStart[from[k] + 1]++;
+      neighbourStart[to[k] + 1]++;
+    }
+    for (int i = 0; i < n; i++)
+      neighbourStart[i + 1] += neighbourStart[i];
+    neighbours = new int[2 * m];
+    int[] fill = new int[n];
+    for (int k = 0; k < m; k++) {
+      neighbours[neighbourStart[from[k]] + fill[from[k]]++] = to[k];
+      neighbours[neighbourStart[to[k]] + fill[to[k]]++] = from[k];
+    }
+
+    position = new float[n * dimensions];
+    velocity = new float[n * dimensions];
+    force = new float[n * dimensions];
+    vertexLeaf = new int[n];
+    randomize(new Random(0));
+  }
+
+  /* */
+
+  /** Place vertices at random in a box which volume grows with the number of vertices. */
+  public void randomize(Random random) {
+    float size = springLength * (float) Math.pow(Math.max(n, 1), 1.0 / dimensions);
+    for (int i = 0; i < position.length; i++) {
+      position[i] = (random.nextFloat() - 0.5f) * size;
+      velocity[i] = 0;
+    }
+    temperature = size / 10;
+  }
+
+  /** Start from the positions of an existing layout, for vertices it holds. */
+  public void setPositions(IGraphLayout2d<V> layout) {
+    for (int i = 0; i < n; i++) {
+      Coord2d c = layout.get(vertices.get(i));
+      if (c != null) {
+        position[i * dimensions] = c.x;
+        position[i * dimensions + 1] = c.y;
+      }
+    }
+  }
+
+  /**
+   * Set a layout updated with the x and y coordinates of the vertices after each step. Existing
+   * {@link Coord2d} of the layout are updated in place.
+   */
+  public void setLayout(IGraphLayout2d<V> layout) {
+    this.layout = layout;
+    updateLayout();
+  }
+
+  public IGraphLayout2d<V> getLayout() {
+    return layout;
+  }
+
+  /* */
+
+  /**
+   * Run steps until convergence, or until the number of iterations or the time budget in
+   * milliseconds is reached. A budget of 0 or less is unlimited.
+   *
+   * @return the number of steps done
+   */
+  public int run(int maxIterations, long maxMillis) {
+    long end = maxMillis > 0 ? System.currentTimeMillis() + maxMillis : Long.MAX_VALUE;
+    int steps = 0;
+    while ((maxIterations <= 0 || steps < maxIterations) && System.currentTimeMillis() < end) {
+      step();
+      steps++;
+      if (isConverged())
+        break;
+    }
+    return steps;
+  }
+
+  /**
+   * Move each vertex once according to the forces applied on it, and update the layout.
+   *
+   * @return the mean displacement of vertices
+   */
+  public float step() {
+    if (n == 0)
+      return 0;
+
+    buildTree();
+    Parallel.forEachChunk(n, (from, to) -> {
+      // a depth first traversal holds at most the pending siblings of each level
+      int[] stack = new int[MAX_DEPTH * (nodeChildren - 1) + 1];
+      for (int i = from; i < to; i++)
+        computeForce(i, stack);
+    });
+
+    // integrate, limiting the displacement of a vertex by the temperature
+    final float[] moves = new float[Parallel.chunks(n)];
+    Parallel.forEachChunk(n, (from, to) -> {
+      float moved = 0;
+      for (int i = from; i < to; i++) {
+        double length = 0;
+        for (int d = 0; d < dimensions; d++) {
+          int k = i * dimensions + d;
+          velocity[k] = (velocity[k] + force[k] * timeStep) * damping;
+          length += velocity[k] * velocity[k];
+        }
+        length = Math.sqrt(length);
+        float scale = length > temperature ? (float) (temperature / length) : 1;
+        for (int d = 0; d < dimensions; d++) {
+          int k = i * dimensions + d;
+          velocity[k] *= scale;
+          position[k] += velocity[k];
+        }
+        moved += Math.min(length, temperature);
+      }
+      moves[from / Parallel.CHUNK] += moved;
+    });
+    float moved = 0;
+    for (float m : moves)
+      moved += m;
+    meanDisplacement = moved / n;
+
+    temperature = Math.max(temperature * cooling, springLength * MIN_TEMPERATURE);
+    iterations++;
+    updateLayout();
+    return meanDisplacement;
+  }
+
+  /** True when the mean displacement of the last step is below the tolerance. */
+  public boolean isConverged() {
+    return iterations > 0 && meanDisplacement < tolerance * springLength;
+  }
+
+  /* */
+
+  /** Copy x and y coordinates to the layout */
+  protected void updateLayout() {
+    if (layout == null)
+      return;
+    for (int i = 0; i < n; i++) {
+      V v = vertices.get(i);
+      float x = position[i * dimensions];
+      float y = position[i * dimensions + 1];
+      Coord2d c = layout.get(v);
+      if (c == null)
+        layout.setVertexPosition(v, new Coord2d(x, y));
+      else {
+        c.x = x;
+        c.y = y;
+      }
+    }
+  }
+
+  /**
+   * Sum of repulsion from all other vertices approximated by the tree, springs along edges, and
+   * gravity toward the origin.
+   */
+  protected void computeForce(int i, int[] stack) {
+    float theta2 = theta * theta;
+    float k2 = repulsion * springLength * springLength;
+    int o = i * dimensions;
+    float px = position[o], py = position[o + 1], pz = dimensions == 3 ? position[o + 2] : 0;
+    float fx = 0, fy = 0, fz = 0;
+
+    // repulsion
+    int top = 0;
+    stack[top++] = 0;
+    while (top > 0) {
+      int node = stack[--top];
+      float mass = nodeMass[node];
+      if (mass == 0)
+        continue;
+      float cx = nodeX[node], cy = nodeY[node], cz = nodeZ[node];
+      if (node == vertexLeaf[i]) {
+        // exclude i from the vertices aggregated with it
+        if (mass <= 1)
+          continue;
+        cx = (cx * mass - px) / (mass - 1);
+        cy = (cy * mass - py) / (mass - 1);
+        cz = (cz * mass - pz) / (mass - 1);
+        mass -= 1;
+      }
+      float dx = px - cx;
+      float dy = py - cy;
+      float dz = pz - cz;
+      float dist2 = dx * dx + dy * dy + dz * dz;
+      int child = nodeChild[node];
+      float size = nodeSize[node] * 2;
+      if (child < 0 || size * size < theta2 * dist2) {
+        if (dist2 < MIN_DISTANCE2) {
+          // coincident with i, push away in an arbitrary but deterministic direction
+          dx = ((i * 31 + node) & 1) == 0 ? 1e-3f : -1e-3f;
+          dy = ((i * 17 + node) & 2) == 0 ? 1e-3f : -1e-3f;
+          dz = dimensions == 3 ? 1e-3f : 0;
+          dist2 = dx * dx + dy * dy + dz * dz;
+        }
+        // f = k^2 * mass / d, along d / |d|
+        float f = k2 * mass / dist2;
+        fx += dx * f;
+        fy += dy * f;
+        fz += dz * f;
+      } else {
+        for (int c = 0; c < nodeChildren; c++)
+          stack[top++] = child + c;
+      }
+    }
+
+    // springs: f = d^2 / k, along d / |d|
+    for (int k = neighbourStart[i]; k < neighbourStart[i + 1]; k++) {
+      int j = neighbours[k] * dimensions;
+      float dx = position[j] - px;
+      float dy = position[j + 1] - py;
+      float dz = dimensions == 3 ? position[j + 2] - pz : 0;
+      float f = (float) Math.sqrt(dx * dx + dy * dy + dz * dz) / springLength;
+      fx += dx * f;
+      fy += dy * f;
+      fz += dz * f;
+    }
+
+    fx -= gravity * px;
+    fy -= gravity * py;
+    fz -= gravity * pz;
+
+    force[o] = fx;
+    force[o + 1] = fy;
+    if (dimensions == 3)
+      force[o + 2] = fz;
+  }
+
+  /* BARNES-HUT TREE */
+
+  /** Build the quadtree or octree holding all vertices. */
+  protected void buildTree() {
+    nodeChildren = 1 << dimensions;
+    nodeCount = 0;
+
+    float[] min = new float[3];
+    float[] max = new float[3];
+    for (int d = 0; d < dimensions; d++) {
+      min[d] = Float.MAX_VALUE;
+      max[d] = -Float.MAX_VALUE;
+    }
+    for (int i = 0; i < n; i++)
+      for (int d = 0; d < dimensions; d++) {
+        float p = position[i * dimensions + d];
+        if (p < min[d])
+          min[d] = p;
+        if (p > max[d])
+          max[d] = p;
+      }
+    float half = 0;
+    for (int d = 0; d < dimensions; d++)
+      half = Math.max(half, (max[d] - min[d]) / 2);
+    half = half * 1.001f + 1e-3f;
+
+    int root = newNode((min[0] + max[0]) / 2, (min[1] + max[1]) / 2, (min[2] + max[2]) / 2, half);
+    for (int i = 0; i < n; i++)
+      insert(root, i);
+  }
+
+  protected void insert(int root, int i) {
+    int o = i * dimensions;
+    float px = position[o], py = position[o + 1], pz = dimensions == 3 ? position[o + 2] : 0;
+
+    int node = root;
+    for (int depth = 0;; depth++) {
+      if (nodeChild[node] >= 0) {
+        addMass(node, px, py, pz, 1);
+        node = nodeChild[node] + octant(node, px, py, pz);
+        continue;
+      }
+      if (nodeMass[node] == 0) {
+        nodeBody[node] = i;
+        vertexLeaf[i] = node;
+        nodeMass[node] = 1;
+        nodeX[node] = px;
+        nodeY[node] = py;
+        nodeZ[node] = pz;
+        return;
+      }
+      if (depth >= MAX_DEPTH) {
+        // vertices too close to be separated are aggregated
+        nodeBody[node] = -1;
+        vertexLeaf[i] = node;
+        addMass(node, px, py, pz, 1);
+        return;
+      }
+
+      // split the leaf, moving its vertex to a child
+      float size = nodeSize[node] / 2;
+      int first = nodeCount;
+      for (int c = 0; c < nodeChildren; c++)
+        newNode(nodeCenterX[node] + ((c & 1) == 0 ? -size : size),
+            nodeCenterY[node] + ((c & 2) == 0 ? -size : size),
+            nodeCenterZ[node] + ((c & 4) == 0 ? -size : size), size);
+      int moved = first + octant(node, nodeX[node], nodeY[node], nodeZ[node]);
+      nodeBody[moved] = nodeBody[node];
+      vertexLeaf[nodeBody[node]] = moved;
+      nodeMass[moved] = nodeMass[node];
+      nodeX[moved] = nodeX[node];
+      nodeY[moved] = nodeY[node];
+      nodeZ[moved] = nodeZ[node];
+      nodeBody[node] = -1;
+      nodeChild[node] = first;
+    }
+  }
+
+  protected int octant(int node, float x, float y, float z) {
+    int c = 0;
+    if (x >= nodeCenterX[node])
+      c |= 1;
+    if (y >= nodeCenterY[node])
+      c |= 2;
+    if (dimensions == 3 && z >= nodeCenterZ[node])
+      c |= 4;
+    return c;
+  }
+
+  protected void addMass(int node, float x, float y, float z, float mass) {
+    float total = nodeMass[node] + mass;
+    nodeX[node] += (x - nodeX[node]) * mass / total;
+    nodeY[node] += (y - nodeY[node]) * mass / total;
+    nodeZ[node] += (z - nodeZ[node]) * mass / total;
+    nodeMass[node] = total;
+  }
+
+  protected int newNode(float cx, float cy, float cz, float halfSize) {
+    if (nodeMass == null || nodeCount == nodeMass.length) {
+      int capacity = Math.max(16, nodeCount * 2);
+      nodeMass = copyOf(nodeMass, capacity);
+      nodeX = copyOf(nodeX, capacity);
+      nodeY = copyOf(nodeY, capacity);
+      nodeZ = copyOf(nodeZ, capacity);
+      nodeCenterX = copyOf(nodeCenterX, capacity);
+      nodeCenterY = copyOf(nodeCenterY, capacity);
+      nodeCenterZ = copyOf(nodeCenterZ, capacity);
+      nodeSize = copyOf(nodeSize, capacity);
+      int[] child = new int[capacity];
+      int[] body = new int[capacity];
+      if (nodeChild != null) {
+        System.arraycopy(nodeChild, 0, child, 0, nodeCount);
+        System.arraycopy(nodeBody, 0, body, 0, nodeCount);
+      }
+      nodeChild = child;
+      nodeBody = body;
+    }
+    int node = nodeCount++;
+    nodeMass[node] = 0;
+    nodeX[node] = nodeY[node] = nodeZ[node] = 0;
+    nodeCenterX[node] = cx;
+    nodeCenterY[node] = cy;
+    nodeCenterZ[node] = cz;
+    nodeSize[node] = halfSize;
+    nodeChild[node] = -1;
+    nodeBody[node] = -1;
+    return node;
+  }
+
+  private static float[] copyOf(float[] values, int capacity) {
+    float[] copy = new float[capacity];
+    if (values != null)
+      System.arraycopy(values, 0, copy, 0, Math.min(values.length, capacity));
+    return copy;
+  }
+
+  /* ACCESSORS */
+
+  public int getDimensions() {
+    return dimensions;
+  }
+
+  public int getIterations() {
+    return iterations;
+  }
+
+  public Coord2d getPosition(V v) {
+    int o = index.get(v) * dimensions;
+    return new Coord2d(position[o], position[o + 1]);
+  }
+
+  public Coord3d getPosition3d(V v) {
+    int o = index.get(v) * dimensions;
+    return new Coord3d(position[o], position[o + 1], dimensions == 3 ? position[o + 2] : 0);
+  }
+
+  /**
+   * Positions packed as {x0,y0,x1,y1,...} in 2d or {x0,y0,z0,x1,y1,z1,...} in 3d, in the order of
+   * the graph vertices, not copied.
+   */
+  public float[] getPositions() {
+    return position;
+  }
+
+  public float getTheta() {
+    return theta;
+  }
+
+  /**
+   * Accuracy of the repulsion approximation: a cell acts as a single body when its size divided by
+   * its distance is below theta. 0 computes exact forces.
+   */
+  public void setTheta(float theta) {
+    this.theta = theta;
+  }
+
+  public float getSpringLength() {
+    return springLength;
+  }
+
+  /** The distance at which a spring and the repulsion of two vertices are balanced. */
+  public void setSpringLength(float springLength) {
+    this.springLength = springLength;
+  }
+
+  public float getRepulsion() {
+    return repulsion;
+  }
+
+  public void setRepulsion(float repulsion) {
+    this.repulsion = repulsion;
+  }
+
+  public float getGravity() {
+    return gravity;
+  }
+
+  /** Strength of the force pulling vertices toward the origin, keeping components together. */
+  public void setGravity(float gravity) {
+    this.gravity = gravity;
+  }
+
+  public float getDamping() {
+    return damping;
+  }
+
+  public void setDamping(float damping) {
+    this.damping = damping;
+  }
+
+  public float getTimeStep() {
+    return timeStep;
+  }
+
+  public void setTimeStep(float timeStep) {
+    this.timeStep = timeStep;
+  }
+
+  public float getTemperature() {
+    return temperature;
+  }
+
+  /** Maximum displacement of a vertex during the next step. */
+  public void setTemperature(float temperature) {
+    this.temperature = temperature;
+  }
+
+  public float getCooling() {
+    return cooling;
+  }
+
+  /** Factor applied to the temperature after each step. */
+  public void setCooling(float cooling) {
+    this.cooling = cooling;
+  }
+
+  public float getTolerance() {
+    return tolerance;
+  }
+
+  /** Mean displacement, relative to the spring length, below which the layout has converged. */
+  public void setTolerance(float tolerance) {
+    this.tolerance = tolerance;
+  }
+
+  /* */
+
+  protected static final int MAX_DEPTH = 48;
+  protected static final float MIN_DISTANCE2 = 1e-12f;
+  protected static final float MIN_TEMPERATURE = 1e-3f;
+
+  protected final int dimensions;
+  protected final int n;
+  protected final List<V> vertices;
+  protected final Map<V, Integer> index;
+  protected final int[] neighbourStart;
+  protected final int[] neighbours;
+
+  protected final float[] position;
+  protected final float[] velocity;
+  protected final float[] force;
+
+  protected IGraphLayout2d<V> layout;
+
+  protected float theta = 0.8f;
+  protected float springLength = 1;
+  protected float repulsion = 1;
+  protected float gravity = 0.01f;
+  protected float damping = 0.8f;
+  protected float timeStep = 0.5f;
+  protected float temperature;
+  protected float cooling = 0.98f;
+  protected float tolerance = 1e-3f;
+  protected int iterations;
+  protected float meanDisplacement;
+
+  // tree, stored as arrays indexed by node
+  protected int nodeCount;
+  protected int nodeChildren;
+  protected float[] nodeMass;
+  protected float[] nodeX;
+  protected float[] nodeY;
+  protected float[] nodeZ;
+  protected float[] nodeCenterX;
+  protected float[] nodeCenterY;
+  protected float[] nodeCenterZ;
+  protected float[] nodeSize;
+  /** First of the contiguous children of a node, -1 for leaves */
+  protected int[] nodeChild;
+  /** The vertex of a leaf holding a single vertex, -1 otherwise */
+  protected int[] nodeBody;
+  /** The leaf holding a vertex, alone or aggregated with close vertices */
+  protected int[] vertexLeaf;
+}
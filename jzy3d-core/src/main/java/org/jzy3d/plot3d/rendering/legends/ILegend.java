@@ -1,6 +1,7 @@
 package org.jzy3d.plot3d.rendering.legends;
 
 import org.jzy3d.events.DrawableChangedEvent;
+import org.jzy3d.plot3d.rendering.canvas.ICanvas;
 import org.jzy3d.plot3d.rendering.view.IImageViewport;
 
 public interface ILegend extends IImageViewport {
@@ -10,4 +11,10 @@ public interface ILegend extends IImageViewport {
   /** Recompute the picture, using last used dimensions. */
   public void updateImage();
 
+  /**
+   * Give the canvas displaying the legend, to repaint it when an image computed in background is
+   * ready. Legends computing their images synchronously ignore it.
+   */
+  public default void setCanvas(ICanvas canvas) {}
+
 }
@@ -38,4 +38,36 @@ public class Decomposition {
     }
     return selection;
   }
+
+  /**
+   * Expand all displayed monotype Drawables which bounds intersect the frustum. A {@link Composite}
+   * outside the frustum is skipped with all its children, and the children of a {@link Composite}
+   * inside the frustum are not tested.
+   */
+  public static ArrayList<Drawable> getDecomposition(List<Drawable> drawables,
+      FrustumCuller culler) {
+    ArrayList<Drawable> monotypes = new ArrayList<Drawable>();
+    for (Drawable c : drawables)
+      decompose(c, culler, monotypes);
+    return monotypes;
+  }
+
+  /** @param culler the culler, or null if the drawable is known to be inside the frustum */
+  protected static void decompose(Drawable d, FrustumCuller culler, List<Drawable> out) {
+    if (d == null || !d.isDisplayed())
+      return;
+    int visibility = culler == null ? FrustumCuller.INSIDE : culler.test(d);
+    if (visibility == FrustumCuller.OUTSIDE)
+      return;
+
+    if (d instanceof Composite) {
+      Composite composite = (Composite) d;
+      FrustumCuller childCuller = visibility == FrustumCuller.INSIDE ? null : culler;
+      synchronized (composite.getDrawables()) {
+        for (Drawable c : composite.getDrawables())
+          decompose(c, childCuller, out);
+      }
+    } else
+      out.add(d);
+  }
 }
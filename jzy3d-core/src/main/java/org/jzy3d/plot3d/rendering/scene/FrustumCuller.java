@@ -0,0 +1,179 @@
+package org.jzy3d.plot3d.rendering.scene;
+
+import org.jzy3d.maths.BoundingBox3d;
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.painters.IPainter;
+import org.jzy3d.plot3d.primitives.Drawable;
+import org.jzy3d.plot3d.transform.Transform;
+import org.jzy3d.plot3d.transform.space.SpaceTransformer;
+
+/**
+ * Tests the bounds of {@link Drawable}s against the viewing volume of the camera, so that a
+ * {@link Graph} skips drawables that can not appear on screen, e.g. when the user zoomed on a small
+ * region of a large scene.
+ *
+ * The six planes of the frustum are extracted from the projection matrix, in which the
+ * {@link org.jzy3d.plot3d.rendering.view.Camera} also applies its viewpoint. Drawables loading their
+ * own transform, such as the scaling applied by the view, are tested in the space of that transform.
+ * Drawables without transform are tested with the modelview matrix that was current when
+ * {@link #update(IPainter)} was invoked. The bounds of drawables having a {@link SpaceTransformer},
+ * e.g. for log axes, are transformed by it before their transform, as their vertices are.
+ *
+ * A drawable which bounds are unknown or not finite, or which has a transform applied before its own
+ * transform, is considered as {@link #INTERSECT} and never culled. Drawables which bounds do not enclose what
+ * they draw, such as texts drawn with a screen offset, may be wrongly culled.
+ *
+ * The number of drawables tested and culled since the last update are kept for diagnostics.
+ */
+public class FrustumCuller {
+  public static final int OUTSIDE = 0;
+  public static final int INTERSECT = 1;
+  public static final int INSIDE = 2;
+
+  /** Extract the frustum from the painter current projection and modelview matrices. */
+  public void update(IPainter painter) {
+    update(painter.getProjectionAsFloat(), painter.getModelViewAsFloat());
+  }
+
+  /**
+   * Extract the frustum from column major OpenGL matrices.
+   */
+  public void update(float[] projection, float[] modelView) {
+    valid = projection != null && projection.length >= 16 && modelView != null
+        && modelView.length >= 16;
+    if (valid) {
+      planes(projection, projectionPlanes);
+      planes(multiply(projection, modelView), modelViewPlanes);
+    }
+    tested = 0;
+    culled = 0;
+  }
+
+  /* */
+
+  /** Test a drawable with its bounds and transform, and count it. */
+  public int test(Drawable drawable) {
+    tested++;
+    int result;
+    if (drawable.getTransformBefore() != null)
+      result = INTERSECT;
+    else {
+      BoundingBox3d bounds = drawable.getBounds();
+      SpaceTransformer space = drawable.getSpaceTransformer();
+      if (space != null && bounds != null && bounds.valid())
+        bounds = space.compute(bounds);
+      result = test(bounds, drawable.getTransform());
+    }
+    if (result == OUTSIDE)
+      culled++;
+    return result;
+  }
+
+  /**
+   * Test a bounding box, given in the space of a transform loaded on an identity modelview, or in
+   * the space of the current modelview if the transform is null.
+   */
+  public int test(BoundingBox3d bounds, Transform transform) {
+    if (!valid || bounds == null || !bounds.valid() || !finite(bounds))
+      return INTERSECT;
+
+    float[] planes = transform == null ? modelViewPlanes : projectionPlanes;
+    corners(bounds, transform);
+
+    int result = INSIDE;
+    for (int p = 0; p < 24; p += 4) {
+      int in = 0;
+      for (int c = 0; c < 24; c += 3) {
+        if (planes[p] * corners[c] + planes[p + 1] * corners[c + 1]
+            + planes[p + 2] * corners[c + 2] + planes[p + 3] >= 0)
+          in++;
+      }
+      if (in == 0)
+        return OUTSIDE;
+      if (in < 8)
+        result = INTERSECT;
+    }
+    return result;
+  }
+
+  /** Write the eight corners of the bounds, transformed if the transform is not null. */
+  protected void corners(BoundingBox3d b, Transform transform) {
+    double[] m = transform == null ? null : transform.getMatrix();
+    int i = 0;
+    for (int k = 0; k < 8; k++) {
+      float x = (k & 1) == 0 ? b.getXmin() : b.getXmax();
+      float y = (k & 2) == 0 ? b.getYmin() : b.getYmax();
+      float z = (k & 4) == 0 ? b.getZmin() : b.getZmax();
+      if (m != null) {
+        corners[i++] = (float) (m[0] * x + m[1] * y + m[2] * z + m[3]);
+        corners[i++] = (float) (m[4] * x + m[5] * y + m[6] * z + m[7]);
+        corners[i++] = (float) (m[8] * x + m[9] * y + m[10] * z + m[11]);
+      } else if (transform != null) {
+        Coord3d c = transform.compute(new Coord3d(x, y, z));
+        corners[i++] = c.x;
+        corners[i++] = c.y;
+        corners[i++] = c.z;
+      } else {
+        corners[i++] = x;
+        corners[i++] = y;
+        corners[i++] = z;
+      }
+    }
+  }
+
+  protected static boolean finite(BoundingBox3d b) {
+    return !Float.isInfinite(b.getXmin()) && !Float.isInfinite(b.getXmax())
+        && !Float.isInfinite(b.getYmin()) && !Float.isInfinite(b.getYmax())
+        && !Float.isInfinite(b.getZmin()) && !Float.isInfinite(b.getZmax());
+  }
+
+  /**
+   * Extract the left, right, bottom, top, near and far planes of a column major matrix, as a, b,
+   * c, d coefficients of ax + by + cz + d >= 0 for points inside the frustum.
+   */
+  protected static void planes(float[] m, float[] out) {
+    for (int axis = 0; axis < 3; axis++) {
+      for (int side = 0; side < 2; side++) {
+        int p = (axis * 2 + side) * 4;
+        float sign = side == 0 ? 1 : -1;
+        for (int c = 0; c < 4; c++)
+          out[p + c] = m[c * 4 + 3] + sign * m[c * 4 + axis];
+      }
+    }
+  }
+
+  /** Product of two column major 4x4 matrices. */
+  protected static float[] multiply(float[] a, float[] b) {
+    float[] r = new float[16];
+    for (int c = 0; c < 4; c++)
+      for (int row = 0; row < 4; row++) {
+        float s = 0;
+        for (int k = 0; k < 4; k++)
+          s += a[k * 4 + row] * b[c * 4 + k];
+        r[c * 4 + row] = s;
+      }
+    return r;
+  }
+
+  /* */
+
+  /** Number of drawables tested since the last update. */
+  public int getTested() {
+    return tested;
+  }
+
+  /** Number of drawables found outside the frustum since the last update. */
+  public int getCulled() {
+    return culled;
+  }
+
+  /* */
+
+  protected float[] projectionPlanes = new float[24];
+  protected float[] modelViewPlanes = new float[24];
+  protected float[] corners = new float[24];
+  /** False if the painter did not provide matrices, in which case nothing is culled */
+  protected boolean valid;
+  protected int tested;
+  protected int culled;
+}
@@ -65,6 +65,7 @@ public class Graph {
         c.dispose();
     // }
     components.clear();
+    retained.clear();
     scene = null;
   }
 
@@ -116,6 +117,7 @@ public class Graph {
     boolean output = false;
     synchronized (this) {
       output = components.remove(drawable);
+      retained.remove(drawable);
     }
     BoundingBox3d bbox = getBounds();
     for (View view : scene.views) {
@@ -130,6 +132,29 @@ public class Graph {
     return remove(drawable, true);
   }
 
+  /**
+   * Replace a Drawable by another one at the same position in the graph, or simply add the new
+   * Drawable if the previous one is null or not in the graph.
+   *
+   * The swap is synchronized with rendering so that a frame never shows both or none of the
+   * drawables.
+   */
+  public void replace(Drawable previous, Drawable drawable, boolean updateViews) {
+    synchronized (this) {
+      int index = previous != null ? components.indexOf(previous) : -1;
+      if (index >= 0)
+        components.set(index, drawable);
+      else
+        components.add(drawable);
+      if (previous != null)
+        retained.remove(previous);
+    }
+
+    if (updateViews)
+      for (View view : scene.views)
+        view.updateBounds();
+  }
+
   public List<Drawable> getAll() {
     return components;
   }
@@ -192,26 +217,54 @@ public class Graph {
     } else {
       drawDecomposition(painter);
     }
+    retained.endFrame();
   }
 
-  /** render all items of the graph */
+  /**
+   * render all items of the graph, skipping those outside the camera frustum if
+   * {@link #isFrustumCulling()}. Composites are drawn entirely if they intersect the frustum.
+   */
   public void drawSimple(IPainter painter, List<Drawable> components) {
+    if (frustumCulling)
+      culler.update(painter);
     for (Drawable d : components)
-      if (d.isDisplayed())
-        d.draw(painter);
+      if (d.isDisplayed() && (!frustumCulling || culler.test(d) != FrustumCuller.OUTSIDE))
+        draw(painter, d);
   }
 
-  /** render all items of the graph after decomposing all composite item into primitive drawables */
+  /**
+   * render all items of the graph after decomposing all composite item into primitive drawables.
+   * If {@link #isFrustumCulling()}, drawables outside the camera frustum are removed while
+   * decomposing, hence before sorting.
+   */
   public void drawDecomposition(IPainter painter) {
-    List<Drawable> monotypes = getDecomposition();
+    List<Drawable> monotypes;
+    if (frustumCulling) {
+      culler.update(painter);
+      synchronized (components) {
+        monotypes = Decomposition.getDecomposition(components, culler);
+      }
+    } else
+      monotypes = getDecomposition();
     strategy.sort(monotypes, painter.getCamera());
 
     for (Drawable d : monotypes) {
       if (d.isDisplayed())
-        d.draw(painter);
+        draw(painter, d);
     }
   }
 
+  /**
+   * Draw a drawable, or replay its recorded commands if it is {@link Drawable#isRetained()} or if
+   * the graph {@link #isRetainStatic()}.
+   */
+  protected void draw(IPainter painter, Drawable d) {
+    if (retainStatic || d.isRetained())
+      retained.draw(d, painter);
+    else
+      d.draw(painter);
+  }
+
   /**
    * Expand all {@link AbstractComposites} instance into a list of atomic {@link Drawable} types and
    * return all the current Graph primitives decomposition.
@@ -247,13 +300,16 @@ public class Graph {
   /**
    * Delegate transforming iteratively to all Drawable of this graph and stores the given transform
    * for keeping the ability of retrieving it.
+   * 
+   * Drawables already holding the given transform are left untouched, so that setting the same
+   * transform at each rendering costs nothing.
    */
   public synchronized void setTransform(Transform transform) {
     this.transform = transform;
 
     synchronized (components) {
       for (Drawable c : components) {
-        if (c != null)
+        if (c != null && c.getTransform() != transform)
           c.setTransform(transform);
       }
     }
@@ -362,6 +418,46 @@ public class Graph {
     return scene;
   }
 
+  public boolean isFrustumCulling() {
+    return frustumCulling;
+  }
+
+  /**
+   * Skip drawables which bounds are outside the camera frustum. Default is false, as drawables
+   * which bounds do not enclose what they draw, such as texts, may be wrongly culled.
+   */
+  public void setFrustumCulling(boolean frustumCulling) {
+    this.frustumCulling = frustumCulling;
+  }
+
+  /** The culler, holding the number of drawables tested and culled at the last rendering. */
+  public FrustumCuller getFrustumCuller() {
+    return culler;
+  }
+
+  public boolean isRetainStatic() {
+    return retainStatic;
+  }
+
+  /**
+   * Draw all drawables in retained mode, so that drawables that did not report a change since the
+   * previous frame are replayed from their recorded commands instead of being traversed. Default is
+   * false, as drawables modified without notifying their listeners would keep their previous look.
+   *
+   * When sorting, the retained drawables are the primitives resulting from the decomposition of
+   * composites. Otherwise, each drawable of the graph is retained with its whole subgraph.
+   *
+   * @see RetainedRenderer
+   */
+  public void setRetainStatic(boolean retainStatic) {
+    this.retainStatic = retainStatic;
+  }
+
+  /** The renderer holding the commands of retained drawables. */
+  public RetainedRenderer getRetainedRenderer() {
+    return retained;
+  }
+
   protected List<Drawable> components;
   protected Scene scene;
   protected Transform transform;
@@ -370,6 +466,10 @@ public class Graph {
   protected boolean VERBOSE = false;
   protected AbstractOrderingStrategy strategy;
   protected boolean sort = true;
+  protected boolean frustumCulling = false;
+  protected FrustumCuller culler = new FrustumCuller();
+  protected boolean retainStatic = false;
+  protected RetainedRenderer retained = new RetainedRenderer();
 
   protected List<GraphListener> graphListener;
 
@@ -0,0 +1,246 @@
+package org.jzy3d.plot3d.rendering.scene;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.jzy3d.events.DrawableChangedEvent;
+import org.jzy3d.events.IDrawableListener;
+import org.jzy3d.painters.CommandBuffer;
+import org.jzy3d.painters.IPainter;
+import org.jzy3d.painters.RecordingPainter;
+import org.jzy3d.plot3d.primitives.Composite;
+import org.jzy3d.plot3d.primitives.Drawable;
+
+/**
+ * Draws {@link Drawable}s in retained mode: the first time a drawable is drawn, the commands it
+ * sends to the painter are recorded in a {@link CommandBuffer} by a {@link RecordingPainter}. The
+ * next frames replay this buffer instead of traversing the drawable, until the drawable or one of
+ * the drawables of its subgraph reports a change with a {@link DrawableChangedEvent}.
+ *
+ * Drawables that use commands which can not be recorded, e.g. reading the camera to adapt their
+ * geometry to the viewpoint, or drawing texts, are drawn as usual and only recorded again after
+ * reporting a change. Drawables which are not {@link Drawable#isRetainable() retainable}, or which
+ * subgraph holds such a drawable, are always drawn with the actual painter.
+ *
+ * Drawables modified without notifying their listeners, e.g. by editing their coordinates in place,
+ * must be invalidated with {@link #invalidate(Drawable)}.
+ *
+ * The commands of drawables that were not drawn during the last {@link #getMaxAge()} frames, e.g.
+ * children removed from a composite, are forgotten by {@link #endFrame()}.
+ */
+public class RetainedRenderer {
+  public RetainedRenderer() {
+    recorder = new RecordingPainter();
+  }
+
+  /** Replay the commands of the drawable, or draw and record them if it changed since. */
+  public void draw(Drawable drawable, IPainter painter) {
+    Entry entry = entries.get(drawable);
+    if (entry == null) {
+      entry = new Entry();
+      entries.put(drawable, entry);
+      listen(drawable, entry);
+      entry.retainable = isRetainable(drawable);
+    }
+    entry.frame = frame;
+
+    if (entry.changed) {
+      entry.changed = false;
+      entry.recorded = false;
+
+      if (entry.structureChanged) {
+        entry.structureChanged = false;
+        unlisten(entry);
+        listen(drawable, entry);
+      }
+      entry.retainable = isRetainable(drawable);
+    }
+
+    if (entry.recorded) {
+      entry.buffer.replay(painter);
+      replayed++;
+    } else if (!entry.retainable) {
+      drawable.draw(painter);
+    } else {
+      if (entry.buffer == null)
+        entry.buffer = new CommandBuffer();
+      recorder.begin(painter, entry.buffer);
+      try {
+        drawable.draw(recorder);
+      } finally {
+        entry.retainable = recorder.end();
+      }
+      if (entry.retainable) {
+        entry.buffer.trim();
+        entry.recorded = true;
+        recorded++;
+      } else {
+        entry.buffer = null;
+      }
+    }
+  }
+
+  /** Record the drawable again at next draw. */
+  public void invalidate(Drawable drawable) {
+    Entry entry = entries.get(drawable);
+    if (entry != null)
+      entry.changed = true;
+  }
+
+  /** Record all drawables again at next draw. */
+  public void invalidateAll() {
+    for (Entry entry : entries.values())
+      entry.changed = true;
+  }
+
+  /**
+   * Forget the commands of a drawable and of the drawables of its subgraph, e.g. when it is removed
+   * from the scene.
+   */
+  public void remove(Drawable drawable) {
+    Entry entry = entries.remove(drawable);
+    if (entry != null)
+      unlisten(entry);
+
+    if (drawable instanceof Composite) {
+      List<Drawable> children = ((Composite) drawable).getDrawables();
+      synchronized (children) {
+        for (Drawable child : children)
+          if (child != null)
+            remove(child);
+      }
+    }
+  }
+
+  /**
+   * Count a frame, and every {@link #getMaxAge()} frames, forget the commands of the drawables that
+   * were not drawn since, e.g. children removed from a composite drawn in decomposition mode.
+   */
+  public void endFrame() {
+    frame++;
+    if (frame % maxAge != 0)
+      return;
+    Iterator<Entry> it = entries.values().iterator();
+    while (it.hasNext()) {
+      Entry entry = it.next();
+      if (frame - entry.frame > maxAge) {
+        unlisten(entry);
+        it.remove();
+      }
+    }
+  }
+
+  public int getMaxAge() {
+    return maxAge;
+  }
+
+  /**
+   * Number of frames after which the commands of a drawable that is not drawn anymore are
+   * forgotten. Default is {@link #DEFAULT_MAX_AGE}.
+   */
+  public void setMaxAge(int maxAge) {
+    if (maxAge < 1)
+      throw new IllegalArgumentException("max age should be at least 1 : " + maxAge);
+    this.maxAge = maxAge;
+  }
+
+  public void clear() {
+    for (Entry entry : entries.values())
+      unlisten(entry);
+    entries.clear();
+  }
+
+  /** Return true if the drawable will be replayed at next draw. */
+  public boolean isRecorded(Drawable drawable) {
+    Entry entry = entries.get(drawable);
+    return entry != null && entry.recorded && !entry.changed;
+  }
+
+  /** Number of drawables replayed since creation. */
+  public int getReplayed() {
+    return replayed;
+  }
+
+  /** Number of drawables recorded since creation. */
+  public int getRecorded() {
+    return recorded;
+  }
+
+  /* */
+
+  /** True if the drawable and all drawables of its subgraph are retainable. */
+  protected boolean isRetainable(Drawable drawable) {
+    if (!drawable.isRetainable())
+      return false;
+
+    if (drawable instanceof Composite) {
+      List<Drawable> children = ((Composite) drawable).getDrawables();
+      synchronized (children) {
+        for (Drawable child : children)
+          if (child != null && !isRetainable(child))
+            return false;
+      }
+    }
+    return true;
+  }
+
+  /** Listen to the drawable and to all drawables of its subgraph. */
+  protected void listen(Drawable drawable, Entry entry) {
+    drawable.addDrawableListener(entry);
+    entry.listened.add(drawable);
+
+    if (drawable instanceof Composite) {
+      List<Drawable> children = ((Composite) drawable).getDrawables();
+      synchronized (children) {
+        for (Drawable child : children)
+          if (child != null)
+            listen(child, entry);
+      }
+    }
+  }
+
+  protected void unlisten(Entry entry) {
+    for (Drawable d : entry.listened)
+      d.removeDrawableListener(entry);
+    entry.listened.clear();
+  }
+
+  /**
+   * The commands of a drawable. A change of the subgraph structure makes the entry listen again to
+   * the new subgraph at next draw.
+   */
+  protected class Entry implements IDrawableListener {
+    @Override
+    public void drawableChanged(DrawableChangedEvent e) {
+      int what = e.what();
+      if (what == DrawableChangedEvent.FIELD_DISPLAYED
+          || what == DrawableChangedEvent.FIELD_METADATA)
+        return;
+      if (what == DrawableChangedEvent.FIELD_DATA)
+        structureChanged = true;
+      changed = true;
+    }
+
+    protected CommandBuffer buffer;
+    protected boolean recorded;
+    protected boolean retainable = true;
+    protected int frame;
+    protected volatile boolean changed;
+    protected volatile boolean structureChanged;
+    protected List<Drawable> listened = new ArrayList<Drawable>();
+  }
+
+  /* */
+
+  public static final int DEFAULT_MAX_AGE = 60;
+
+  protected Map<Drawable, Entry> entries = new IdentityHashMap<Drawable, Entry>();
+  protected RecordingPainter recorder;
+  protected int replayed;
+  protected int recorded;
+  protected int frame;
+  protected int maxAge = DEFAULT_MAX_AGE;
+}
@@ -202,9 +202,17 @@ public class Camera extends AbstractViewportManager {
    * @throws a RuntimeException if an error occured while trying to retrieve model coordinates
    */
   public Coord3d screenToModel(IPainter painter, Coord3d screen) {
-    int viewport[] = painter.getViewPortAsInt();
-    float modelView[] = painter.getModelViewAsFloat();
-    float projection[] = painter.getProjectionAsFloat();
+    return screenToModel(painter, screen, painter.getViewPortAsInt(),
+        painter.getModelViewAsFloat(), painter.getProjectionAsFloat());
+  }
+
+  /**
+   * Same as {@link #screenToModel(IPainter, Coord3d)} with the viewport and matrices already
+   * retrieved from the painter, which avoids querying them again when projecting several points
+   * at once.
+   */
+  public Coord3d screenToModel(IPainter painter, Coord3d screen, int[] viewport,
+      float[] modelView, float[] projection) {
     float worldcoord[] = new float[3];// wx, wy, wz;// returned xyz coords
 
     boolean s = painter.gluUnProject(screen.x, screen.y, screen.z, modelView, 0, projection, 0,
@@ -238,12 +246,20 @@ public class Camera extends AbstractViewportManager {
    *         {@link #failOnException} is false, a DEBUG log is sent to the {@link #LOGGER}.
    */
   public Coord3d modelToScreen(IPainter painter, Coord3d point) {
-    int viewport[] = painter.getViewPortAsInt();
+    return modelToScreen(painter, point, painter.getViewPortAsInt(),
+        painter.getModelViewAsFloat(), painter.getProjectionAsFloat());
+  }
 
+  /**
+   * Same as {@link #modelToScreen(IPainter, Coord3d)} with the viewport and matrices already
+   * retrieved from the painter.
+   */
+  public Coord3d modelToScreen(IPainter painter, Coord3d point, int[] viewport,
+      float[] modelView, float[] projection) {
     float screenCoord[] = new float[3];// wx, wy, wz;// returned xyz coords
 
-    if (!painter.gluProject(point.x, point.y, point.z, painter.getModelViewAsFloat(), 0,
-        painter.getProjectionAsFloat(), 0, viewport, 0, screenCoord, 0))
+    if (!painter.gluProject(point.x, point.y, point.z, modelView, 0, projection, 0, viewport, 0,
+        screenCoord, 0))
       failedProjection("Could not retrieve model coordinates in screen for " + point);
     return new Coord3d(screenCoord[0], screenCoord[1], screenCoord[2]);
   }
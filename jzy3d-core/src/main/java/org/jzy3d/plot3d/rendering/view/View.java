@@ -87,6 +87,8 @@ public class View {
   protected Coord3d viewpoint;
   protected Coord3d center;
   protected Coord3d scaling;
+  protected Coord3d scalingTransformFactor;
+  protected Transform scalingTransform;
   protected BoundingBox3d viewbounds;
   protected Chart chart;
 
@@ -1168,8 +1170,7 @@ public class View {
       scene.getLightSet().apply(painter, scaling);
     }
 
-    Transform transform = new Transform(new Scale(scaling));
-    scene.getGraph().setTransform(transform);
+    scene.getGraph().setTransform(getScalingTransform(scaling));
     scene.getGraph().draw(painter);
   }
 
@@ -1184,11 +1185,22 @@ public class View {
   }
 
   public void renderAnnotations(Camera camera) {
-    Transform transform = new Transform(new Scale(scaling));
-    annotations.getGraph().setTransform(transform);
+    annotations.getGraph().setTransform(getScalingTransform(scaling));
     annotations.getGraph().draw(painter);
   }
 
+  /**
+   * Return the transform scaling the scene graph, which is only rebuilt when the scaling changes so
+   * that drawables keep the same transform from one frame to the next.
+   */
+  protected Transform getScalingTransform(Coord3d scaling) {
+    if (scalingTransform == null || !scaling.equals(scalingTransformFactor)) {
+      scalingTransformFactor = scaling.clone();
+      scalingTransform = new Transform(new Scale(scalingTransformFactor));
+    }
+    return scalingTransform;
+  }
+
   /* */
 
   public static View current() {
@@ -84,6 +84,7 @@ public class ViewAndColorbarsLayout implements IViewportLayout {
     float slice = (right - left) / legends.size();
     int k = 0;
     for (ILegend legend : legends) {
+      legend.setCanvas(canvas);
       legend.setViewportMode(ViewportMode.STRETCH_TO_FILL);
       legend.setViewPort(canvas.getRendererWidth(), canvas.getRendererHeight(),
           left + slice * (k++), left + slice * k);
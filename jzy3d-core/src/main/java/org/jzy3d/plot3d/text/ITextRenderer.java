@@ -25,6 +25,20 @@ public interface ITextRenderer {
 
   public void drawSimpleText(IPainter painter, Camera cam, String s, Coord3d position, Color color);
 
+  /**
+   * Allow the renderer to queue the texts drawn until {@link #flush(IPainter)} instead of drawing
+   * them immediately. Axes invoke it before drawing their labels. Renderers drawing texts
+   * immediately do nothing.
+   */
+  public default void beginBatch(IPainter painter) {}
+
+  /**
+   * Draw the texts that a renderer queued instead of drawing them immediately, in order to submit
+   * them to the GPU as a single batch, and end the batch started by {@link #beginBatch(IPainter)}.
+   * Axes invoke it once all their labels are drawn. Renderers drawing texts immediately do nothing.
+   */
+  public default void flush(IPainter painter) {}
+
   public SpaceTransformer getSpaceTransformer();
 
   public void setSpaceTransformer(SpaceTransformer transformer);
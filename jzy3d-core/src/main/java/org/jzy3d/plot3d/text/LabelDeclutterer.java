@@ -0,0 +1,292 @@
+package org.jzy3d.plot3d.text;
+
+import java.util.Arrays;
+
+import org.jzy3d.events.IViewLifecycleEventListener;
+import org.jzy3d.events.ViewLifecycleEvent;
+import org.jzy3d.maths.Coord3d;
+
+/**
+ * Decides which labels of a frame should be drawn so that they do not overlap on screen.
+ *
+ * Labels are tested in the order they are submitted to {@link #accept(long, float, float, float,
+ * float, int, int)}, which is their priority: a label is accepted if its screen rectangle does not
+ * intersect a label accepted before it in the same frame. Accepted rectangles are stored in a 2D
+ * grid of cells of {@link #getCellSize()} pixels, so that a label is only tested against the labels
+ * sharing its cells, which keeps the cost linear with the number of labels.
+ *
+ * To avoid flickering labels when the camera moves, a hysteresis is applied between frames: a label
+ * accepted at the previous frame is tested with a rectangle shrunk by {@link #getHysteresis()}
+ * pixels, while a label rejected at the previous frame is tested with a rectangle grown by the
+ * same amount. Labels are identified from a frame to the next by a key, such as the one given by
+ * {@link #key(String, Coord3d)}.
+ *
+ * Frames start when the view notifies it will render, once the declutterer is registered as a
+ * lifecycle listener of the view:
+ *
+ * <pre>
+ * <code>
+ * LabelDeclutterer declutterer = new LabelDeclutterer();
+ * chart.getView().addViewLifecycleChangedListener(declutterer);
+ * AxisBox axis = (AxisBox) chart.getView().getAxis();
+ * ((TextBitmapRenderer) axis.getTextRenderer()).setDeclutterer(declutterer);
+ * </code>
+ * </pre>
+ *
+ * A single declutterer may be shared by the renderers of the axes and of the annotations, the axes
+ * being rendered first, their labels have precedence over annotations.
+ */
+public class LabelDeclutterer implements IViewLifecycleEventListener {
+  public static final int DEFAULT_CELL_SIZE = 32;
+  public static final float DEFAULT_HYSTERESIS = 2;
+
+  public LabelDeclutterer() {
+    this(DEFAULT_CELL_SIZE, DEFAULT_HYSTERESIS);
+  }
+
+  public LabelDeclutterer(int cellSize, float hysteresis) {
+    if (cellSize < 1)
+      throw new IllegalArgumentException("Expect a positive cell size, got " + cellSize);
+    this.cellSize = cellSize;
+    this.hysteresis = hysteresis;
+  }
+
+  /* */
+
+  /**
+   * Start a new frame: labels accepted during the current frame become the labels considered as
+   * visible by the hysteresis, and the grid is emptied.
+   */
+  public synchronized void newFrame() {
+    long[] swap = previous;
+    previous = current;
+    current = swap;
+    if (current != null)
+      Arrays.fill(current, EMPTY);
+    currentCount = 0;
+
+    if (head != null)
+      Arrays.fill(head, -1);
+    rectCount = 0;
+    entryCount = 0;
+
+    lastAccepted = accepted;
+    lastRejected = rejected;
+    accepted = 0;
+    rejected = 0;
+  }
+
+  /**
+   * Test a label rectangle against the labels accepted since the beginning of the frame, and
+   * reserve its area if it does not overlap any of them.
+   *
+   * @param key identifies the label from a frame to the next
+   * @param x left of the label, in screen coordinates
+   * @param y bottom of the label, in screen coordinates
+   * @param screenWidth the width of the viewport, to size the grid
+   * @param screenHeight the height of the viewport, to size the grid
+   * @return true if the label should be drawn.
+   */
+  public synchronized boolean accept(long key, float x, float y, float width, float height,
+      int screenWidth, int screenHeight) {
+    ensureGrid(screenWidth, screenHeight);
+    if (key == EMPTY)
+      key = EMPTY + 1;
+
+    float margin = contains(previous, key) ? -hysteresis : hysteresis;
+    float x0 = x - margin;
+    float y0 = y - margin;
+    float x1 = x + width + margin;
+    float y1 = y + height + margin;
+
+    if (intersects(x0, y0, x1, y1)) {
+      rejected++;
+      return false;
+    }
+
+    insert(x, y, x + width, y + height);
+    current = add(current, key);
+    accepted++;
+    return true;
+  }
+
+  /** A key identifying a label by its text and anchor. */
+  public static long key(String text, Coord3d anchor) {
+    long h = text.hashCode();
+    h = h * 31 + Float.floatToIntBits(anchor.x);
+    h = h * 31 + Float.floatToIntBits(anchor.y);
+    h = h * 31 + Float.floatToIntBits(anchor.z);
+    return h;
+  }
+
+  /* GRID */
+
+  protected void ensureGrid(int screenWidth, int screenHeight) {
+    int c = Math.max(1, (screenWidth + cellSize - 1) / cellSize);
+    int r = Math.max(1, (screenHeight + cellSize - 1) / cellSize);
+    if (head == null || c != cols || r != rows) {
+      cols = c;
+      rows = r;
+      head = new int[cols * rows];
+      Arrays.fill(head, -1);
+      rectCount = 0;
+      entryCount = 0;
+    }
+  }
+
+  protected boolean intersects(float x0, float y0, float x1, float y1) {
+    int c0 = col(x0), c1 = col(x1), r0 = row(y0), r1 = row(y1);
+    for (int r = r0; r <= r1; r++) {
+      for (int c = c0; c <= c1; c++) {
+        for (int e = head[r * cols + c]; e >= 0; e = next[e]) {
+          int i = rectOf[e] * 4;
+          if (x0 < rects[i + 2] && rects[i] < x1 && y0 < rects[i + 3] && rects[i + 1] < y1)
+            return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  protected void insert(float x0, float y0, float x1, float y1) {
+    if ((rectCount + 1) * 4 > rects.length)
+      rects = Arrays.copyOf(rects, rects.length * 2);
+    int rect = rectCount++;
+    rects[rect * 4] = x0;
+    rects[rect * 4 + 1] = y0;
+    rects[rect * 4 + 2] = x1;
+    rects[rect * 4 + 3] = y1;
+
+    int c0 = col(x0), c1 = col(x1), r0 = row(y0), r1 = row(y1);
+    for (int r = r0; r <= r1; r++) {
+      for (int c = c0; c <= c1; c++) {
+        if (entryCount == next.length) {
+          next = Arrays.copyOf(next, next.length * 2);
+          rectOf = Arrays.copyOf(rectOf, rectOf.length * 2);
+        }
+        int cell = r * cols + c;
+        next[entryCount] = head[cell];
+        rectOf[entryCount] = rect;
+        head[cell] = entryCount++;
+      }
+    }
+  }
+
+  /** Column of a screen coordinate, labels out of the screen being held by the border cells */
+  protected int col(float x) {
+    int c = (int) Math.floor(x / cellSize);
+    return c < 0 ? 0 : c >= cols ? cols - 1 : c;
+  }
+
+  protected int row(float y) {
+    int r = (int) Math.floor(y / cellSize);
+    return r < 0 ? 0 : r >= rows ? rows - 1 : r;
+  }
+
+  /* KEY SETS : open addressing with linear probing */
+
+  protected boolean contains(long[] set, long key) {
+    if (set == null)
+      return false;
+    int mask = set.length - 1;
+    for (int i = slot(key, mask);; i = (i + 1) & mask) {
+      if (set[i] == EMPTY)
+        return false;
+      if (set[i] == key)
+        return true;
+    }
+  }
+
+  protected long[] add(long[] set, long key) {
+    if (set == null || (currentCount + 1) * 2 > set.length)
+      set = grow(set);
+    int mask = set.length - 1;
+    for (int i = slot(key, mask);; i = (i + 1) & mask) {
+      if (set[i] == key)
+        return set;
+      if (set[i] == EMPTY) {
+        set[i] = key;
+        currentCount++;
+        return set;
+      }
+    }
+  }
+
+  protected long[] grow(long[] set) {
+    long[] grown = new long[set == null ? 64 : set.length * 2];
+    Arrays.fill(grown, EMPTY);
+    currentCount = 0;
+    if (set != null)
+      for (long key : set)
+        if (key != EMPTY)
+          add(grown, key);
+    return grown;
+  }
+
+  protected static int slot(long key, int mask) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+
+  /* */
+
+  @Override
+  public void viewHasInit(ViewLifecycleEvent e) {}
+
+  @Override
+  public void viewWillRender(ViewLifecycleEvent e) {
+    newFrame();
+  }
+
+  public int getCellSize() {
+    return cellSize;
+  }
+
+  public float getHysteresis() {
+    return hysteresis;
+  }
+
+  public void setHysteresis(float hysteresis) {
+    this.hysteresis = hysteresis;
+  }
+
+  /** Number of labels accepted during the previous frame. */
+  public synchronized int getLastAccepted() {
+    return lastAccepted;
+  }
+
+  /** Number of labels rejected during the previous frame. */
+  public synchronized int getLastRejected() {
+    return lastRejected;
+  }
+
+  /* */
+
+  protected static final long EMPTY = Long.MIN_VALUE;
+
+  protected final int cellSize;
+  protected float hysteresis;
+
+  protected int cols;
+  protected int rows;
+  /** First entry of each cell, or -1 */
+  protected int[] head;
+  /** Next entry of the same cell, or -1 */
+  protected int[] next = new int[256];
+  /** Rectangle of each entry */
+  protected int[] rectOf = new int[256];
+  /** x0, y0, x1, y1 of each accepted rectangle */
+  protected float[] rects = new float[4 * 64];
+  protected int rectCount;
+  protected int entryCount;
+
+  /** Keys of the labels accepted at the previous and current frames */
+  protected long[] previous;
+  protected long[] current;
+  protected int currentCount;
+
+  protected int accepted;
+  protected int rejected;
+  protected int lastAccepted;
+  protected int lastRejected;
+}
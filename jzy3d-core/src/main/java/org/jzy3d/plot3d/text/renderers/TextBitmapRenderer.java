@@ -10,6 +10,7 @@ import org.jzy3d.painters.IPainter.Font;
 import org.jzy3d.plot3d.rendering.view.Camera;
 import org.jzy3d.plot3d.text.AbstractTextRenderer;
 import org.jzy3d.plot3d.text.ITextRenderer;
+import org.jzy3d.plot3d.text.LabelDeclutterer;
 import org.jzy3d.plot3d.text.align.Halign;
 import org.jzy3d.plot3d.text.align.Valign;
 
@@ -23,6 +24,13 @@ public class TextBitmapRenderer extends AbstractTextRenderer implements ITextRen
 
   protected Font font;
 
+  /** Matrices of the label being drawn, null outside of drawText */
+  protected int[] viewport;
+  protected float[] modelView;
+  protected float[] projection;
+
+  protected LabelDeclutterer declutterer;
+
   /**
    * The TextBitmap class provides support for drawing ASCII characters Any non ascii caracter will
    * be replaced by a square.
@@ -52,12 +60,35 @@ public class TextBitmapRenderer extends AbstractTextRenderer implements ITextRen
       Valign valign, Color color, Coord2d screenOffset, Coord3d sceneOffset) {
     painter.color(color);
 
+    // the four projections of a label share the same matrices, hence retrieve them once
+    viewport = painter.getViewPortAsInt();
+    modelView = painter.getModelViewAsFloat();
+    projection = painter.getProjectionAsFloat();
+    try {
+      return drawTextProjected(painter, text, position, halign, valign, screenOffset,
+          sceneOffset);
+    } finally {
+      viewport = null;
+      modelView = null;
+      projection = null;
+    }
+  }
+
+  protected BoundingBox3d drawTextProjected(IPainter painter, String text, Coord3d position,
+      Halign halign, Valign valign, Coord2d screenOffset, Coord3d sceneOffset) {
     // compute a corrected position according to layout
     float stringLength = painter.glutBitmapLength(font.getCode(), text);
 
-    Coord3d screenPosition = painter.getCamera().modelToScreen(painter, position);
+    Coord3d screenPosition = modelToScreen(painter, position);
     Coord3d screenPositionAligned =
         alignScreenPosition(halign, valign, screenOffset, screenPosition, stringLength);
+
+    // skip labels overlapping a label drawn before them, but keep their bounds for layout
+    if (declutterer != null && !declutterer.accept(LabelDeclutterer.key(text, position),
+        screenPositionAligned.x, screenPositionAligned.y, stringLength, font.getHeight(),
+        viewport[2], viewport[3]))
+      return computeTextBounds(painter, screenPositionAligned, stringLength);
+
     Coord3d screenPositionAligned3d =
         toModelViewPosition(painter, screenPosition, screenPositionAligned);
 
@@ -88,7 +119,7 @@ public class TextBitmapRenderer extends AbstractTextRenderer implements ITextRen
       Coord3d screenPositionAligned) {
     Coord3d screenPositionAligned3d;
     try {
-      screenPositionAligned3d = painter.getCamera().screenToModel(painter, screenPositionAligned);
+      screenPositionAligned3d = screenToModel(painter, screenPositionAligned);
     } catch (RuntimeException e) {
       // TODO: solve this bug due to a Camera.PERSPECTIVE mode.
       LOGGER.error("could not process text position: " + screenPosition + " "
@@ -119,11 +150,40 @@ public class TextBitmapRenderer extends AbstractTextRenderer implements ITextRen
     topRight.z = botLeft.z;
 
     BoundingBox3d txtBounds = new BoundingBox3d();
-    txtBounds.add(painter.getCamera().screenToModel(painter, botLeft));
-    txtBounds.add(painter.getCamera().screenToModel(painter, topRight));
+    txtBounds.add(screenToModel(painter, botLeft));
+    txtBounds.add(screenToModel(painter, topRight));
     return txtBounds;
   }
 
+  /**
+   * Project with the matrices retrieved at the beginning of
+   * {@link #drawText(IPainter, String, Coord3d, Halign, Valign, Color, Coord2d, Coord3d)}, or with
+   * the painter current matrices if invoked outside of it.
+   */
+  protected Coord3d modelToScreen(IPainter painter, Coord3d position) {
+    if (viewport == null)
+      return painter.getCamera().modelToScreen(painter, position);
+    return painter.getCamera().modelToScreen(painter, position, viewport, modelView, projection);
+  }
+
+  protected Coord3d screenToModel(IPainter painter, Coord3d screen) {
+    if (viewport == null)
+      return painter.getCamera().screenToModel(painter, screen);
+    return painter.getCamera().screenToModel(painter, screen, viewport, modelView, projection);
+  }
+
+  public LabelDeclutterer getDeclutterer() {
+    return declutterer;
+  }
+
+  /**
+   * Set a declutterer to skip labels overlapping labels drawn before them in the same frame, or
+   * null to draw all labels, which is the default.
+   */
+  public void setDeclutterer(LabelDeclutterer declutterer) {
+    this.declutterer = declutterer;
+  }
+
   protected float computeYAlign(Valign valign, Coord3d posScreen, float y) {
     if (valign == Valign.TOP)
       y = posScreen.y;
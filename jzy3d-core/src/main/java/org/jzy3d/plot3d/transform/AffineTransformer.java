@@ -0,0 +1,23 @@
+package org.jzy3d.plot3d.transform;
+
+/**
+ * A {@link Transformer} that can be expressed as a constant affine matrix, which allows a
+ * {@link Transform} made only of {@link AffineTransformer}s to compose its sequence into a single
+ * matrix when computed by CPU.
+ */
+interface AffineTransformer extends Transformer {
+  /**
+   * Write the values this transformation depends on in parameters, from offset, and return the
+   * offset following them.
+   * 
+   * Parameters are compared from one computation to the next to know if the matrix of a
+   * {@link Transform} is still valid.
+   */
+  public int getParameters(float[] parameters, int offset);
+
+  /**
+   * Left multiply the 3x4 row major affine matrix by the matrix of this transformation, so that the
+   * matrix then applies this transformation after the previous ones.
+   */
+  public void multiply(double[] matrix);
+}
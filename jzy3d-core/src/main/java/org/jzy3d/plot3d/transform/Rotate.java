@@ -11,7 +11,7 @@ import org.jzy3d.painters.IPainter;
  * 
  * @author Martin Pernollet
  */
-public class Rotate implements Transformer {
+public class Rotate implements AffineTransformer {
 
   /**
    * Initialize a Rotation.
@@ -42,6 +42,42 @@ public class Rotate implements Transformer {
     return input.rotate(angle, rotate);
   }
 
+  @Override
+  public int getParameters(float[] parameters, int offset) {
+    parameters[offset] = angle;
+    parameters[offset + 1] = rotate.x;
+    parameters[offset + 2] = rotate.y;
+    parameters[offset + 3] = rotate.z;
+    return offset + 4;
+  }
+
+  /** Left multiply by the rotation matrix given by Rodrigues' formula, as glRotate does. */
+  @Override
+  public void multiply(double[] matrix) {
+    double a = Math.toRadians(angle);
+    double s = Math.sin(a);
+    double c = Math.cos(a);
+    double t = 1 - c;
+    double x = rotate.x, y = rotate.y, z = rotate.z;
+    double norm = Math.sqrt(x * x + y * y + z * z);
+    if (norm > 0) {
+      x /= norm;
+      y /= norm;
+      z /= norm;
+    }
+
+    double r00 = x * x * t + c, r01 = x * y * t - z * s, r02 = x * z * t + y * s;
+    double r10 = y * x * t + z * s, r11 = y * y * t + c, r12 = y * z * t - x * s;
+    double r20 = z * x * t - y * s, r21 = z * y * t + x * s, r22 = z * z * t + c;
+
+    for (int j = 0; j < 4; j++) {
+      double m0 = matrix[j], m1 = matrix[4 + j], m2 = matrix[8 + j];
+      matrix[j] = r00 * m0 + r01 * m1 + r02 * m2;
+      matrix[4 + j] = r10 * m0 + r11 * m1 + r12 * m2;
+      matrix[8 + j] = r20 * m0 + r21 * m1 + r22 * m2;
+    }
+  }
+
   @Override
   public String toString() {
     return "(Rotate)a=" + angle + " " + rotate;
@@ -9,7 +9,7 @@ import org.jzy3d.painters.IPainter;
  * 
  * @author Martin Pernollet
  */
-public class Scale implements Transformer {
+public class Scale implements AffineTransformer {
 
   /**
    * Initialize a Scale.
@@ -30,6 +30,23 @@ public class Scale implements Transformer {
     return input.mul(scale);
   }
 
+  @Override
+  public int getParameters(float[] parameters, int offset) {
+    parameters[offset] = scale.x;
+    parameters[offset + 1] = scale.y;
+    parameters[offset + 2] = scale.z;
+    return offset + 3;
+  }
+
+  @Override
+  public void multiply(double[] matrix) {
+    for (int j = 0; j < 4; j++) {
+      matrix[j] *= scale.x;
+      matrix[4 + j] *= scale.y;
+      matrix[8 + j] *= scale.z;
+    }
+  }
+
   @Override
   public String toString() {
     return "(Scale)" + scale;
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Parallel;
 import org.jzy3d.painters.IPainter;
 
 /**
@@ -13,6 +14,11 @@ import org.jzy3d.painters.IPainter;
  * When a Transform is executed by default, it first loads the identity matrix before executing the
  * sequence of Transformers.
  * 
+ * When computed by CPU, a sequence only made of {@link Rotate}, {@link Scale} and {@link Translate}
+ * is composed into a single affine matrix, which is cached until the parameters of a
+ * {@link Transformer} change. Coordinates are then transformed without intermediate allocation, and
+ * bulk computations of large arrays are split in parallel chunks.
+ * 
  * @author Martin Pernollet
  */
 public class Transform {
@@ -83,6 +89,13 @@ public class Transform {
 
   /** Apply the transformations to the input coordinate */
   public Coord3d compute(Coord3d input) {
+    double[] m = getMatrix();
+    if (m != null) {
+      float x = input.x, y = input.y, z = input.z;
+      return new Coord3d(m[0] * x + m[1] * y + m[2] * z + m[3],
+          m[4] * x + m[5] * y + m[6] * z + m[7], m[8] * x + m[9] * y + m[10] * z + m[11]);
+    }
+
     Coord3d output = input.clone();
     for (Transformer t : sequence) {
       output = t.compute(output);
@@ -90,6 +103,118 @@ public class Transform {
     return output;
   }
 
+  /** Apply the transformations to each coordinate, which are modified. */
+  public void computeInPlace(final Coord3d[] coordinates) {
+    final double[] m = getMatrix();
+    if (m == null) {
+      for (Coord3d c : coordinates)
+        c.set(compute(c));
+      return;
+    }
+    Parallel.forEachChunk(coordinates.length, (from, to) -> {
+      float m00 = (float) m[0], m01 = (float) m[1], m02 = (float) m[2], m03 = (float) m[3];
+      float m10 = (float) m[4], m11 = (float) m[5], m12 = (float) m[6], m13 = (float) m[7];
+      float m20 = (float) m[8], m21 = (float) m[9], m22 = (float) m[10], m23 = (float) m[11];
+      for (int i = from; i < to; i++) {
+        Coord3d c = coordinates[i];
+        float x = c.x, y = c.y, z = c.z;
+        c.x = m00 * x + m01 * y + m02 * z + m03;
+        c.y = m10 * x + m11 * y + m12 * z + m13;
+        c.z = m20 * x + m21 * y + m22 * z + m23;
+      }
+    });
+  }
+
+  /** Apply the transformations to each coordinate, which are modified. */
+  public void computeInPlace(List<Coord3d> coordinates) {
+    if (getMatrix() != null && coordinates.size() >= Parallel.THRESHOLD) {
+      computeInPlace(coordinates.toArray(new Coord3d[coordinates.size()]));
+      return;
+    }
+    for (Coord3d c : coordinates)
+      c.set(compute(c));
+  }
+
+  /**
+   * Apply the transformations to packed coordinates {x0,y0,z0,x1,y1,z1,...}, which are
+   * modified.
+   */
+  public void computeInPlace(float[] xyz) {
+    compute(xyz, xyz);
+  }
+
+  /**
+   * Apply the transformations to packed coordinates {x0,y0,z0,x1,y1,z1,...} of src and write the
+   * result in dst, which may be src.
+   */
+  public void compute(final float[] src, final float[] dst) {
+    if (src.length % 3 != 0)
+      throw new IllegalArgumentException("coordinates length should be a multiple of 3 : "
+          + src.length);
+    if (dst.length < src.length)
+      throw new IllegalArgumentException("destination length " + dst.length
+          + " is smaller than source length " + src.length);
+
+    final double[] m = getMatrix();
+    if (m == null) {
+      for (int i = 0; i < src.length; i += 3) {
+        Coord3d c = compute(new Coord3d(src[i], src[i + 1], src[i + 2]));
+        dst[i] = c.x;
+        dst[i + 1] = c.y;
+        dst[i + 2] = c.z;
+      }
+      return;
+    }
+    Parallel.forEachChunk(src.length / 3, (from, to) -> {
+      float m00 = (float) m[0], m01 = (float) m[1], m02 = (float) m[2], m03 = (float) m[3];
+      float m10 = (float) m[4], m11 = (float) m[5], m12 = (float) m[6], m13 = (float) m[7];
+      float m20 = (float) m[8], m21 = (float) m[9], m22 = (float) m[10], m23 = (float) m[11];
+      for (int i = from * 3, end = to * 3; i < end; i += 3) {
+        float x = src[i], y = src[i + 1], z = src[i + 2];
+        dst[i] = m00 * x + m01 * y + m02 * z + m03;
+        dst[i + 1] = m10 * x + m11 * y + m12 * z + m13;
+        dst[i + 2] = m20 * x + m21 * y + m22 * z + m23;
+      }
+    });
+  }
+
+  /**
+   * Return the 3x4 row major affine matrix applying the whole sequence, or null if a
+   * {@link Transformer} of the sequence is not an {@link AffineTransformer}. The returned array is
+   * shared and should not be modified.
+   */
+  public synchronized double[] getMatrix() {
+    if (parameters == null || parameters.length < sequence.size() * MAX_PARAMETERS) {
+      parameters = new float[sequence.size() * MAX_PARAMETERS];
+      previous = new float[parameters.length];
+      matrix = null;
+    }
+
+    int length = 0;
+    for (Transformer t : sequence) {
+      if (!(t instanceof AffineTransformer))
+        return null;
+      length = ((AffineTransformer) t).getParameters(parameters, length);
+    }
+
+    if (matrix == null || length != previousLength || !sameParameters(length)) {
+      double[] m = new double[] {1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0};
+      for (Transformer t : sequence)
+        ((AffineTransformer) t).multiply(m);
+      System.arraycopy(parameters, 0, previous, 0, length);
+      previousLength = length;
+      matrix = m;
+    }
+    return matrix;
+  }
+
+  private boolean sameParameters(int length) {
+    for (int i = 0; i < length; i++)
+      if (Float.floatToIntBits(parameters[i]) != Float.floatToIntBits(previous[i]))
+        return false;
+    return true;
+  }
+
   @Override
   public String toString() {
     String txt = "";
@@ -101,4 +226,12 @@ public class Transform {
   /***********************************************************/
 
   private List<Transformer> sequence;
+
+  /** Maximum number of parameters written by a {@link Transformer}. */
+  private static final int MAX_PARAMETERS = 4;
+
+  private double[] matrix;
+  private float[] parameters;
+  private float[] previous;
+  private int previousLength;
 }
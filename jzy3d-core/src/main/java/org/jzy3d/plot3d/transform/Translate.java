@@ -9,7 +9,7 @@ import org.jzy3d.painters.IPainter;
  * 
  * @author Martin Pernollet
  */
-public class Translate implements Transformer {
+public class Translate implements AffineTransformer {
   protected Translate() {
 
   }
@@ -33,6 +33,21 @@ public class Translate implements Transformer {
     return input.add(shift);
   }
 
+  @Override
+  public int getParameters(float[] parameters, int offset) {
+    parameters[offset] = shift.x;
+    parameters[offset + 1] = shift.y;
+    parameters[offset + 2] = shift.z;
+    return offset + 3;
+  }
+
+  @Override
+  public void multiply(double[] matrix) {
+    matrix[3] += shift.x;
+    matrix[7] += shift.y;
+    matrix[11] += shift.z;
+  }
+
   @Override
   public String toString() {
     return "(Translate)" + shift;
@@ -7,4 +7,18 @@ package org.jzy3d.plot3d.transform.space;
  */
 public interface SpaceTransform {
   public float compute(float value);
+
+  /**
+   * Transform count values of input, read from offset every stride values, and write them at the
+   * same indices of output, which may be input.
+   */
+  public default void compute(float[] input, float[] output, int offset, int count, int stride) {
+    for (int i = offset, end = offset + count * stride; i < end; i += stride)
+      output[i] = compute(input[i]);
+  }
+
+  /** Return true if this transform returns its input unchanged. */
+  public default boolean isIdentity() {
+    return false;
+  }
 }
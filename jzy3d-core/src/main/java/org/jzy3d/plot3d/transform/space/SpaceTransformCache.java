@@ -0,0 +1,66 @@
+package org.jzy3d.plot3d.transform.space;
+
+import java.util.List;
+
+import org.jzy3d.maths.Coord3d;
+
+/**
+ * Keeps the space transformed coordinates of a drawable packed as {x0,y0,z0,x1,y1,z1,...}, so that
+ * a transform such as {@link SpaceTransformLog} is evaluated once each time the data or the
+ * {@link SpaceTransformer} change rather than for each vertex of each rendered frame.
+ * 
+ * The cache can not detect coordinates modified in place, so a drawable must call
+ * {@link #invalidate()} when its data is edited.
+ */
+public class SpaceTransformCache {
+  /**
+   * Return the transformed coordinates, computed again if the coordinates, the transformer or its
+   * transforms changed since last call. The returned array is reused and should not be modified.
+   */
+  public synchronized float[] get(Coord3d[] coordinates, SpaceTransformer transformer) {
+    if (!isValid(coordinates, coordinates.length, transformer)) {
+      ensureCapacity(coordinates.length);
+      transformer.compute(coordinates, xyz);
+      validate(coordinates, coordinates.length, transformer);
+    }
+    return xyz;
+  }
+
+  /** @see #get(Coord3d[], SpaceTransformer) */
+  public synchronized float[] get(List<Coord3d> coordinates, SpaceTransformer transformer) {
+    if (!isValid(coordinates, coordinates.size(), transformer)) {
+      ensureCapacity(coordinates.size());
+      transformer.compute(coordinates, xyz);
+      validate(coordinates, coordinates.size(), transformer);
+    }
+    return xyz;
+  }
+
+  /** Force computing transformed coordinates again at next call. */
+  public synchronized void invalidate() {
+    source = null;
+  }
+
+  protected boolean isValid(Object coordinates, int size, SpaceTransformer transformer) {
+    return source == coordinates && this.size == size && this.transformer == transformer
+        && version == transformer.getVersion();
+  }
+
+  protected void validate(Object coordinates, int size, SpaceTransformer transformer) {
+    this.source = coordinates;
+    this.size = size;
+    this.transformer = transformer;
+    this.version = transformer.getVersion();
+  }
+
+  protected void ensureCapacity(int size) {
+    if (xyz == null || xyz.length != size * 3)
+      xyz = new float[size * 3];
+  }
+
+  protected float[] xyz;
+  protected Object source;
+  protected int size;
+  protected SpaceTransformer transformer;
+  protected int version;
+}
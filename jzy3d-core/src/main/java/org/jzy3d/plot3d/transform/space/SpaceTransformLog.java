@@ -13,4 +13,12 @@ public class SpaceTransformLog implements SpaceTransform {
     else
       return (float) Math.log(value);
   }
+
+  @Override
+  public void compute(float[] input, float[] output, int offset, int count, int stride) {
+    for (int i = offset, end = offset + count * stride; i < end; i += stride) {
+      float value = input[i];
+      output[i] = value <= 0 ? 0 : (float) Math.log(value);
+    }
+  }
 }
@@ -15,7 +15,17 @@ public class SpaceTransformLog2 implements SpaceTransform {
       return log2(value);
   }
 
+  @Override
+  public void compute(float[] input, float[] output, int offset, int count, int stride) {
+    for (int i = offset, end = offset + count * stride; i < end; i += stride) {
+      float value = input[i];
+      output[i] = value <= 0 ? 0 : (float) (Math.log(value) / LOG_2);
+    }
+  }
+
   protected float log2(float x) {
-    return (float) (Math.log(x) / Math.log(2));
+    return (float) (Math.log(x) / LOG_2);
   }
+
+  private static final double LOG_2 = Math.log(2);
 }
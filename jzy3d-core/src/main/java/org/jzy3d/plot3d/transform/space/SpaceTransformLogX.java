@@ -20,6 +20,15 @@ public class SpaceTransformLogX implements SpaceTransform {
       return log(value, base);
   }
 
+  @Override
+  public void compute(float[] input, float[] output, int offset, int count, int stride) {
+    double logBase = Math.log(base);
+    for (int i = offset, end = offset + count * stride; i < end; i += stride) {
+      float value = input[i];
+      output[i] = value <= 0 ? 0 : (float) (Math.log(value) / logBase);
+    }
+  }
+
   protected float log(float x, float base) {
     return (float) (Math.log(x) / Math.log(base));
   }
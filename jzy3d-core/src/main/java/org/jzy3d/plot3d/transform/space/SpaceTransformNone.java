@@ -12,4 +12,16 @@ public class SpaceTransformNone implements SpaceTransform {
     return value;
   }
 
+  @Override
+  public void compute(float[] input, float[] output, int offset, int count, int stride) {
+    if (input != output)
+      for (int i = offset, end = offset + count * stride; i < end; i += stride)
+        output[i] = input[i];
+  }
+
+  @Override
+  public boolean isIdentity() {
+    return true;
+  }
+
 }
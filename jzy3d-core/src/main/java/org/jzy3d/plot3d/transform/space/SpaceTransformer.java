@@ -1,8 +1,11 @@
 package org.jzy3d.plot3d.transform.space;
 
+import java.util.List;
+
 import org.jzy3d.maths.BoundingBox3d;
 import org.jzy3d.maths.Coord2d;
 import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Parallel;
 
 /**
  * A helper to apply 3 {@link SpaceTransform} on each dimension of a {@link Coord3d}.
@@ -14,6 +17,7 @@ public class SpaceTransformer {
   protected SpaceTransform x;
   protected SpaceTransform y;
   protected SpaceTransform z;
+  protected int version;
 
   public SpaceTransformer(SpaceTransform x, SpaceTransform y, SpaceTransform z) {
     this.x = x != null ? x : new SpaceTransformNone();
@@ -33,6 +37,7 @@ public class SpaceTransformer {
 
   public void setX(SpaceTransform x) {
     this.x = x;
+    version++;
   }
 
   public SpaceTransform getY() {
@@ -41,6 +46,7 @@ public class SpaceTransformer {
 
   public void setY(SpaceTransform y) {
     this.y = y;
+    version++;
   }
 
   public SpaceTransform getZ() {
@@ -49,6 +55,7 @@ public class SpaceTransformer {
 
   public void setZ(SpaceTransform z) {
     this.z = z;
+    version++;
   }
 
   public Coord3d compute(Coord3d point) {
@@ -70,4 +77,61 @@ public class SpaceTransformer {
   public BoundingBox3d compute(BoundingBox3d bounds) {
     return bounds.transform(this);
   }
+
+  /**
+   * Transform packed coordinates {x0,y0,z0,x1,y1,z1,...} of input and write them in output, which
+   * may be input. Large arrays are processed in parallel chunks.
+   */
+  public void compute(float[] input, float[] output) {
+    compute(input, output, input.length / 3);
+  }
+
+  protected void compute(final float[] input, final float[] output, final int n) {
+    Parallel.forEachChunk(n, (from, to) -> compute(input, output, from, to));
+  }
+
+  /** Transform the coordinates and write them packed as {x0,y0,z0,x1,y1,z1,...} in output. */
+  public void compute(Coord3d[] coordinates, float[] output) {
+    pack(coordinates, output);
+    compute(output, output, coordinates.length);
+  }
+
+  /** Transform the coordinates and write them packed as {x0,y0,z0,x1,y1,z1,...} in output. */
+  public void compute(List<Coord3d> coordinates, float[] output) {
+    int i = 0;
+    for (Coord3d c : coordinates) {
+      output[i++] = c.x;
+      output[i++] = c.y;
+      output[i++] = c.z;
+    }
+    compute(output, output, coordinates.size());
+  }
+
+  protected void compute(float[] input, float[] output, int from, int to) {
+    x.compute(input, output, from * 3, to - from, 3);
+    y.compute(input, output, from * 3 + 1, to - from, 3);
+    z.compute(input, output, from * 3 + 2, to - from, 3);
+  }
+
+  protected static void pack(Coord3d[] coordinates, float[] output) {
+    for (int k = 0, i = 0; k < coordinates.length; k++) {
+      Coord3d c = coordinates[k];
+      output[i++] = c.x;
+      output[i++] = c.y;
+      output[i++] = c.z;
+    }
+  }
+
+  /** Return true if none of the 3 transforms modify their input. */
+  public boolean isIdentity() {
+    return x.isIdentity() && y.isIdentity() && z.isIdentity();
+  }
+
+  /**
+   * A counter incremented each time a transform is changed, allowing to know if coordinates
+   * transformed earlier are still valid.
+   */
+  public int getVersion() {
+    return version;
+  }
 }
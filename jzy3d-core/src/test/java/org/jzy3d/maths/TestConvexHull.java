@@ -0,0 +1,143 @@
+package org.jzy3d.maths;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import org.jzy3d.maths.algorithms.convexhull.GrahamScan;
+import org.jzy3d.maths.algorithms.convexhull.MonotoneChain;
+import org.jzy3d.maths.algorithms.convexhull.QuickHull3d;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestConvexHull {
+  @Test
+  public void hullOfSquareSkipsInteriorAndCollinearPoints() {
+    List<Coord3d> points = new ArrayList<Coord3d>();
+    float[][] xy = {{0, 0}, {1, 0}, {1, 1}, {0, 1}, {0.5f, 0.5f}, {0.5f, 0}, {1, 0.5f}};
+    for (float[] p : xy)
+      points.add(new Coord3d(p[0], p[1], 0));
+
+    Polygon2d hull = ConvexHull.hull(points);
+    Assert.assertEquals(Arrays.asList(new Coord2d(0, 0), new Coord2d(0, 1), new Coord2d(1, 1),
+        new Coord2d(1, 0), new Coord2d(0, 0)), hull);
+  }
+
+  @Test
+  public void monotoneChainMatchesGrahamScan() {
+    Random random = new Random(0);
+    for (int n : new int[] {3, 10, 100, 1000}) {
+      Coord2d[] pts = new Coord2d[n];
+      for (int i = 0; i < n; i++)
+        pts[i] = new Coord2d(random.nextGaussian(), random.nextGaussian());
+
+      Deque<Coord2d> expected = new GrahamScan().getConvexHull(pts.clone());
+      Deque<Coord2d> actual = new MonotoneChain().getConvexHull(pts.clone());
+      Assert.assertEquals(new ArrayList<Coord2d>(expected), new ArrayList<Coord2d>(actual));
+    }
+  }
+
+  @Test
+  public void parallelHullMatchesSequential() {
+    Random random = new Random(1);
+    int n = Parallel.THRESHOLD * 2 + 3;
+    float[] x = new float[n];
+    float[] y = new float[n];
+    int[] indices = new int[n];
+    for (int i = 0; i < n; i++) {
+      // points in a disk, which leaves many hull candidates after filtering
+      double a = random.nextDouble() * 2 * Math.PI;
+      double r = Math.sqrt(random.nextDouble());
+      x[i] = (float) (r * Math.cos(a));
+      y[i] = (float) (r * Math.sin(a));
+      indices[i] = i;
+    }
+
+    int[] sequential = MonotoneChain.hull(x, y, indices, n);
+    int[] parallel = ConvexHull.hull(x, y);
+    Assert.assertArrayEquals(sequential, parallel);
+
+    // all points on the left of or on each edge
+    for (int k = 0; k < parallel.length; k++)
+      for (int i = 0; i < n; i += 97)
+        Assert.assertTrue(MonotoneChain.orientation(x, y, parallel[k],
+            parallel[(k + 1) % parallel.length], i) >= 0);
+  }
+
+  @Test(timeout = 10000)
+  public void hullOfVerticalLines() {
+    // many points sharing the same x, in reverse y order
+    int n = 65535;
+    float[] x = new float[n];
+    float[] y = new float[n];
+    int[] indices = new int[n];
+    for (int i = 0; i < n; i++) {
+      x[i] = i % 2;
+      y[i] = n - i;
+      indices[i] = i;
+    }
+
+    int[] hull = MonotoneChain.hull(x, y, indices, n);
+    Assert.assertArrayEquals(new int[] {n - 1, n - 2, 1, 0}, hull);
+  }
+
+  @Test
+  public void quickHullOfCubeWithInteriorPoints() {
+    Random random = new Random(2);
+    int n = 1008;
+    Coord3ds points = new Coord3ds(n);
+    for (int i = 0; i < 8; i++)
+      points.set(i, i & 1, (i >> 1) & 1, (i >> 2) & 1, 0, 0, 0, 0);
+    for (int i = 8; i < n; i++)
+      points.set(i, random.nextFloat(), random.nextFloat(), random.nextFloat(), 0, 0, 0, 0);
+
+    QuickHull3d hull = ConvexHull.hull(points);
+    Assert.assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7}, hull.getVertexIndices());
+    assertEquals(12, hull.getTriangles().length / 3);
+    assertEquals(1, volume(points, hull.getTriangles()), 1e-6);
+  }
+
+  @Test
+  public void quickHullOfSphereKeepsAllPoints() {
+    Random random = new Random(3);
+    int n = 2000;
+    Coord3ds points = new Coord3ds(n);
+    for (int i = 0; i < n; i++) {
+      double z = random.nextDouble() * 2 - 1;
+      double a = random.nextDouble() * 2 * Math.PI;
+      double r = Math.sqrt(1 - z * z);
+      points.set(i, (float) (r * Math.cos(a)), (float) (r * Math.sin(a)), (float) z, 0, 0, 0, 0);
+    }
+
+    QuickHull3d hull = new QuickHull3d(points);
+    // a closed triangulated surface of V vertices has 2V-4 triangles
+    int vertices = hull.getVertexIndices().length;
+    assertEquals(2 * vertices - 4, hull.getTriangles().length / 3);
+    Assert.assertTrue(vertices > 0.95 * n);
+    Assert.assertTrue(volume(points, hull.getTriangles()) > 0);
+  }
+
+  @Test
+  public void quickHullOfCoplanarPointsIsEmpty() {
+    Coord3ds points = new Coord3ds(10);
+    for (int i = 0; i < 10; i++)
+      points.set(i, i % 3, i / 3, 0, 0, 0, 0, 0);
+    Assert.assertFalse(new QuickHull3d(points).isVolume());
+  }
+
+  /** Volume enclosed by outward oriented triangles */
+  private static double volume(Coord3ds p, int[] triangles) {
+    double volume = 0;
+    for (int t = 0; t < triangles.length; t += 3) {
+      int a = triangles[t], b = triangles[t + 1], c = triangles[t + 2];
+      volume += (p.x[a] * (p.y[b] * p.z[c] - p.z[b] * p.y[c])
+          - p.y[a] * (p.x[b] * p.z[c] - p.z[b] * p.x[c])
+          + p.z[a] * (p.x[b] * p.y[c] - p.y[b] * p.x[c])) / 6;
+    }
+    return volume;
+  }
+}
@@ -0,0 +1,84 @@
+package org.jzy3d.maths;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestHistogram {
+  @Test
+  public void uniformBinsMatchEdges() {
+    Binning uniform = Binning.uniform(-1.3f, 7.1f, 37);
+    Binning explicit = Binning.edges(uniform.getEdges());
+    Random random = new Random(0);
+
+    for (int k = 0; k < 100000; k++) {
+      double v = -1.3 + random.nextDouble() * 8.4;
+      assertEquals(explicit.bin(v), uniform.bin(v));
+    }
+    for (int i = 0; i < uniform.size(); i++) {
+      assertEquals(i, uniform.bin(uniform.getEdge(i)));
+      assertEquals(i, explicit.bin(uniform.getEdge(i)));
+    }
+    assertEquals(36, uniform.bin(7.1f));
+    assertEquals(-1, uniform.bin(7.2f));
+    assertEquals(-1, uniform.bin(Double.NaN));
+  }
+
+  @Test
+  public void logBins() {
+    Binning log = Binning.log(1, 1000, 3);
+    assertEquals(10, log.getEdge(1), 1e-4);
+    assertEquals(100, log.getEdge(2), 1e-3);
+    assertEquals(0, log.bin(5));
+    assertEquals(1, log.bin(50));
+    assertEquals(2, log.bin(1000));
+  }
+
+  @Test
+  public void bulkAddCountsLikeSingleAdd() {
+    Random random = new Random(1);
+    float[] values = new float[Parallel.THRESHOLD * 3 + 5];
+    for (int i = 0; i < values.length; i++)
+      values[i] = random.nextFloat() * 10;
+
+    Histogram single = new Histogram(0, 10, 20);
+    for (float v : values)
+      single.add(v);
+
+    Histogram bulk = new Histogram(0, 10, 20);
+    bulk.add(values);
+
+    Assert.assertArrayEquals(single.getCounts(), bulk.getCounts());
+    assertEquals(values.length, bulk.getTotal());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void addOutOfBinsThrows() {
+    new Histogram(0, 10, 20).add(11);
+  }
+
+  @Test
+  public void failedBulkAddLeavesCountsUnchanged() {
+    Histogram h = new Histogram(0, 10, 20);
+    h.add(5);
+    try {
+      h.add(new float[] {1, 2, 11, 3});
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+    }
+    assertEquals(1, h.getTotal());
+  }
+
+  @Test
+  public void bivariateCounts() {
+    BivariateHistogram h = new BivariateHistogram(0, 2, 2, 0, 3, 3);
+    h.add(new float[] {0.5f, 1.5f, 1.5f, 2}, new float[] {0.5f, 2.5f, 2.9f, 0});
+    assertEquals(1, h.getCount(0, 0));
+    assertEquals(2, h.getCount(1, 2));
+    assertEquals(1, h.getCount(1, 0));
+    assertEquals(2, h.computeMaxCount());
+  }
+}
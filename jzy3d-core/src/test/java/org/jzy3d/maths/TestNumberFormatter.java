@@ -0,0 +1,38 @@
+package org.jzy3d.maths;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TestNumberFormatter {
+  @Test
+  public void formatsAsStringFormat() {
+    double[] values = {0, -0.0, 1, -1, 0.5, 2.5, -2.5, 1.005, 9.99, 99.95, 0.1, 0.2, 0.3, 1e-5,
+        0.00001234, 123456789, 1e12, 1e-20, -28.499999999999996, 0.0034999999999999996};
+    for (double value : values)
+      assertSameAsStringFormat(value);
+
+    Random r = new Random(0);
+    for (int i = 0; i < 2000; i++) {
+      assertSameAsStringFormat((r.nextDouble() - 0.5) * Math.pow(10, r.nextInt(20) - 10));
+      assertSameAsStringFormat((r.nextInt(2001) - 1000) * 0.005);
+    }
+  }
+
+  @Test
+  public void delegatesUnsupportedFormats() {
+    assertEquals(String.format("%.3f", Double.NaN), NumberFormatter.format('f', Double.NaN, 3));
+    assertEquals(String.format("%.2E", 1234.0), NumberFormatter.format('E', 1234, 2));
+    assertEquals(String.format("%.14e", Math.PI), NumberFormatter.format('e', Math.PI, 14));
+  }
+
+  protected void assertSameAsStringFormat(double value) {
+    for (char mode : new char[] {'f', 'e', 'g'})
+      for (int precision = 0; precision <= 8; precision++)
+        assertEquals(mode + " " + precision + " " + value,
+            String.format("%." + precision + mode, value),
+            NumberFormatter.format(mode, value, precision));
+  }
+}
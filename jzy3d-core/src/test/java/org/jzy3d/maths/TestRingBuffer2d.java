@@ -0,0 +1,98 @@
+package org.jzy3d.maths;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TestRingBuffer2d {
+  @Test
+  public void keepsTheLatestSamples() {
+    RingBuffer2d buffer = new RingBuffer2d(5);
+    assertEquals(7, buffer.capacity());
+    assertEquals(Double.NaN, buffer.getYMax(), 0);
+
+    for (int i = 0; i < 20; i++)
+      buffer.add(i, i % 7);
+    assertEquals(7, buffer.size());
+    assertEquals(20, buffer.getCount());
+
+    double[] xs = new double[7];
+    double[] ys = new double[7];
+    assertEquals(7, buffer.copy(xs, ys));
+    for (int i = 0; i < 7; i++) {
+      assertEquals(13 + i, xs[i], 0);
+      assertEquals((13 + i) % 7, ys[i], 0);
+    }
+    assertEquals(13, buffer.getXMin(), 0);
+    assertEquals(19, buffer.getXMax(), 0);
+    assertEquals(0, buffer.getYMin(), 0);
+    assertEquals(6, buffer.getYMax(), 0);
+
+    buffer.clear();
+    assertEquals(0, buffer.size());
+    assertEquals(0, buffer.copy(xs, ys));
+    assertEquals(Double.NaN, buffer.getXMin(), 0);
+  }
+
+  @Test
+  public void boundsFollowTheSlidingWindow() {
+    Random random = new Random(0);
+    RingBuffer2d buffer = new RingBuffer2d(64, 10);
+    double[] x = new double[1000];
+    double[] y = new double[1000];
+
+    for (int i = 0; i < x.length; i++) {
+      x[i] = i * 0.5;
+      y[i] = random.nextGaussian();
+      buffer.add(x[i], y[i]);
+
+      // samples in [x - 10, x], at most the capacity
+      int from = i;
+      while (from > 0 && x[from - 1] >= x[i] - 10 && i - from + 1 < buffer.capacity())
+        from--;
+      double ymin = Double.MAX_VALUE;
+      double ymax = -Double.MAX_VALUE;
+      for (int j = from; j <= i; j++) {
+        ymin = Math.min(ymin, y[j]);
+        ymax = Math.max(ymax, y[j]);
+      }
+      assertEquals(i - from + 1, buffer.size());
+      assertEquals(x[from], buffer.getXMin(), 0);
+      assertEquals(x[i], buffer.getXMax(), 0);
+      assertEquals(ymin, buffer.getYMin(), 0);
+      assertEquals(ymax, buffer.getYMax(), 0);
+    }
+
+    buffer.setWindow(2);
+    assertEquals(5, buffer.size());
+    assertEquals(x[995], buffer.getXMin(), 0);
+  }
+
+  @Test
+  public void copyWhileProducersAppend() throws InterruptedException {
+    final RingBuffer2d buffer = new RingBuffer2d(1024);
+    final int n = 200000;
+    Thread[] producers = new Thread[2];
+    for (int p = 0; p < producers.length; p++) {
+      producers[p] = new Thread(() -> {
+        for (int i = 0; i < n; i++)
+          buffer.add(i, i);
+      });
+      producers[p].start();
+    }
+
+    double[] xs = new double[buffer.capacity()];
+    double[] ys = new double[buffer.capacity()];
+    while (producers[0].isAlive() || producers[1].isAlive()) {
+      int size = buffer.copy(xs, ys);
+      for (int i = 0; i < size; i++)
+        assertEquals(xs[i], ys[i], 0);
+    }
+    for (Thread producer : producers)
+      producer.join();
+    assertEquals(2 * n, buffer.getCount());
+    assertEquals(n - 1, buffer.getYMax(), 0);
+  }
+}
@@ -0,0 +1,134 @@
+package org.jzy3d.maths;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jzy3d.maths.algorithms.OutlierRemover;
+import org.jzy3d.maths.algorithms.ScaleFinder;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestStatistics {
+  @Test
+  public void quantileMatchesSortedValues() {
+    Random random = new Random(0);
+    double[] levels = {0, 1, 12.5, 25, 50, 75, 99, 100};
+
+    for (int n : new int[] {1, 2, 7, 100, 1001}) {
+      double[] values = new double[n];
+      for (int i = 0; i < n; i++)
+        values[i] = random.nextInt(10) == 0 ? Double.NaN : Math.round(random.nextGaussian() * 20);
+      double[] original = values.clone();
+
+      for (boolean interpolated : new boolean[] {true, false}) {
+        double[] expected = sortedQuantile(values, levels, interpolated);
+        double[] actual = Statistics.quantile(values, levels, interpolated);
+        Assert.assertArrayEquals(expected, actual, 0);
+      }
+      Assert.assertArrayEquals("input is not modified", original, values, 0);
+    }
+  }
+
+  @Test
+  public void parallelQuantileMatchesSequential() {
+    Random random = new Random(1);
+    int n = Parallel.THRESHOLD * 3 + 17;
+    double[] values = new double[n];
+    for (int i = 0; i < n; i++)
+      values[i] = i % 1000 == 0 ? Double.NaN : random.nextGaussian();
+    double[] levels = {0, 0.1, 5, 50, 95, 100};
+
+    Assert.assertArrayEquals(Statistics.quantile(values, levels, true),
+        Statistics.parallelQuantile(values, levels, true), 0);
+  }
+
+  @Test
+  public void selectHandlesDuplicates() {
+    double[] values = new double[1000];
+    for (int i = 0; i < values.length; i++)
+      values[i] = i % 3;
+    assertEquals(0, Statistics.select(values.clone(), 333), 0);
+    assertEquals(1, Statistics.select(values.clone(), 334), 0);
+    assertEquals(2, Statistics.select(values.clone(), 999), 0);
+
+    int[] ranks = {0, 500, 999};
+    Statistics.select(values, ranks);
+    assertEquals(0, values[0], 0);
+    assertEquals(1, values[500], 0);
+    assertEquals(2, values[999], 0);
+  }
+
+  @Test
+  public void varianceIgnoresNaN() {
+    double[] values = {2, 4, Double.NaN, 4, 4, 5, 5, 7, 9};
+    assertEquals(5, Statistics.mean(values), 1e-12);
+    assertEquals(32.0 / 7, Statistics.variance(values), 1e-12);
+    assertEquals(0, Statistics.variance(new double[] {3}), 0);
+    assertEquals(32.0 / 7, Statistics.variance(new float[] {2, 4, 4, 4, 5, 5, 7, 9}), 1e-12);
+  }
+
+  @Test
+  public void streamingStatisticsMergeLikeSinglePass() {
+    Random random = new Random(2);
+    double[] values = new double[Parallel.THRESHOLD * 2];
+    for (int i = 0; i < values.length; i++)
+      values[i] = 10 + random.nextGaussian() * 3;
+
+    StreamingStatistics parallel = StreamingStatistics.of(values, true);
+    assertEquals(values.length, parallel.getCount());
+    assertEquals(Statistics.mean(values), parallel.getMean(), 1e-9);
+    assertEquals(Statistics.variance(values), parallel.getVariance(), 1e-9);
+    assertEquals(Statistics.min(values), parallel.getMin(), 0);
+    assertEquals(Statistics.max(values), parallel.getMax(), 0);
+
+    double[] levels = {1, 25, 50, 75, 99};
+    double[] exact = Statistics.quantile(values, levels);
+    for (int i = 0; i < levels.length; i++)
+      assertEquals(exact[i], parallel.getQuantile(levels[i]), 0.05);
+  }
+
+  @Test
+  public void digestEstimatesQuantiles() {
+    TDigest digest = new TDigest();
+    for (int i = 0; i < 100000; i++)
+      digest.add(i);
+
+    Assert.assertTrue(digest.getCentroidCount() <= 2 * TDigest.DEFAULT_COMPRESSION);
+    assertEquals(0, digest.quantile(0), 0);
+    assertEquals(99999, digest.quantile(1), 0);
+    assertEquals(50000, digest.quantile(0.5), 500);
+    assertEquals(1000, digest.quantile(0.01), 50);
+  }
+
+  @Test
+  public void filteredScaleIgnoresOutliers() {
+    double[] values = {1, 2, 3, 4, 5, 1000, -1000, Double.NaN};
+    Scale scale = ScaleFinder.getFilteredScale(values, 3);
+    assertEquals(1, scale.getMin(), 0);
+    assertEquals(5, scale.getMax(), 0);
+
+    Scale expected = ScaleFinder.getMinMaxScale(OutlierRemover.getInlierValues(values, 3));
+    assertEquals(expected.getMin(), scale.getMin(), 0);
+    assertEquals(expected.getMax(), scale.getMax(), 0);
+  }
+
+  private static double[] sortedQuantile(double[] values, double[] levels, boolean interpolated) {
+    double[] sorted = values.clone();
+    Arrays.sort(sorted);
+    double[] quantiles = new double[levels.length];
+    for (int i = 0; i < levels.length; i++) {
+      double idx = (sorted.length - 1) * levels[i] / 100;
+      double floor = sorted[(int) Math.floor(idx)];
+      double ceil = sorted[(int) Math.ceil(idx)];
+      if (idx == (int) idx)
+        quantiles[i] = sorted[(int) idx];
+      else if (interpolated)
+        quantiles[i] = floor * (Math.ceil(idx) - idx) + ceil * (idx - Math.floor(idx));
+      else
+        quantiles[i] = idx - Math.floor(idx) < Math.ceil(idx) - idx ? floor : ceil;
+    }
+    return quantiles;
+  }
+}
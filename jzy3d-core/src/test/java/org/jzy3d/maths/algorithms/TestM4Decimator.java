@@ -0,0 +1,121 @@
+package org.jzy3d.maths.algorithms;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestM4Decimator {
+  @Test
+  public void pyramidFindsMinAndMaxOfAnyRange() {
+    Random random = new Random(0);
+    double[] values = new double[5000];
+    MinMaxPyramid pyramid = new MinMaxPyramid();
+
+    int size = 0;
+    int[] minmax = new int[2];
+    while (size < values.length) {
+      // append values by chunks
+      int from = size;
+      size = Math.min(values.length, size + 1 + random.nextInt(700));
+      for (int i = from; i < size; i++)
+        values[i] = random.nextInt(10) == 0 ? Double.NaN : random.nextGaussian();
+      pyramid.update(values, from, size);
+
+      for (int k = 0; k < 200; k++) {
+        int a = random.nextInt(size);
+        int b = a + 1 + random.nextInt(size - a);
+        pyramid.query(values, a, b, minmax);
+
+        int[] expected = new int[2];
+        M4Decimator.scan(values, a, b, expected);
+        assertEquals(expected[0] < 0 ? -1 : values[expected[0]],
+            minmax[0] < 0 ? -1 : values[minmax[0]], 0);
+        assertEquals(expected[1] < 0 ? -1 : values[expected[1]],
+            minmax[1] < 0 ? -1 : values[minmax[1]], 0);
+      }
+    }
+  }
+
+  @Test
+  public void decimationKeepsFirstMinMaxLastOfEachColumn() {
+    Random random = new Random(1);
+    int n = 100000;
+    double[] x = new double[n];
+    double[] y = new double[n];
+    for (int i = 1; i < n; i++) {
+      x[i] = x[i - 1] + random.nextDouble();
+      y[i] = y[i - 1] + random.nextGaussian();
+    }
+
+    int width = 300;
+    double xmin = x[n / 10];
+    double xmax = x[n / 2];
+    M4Decimator decimator = new M4Decimator();
+    int count = decimator.decimate(x, y, n, xmin, xmax, width);
+    int[] indices = decimator.getIndices();
+    Assert.assertTrue(count <= 4 * width + 2);
+
+    // same as scanning
+    int[] scanned = new int[4 * width + 2];
+    assertEquals(count, M4Decimator.decimate(x, y, 0, n, xmin, xmax, width, scanned));
+    for (int k = 0; k < count; k++)
+      assertEquals(scanned[k], indices[k]);
+
+    // samples around the range are kept to draw the segments entering and leaving the plot
+    assertEquals(n / 10 - 1, indices[0]);
+    assertEquals(n / 2 + 1, indices[count - 1]);
+
+    // each column has the same first, last, min and max samples
+    double scale = width / (xmax - xmin);
+    for (int k = 1; k < count - 1; k++)
+      Assert.assertTrue(indices[k] > indices[k - 1]);
+    int k = 1;
+    for (int i = n / 10; i <= n / 2;) {
+      int column = M4Decimator.column(x[i], xmin, scale, width);
+      int j = i;
+      double min = y[i], max = y[i];
+      while (j <= n / 2 && M4Decimator.column(x[j], xmin, scale, width) == column) {
+        min = Math.min(min, y[j]);
+        max = Math.max(max, y[j]);
+        j++;
+      }
+      assertEquals(i, indices[k]);
+      double dmin = y[i], dmax = y[i];
+      while (k < count - 1 && indices[k] < j) {
+        dmin = Math.min(dmin, y[indices[k]]);
+        dmax = Math.max(dmax, y[indices[k]]);
+        k++;
+      }
+      assertEquals(j - 1, indices[k - 1]);
+      assertEquals(min, dmin, 0);
+      assertEquals(max, dmax, 0);
+      i = j;
+    }
+    assertEquals(count - 1, k);
+  }
+
+  @Test
+  public void decimationIsUpdatedWithNewSamples() {
+    double[] x = new double[1000];
+    double[] y = new double[1000];
+    for (int i = 0; i < x.length; i++)
+      x[i] = i;
+
+    M4Decimator decimator = new M4Decimator();
+    assertEquals(-1, decimator.decimate(x, y, 500, 0, 0, 10));
+    // a flat line only needs the first and last samples of each column
+    assertEquals(2 * 5, decimator.decimate(x, y, 500, 0, 1000, 10));
+
+    // a peak appended to the last column
+    y[950] = 10;
+    assertEquals(2 * 10 + 1, decimator.decimate(x, y, 1000, 0, 1000, 10));
+    Assert.assertEquals(950, decimator.getIndices()[19]);
+
+    // few samples are not decimated, and are drawn with their neighbours
+    assertEquals(21 + 2, decimator.decimate(x, y, 1000, 10, 30, 10));
+    assertEquals(9, decimator.getIndices()[0]);
+  }
+}
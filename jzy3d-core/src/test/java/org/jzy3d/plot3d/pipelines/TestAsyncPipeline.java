@@ -0,0 +1,144 @@
+package org.jzy3d.plot3d.pipelines;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.jzy3d.events.IPipelineListener;
+import org.jzy3d.events.PipelineEvent;
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Range;
+import org.jzy3d.plot3d.builder.Mapper;
+import org.jzy3d.plot3d.primitives.Drawable;
+import org.jzy3d.plot3d.primitives.Shape;
+
+public class TestAsyncPipeline {
+  Mapper mapper = new Mapper() {
+    @Override
+    public double f(double x, double y) {
+      return x * Math.sin(x * y);
+    }
+  };
+
+  @Test
+  public void publishPreviewThenFullResolution() throws Exception {
+    final List<PipelineEvent> events = new ArrayList<PipelineEvent>();
+
+    final CountDownLatch previewPublished = new CountDownLatch(1);
+
+    AsyncPipeline pipeline = new AsyncPipeline();
+    pipeline.addListener(new IPipelineListener() {
+      @Override
+      public void pipelineChanged(PipelineEvent e) {
+        synchronized (events) {
+          if (e.what() != PipelineEvent.PROGRESS)
+            events.add(e);
+        }
+        if (e.what() == PipelineEvent.PREVIEW)
+          previewPublished.countDown();
+      }
+    });
+
+    // hold the full resolution build until the preview is published, so that it is never dropped
+    final TessellatorBuilder orthonormal = TessellatorBuilder.orthonormal();
+    IPipelineBuilder builder = new IPipelineBuilder() {
+      @Override
+      public Drawable build(List<Coord3d> coordinates, PipelineTask task) throws Exception {
+        if (coordinates.size() > 20 * 20)
+          Assert.assertTrue(previewPublished.await(10, TimeUnit.SECONDS));
+        return orthonormal.build(coordinates, task);
+      }
+    };
+
+    PipelineTask task = pipeline.submit(new MapperGridLoader(mapper, new Range(-3, 3), 300),
+        builder, new ColorMapperColorizer(), null);
+
+    Assert.assertTrue(task.await(10, TimeUnit.SECONDS));
+    Assert.assertTrue(task.isCompleted());
+    Assert.assertEquals(299 * 299, ((Shape) task.getDrawable()).size());
+
+    Assert.assertEquals(2, events.size());
+    Assert.assertEquals(PipelineEvent.PREVIEW, events.get(0).what());
+    Assert.assertEquals(19 * 19, ((Shape) events.get(0).getDrawable()).size());
+    Assert.assertEquals(PipelineEvent.COMPLETED, events.get(1).what());
+    Assert.assertSame(task.getDrawable(), events.get(1).getDrawable());
+    Assert.assertNotNull(((Shape) task.getDrawable()).getColorMapper());
+
+    pipeline.shutdown();
+  }
+
+  @Test
+  public void failureRemovesPreview() throws Exception {
+    final List<PipelineEvent> events = new ArrayList<PipelineEvent>();
+    final CountDownLatch previewPublished = new CountDownLatch(1);
+
+    AsyncPipeline pipeline = new AsyncPipeline();
+    pipeline.addListener(new IPipelineListener() {
+      @Override
+      public void pipelineChanged(PipelineEvent e) {
+        synchronized (events) {
+          if (e.what() != PipelineEvent.PROGRESS)
+            events.add(e);
+        }
+        if (e.what() == PipelineEvent.PREVIEW)
+          previewPublished.countDown();
+      }
+    });
+
+    final TessellatorBuilder orthonormal = TessellatorBuilder.orthonormal();
+    IPipelineBuilder builder = new IPipelineBuilder() {
+      @Override
+      public Drawable build(List<Coord3d> coordinates, PipelineTask task) throws Exception {
+        if (coordinates.size() > 20 * 20) {
+          Assert.assertTrue(previewPublished.await(10, TimeUnit.SECONDS));
+          throw new IllegalStateException("full resolution build failed");
+        }
+        return orthonormal.build(coordinates, task);
+      }
+    };
+
+    PipelineTask task = pipeline.submit(new MapperGridLoader(mapper, new Range(-3, 3), 300),
+        builder, null, null);
+
+    Assert.assertTrue(task.await(10, TimeUnit.SECONDS));
+    Assert.assertFalse(task.isCompleted());
+    Assert.assertTrue(task.getError() instanceof IllegalStateException);
+    Assert.assertNull(task.getDrawable());
+
+    Assert.assertEquals(2, events.size());
+    Assert.assertEquals(PipelineEvent.PREVIEW, events.get(0).what());
+    Assert.assertEquals(PipelineEvent.FAILED, events.get(1).what());
+
+    pipeline.shutdown();
+  }
+
+  @Test
+  public void cancel() throws Exception {
+    AsyncPipeline pipeline = new AsyncPipeline();
+
+    Mapper slow = new Mapper() {
+      @Override
+      public double f(double x, double y) {
+        try {
+          Thread.sleep(1);
+        } catch (InterruptedException e) {
+        }
+        return x * y;
+      }
+    };
+    MapperGridLoader loader = new MapperGridLoader(slow, new Range(-3, 3), 1000);
+    loader.setPreviewSteps(0);
+    PipelineTask task = pipeline.submit(loader, TessellatorBuilder.orthonormal(), null, null);
+    task.cancel();
+
+    Assert.assertTrue(task.await(10, TimeUnit.SECONDS));
+    Assert.assertTrue(task.isCancelled());
+    Assert.assertFalse(task.isCompleted());
+    Assert.assertNull(task.getDrawable());
+
+    pipeline.shutdownNow();
+  }
+}
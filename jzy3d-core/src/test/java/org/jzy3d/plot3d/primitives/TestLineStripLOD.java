@@ -0,0 +1,96 @@
+package org.jzy3d.plot3d.primitives;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.jzy3d.maths.BoundingBox3d;
+import org.jzy3d.maths.Coord3d;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestLineStripLOD {
+  @Test
+  public void selectionIsDouglasPeucker() {
+    List<Point> points = randomWalk(5000, 0);
+    LineStripLOD lod = new LineStripLOD(points);
+
+    for (double threshold : new double[] {0, 0.001, 0.01, 0.05, 1}) {
+      TreeSet<Integer> expected = new TreeSet<Integer>();
+      expected.add(0);
+      expected.add(points.size() - 1);
+      douglasPeucker(points, lod.range, 0, points.size() - 1, threshold, expected);
+
+      int n = lod.select(threshold, null);
+      assertEquals(expected.size(), n);
+      int k = 0;
+      for (int index : expected)
+        assertEquals(index, lod.getIndices()[k++]);
+    }
+    assertEquals(2, lod.select(1, null));
+  }
+
+  @Test
+  public void runsOutOfTheViewAreSkipped() {
+    // a strip going along x, then coming back higher
+    List<Point> points = new ArrayList<Point>();
+    Random random = new Random(1);
+    for (int i = 0; i < 10000; i++)
+      points.add(new Point(new Coord3d(i, random.nextFloat(), 0)));
+    for (int i = 10000; i >= 0; i--)
+      points.add(new Point(new Coord3d(i, 10 + random.nextFloat(), 0)));
+    LineStripLOD lod = new LineStripLOD(points);
+
+    int all = lod.select(0, null);
+    assertEquals(points.size(), all);
+
+    // the second half is out of the view
+    int visible = lod.select(0, new BoundingBox3d(0, 10000, 0, 1, -1, 1));
+    Assert.assertTrue(visible + " vertices", visible < 10000 + 2 * LineStripLOD.BLOCK);
+    Assert.assertTrue(visible + " vertices", visible >= 10000);
+    assertEquals(points.size() - 1, lod.getIndices()[visible - 1]);
+  }
+
+  private static List<Point> randomWalk(int n, long seed) {
+    Random random = new Random(seed);
+    List<Point> points = new ArrayList<Point>();
+    Coord3d c = new Coord3d();
+    for (int i = 0; i < n; i++) {
+      c = c.add((float) random.nextGaussian(), (float) random.nextGaussian(),
+          (float) random.nextGaussian());
+      points.add(new Point(c));
+    }
+    return points;
+  }
+
+  private static void douglasPeucker(List<Point> points, float[] range, int i, int j,
+      double threshold, TreeSet<Integer> kept) {
+    if (j - i < 2)
+      return;
+    Coord3d a = normalize(points.get(i).xyz, range);
+    Coord3d ab = normalize(points.get(j).xyz, range).sub(a);
+    int farthest = -1;
+    double max = -1;
+    for (int k = i + 1; k < j; k++) {
+      Coord3d ac = normalize(points.get(k).xyz, range).sub(a);
+      double t = ab.dot(ab) > 0 ? Math.max(0, Math.min(1, ac.dot(ab) / ab.dot(ab))) : 0;
+      double d = ac.distance(ab.mul((float) t));
+      if (d > max) {
+        max = d;
+        farthest = k;
+      }
+    }
+    if (max > threshold) {
+      kept.add(farthest);
+      douglasPeucker(points, range, i, farthest, threshold, kept);
+      douglasPeucker(points, range, farthest, j, threshold, kept);
+    }
+  }
+
+  private static Coord3d normalize(Coord3d c, float[] range) {
+    return new Coord3d(c.x / range[0], c.y / range[1], c.z / range[2]);
+  }
+}
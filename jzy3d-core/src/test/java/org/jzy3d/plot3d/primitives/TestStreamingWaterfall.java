@@ -0,0 +1,74 @@
+package org.jzy3d.plot3d.primitives;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.FloatBuffer;
+
+import org.jzy3d.colors.Color;
+import org.jzy3d.colors.ColorMapper;
+import org.jzy3d.colors.colormaps.ColorMapRainbow;
+import org.jzy3d.maths.BoundingBox3d;
+import org.junit.Test;
+
+public class TestStreamingWaterfall {
+  @Test
+  public void keepsLatestRows() {
+    StreamingWaterfall waterfall = new StreamingWaterfall(new float[] {0, 1, 2}, 4);
+    for (int r = 0; r < 10; r++)
+      waterfall.append(new float[] {r, r, r}, r * 10);
+
+    assertEquals(4, waterfall.getRowCount());
+    assertEquals(10, waterfall.getAppended());
+
+    // the oldest kept row is row 6, the newest row 9
+    for (long r = 6; r < 10; r++) {
+      int slot = waterfall.getSlot(r);
+      assertEquals(r, waterfall.z[slot * 3], 0);
+      assertEquals(r * 10, waterfall.y[slot], 0);
+    }
+
+    BoundingBox3d bounds = waterfall.getBounds();
+    assertEquals(60, bounds.getYmin(), 0);
+    assertEquals(90, bounds.getYmax(), 0);
+    assertEquals(0, bounds.getZmin(), 0); // floor
+    assertEquals(9, bounds.getZmax(), 0);
+  }
+
+  @Test
+  public void colorsRowsWithMapper() {
+    ColorMapper mapper = new ColorMapper(new ColorMapRainbow(), 0, 10);
+    StreamingWaterfall waterfall = new StreamingWaterfall(new float[] {0, 1}, 2, mapper);
+    waterfall.append(new float[] {0, 10});
+
+    FloatBuffer row = FloatBuffer.allocate(waterfall.getRowSize());
+    waterfall.putRow(waterfall.getSlot(0), row);
+    assertEquals(0, row.remaining());
+
+    // vertex of value, vertex on floor, for each bin
+    assertRowVertex(row, 0, 0, 0, 0, mapper.getColor(0));
+    assertRowVertex(row, 1, 0, 0, 0, mapper.getColor(0));
+    assertRowVertex(row, 2, 1, 0, 10, mapper.getColor(10));
+    assertRowVertex(row, 3, 1, 0, 0, mapper.getColor(10));
+
+    // changing the mapper colors existing rows again
+    int version = waterfall.getVersion();
+    ColorMapper gray = new ColorMapper(new ColorMapRainbow(), 10, 20);
+    waterfall.setColorMapper(gray);
+    assertEquals(version + 1, waterfall.getVersion());
+    row.clear();
+    waterfall.putRow(waterfall.getSlot(0), row);
+    assertRowVertex(row, 2, 1, 0, 10, gray.getColor(10));
+  }
+
+  protected void assertRowVertex(FloatBuffer row, int vertex, float x, float y, float z,
+      Color color) {
+    int i = vertex * StreamingWaterfall.VERTEX_SIZE;
+    assertEquals(x, row.get(i), 0);
+    assertEquals(y, row.get(i + 1), 0);
+    assertEquals(z, row.get(i + 2), 0);
+    assertEquals(color.r, row.get(i + 3), 0.01);
+    assertEquals(color.g, row.get(i + 4), 0.01);
+    assertEquals(color.b, row.get(i + 5), 0.01);
+    assertEquals(color.a, row.get(i + 6), 0.01);
+  }
+}
@@ -0,0 +1,115 @@
+package org.jzy3d.plot3d.primitives;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Normal;
+import org.jzy3d.maths.Range;
+import org.jzy3d.plot3d.primitives.enlightables.EnlightablePolygon;
+import org.jzy3d.plot3d.builder.Mapper;
+import org.jzy3d.plot3d.builder.SurfaceBuilder;
+import org.junit.Test;
+
+public class TestVertexNormals {
+  @Test
+  public void normalsOfAPlaneAreThePlaneNormal() {
+    Shape surface = new SurfaceBuilder().orthonormal(plane(), new Range(-1, 1), 10);
+    VertexNormals normals = surface.computeVertexNormals();
+
+    // a 10x10 grid has 9x9 quads sharing 100 vertices
+    assertEquals(100, normals.getVertexCount());
+
+    Polygon p = (Polygon) surface.getDrawables().get(0);
+    Coord3d expected = Normal.compute(p.get(0).xyz, p.get(1).xyz, p.get(2).xyz);
+    for (int v = 0; v < normals.getVertexCount(); v++)
+      assertClose(expected, normals.getNormal(v), 1e-5);
+  }
+
+  @Test
+  public void remapUpdatesNormals() {
+    Shape surface = new SurfaceBuilder().orthonormal(plane(), new Range(-1, 1), 21);
+    VertexNormals normals = surface.computeVertexNormals();
+
+    Mapper paraboloid = new Mapper() {
+      @Override
+      public double f(double x, double y) {
+        return x * x + y * y;
+      }
+    };
+    paraboloid.remap(surface);
+
+    // at the apex, the normal is vertical, elsewhere it follows the gradient (2x, 2y)
+    for (int v = 0; v < normals.getVertexCount(); v++) {
+      Coord3d vertex = vertex(surface, normals, v);
+      Coord3d n = normals.getNormal(v);
+      if (Math.abs(vertex.x) < 0.9 && Math.abs(vertex.y) < 0.9) {
+        Coord3d expected = new Coord3d(-2 * vertex.x, -2 * vertex.y, 1).getNormalizedTo(1);
+        if (expected.z * n.z < 0)
+          expected = expected.mul(-1);
+        assertClose(expected, n, 0.05);
+      }
+    }
+
+    // remapping with the same function moves nothing
+    paraboloid.remap(surface);
+    assertEquals(0, normals.update());
+  }
+
+  @Test
+  public void enlightablePolygonsShareNormals() {
+    // two triangles of the z=x plane sharing the edge (1,0)-(0,1)
+    Coord3d c0 = new Coord3d(0, 0, 0);
+    Coord3d c1 = new Coord3d(1, 0, 1);
+    Coord3d c2 = new Coord3d(0, 1, 0);
+    Coord3d c3 = new Coord3d(1, 1, 1);
+    EnlightablePolygon a = triangle(c0, c1, c2);
+    EnlightablePolygon b = triangle(c1, c3, c2);
+    VertexNormals normals = new VertexNormals(Arrays.asList(a, b));
+
+    assertEquals(4, normals.getVertexCount());
+    assertSame(normals, a.getVertexNormals());
+    assertSame(normals, b.getVertexNormals());
+    assertEquals(normals.getVertex(0, 1), normals.getVertex(1, 0));
+
+    Coord3d expected = new Coord3d(-1, 0, 1).getNormalizedTo(1);
+    for (int v = 0; v < normals.getVertexCount(); v++) {
+      Coord3d n = normals.getNormal(v);
+      assertClose(n.z < 0 ? expected.mul(-1) : expected, n, 1e-5);
+    }
+  }
+
+  private static EnlightablePolygon triangle(Coord3d... corners) {
+    EnlightablePolygon p = new EnlightablePolygon();
+    for (Coord3d c : corners)
+      p.add(new Point(c));
+    return p;
+  }
+
+  private static Mapper plane() {
+    return new Mapper() {
+      @Override
+      public double f(double x, double y) {
+        return 0.5 * x - 0.25 * y;
+      }
+    };
+  }
+
+  private static Coord3d vertex(Shape surface, VertexNormals normals, int v) {
+    for (int f = 0; f < surface.size(); f++) {
+      Polygon p = (Polygon) surface.getDrawables().get(f);
+      for (int c = 0; c < p.size(); c++)
+        if (normals.getVertex(f, c) == v)
+          return p.get(c).xyz;
+    }
+    throw new IllegalArgumentException("no vertex " + v);
+  }
+
+  private static void assertClose(Coord3d expected, Coord3d actual, double delta) {
+    assertEquals(expected.x, actual.x, delta);
+    assertEquals(expected.y, actual.y, delta);
+    assertEquals(expected.z, actual.z, delta);
+  }
+}
@@ -0,0 +1,115 @@
+package org.jzy3d.plot3d.primitives.graphs.layout;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.jzy3d.maths.Coord2d;
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.graphs.DefaultGraph;
+import org.jzy3d.maths.graphs.IGraph;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestForceDirectedLayout {
+  @Test
+  public void connectedVerticesAreCloserThanOthers() {
+    // two cliques joined by a single edge
+    IGraph<Integer, String> graph = new DefaultGraph<Integer, String>();
+    for (int i = 0; i < 20; i++)
+      graph.addVertex(i);
+    for (int i = 0; i < 10; i++)
+      for (int j = i + 1; j < 10; j++) {
+        graph.addEdge(i + "-" + j, i, j);
+        graph.addEdge((i + 10) + "-" + (j + 10), i + 10, j + 10);
+      }
+    graph.addEdge("0-10", 0, 10);
+
+    ForceDirectedLayout<Integer, String> layout = new ForceDirectedLayout<Integer, String>(graph);
+    DefaultGraphLayout2d<Integer> positions = new DefaultGraphLayout2d<Integer>();
+    layout.setLayout(positions);
+    Coord2d first = positions.get(3);
+    layout.run(500, 0);
+
+    // the layout is updated in place
+    Assert.assertSame(first, positions.get(3));
+    assertEquals(layout.getPosition(3), positions.get(3));
+
+    // mean distance of pairs in the same clique, and of pairs in different cliques
+    double inside = 0;
+    double between = 0;
+    for (int i = 0; i < 20; i++)
+      for (int j = 0; j < 20; j++) {
+        double d = positions.get(i).distance(positions.get(j));
+        if (i / 10 == j / 10)
+          inside += d / 180;
+        else
+          between += d / 200;
+      }
+    Assert.assertTrue(inside + " < " + between, inside < between);
+  }
+
+  @Test
+  public void barnesHutApproximatesExactForces() {
+    IGraph<Integer, String> graph = new DefaultGraph<Integer, String>();
+    for (int i = 0; i < 3000; i++)
+      graph.addVertex(i);
+    for (int i = 1; i < 3000; i++)
+      graph.addEdge("e" + i, i, i / 2);
+
+    for (int dimensions = 2; dimensions <= 3; dimensions++) {
+      ForceDirectedLayout<Integer, String> exact =
+          new ForceDirectedLayout<Integer, String>(graph, dimensions);
+      exact.setTheta(0);
+      ForceDirectedLayout<Integer, String> approximate =
+          new ForceDirectedLayout<Integer, String>(graph, dimensions);
+      approximate.setTheta(0.5f);
+
+      exact.step();
+      approximate.step();
+
+      double error = 0;
+      double norm = 0;
+      for (int k = 0; k < exact.force.length; k++) {
+        error += Math.abs(exact.force[k] - approximate.force[k]);
+        norm += Math.abs(exact.force[k]);
+      }
+      Assert.assertTrue("relative error " + error / norm, error / norm < 0.05);
+    }
+  }
+
+  @Test
+  public void iterationBudget() {
+    IGraph<Integer, String> graph = new DefaultGraph<Integer, String>();
+    for (int i = 0; i < 100; i++)
+      graph.addVertex(i);
+    for (int i = 1; i < 100; i++)
+      graph.addEdge("e" + i, i, i - 1);
+
+    ForceDirectedLayout<Integer, String> layout = new ForceDirectedLayout<Integer, String>(graph, 3);
+    assertEquals(7, layout.run(7, 0));
+    assertEquals(7, layout.getIterations());
+
+    Coord3d p = layout.getPosition3d(50);
+    Assert.assertFalse(Float.isNaN(p.x) || Float.isNaN(p.y) || Float.isNaN(p.z));
+  }
+
+  @Test
+  public void aggregatedVerticesDoNotRepelThemselves() {
+    // coincident vertices are aggregated in a leaf at the maximum depth of the tree
+    IGraph<Integer, String> graph = new DefaultGraph<Integer, String>();
+    graph.addVertex(0);
+    graph.addVertex(1);
+
+    ForceDirectedLayout<Integer, String> layout = new ForceDirectedLayout<Integer, String>(graph);
+    Arrays.fill(layout.getPositions(), 0);
+    layout.buildTree();
+    int[] stack = new int[ForceDirectedLayout.MAX_DEPTH * 3 + 1];
+    layout.computeForce(0, stack);
+
+    // the push of a single coincident vertex, of length 1e-3 along each axis
+    float d = (float) Math.sqrt(2e-6);
+    float f = (float) Math.hypot(layout.force[0], layout.force[1]);
+    assertEquals(1 / d, f, 1e-3 / d);
+  }
+}
@@ -0,0 +1,101 @@
+package org.jzy3d.plot3d.rendering.scene;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jzy3d.maths.BoundingBox3d;
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.plot3d.primitives.Composite;
+import org.jzy3d.plot3d.primitives.Drawable;
+import org.jzy3d.plot3d.primitives.Point;
+import org.jzy3d.plot3d.primitives.Shape;
+import org.jzy3d.plot3d.transform.Scale;
+import org.jzy3d.plot3d.transform.Transform;
+import org.jzy3d.plot3d.transform.space.SpaceTransformLog;
+import org.jzy3d.plot3d.transform.space.SpaceTransformNone;
+import org.jzy3d.plot3d.transform.space.SpaceTransformer;
+import org.junit.Test;
+
+public class TestFrustumCuller {
+  /** Orthographic projection of the [-1;1] cube, as a column major matrix */
+  static final float[] IDENTITY =
+      new float[] {1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1};
+
+  @Test
+  public void classifyBounds() {
+    FrustumCuller culler = new FrustumCuller();
+    culler.update(IDENTITY, IDENTITY);
+
+    assertEquals(FrustumCuller.INSIDE,
+        culler.test(new BoundingBox3d(-0.5f, 0.5f, -0.5f, 0.5f, -0.5f, 0.5f), null));
+    assertEquals(FrustumCuller.INTERSECT,
+        culler.test(new BoundingBox3d(0.5f, 1.5f, -0.5f, 0.5f, -0.5f, 0.5f), null));
+    assertEquals(FrustumCuller.OUTSIDE,
+        culler.test(new BoundingBox3d(1.5f, 2.5f, -0.5f, 0.5f, -0.5f, 0.5f), null));
+    assertEquals(FrustumCuller.OUTSIDE,
+        culler.test(new BoundingBox3d(-0.5f, 0.5f, -0.5f, 0.5f, -3f, -2f), null));
+    // a box larger than the frustum in all directions intersects it
+    assertEquals(FrustumCuller.INTERSECT,
+        culler.test(new BoundingBox3d(-5, 5, -5, 5, -5, 5), null));
+    // unknown bounds are never culled
+    assertEquals(FrustumCuller.INTERSECT, culler.test(new BoundingBox3d(), null));
+
+    // a transform scaling the box down brings it in the frustum
+    Transform scale = new Transform(new Scale(new Coord3d(0.1, 0.1, 0.1)));
+    assertEquals(FrustumCuller.INSIDE,
+        culler.test(new BoundingBox3d(1.5f, 2.5f, -0.5f, 0.5f, -0.5f, 0.5f), scale));
+
+    // the modelview only applies to drawables without transform
+    float[] translate = IDENTITY.clone();
+    translate[12] = 2;
+    culler.update(IDENTITY, translate);
+    assertEquals(FrustumCuller.OUTSIDE,
+        culler.test(new BoundingBox3d(-0.5f, 0.5f, -0.5f, 0.5f, -0.5f, 0.5f), null));
+    assertEquals(FrustumCuller.INSIDE,
+        culler.test(new BoundingBox3d(-0.5f, 0.5f, -0.5f, 0.5f, -0.5f, 0.5f), scale));
+  }
+
+  @Test
+  public void spaceTransformerAppliesToBounds() {
+    FrustumCuller culler = new FrustumCuller();
+    culler.update(IDENTITY, IDENTITY);
+
+    // x = 2 is drawn at x = 0.69 on a log axis
+    Point point = new Point(new Coord3d(2, 0, 0));
+    assertEquals(FrustumCuller.OUTSIDE, culler.test(point));
+    point.setSpaceTransformer(new SpaceTransformer(new SpaceTransformLog(),
+        new SpaceTransformNone(), new SpaceTransformNone()));
+    assertEquals(FrustumCuller.INSIDE, culler.test(point));
+  }
+
+  @Test
+  public void decompositionSkipsCulledComposites() {
+    Composite inside = new Shape();
+    inside.add(new Point(new Coord3d(0, 0, 0)));
+    inside.add(new Point(new Coord3d(0.5, 0.5, 0)));
+
+    Composite outside = new Shape();
+    outside.add(new Point(new Coord3d(5, 0, 0)));
+    outside.add(new Point(new Coord3d(6, 0, 0)));
+
+    Composite across = new Shape();
+    across.add(new Point(new Coord3d(0.2, 0, 0)));
+    across.add(new Point(new Coord3d(4, 0, 0)));
+
+    List<Drawable> drawables = new ArrayList<Drawable>();
+    drawables.add(inside);
+    drawables.add(outside);
+    drawables.add(across);
+
+    FrustumCuller culler = new FrustumCuller();
+    culler.update(IDENTITY, IDENTITY);
+    List<Drawable> visible = Decomposition.getDecomposition(drawables, culler);
+
+    assertEquals(3, visible.size());
+    // 3 composites, then the 2 children of the composite crossing the frustum
+    assertEquals(5, culler.getTested());
+    assertEquals(2, culler.getCulled());
+  }
+}
@@ -0,0 +1,203 @@
+package org.jzy3d.plot3d.rendering.scene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jzy3d.colors.Color;
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Histogram;
+import org.jzy3d.painters.CommandBuffer;
+import org.jzy3d.painters.IPainter;
+import org.jzy3d.painters.RecordingPainter;
+import org.jzy3d.plot2d.primitives.Histogram2d;
+import org.jzy3d.plot3d.primitives.Point;
+import org.jzy3d.plot3d.primitives.Polygon;
+import org.jzy3d.plot3d.primitives.Shape;
+import org.jzy3d.plot3d.primitives.StreamingWaterfall;
+import org.jzy3d.plot3d.transform.Scale;
+import org.jzy3d.plot3d.transform.Transform;
+import org.junit.Test;
+
+public class TestRetainedRenderer {
+  @Test
+  public void replayInvokesRecordedCommands() {
+    Shape shape = shape();
+    shape.setTransform(new Transform(new Scale(new Coord3d(2, 2, 2))));
+
+    List<String> drawn = new ArrayList<String>();
+    CommandBuffer buffer = new CommandBuffer();
+    RecordingPainter recorder = new RecordingPainter(logger(drawn), buffer);
+    shape.draw(recorder);
+    assertTrue(recorder.end());
+
+    List<String> replayed = new ArrayList<String>();
+    buffer.replay(logger(replayed));
+
+    assertFalse(drawn.isEmpty());
+    assertEquals(drawn, replayed);
+  }
+
+  @Test
+  public void replayUntilChanged() {
+    Shape shape = shape();
+    RetainedRenderer retained = new RetainedRenderer();
+    List<String> calls = new ArrayList<String>();
+    IPainter painter = logger(calls);
+
+    retained.draw(shape, painter);
+    retained.draw(shape, painter);
+    assertEquals(1, retained.getRecorded());
+    assertEquals(1, retained.getReplayed());
+    assertTrue(retained.isRecorded(shape));
+
+    // a change of a child invalidates the subgraph
+    ((Polygon) shape.get(0)).setColor(Color.RED);
+    assertFalse(retained.isRecorded(shape));
+    retained.draw(shape, painter);
+    assertEquals(2, retained.getRecorded());
+
+    // children added later are listened too
+    Point point = new Point(new Coord3d(0, 0, 1), Color.BLUE);
+    shape.add(point);
+    retained.draw(shape, painter);
+    assertEquals(3, retained.getRecorded());
+    point.setColor(Color.GREEN);
+    assertFalse(retained.isRecorded(shape));
+  }
+
+  @Test
+  public void appendedDataIsRecordedAgain() {
+    StreamingWaterfall waterfall = new StreamingWaterfall(new float[] {0, 1, 2}, 4);
+    waterfall.append(new float[] {0.1f, 0.2f, 0.3f});
+    RetainedRenderer retained = new RetainedRenderer();
+    IPainter painter = logger(new ArrayList<String>());
+
+    retained.draw(waterfall, painter);
+    retained.draw(waterfall, painter);
+    assertEquals(1, retained.getRecorded());
+
+    waterfall.append(new float[] {0.4f, 0.5f, 0.6f});
+    assertFalse(retained.isRecorded(waterfall));
+    retained.draw(waterfall, painter);
+    assertEquals(2, retained.getRecorded());
+
+    Histogram2d histogram = new Histogram2d(new Histogram(0, 1, 4));
+    retained.draw(histogram.getDrawable(), painter);
+    histogram.update(new float[] {0.1f, 0.6f, 0.7f});
+    assertFalse(retained.isRecorded(histogram.getDrawable()));
+  }
+
+  @Test
+  public void viewDependentDrawablesAreNotRetained() {
+    Point point = new Point(new Coord3d(0, 0, 0), Color.BLUE) {
+      @Override
+      public void draw(IPainter painter) {
+        painter.getCamera();
+        super.draw(painter);
+      }
+    };
+    RetainedRenderer retained = new RetainedRenderer();
+    List<String> calls = new ArrayList<String>();
+    IPainter painter = logger(calls);
+
+    retained.draw(point, painter);
+    retained.draw(point, painter);
+    assertEquals(0, retained.getRecorded());
+    assertEquals(0, retained.getReplayed());
+    assertFalse(retained.isRecorded(point));
+  }
+
+  @Test
+  public void notRetainableDrawablesAreDrawnWithTheActualPainter() {
+    final List<IPainter> painters = new ArrayList<IPainter>();
+    Point point = new Point(new Coord3d(0, 0, 1), Color.BLUE) {
+      @Override
+      public void draw(IPainter painter) {
+        painters.add(painter);
+        super.draw(painter);
+      }
+
+      @Override
+      public boolean isRetainable() {
+        return false;
+      }
+    };
+    Shape shape = shape();
+    shape.add(point);
+    RetainedRenderer retained = new RetainedRenderer();
+    IPainter painter = logger(new ArrayList<String>());
+
+    retained.draw(shape, painter);
+    retained.draw(shape, painter);
+    assertEquals(0, retained.getRecorded());
+    assertEquals(2, painters.size());
+    assertSame(painter, painters.get(0));
+    assertSame(painter, painters.get(1));
+  }
+
+  @Test
+  public void drawablesNotDrawnAreForgotten() {
+    Shape shape = shape();
+    Polygon removed = (Polygon) shape.get(0);
+    RetainedRenderer retained = new RetainedRenderer();
+    retained.setMaxAge(2);
+    IPainter painter = logger(new ArrayList<String>());
+
+    // decomposition mode draws the children of the composite
+    retained.draw(removed, painter);
+    shape.remove(removed);
+    for (int i = 0; i < 4; i++)
+      retained.endFrame();
+    assertFalse(retained.isRecorded(removed));
+    assertTrue(retained.entries.isEmpty());
+
+    // drawables drawn at each frame are kept
+    retained.draw(shape, painter);
+    for (int i = 0; i < 4; i++) {
+      retained.endFrame();
+      retained.draw(shape, painter);
+    }
+    assertTrue(retained.isRecorded(shape));
+  }
+
+  /* */
+
+  protected Shape shape() {
+    Polygon p = new Polygon();
+    p.add(new Point(new Coord3d(0, 0, 0), Color.BLUE));
+    p.add(new Point(new Coord3d(1, 0, 0), Color.BLUE));
+    p.add(new Point(new Coord3d(1, 1, 0), Color.BLUE));
+    p.setWireframeColor(Color.BLACK);
+
+    Shape shape = new Shape();
+    shape.add(p);
+    return shape;
+  }
+
+  /** A painter logging the name and arguments of each invoked method */
+  protected IPainter logger(final List<String> calls) {
+    InvocationHandler handler = new InvocationHandler() {
+      @Override
+      public Object invoke(Object proxy, Method method, Object[] args) {
+        calls.add(method.getName() + (args == null ? "" : Arrays.deepToString(args)));
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class)
+          return false;
+        if (type == int.class)
+          return 0;
+        return null;
+      }
+    };
+    return (IPainter) Proxy.newProxyInstance(IPainter.class.getClassLoader(),
+        new Class<?>[] {IPainter.class}, handler);
+  }
+}
@@ -0,0 +1,49 @@
+package org.jzy3d.plot3d.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TestLabelDeclutterer {
+  @Test
+  public void rejectsOverlappingLabels() {
+    LabelDeclutterer d = new LabelDeclutterer(32, 0);
+    d.newFrame();
+
+    assertTrue(d.accept(1, 10, 10, 50, 10, 800, 600));
+    assertFalse(d.accept(2, 40, 15, 50, 10, 800, 600));
+    assertTrue(d.accept(3, 61, 10, 50, 10, 800, 600));
+    // spans many cells, and overlaps the first label only through its last cell
+    assertFalse(d.accept(4, 0, 19, 20, 100, 800, 600));
+    // out of screen labels are held by border cells
+    assertTrue(d.accept(5, -100, -100, 20, 10, 800, 600));
+    assertFalse(d.accept(6, -95, -95, 20, 10, 800, 600));
+
+    d.newFrame();
+    assertEquals(3, d.getLastAccepted());
+    assertEquals(3, d.getLastRejected());
+    assertTrue(d.accept(2, 40, 15, 50, 10, 800, 600));
+  }
+
+  @Test
+  public void hysteresisKeepsVisibleLabels() {
+    LabelDeclutterer d = new LabelDeclutterer(32, 2);
+    d.newFrame();
+    assertTrue(d.accept(1, 0, 0, 50, 10, 800, 600));
+    assertTrue(d.accept(2, 100, 0, 50, 10, 800, 600));
+
+    // label 2 moves left and touches label 1 by 1 pixel: it is kept as it was visible
+    d.newFrame();
+    assertTrue(d.accept(1, 0, 0, 50, 10, 800, 600));
+    assertTrue(d.accept(2, 49, 0, 50, 10, 800, 600));
+    assertFalse(d.accept(3, 98, 0, 50, 10, 800, 600));
+
+    // label 3 was not visible and must be 2 pixels away to appear
+    d.newFrame();
+    assertTrue(d.accept(2, 100, 0, 50, 10, 800, 600));
+    assertFalse(d.accept(3, 151, 0, 50, 10, 800, 600));
+    assertTrue(d.accept(3, 152.5f, 0, 50, 10, 800, 600));
+  }
+}
@@ -0,0 +1,99 @@
+package org.jzy3d.plot3d.transform;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Parallel;
+import org.jzy3d.painters.IPainter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestTransform {
+  @Test
+  public void matrixMatchesSequence() {
+    Transform transform = new Transform();
+    transform.add(new Scale(new Coord3d(2, 3, 0.5)));
+    transform.add(new Rotate(30, new Coord3d(1, 2, 3)));
+    transform.add(new Translate(new Coord3d(-1, 4, 2)));
+
+    Random random = new Random(0);
+    for (int i = 0; i < 100; i++) {
+      Coord3d c = new Coord3d(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+      assertClose(sequence(transform, c), transform.compute(c));
+    }
+  }
+
+  @Test
+  public void matrixFollowsParameterChanges() {
+    Rotate rotate = new Rotate(90, new Coord3d(0, 0, 1));
+    Transform transform = new Transform(rotate);
+    assertClose(new Coord3d(0, 1, 0), transform.compute(new Coord3d(1, 0, 0)));
+
+    rotate.setAngle(180);
+    assertClose(new Coord3d(-1, 0, 0), transform.compute(new Coord3d(1, 0, 0)));
+
+    transform.add(new Translate(new Coord3d(1, 2, 3)));
+    assertClose(new Coord3d(0, 2, 3), transform.compute(new Coord3d(1, 0, 0)));
+  }
+
+  @Test
+  public void bulkComputeMatchesSingleCompute() {
+    Transform transform = new Transform(new Rotate(45, new Coord3d(0, 1, 1)));
+    transform.add(new Scale(new Coord3d(1, 2, 3)));
+
+    Random random = new Random(1);
+    int n = Parallel.THRESHOLD + 17;
+    float[] xyz = new float[n * 3];
+    Coord3d[] coords = new Coord3d[n];
+    for (int i = 0; i < n; i++) {
+      coords[i] = new Coord3d(random.nextFloat(), random.nextFloat(), random.nextFloat());
+      xyz[i * 3] = coords[i].x;
+      xyz[i * 3 + 1] = coords[i].y;
+      xyz[i * 3 + 2] = coords[i].z;
+    }
+
+    float[] dst = new float[xyz.length];
+    transform.compute(xyz, dst);
+    Coord3d[] expected = new Coord3d[n];
+    for (int i = 0; i < n; i++)
+      expected[i] = transform.compute(coords[i]);
+    transform.computeInPlace(xyz);
+    transform.computeInPlace(coords);
+
+    Assert.assertArrayEquals(dst, xyz, 0);
+    for (int i = 0; i < n; i++) {
+      assertClose(expected[i], coords[i]);
+      assertClose(expected[i], new Coord3d(xyz[i * 3], xyz[i * 3 + 1], xyz[i * 3 + 2]));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void bulkComputeRejectsPartialCoordinates() {
+    new Transform(new Scale(new Coord3d(1, 1, 1))).computeInPlace(new float[4]);
+  }
+
+  /** Apply each transformer in turn, as done before matrices were composed */
+  private static Coord3d sequence(Transform transform, Coord3d input) {
+    Transform copy = new Transform(transform);
+    copy.add(new NotAMatrix());
+    return copy.compute(input);
+  }
+
+  private static void assertClose(Coord3d expected, Coord3d actual) {
+    assertEquals(expected.x, actual.x, 1e-4);
+    assertEquals(expected.y, actual.y, 1e-4);
+    assertEquals(expected.z, actual.z, 1e-4);
+  }
+
+  private static class NotAMatrix implements Transformer {
+    @Override
+    public void execute(IPainter painter) {}
+
+    @Override
+    public Coord3d compute(Coord3d input) {
+      return input;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package org.jzy3d.plot3d.transform.space;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Parallel;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestSpaceTransformer {
+  @Test
+  public void bulkComputeMatchesSingleCompute() {
+    SpaceTransformer transformer = new SpaceTransformer(new SpaceTransformLogX(10),
+        new SpaceTransformLog2(), new SpaceTransformLog());
+
+    Random random = new Random(0);
+    int n = Parallel.THRESHOLD + 11;
+    Coord3d[] coords = new Coord3d[n];
+    for (int i = 0; i < n; i++)
+      coords[i] = new Coord3d(random.nextFloat() * 100 - 10, random.nextFloat() * 100,
+          random.nextFloat() * 100);
+
+    float[] xyz = new float[n * 3];
+    transformer.compute(coords, xyz);
+    for (int i = 0; i < n; i++) {
+      Coord3d expected = transformer.compute(coords[i]);
+      assertEquals(expected.x, xyz[i * 3], 0);
+      assertEquals(expected.y, xyz[i * 3 + 1], 0);
+      assertEquals(expected.z, xyz[i * 3 + 2], 0);
+    }
+  }
+
+  @Test
+  public void cacheIsInvalidatedByTransformerOrData() {
+    SpaceTransformer transformer = new SpaceTransformer();
+    Assert.assertTrue(transformer.isIdentity());
+
+    Coord3d[] coords = {new Coord3d(10, 100, 1000)};
+    SpaceTransformCache cache = new SpaceTransformCache();
+    Assert.assertArrayEquals(new float[] {10, 100, 1000}, cache.get(coords, transformer), 0);
+
+    transformer.setY(new SpaceTransformLogX(10));
+    Assert.assertFalse(transformer.isIdentity());
+    Assert.assertArrayEquals(new float[] {10, 2, 1000}, cache.get(coords, transformer), 1e-6f);
+
+    // in place edits are only seen after invalidation
+    coords[0].y = 1000;
+    assertEquals(2, cache.get(coords, transformer)[1], 1e-6f);
+    cache.invalidate();
+    assertEquals(3, cache.get(coords, transformer)[1], 1e-6f);
+
+    Coord3d[] others = {new Coord3d(1, 10, 1), new Coord3d(1, 1, 1)};
+    Assert.assertArrayEquals(new float[] {1, 1, 1, 1, 0, 1}, cache.get(others, transformer),
+        1e-6f);
+  }
+}
@@ -7,6 +7,8 @@ import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
+import java.util.EnumMap;
+import java.util.Map;
 
 import javax.imageio.ImageIO;
 
@@ -623,10 +625,18 @@ public class EmulGLPainter extends AbstractPainter implements IPainter {
         color.b);
   }
 
+  /** AWT fonts are created once per font rather than for each label. */
   private java.awt.Font toAWT(Font font) {
-    return new java.awt.Font(font.getName(), java.awt.Font.PLAIN, font.getHeight());
+    java.awt.Font awtFont = awtFonts.get(font);
+    if (awtFont == null) {
+      awtFont = new java.awt.Font(font.getName(), java.awt.Font.PLAIN, font.getHeight());
+      awtFonts.put(font, awtFont);
+    }
+    return awtFont;
   }
 
+  private final Map<Font, java.awt.Font> awtFonts = new EnumMap<>(Font.class);
+
   // GL LISTS
 
   @Override
@@ -644,8 +654,10 @@ public class EmulGLPainter extends AbstractPainter implements IPainter {
     switch (mode) {
       case COMPILE:
         glNewList(list, GL.GL_COMPILE);
+        break;
       case COMPILE_AND_EXECUTE:
         glNewList(list, GL.GL_COMPILE_AND_EXECUTE);
+        break;
     }
   }
 
@@ -117,7 +117,8 @@ public class EmulGLAxisBox extends AxisBox {
 
     // Text of axis
     synchronized (ticks) {
-      for (Tick tick : ticks) {
+      for (int i = 0; i < tickCount; i++) {
+        Tick tick = ticks.get(i);
         // Coord3d screen = modelToScreen(tick.position);
         // glut.glutBitmapString(axisFont, tick.label, (int) screen.x,
         // canvas.getHeight() - (int) screen.y);
@@ -155,12 +156,18 @@ public class EmulGLAxisBox extends AxisBox {
     // super.drawAxisTickNumericLabel(painter, direction, color, hAlign, vAlign, ticksTxtBounds,
     // tickLabel, tickPosition);
 
-    Tick t = new Tick();
-    t.label = tickLabel;
-    t.position = tickPosition;
-
+    // reuse the ticks collected by previous frames
     synchronized (ticks) {
-      ticks.add(t);
+      Tick t;
+      if (tickCount < ticks.size())
+        t = ticks.get(tickCount);
+      else {
+        t = new Tick();
+        ticks.add(t);
+      }
+      t.label = tickLabel;
+      t.position = tickPosition;
+      tickCount++;
     }
   }
 
@@ -168,7 +175,7 @@ public class EmulGLAxisBox extends AxisBox {
   @Override
   public void drawTicksAndLabels(IPainter painter) {
     synchronized (ticks) {
-      ticks.clear();
+      tickCount = 0;
     }
     super.drawTicksAndLabels(painter);
   }
@@ -180,5 +187,6 @@ public class EmulGLAxisBox extends AxisBox {
   }
 
   List<Tick> ticks = new ArrayList<>();
+  int tickCount = 0;
 
 }
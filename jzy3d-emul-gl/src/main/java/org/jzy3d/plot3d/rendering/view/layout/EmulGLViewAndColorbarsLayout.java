@@ -61,6 +61,7 @@ public class EmulGLViewAndColorbarsLayout extends ViewAndColorbarsLayout {
     float slice = (right - left) / legends.size();
     int k = 0;
     for (ILegend legend : legends) {
+      legend.setCanvas(canvas);
       legend.setViewportMode(ViewportMode.STRETCH_TO_FILL);
       legend.setViewPort(canvas.getRendererWidth(), canvas.getRendererHeight(),
           left + slice * (k++), left + slice * k);
@@ -71,6 +72,7 @@ public class EmulGLViewAndColorbarsLayout extends ViewAndColorbarsLayout {
 
       if (legend instanceof AWTColorbarLegend) {
         AWTColorbarLegend leg = (AWTColorbarLegend) legend;
+        leg.publishReadyImage();
 
         int x = leg.getScreenLeft();
         // System.out.println(((AWTColorbarLegend) legend).getScreenLeft());
@@ -1,11 +1,14 @@
 package il.ac.idc.jdt;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.Vector;
@@ -60,12 +63,12 @@ public class DelaunayTriangulation {
 
   // additional data 4/8/05 used by the iterators
   private Set<Point> vertices;
-  private Vector<Triangle> triangles;
+  private List<Triangle> triangles;
 
   // The triangles that were deleted in the last deletePoint iteration.
-  private Vector<Triangle> deletedTriangles;
+  private List<Triangle> deletedTriangles;
   // The triangles that were added in the last deletePoint iteration.
-  private Vector<Triangle> addedTriangles;
+  private List<Triangle> addedTriangles;
 
   private int modCount = 0, modCount2 = 0;
 
@@ -77,6 +80,11 @@ public class DelaunayTriangulation {
    */
   private GridIndex gridIndex = null;
 
+  /** Size above which a bulk insertion indexes the triangulation for later queries */
+  public static final int BULK_INDEX_MIN_SIZE = 1000;
+  /** Average number of vertices per grid index cell after a bulk insertion */
+  public static final int BULK_INDEX_POINTS_PER_CELL = 16;
+
   /**
    * creates an empty Delaunay Triangulation.
    */
@@ -97,13 +105,37 @@ public class DelaunayTriangulation {
     bbMin = null;
     bbMax = null;
     this.vertices = new TreeSet<Point>();
-    triangles = new Vector<Triangle>();
+    triangles = new ArrayList<Triangle>();
     deletedTriangles = null;
-    addedTriangles = new Vector<Triangle>();
+    addedTriangles = new ArrayList<Triangle>();
     allCollinear = true;
     insertPoints(points);
   }
 
+  /**
+   * initialize this empty triangulation with triangles that were computed and linked elsewhere, as
+   * done by {@link ParallelDelaunayTriangulator}.
+   * 
+   * @param vertices the vertices of the triangles.
+   * @param start a finite triangle.
+   * @param startHull a half plane triangle.
+   */
+  void init(Set<Point> vertices, Triangle start, Triangle startHull) {
+    this.vertices = vertices;
+    for (Point p : vertices)
+      updateBoundingBox(p);
+    allCollinear = false;
+    startTriangle = start;
+    currT = start;
+    startTriangleHull = startHull;
+    modCount++;
+  }
+
+  /** true if all the vertices are collinear, in which case there are only half plane triangles. */
+  boolean isAllCollinear() {
+    return allCollinear;
+  }
+
   /**
    * the number of (different) vertices in this triangulation.
    * 
@@ -138,6 +170,27 @@ public class DelaunayTriangulation {
     }
   }
 
+  /**
+   * insert a large amount of points at once. Points are inserted in Biased Randomized Insertion
+   * Order (see {@link SpatialSort}) so that each point location walk starts close to the point, and
+   * the grid index is only built once all points are inserted instead of being updated after each
+   * insertion. The resulting triangulation is a Delaunay triangulation of the same points as with
+   * {@link #insertPoints(Collection)}, but may differ in case of cocircular points.
+   */
+  public void insertPointsBulk(Collection<Point> points) {
+    boolean indexed = gridIndex != null;
+    gridIndex = null;
+
+    for (Point p : SpatialSort.brio(points)) {
+      insertPoint(p);
+    }
+
+    if (!allCollinear && (indexed || size() > BULK_INDEX_MIN_SIZE)) {
+      int cells = Math.max(1, (int) Math.sqrt(size() / BULK_INDEX_POINTS_PER_CELL));
+      indexData(cells, cells);
+    }
+  }
+
   /**
    * insert the point to this Delaunay Triangulation. Note: if p is null or already exist in this
    * triangulation p is ignored.
@@ -201,15 +254,15 @@ public class DelaunayTriangulation {
     deleteUpdate(pointToDelete);
     for (Triangle t : deletedTriangles) {
       if (t == startTriangle) {
-        startTriangle = addedTriangles.elementAt(0);
+        startTriangle = addedTriangles.get(0);
         break;
       }
     }
     triangles.removeAll(deletedTriangles);
     triangles.addAll(addedTriangles);
     vertices.remove(pointToDelete);
-    addedTriangles.removeAllElements();
-    deletedTriangles.removeAllElements();
+    addedTriangles.clear();
+    deletedTriangles.clear();
   }
 
   /**
@@ -729,15 +782,16 @@ public class DelaunayTriangulation {
    *         ONLY if the are triangles (it there is only a half plane - returns an empty iterator
    */
   public Iterator<Triangle> getLastUpdatedTriangles() {
-    Vector<Triangle> tmp = new Vector<Triangle>();
-    if (this.trianglesSize() > 1) {
+    List<Triangle> tmp = new ArrayList<Triangle>();
+    // do not call trianglesSize() which would traverse all triangles at each insertion
+    if (!allCollinear && currT != null) {
       Triangle t = currT;
       allTriangles(t, tmp, this.modCount);
     }
     return tmp.iterator();
   }
 
-  private void allTriangles(Triangle curr, Vector<Triangle> front, int mc) {
+  private void allTriangles(Triangle curr, List<Triangle> front, int mc) {
     if (curr != null && curr.getMc() == mc && !front.contains(curr)) {
       front.add(curr);
       allTriangles(curr.getAbTriangle(), front, mc);
@@ -1340,7 +1394,7 @@ public class DelaunayTriangulation {
    */
   public Iterator<Triangle> trianglesIterator() {
     if (this.size() <= 2)
-      triangles = new Vector<Triangle>();
+      triangles = new ArrayList<Triangle>();
     initTriangles();
     return triangles.iterator();
   }
@@ -1385,11 +1439,11 @@ public class DelaunayTriangulation {
       return;
     if (this.size() > 2) {
       modCount2 = modCount;
-      Vector<Triangle> front = new Vector<Triangle>();
-      triangles = new Vector<Triangle>();
+      ArrayDeque<Triangle> front = new ArrayDeque<Triangle>();
+      triangles = new ArrayList<Triangle>();
       front.add(this.startTriangle);
       while (front.size() > 0) {
-        Triangle t = front.remove(0);
+        Triangle t = front.poll();
         if (t.isMark() == false) {
           t.setMark(true);
           triangles.add(t);
@@ -1405,7 +1459,7 @@ public class DelaunayTriangulation {
         }
       }
       for (int i = 0; i < triangles.size(); i++) {
-        triangles.elementAt(i).setMark(false);
+        triangles.get(i).setMark(false);
       }
     }
   }
@@ -1427,9 +1481,44 @@ public class DelaunayTriangulation {
     gridIndex = null;
   }
 
+  /**
+   * Return the finite triangles of the triangulation as an array of vertex indices, three per
+   * triangle, which avoids duplicating the vertices shared by adjacent triangles.
+   * 
+   * @param verticesOut receives the vertices referenced by the indices, in order of first use.
+   * @return an array of 3 * triangle count vertex indices.
+   */
+  public int[] getIndexedTriangulation(List<Point> verticesOut) {
+    if (this.size() <= 2)
+      triangles = new ArrayList<Triangle>();
+    initTriangles();
+
+    Map<Point, Integer> ids = new IdentityHashMap<Point, Integer>(size() * 2);
+    int[] indices = new int[triangles.size() * 3];
+    int k = 0;
+    for (Triangle t : triangles) {
+      if (t.isHalfplane())
+        continue;
+      indices[k++] = indexOf(t.getA(), ids, verticesOut);
+      indices[k++] = indexOf(t.getB(), ids, verticesOut);
+      indices[k++] = indexOf(t.getC(), ids, verticesOut);
+    }
+    return Arrays.copyOf(indices, k);
+  }
+
+  private static int indexOf(Point p, Map<Point, Integer> ids, List<Point> verticesOut) {
+    Integer id = ids.get(p);
+    if (id == null) {
+      id = verticesOut.size();
+      ids.put(p, id);
+      verticesOut.add(p);
+    }
+    return id;
+  }
+
   public List<Triangle> getTriangulation() {
     if (this.size() <= 2)
-      triangles = new Vector<Triangle>();
+      triangles = new ArrayList<Triangle>();
     initTriangles();
     List<Triangle> triangulation = new ArrayList<Triangle>(triangles);
     return triangulation;
@@ -90,8 +90,8 @@ public class GridIndex {
       BoundingBox region) {
     indexDelaunay = delaunay;
     indexRegion = region;
-    xSize = region.getWidth() / yCellCount;
-    ySize = region.getHeight() / xCellCount;
+    xSize = region.getWidth() / xCellCount;
+    ySize = region.getHeight() / yCellCount;
 
     // The grid will hold a trinagle for each cell, so a point (x,y) will
     // lie
@@ -110,9 +110,8 @@ public class GridIndex {
    * @return a triangle at the same cell of the point
    */
   public Triangle findCellTriangleOf(Point point) {
-    int xIndex = (int) ((point.getX() - indexRegion.minX()) / xSize);
-    int yIndex = (int) ((point.getY() - indexRegion.minY()) / ySize);
-    return grid[xIndex][yIndex];
+    PointInt cell = getCellOf(point);
+    return grid[cell.x][cell.y];
   }
 
   /**
@@ -141,8 +140,7 @@ public class GridIndex {
     // Bad news - the updated region lies outside the indexed region.
     // The whole index must be recalculated
     if (!indexRegion.contains(updatedRegion)) {
-      init(indexDelaunay, (int) (indexRegion.getWidth() / xSize),
-          (int) (indexRegion.getHeight() / ySize), indexRegion.unionWith(updatedRegion));
+      init(indexDelaunay, grid.length, grid[0].length, indexRegion.unionWith(updatedRegion));
     } else {
       // Find the cell region to be updated
       PointInt minInvalidCell = getCellOf(updatedRegion.getMinPoint());
@@ -209,21 +207,29 @@ public class GridIndex {
     else
       // Otherwise we can take an adjacent cell triangle that is still
       // valid
-      return grid[Math.min(0, minInvalidCell.getX())][Math.min(0, minInvalidCell.getY())];
+      return grid[Math.max(0, minInvalidCell.getX() - 1)][Math.max(0, minInvalidCell.getY() - 1)];
   }
 
   /**
-   * Locates the grid cell point covering the given coordinate
+   * Locates the grid cell point covering the given coordinate. Coordinates outside the indexed
+   * region are located in the nearest border cell.
    * 
    * @param coordinate world coordinate to locate
    * @return cell covering the coordinate
    */
   private PointInt getCellOf(Point coordinate) {
-    int xCell = (int) ((coordinate.getX() - indexRegion.minX()) / xSize);
-    int yCell = (int) ((coordinate.getY() - indexRegion.minY()) / ySize);
+    int xCell = cellIndex(coordinate.getX(), indexRegion.minX(), xSize, grid.length);
+    int yCell = cellIndex(coordinate.getY(), indexRegion.minY(), ySize, grid[0].length);
     return new PointInt(xCell, yCell);
   }
 
+  private static int cellIndex(double value, double min, double size, int count) {
+    if (!(size > 0))
+      return 0;
+    int i = (int) ((value - min) / size);
+    return Math.max(0, Math.min(count - 1, i));
+  }
+
   /**
    * Create a point at the center of a cell
    * 
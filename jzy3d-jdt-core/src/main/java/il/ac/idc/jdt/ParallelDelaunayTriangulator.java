@@ -0,0 +1,367 @@
+package il.ac.idc.jdt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+
+/**
+ * Computes a {@link DelaunayTriangulation} of a large point set using several threads.
+ *
+ * Points are sorted by x and split into vertical strips that are triangulated concurrently on a
+ * {@link ForkJoinPool}. A triangle of a strip whose circumcircle lies strictly between the
+ * neighbouring strips can not contain a point of another strip, it is thus a triangle of the
+ * global triangulation and is kept as is. The seams are made of the other triangles: their
+ * vertices and the convex hull vertices of each strip are triangulated again, and the seam
+ * triangles that are not covered by a kept strip triangle fill the gaps. Kept triangles are finally linked to each other
+ * and to new half planes along the global convex hull, so that the result supports the same
+ * queries and updates as a triangulation built point by point.
+ *
+ * Duplicated points (same x and y) are ignored. With cocircular points, the result is a valid
+ * Delaunay triangulation that may differ from the sequential one.
+ */
+public class ParallelDelaunayTriangulator {
+  /** Strips are not made smaller than this amount of points */
+  public static final int DEFAULT_MIN_PARTITION_SIZE = 50000;
+
+  /** Number of strips per thread, more strips balance the load but enlarge the seams */
+  public static final int PARTITIONS_PER_THREAD = 2;
+
+  public ParallelDelaunayTriangulator() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public ParallelDelaunayTriangulator(ForkJoinPool pool) {
+    this.pool = pool;
+    this.minPartitionSize = DEFAULT_MIN_PARTITION_SIZE;
+    this.partitions = 0;
+  }
+
+  /**
+   * Triangulate the points. If there are not enough points to fill two strips, the points are
+   * triangulated sequentially with {@link DelaunayTriangulation#insertPointsBulk(Collection)}.
+   */
+  public DelaunayTriangulation triangulate(Collection<Point> points) {
+    final Point[] sorted = sortUnique(points);
+    int n = sorted.length;
+    int k = getPartitionCount(n);
+
+    if (k < 2) {
+      DelaunayTriangulation dt = new DelaunayTriangulation();
+      dt.insertPointsBulk(Arrays.asList(sorted));
+      return dt;
+    }
+
+    // Vertex set of the result, built while strips are triangulated
+    ForkJoinTask<Set<Point>> vertices = pool.submit(new Callable<Set<Point>>() {
+      @Override
+      public Set<Point> call() {
+        return new TreeSet<Point>(Arrays.asList(sorted));
+      }
+    });
+
+    // Triangulate strips
+    final Partition[] parts = new Partition[k];
+    for (int i = 0; i < k; i++)
+      parts[i] = new Partition(sorted, (int) ((long) n * i / k), (int) ((long) n * (i + 1) / k));
+    for (int i = 0; i < k; i++) {
+      parts[i].lowBound = i > 0 ? parts[i - 1].maxX : Double.NEGATIVE_INFINITY;
+      parts[i].highBound = i < k - 1 ? parts[i + 1].minX : Double.POSITIVE_INFINITY;
+    }
+    pool.invoke(new TriangulateTask(parts, 0, k));
+
+    // Triangulate seams
+    List<Point> seamPoints = new ArrayList<Point>();
+    for (Partition part : parts)
+      seamPoints.addAll(part.seamPoints);
+    final DelaunayTriangulation seam = new DelaunayTriangulation();
+    seam.insertPointsBulk(seamPoints);
+
+    if (seamPoints.size() == n || seam.isAllCollinear()) {
+      vertices.join();
+      return seam;
+    }
+
+    // Keep seam triangles that are not covered by kept strip triangles
+    List<Triangle> kept = pool.submit(new Callable<List<Triangle>>() {
+      @Override
+      public List<Triangle> call() {
+        return seam.getTriangulation().parallelStream()
+            .filter(t -> !t.isHalfplane() && !isCovered(parts, t)).collect(Collectors.toList());
+      }
+    }).join();
+
+    List<Triangle> triangles = new ArrayList<Triangle>(kept);
+    for (Partition part : parts)
+      triangles.addAll(part.safeTriangles);
+
+    return link(triangles, kept, vertices.join());
+  }
+
+  /* */
+
+  protected int getPartitionCount(int size) {
+    int k = partitions > 0 ? partitions : pool.getParallelism() * PARTITIONS_PER_THREAD;
+    return Math.min(k, size / Math.max(1, minPartitionSize));
+  }
+
+  protected static Point[] sortUnique(Collection<Point> points) {
+    Point[] sorted = points.toArray(new Point[points.size()]);
+    Arrays.parallelSort(sorted);
+    int n = 0;
+    for (int i = 0; i < sorted.length; i++)
+      if (n == 0 || sorted[i].compareTo(sorted[n - 1]) != 0)
+        sorted[n++] = sorted[i];
+    return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+  }
+
+  /**
+   * Return true if the centroid of the seam triangle lies inside a triangle that was kept in the
+   * strip triangulations, i.e. if the seam triangle overlaps them.
+   */
+  protected static boolean isCovered(Partition[] parts, Triangle t) {
+    Point c = new Point((t.getA().getX() + t.getB().getX() + t.getC().getX()) / 3,
+        (t.getA().getY() + t.getB().getY() + t.getC().getY()) / 3);
+
+    // first strip that may contain c, others are tested as strips may share an x value
+    int lo = 0, hi = parts.length - 1;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (parts[mid].maxX < c.getX())
+        lo = mid + 1;
+      else
+        hi = mid;
+    }
+    for (int i = lo; i < parts.length && parts[i].minX <= c.getX(); i++) {
+      if (parts[i].dt.isAllCollinear())
+        continue;
+      Triangle f = parts[i].dt.find(c);
+      if (f != null && !f.isHalfplane() && f.isMark())
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * Link the neighbours of the triangles that were computed in separate triangulations and close
+   * the convex hull with half planes. Strip triangles already know their neighbours in the strip
+   * and seam triangles their neighbours in the seam: only the edges that face a dropped triangle
+   * are matched again.
+   */
+  protected DelaunayTriangulation link(List<Triangle> triangles, List<Triangle> kept,
+      Set<Point> vertices) {
+    // strip triangles are marked since their classification
+    for (Triangle t : kept)
+      t.setMark(true);
+
+    Map<Edge, Triangle> open = new HashMap<Edge, Triangle>();
+    for (Triangle t : triangles) {
+      if (!isLinked(t.getAbTriangle()))
+        open.put(new Edge(t.getA(), t.getB()), t);
+      if (!isLinked(t.getBcTriangle()))
+        open.put(new Edge(t.getB(), t.getC()), t);
+      if (!isLinked(t.getCaTriangle()))
+        open.put(new Edge(t.getC(), t.getA()), t);
+    }
+
+    Map<Point, Triangle> hull = new IdentityHashMap<Point, Triangle>();
+    for (Map.Entry<Edge, Triangle> e : open.entrySet()) {
+      Edge edge = e.getKey();
+      Triangle t = e.getValue();
+      Triangle opposite = open.get(new Edge(edge.to, edge.from));
+      if (opposite == null) {
+        opposite = new Triangle(edge.to, edge.from);
+        opposite.setAbTriangle(t);
+        hull.put(opposite.getA(), opposite);
+      }
+      setNeighbor(t, edge.from, opposite);
+    }
+
+    // chain half planes along the hull
+    Triangle startHull = null;
+    for (Triangle h : hull.values()) {
+      Triangle next = hull.get(h.getB());
+      h.setBcTriangle(next);
+      next.setCanext(h);
+      startHull = h;
+    }
+
+    for (Triangle t : triangles)
+      t.setMark(false);
+
+    DelaunayTriangulation dt = new DelaunayTriangulation();
+    dt.init(vertices, triangles.get(0), startHull);
+    if (vertices.size() > DelaunayTriangulation.BULK_INDEX_MIN_SIZE) {
+      int cells =
+          (int) Math.sqrt(vertices.size() / DelaunayTriangulation.BULK_INDEX_POINTS_PER_CELL);
+      dt.indexData(cells, cells);
+    }
+    return dt;
+  }
+
+  private static boolean isLinked(Triangle neighbor) {
+    return neighbor != null && !neighbor.isHalfplane() && neighbor.isMark();
+  }
+
+  /** set the neighbour of t on the edge starting at the given vertex. */
+  private static void setNeighbor(Triangle t, Point from, Triangle neighbor) {
+    if (t.getA() == from)
+      t.setAbTriangle(neighbor);
+    else if (t.getB() == from)
+      t.setBcTriangle(neighbor);
+    else
+      t.setCanext(neighbor);
+  }
+
+  /* */
+
+  public ForkJoinPool getPool() {
+    return pool;
+  }
+
+  public int getMinPartitionSize() {
+    return minPartitionSize;
+  }
+
+  public void setMinPartitionSize(int minPartitionSize) {
+    this.minPartitionSize = minPartitionSize;
+  }
+
+  public int getPartitions() {
+    return partitions;
+  }
+
+  /**
+   * Set the number of strips, or 0 to derive it from the pool parallelism. The number of strips is
+   * reduced if strips would have less than {@link #getMinPartitionSize()} points.
+   */
+  public void setPartitions(int partitions) {
+    this.partitions = partitions;
+  }
+
+  /* */
+
+  /** A vertical strip of the sorted points */
+  protected static class Partition {
+    public Partition(Point[] sorted, int from, int to) {
+      this.points = Arrays.asList(sorted).subList(from, to);
+      this.minX = sorted[from].getX();
+      this.maxX = sorted[to - 1].getX();
+    }
+
+    /**
+     * Triangulate the strip and classify its triangles: those whose circumcircle does not reach the
+     * neighbouring strips are marked and kept, vertices of the others and hull vertices go to the
+     * seams.
+     */
+    public void triangulate() {
+      dt = new DelaunayTriangulation();
+      dt.insertPointsBulk(points);
+      safeTriangles = new ArrayList<Triangle>();
+
+      if (dt.isAllCollinear()) {
+        seamPoints = points;
+        return;
+      }
+
+      Set<Point> seam = Collections.newSetFromMap(new IdentityHashMap<Point, Boolean>());
+      for (Triangle t : dt.getTriangulation()) {
+        if (t.isHalfplane()) {
+          seam.add(t.getA());
+          seam.add(t.getB());
+        } else if (isSafe(t)) {
+          t.setMark(true);
+          safeTriangles.add(t);
+        } else {
+          seam.add(t.getA());
+          seam.add(t.getB());
+          seam.add(t.getC());
+        }
+      }
+      seamPoints = new ArrayList<Point>(seam);
+    }
+
+    protected boolean isSafe(Triangle t) {
+      Circle circle = t.getCircumcircle();
+      double r = Math.sqrt(circle.radius());
+      double cx = circle.center().getX();
+      double margin = EPSILON * (Math.abs(cx) + r);
+      return cx - r > lowBound + margin && cx + r < highBound - margin;
+    }
+
+    protected List<Point> points;
+    protected double minX;
+    protected double maxX;
+    protected double lowBound;
+    protected double highBound;
+    protected DelaunayTriangulation dt;
+    protected List<Triangle> safeTriangles;
+    protected List<Point> seamPoints;
+  }
+
+  protected static final double EPSILON = 1e-12;
+
+  /** Triangulates a range of partitions by recursively splitting it */
+  protected static class TriangulateTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    public TriangulateTask(Partition[] parts, int from, int to) {
+      this.parts = parts;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        parts[from].triangulate();
+      } else {
+        int mid = (from + to) >>> 1;
+        invokeAll(new TriangulateTask(parts, from, mid), new TriangulateTask(parts, mid, to));
+      }
+    }
+
+    protected Partition[] parts;
+    protected int from;
+    protected int to;
+  }
+
+  /** A directed edge between two vertices, compared by identity */
+  protected static class Edge {
+    public Edge(Point from, Point to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(from) * 31 + System.identityHashCode(to);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Edge))
+        return false;
+      Edge other = (Edge) obj;
+      return from == other.from && to == other.to;
+    }
+
+    protected Point from;
+    protected Point to;
+  }
+
+  protected ForkJoinPool pool;
+  protected int minPartitionSize;
+  protected int partitions;
+}
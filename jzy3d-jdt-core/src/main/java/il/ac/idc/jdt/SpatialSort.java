@@ -0,0 +1,139 @@
+package il.ac.idc.jdt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Orders points for incremental insertion into a {@link DelaunayTriangulation}.
+ *
+ * Inserting points along a space filling curve keeps consecutive points close to each other, so
+ * that the point location walk started from the last created triangle only crosses a few
+ * triangles. Inserting them in a purely sorted order however builds long thin triangles that are
+ * flipped again and again, which is why points are first dispatched into rounds of growing size in
+ * random order (Biased Randomized Insertion Order, Amenta, Choi and Rote 2003) and then sorted
+ * along a Hilbert curve inside each round.
+ *
+ * The random generator uses a fixed seed so that a given input always produces the same
+ * triangulation.
+ */
+public class SpatialSort {
+  public static final long DEFAULT_SEED = 0x5DEECE66DL;
+
+  /** Number of bits per axis used to quantize coordinates on the Hilbert curve */
+  protected static final int HILBERT_ORDER = 15;
+
+  /** Rounds smaller than this are merged with the next one */
+  protected static final int MIN_ROUND_SIZE = 64;
+
+  /** Return the points in Biased Randomized Insertion Order with a default seed. */
+  public static List<Point> brio(Collection<Point> points) {
+    return brio(points, DEFAULT_SEED);
+  }
+
+  /**
+   * Return the points in Biased Randomized Insertion Order: points are shuffled, split into rounds
+   * of size n/2^k, ..., n/4, n/2 that are inserted from the smallest one, and each round is sorted
+   * along a Hilbert curve.
+   */
+  public static List<Point> brio(Collection<Point> points, long seed) {
+    Point[] array = points.toArray(new Point[points.size()]);
+    shuffle(array, new Random(seed));
+
+    BoundingBox box = bounds(array);
+    int end = array.length;
+    // rounds are listed from the last (largest) one, located at the end of the array
+    List<int[]> rounds = new ArrayList<int[]>();
+    while (end > 0) {
+      int start = end / 2 < MIN_ROUND_SIZE ? 0 : end / 2;
+      rounds.add(new int[] {start, end});
+      end = start;
+    }
+    for (int[] round : rounds)
+      hilbertSort(array, round[0], round[1], box);
+    return Arrays.asList(array);
+  }
+
+  /** Return the points sorted along a Hilbert curve spanning their bounding box. */
+  public static List<Point> hilbert(Collection<Point> points) {
+    Point[] array = points.toArray(new Point[points.size()]);
+    hilbertSort(array, 0, array.length, bounds(array));
+    return Arrays.asList(array);
+  }
+
+  /**
+   * Sort the [from;to[ range of the array along a Hilbert curve spanning the given box. Each point
+   * is given a key made of its curve index in the upper bits and its position in the lower bits,
+   * so that sorting is made on a primitive array.
+   */
+  protected static void hilbertSort(Point[] points, int from, int to, BoundingBox box) {
+    int n = to - from;
+    if (n < 2)
+      return;
+    int side = 1 << HILBERT_ORDER;
+    double sx = box.getWidth() > 0 ? (side - 1) / box.getWidth() : 0;
+    double sy = box.getHeight() > 0 ? (side - 1) / box.getHeight() : 0;
+
+    long[] keys = new long[n];
+    for (int i = 0; i < n; i++) {
+      Point p = points[from + i];
+      int x = (int) ((p.getX() - box.minX()) * sx);
+      int y = (int) ((p.getY() - box.minY()) * sy);
+      keys[i] = ((long) hilbertIndex(x, y, HILBERT_ORDER) << 32) | i;
+    }
+    Arrays.sort(keys);
+
+    Point[] sorted = new Point[n];
+    for (int i = 0; i < n; i++)
+      sorted[i] = points[from + (int) (keys[i] & 0xFFFFFFFFL)];
+    System.arraycopy(sorted, 0, points, from, n);
+  }
+
+  /** Return the index of cell (x,y) on a Hilbert curve covering a 2^order x 2^order grid. */
+  public static int hilbertIndex(int x, int y, int order) {
+    int n = 1 << order;
+    int d = 0;
+    for (int s = 1 << (order - 1); s > 0; s >>= 1) {
+      int rx = (x & s) > 0 ? 1 : 0;
+      int ry = (y & s) > 0 ? 1 : 0;
+      d += s * s * ((3 * rx) ^ ry);
+
+      // rotate the quadrant
+      if (ry == 0) {
+        if (rx == 1) {
+          x = n - 1 - x;
+          y = n - 1 - y;
+        }
+        int t = x;
+        x = y;
+        y = t;
+      }
+    }
+    return d;
+  }
+
+  protected static void shuffle(Point[] points, Random random) {
+    for (int i = points.length - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      Point t = points[i];
+      points[i] = points[j];
+      points[j] = t;
+    }
+  }
+
+  protected static BoundingBox bounds(Point[] points) {
+    if (points.length == 0)
+      return new BoundingBox();
+    double minx = Double.MAX_VALUE, miny = Double.MAX_VALUE;
+    double maxx = -Double.MAX_VALUE, maxy = -Double.MAX_VALUE;
+    for (Point p : points) {
+      minx = Math.min(minx, p.getX());
+      maxx = Math.max(maxx, p.getX());
+      miny = Math.min(miny, p.getY());
+      maxy = Math.max(maxy, p.getY());
+    }
+    return new BoundingBox(minx, maxx, miny, maxy, 0, 0);
+  }
+}
@@ -148,6 +148,11 @@ public class Triangle implements Serializable {
     return circum;
   }
 
+  /** the last computed circumcircle, null for half planes. */
+  Circle getCircumcircle() {
+    return circum;
+  }
+
   boolean circumcircleContains(Point p) {
 
     return circum.radius() > circum.center().distance2(p);
@@ -0,0 +1,49 @@
+package il.ac.idc.jdt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the throughput of the sequential and parallel triangulations on uniformly distributed
+ * random points.
+ *
+ * Run with the point counts as arguments, e.g. <code>1000000 5000000 20000000</code>, and a heap
+ * large enough to hold both triangulations (about 1GB per million points).
+ */
+public class DelaunayBenchmark {
+  public static void main(String[] args) {
+    String[] sizes =
+        args.length > 0 ? args : new String[] {"1000000", "5000000", "10000000", "20000000"};
+
+    for (String size : sizes) {
+      List<Point> points = randomPoints(Integer.parseInt(size), 0);
+
+      long start = System.nanoTime();
+      DelaunayTriangulation dt = new DelaunayTriangulation();
+      dt.insertPointsBulk(points);
+      report("sequential", points.size(), start, dt);
+      dt = null;
+
+      start = System.nanoTime();
+      dt = new ParallelDelaunayTriangulator().triangulate(points);
+      report("parallel  ", points.size(), start, dt);
+      dt = null;
+    }
+  }
+
+  protected static void report(String name, int size, long start, DelaunayTriangulation dt) {
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.println(name + " " + size + " points : " + String.format("%.2f", seconds) + "s, "
+        + String.format("%.0f", size / seconds) + " points/s, " + dt.trianglesSize()
+        + " triangles");
+  }
+
+  protected static List<Point> randomPoints(int size, long seed) {
+    Random r = new Random(seed);
+    List<Point> points = new ArrayList<Point>(size);
+    for (int i = 0; i < size; i++)
+      points.add(new Point(r.nextDouble(), r.nextDouble(), r.nextDouble()));
+    return points;
+  }
+}
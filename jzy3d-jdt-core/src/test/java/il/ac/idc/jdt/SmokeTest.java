@@ -5,8 +5,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -44,4 +48,78 @@ public class SmokeTest {
       }
     }
   }
+
+  @Test
+  public void shouldBulkInsertSameTriangulation() {
+    Random r = new Random(0);
+    List<Point> points = new ArrayList<Point>();
+    for (int i = 0; i < 20000; i++)
+      points.add(new Point(r.nextDouble(), r.nextDouble(), r.nextDouble()));
+
+    DelaunayTriangulation incremental = new DelaunayTriangulation(points);
+    DelaunayTriangulation bulk = new DelaunayTriangulation();
+    bulk.insertPointsBulk(points);
+
+    Assert.assertEquals(incremental.size(), bulk.size());
+    Assert.assertEquals(triangleKeys(incremental), triangleKeys(bulk));
+
+    // indexed output references each vertex once
+    List<Point> vertices = new ArrayList<Point>();
+    int[] indices = bulk.getIndexedTriangulation(vertices);
+    Assert.assertEquals(points.size(), vertices.size());
+    Assert.assertEquals(triangleKeys(bulk).size() * 3, indices.length);
+
+    // queries use the grid index built after bulk insertion
+    for (int i = 0; i < 1000; i++) {
+      Point q = new Point(r.nextDouble() * 0.9 + 0.05, r.nextDouble() * 0.9 + 0.05);
+      Assert.assertEquals(incremental.z(q.getX(), q.getY()), bulk.z(q.getX(), q.getY()), 1e-9);
+    }
+    Assert.assertTrue(bulk.find(new Point(2, 2)).isHalfplane());
+  }
+
+  @Test
+  public void shouldTriangulateInParallelSameTriangulation() {
+    Random r = new Random(1);
+    List<Point> points = new ArrayList<Point>();
+    for (int i = 0; i < 50000; i++)
+      points.add(new Point(r.nextDouble(), r.nextDouble(), r.nextDouble()));
+    // duplicates are ignored
+    points.add(new Point(points.get(0).getX(), points.get(0).getY()));
+
+    DelaunayTriangulation sequential = new DelaunayTriangulation(points);
+    ParallelDelaunayTriangulator triangulator = new ParallelDelaunayTriangulator();
+    triangulator.setPartitions(8);
+    triangulator.setMinPartitionSize(1000);
+    DelaunayTriangulation parallel = triangulator.triangulate(points);
+
+    Assert.assertEquals(sequential.size(), parallel.size());
+    Assert.assertEquals(triangleKeys(sequential), triangleKeys(parallel));
+    Assert.assertEquals(sequential.trianglesSize(), parallel.trianglesSize());
+
+    for (int i = 0; i < 1000; i++) {
+      Point q = new Point(r.nextDouble() * 0.9 + 0.05, r.nextDouble() * 0.9 + 0.05);
+      Assert.assertEquals(sequential.z(q.getX(), q.getY()), parallel.z(q.getX(), q.getY()), 1e-9);
+    }
+
+    // the linked triangulation can still be updated
+    Point inside = new Point(0.5, 0.5, 1);
+    Point outside = new Point(2, 2, 1);
+    sequential.insertPoint(inside);
+    sequential.insertPoint(outside);
+    parallel.insertPoint(inside);
+    parallel.insertPoint(outside);
+    Assert.assertEquals(triangleKeys(sequential), triangleKeys(parallel));
+  }
+
+  private static Set<String> triangleKeys(DelaunayTriangulation dt) {
+    Set<String> keys = new HashSet<String>();
+    for (Triangle t : dt.getTriangulation()) {
+      if (t.isHalfplane())
+        continue;
+      Point[] p = {t.getA(), t.getB(), t.getC()};
+      Arrays.sort(p);
+      keys.add(Arrays.toString(p));
+    }
+    return keys;
+  }
 }
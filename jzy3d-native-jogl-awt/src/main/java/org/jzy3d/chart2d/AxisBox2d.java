@@ -34,8 +34,13 @@ public class AxisBox2d extends AxisBox {
     wholeBounds.reset();
     wholeBounds.add(boxBounds);
 
-    drawTicksAndLabelsX(painter);
-    drawTicksAndLabelsY(painter);
+    textRenderer.beginBatch(painter);
+    try {
+      drawTicksAndLabelsX(painter);
+      drawTicksAndLabelsY(painter);
+    } finally {
+      textRenderer.flush(painter);
+    }
   }
 
   /** Force given X axis to be used for tick placement */
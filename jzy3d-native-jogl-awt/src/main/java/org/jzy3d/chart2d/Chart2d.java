@@ -6,8 +6,12 @@ import java.util.Map;
 
 import org.jzy3d.chart.AWTNativeChart;
 import org.jzy3d.chart.factories.IChartFactory;
+import org.jzy3d.events.IViewLifecycleEventListener;
+import org.jzy3d.events.ViewLifecycleEvent;
 import org.jzy3d.maths.BoundingBox3d;
+import org.jzy3d.maths.RingBuffer2d;
 import org.jzy3d.plot2d.primitives.Serie2d;
+import org.jzy3d.plot2d.primitives.StreamingSerie2d;
 import org.jzy3d.plot3d.primitives.axis.layout.IAxisLayout;
 import org.jzy3d.plot3d.primitives.axis.layout.renderers.ElapsedTimeTickRenderer;
 import org.jzy3d.plot3d.rendering.canvas.Quality;
@@ -46,10 +50,103 @@ public class Chart2d extends AWTNativeChart {
     view.setBoundManual(new BoundingBox3d(0, timeMax, ymin, ymax, -1, 1));
   }
 
+  /**
+   * Layout a chart which x axis scrolls to show the last <code>window</code> of its
+   * {@link StreamingSerie2d}s, and which y axis fits the values they hold.
+   */
+  public void asStreamingChart(double window, String xlabel, String ylabel) {
+    asStreamingChart(window, Float.NaN, Float.NaN, xlabel, ylabel);
+  }
+
+  /**
+   * Layout a chart which x axis scrolls to show the last <code>window</code> of its
+   * {@link StreamingSerie2d}s, and which y axis shows [ymin, ymax]. Samples out of the window are
+   * forgotten by the series.
+   */
+  public void asStreamingChart(double window, float ymin, float ymax, String xlabel,
+      String ylabel) {
+    IAxisLayout axe = getAxisLayout();
+    axe.setYAxisLabel(ylabel);
+    axe.setXAxisLabel(xlabel);
+    axe.setXTickRenderer(new ElapsedTimeTickRenderer());
+
+    scrollWindow = window;
+    scrollYmin = ymin;
+    scrollYmax = ymax;
+    for (Serie2d serie : series.values())
+      if (serie instanceof StreamingSerie2d)
+        ((StreamingSerie2d) serie).setWindow(window);
+
+    if (scroller == null) {
+      scroller = new IViewLifecycleEventListener() {
+        @Override
+        public void viewHasInit(ViewLifecycleEvent e) {}
+
+        @Override
+        public void viewWillRender(ViewLifecycleEvent e) {
+          scroll();
+        }
+      };
+      getView().addViewLifecycleChangedListener(scroller);
+    }
+  }
+
+  /**
+   * Update the view bounds to the latest samples of the streaming series. Invoked before each
+   * rendering once {@link #asStreamingChart(double, String, String)} was called.
+   */
+  protected void scroll() {
+    double xmin = Double.NaN, xmax = Double.NaN, ymin = scrollYmin, ymax = scrollYmax;
+    boolean fitY = Double.isNaN(scrollYmin) || Double.isNaN(scrollYmax);
+    if (fitY) {
+      ymin = Double.NaN;
+      ymax = Double.NaN;
+    }
+
+    for (Serie2d serie : series.values()) {
+      if (serie instanceof StreamingSerie2d) {
+        RingBuffer2d buffer = ((StreamingSerie2d) serie).getBuffer();
+        xmin = min(xmin, buffer.getXMin());
+        xmax = max(xmax, buffer.getXMax());
+        if (fitY) {
+          ymin = min(ymin, buffer.getYMin());
+          ymax = max(ymax, buffer.getYMax());
+        }
+      }
+    }
+    if (Double.isNaN(xmax) || Double.isNaN(ymax))
+      return;
+
+    if (scrollWindow > 0)
+      xmin = xmax - scrollWindow;
+    if (xmin == xmax)
+      xmax = xmin + 1;
+    if (ymin == ymax) {
+      ymin -= 0.5;
+      ymax += 0.5;
+    }
+
+    BoundingBox3d bounds =
+        new BoundingBox3d((float) xmin, (float) xmax, (float) ymin, (float) ymax, -1, 1);
+    View view = getView();
+    if (!bounds.equals(view.getBounds()))
+      view.setBoundManual(bounds);
+  }
+
+  private static double min(double a, double b) {
+    return Double.isNaN(a) || b < a ? b : a;
+  }
+
+  private static double max(double a, double b) {
+    return Double.isNaN(a) || b > a ? b : a;
+  }
+
   public Serie2d getSerie(String name, Serie2d.Type type) {
     Serie2d serie = null;
     if (!series.keySet().contains(name)) {
       serie = factory.newSerie(name, type);
+      if (scroller != null && serie instanceof StreamingSerie2d)
+        ((StreamingSerie2d) serie).setWindow(scrollWindow);
       add(serie.getDrawable());
       series.put(name, serie);
     } else {
@@ -82,4 +179,9 @@ public class Chart2d extends AWTNativeChart {
     super(factory, quality);
     layout2d();
   }
+
+  protected IViewLifecycleEventListener scroller;
+  protected double scrollWindow;
+  protected float scrollYmin;
+  protected float scrollYmax;
 }
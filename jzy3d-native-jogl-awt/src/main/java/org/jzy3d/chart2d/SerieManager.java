@@ -4,10 +4,12 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.jzy3d.plot2d.primitives.DecimatedLineSerie2d;
 import org.jzy3d.plot2d.primitives.LineSerie2d;
 import org.jzy3d.plot2d.primitives.ScatterPointSerie2d;
 import org.jzy3d.plot2d.primitives.ScatterSerie2d;
 import org.jzy3d.plot2d.primitives.Serie2d;
+import org.jzy3d.plot2d.primitives.StreamingSerie2d;
 
 public class SerieManager {
   static SerieManager instance;
@@ -39,6 +41,10 @@ public class SerieManager {
       serie = new ScatterSerie2d(name);
     else if (Serie2d.Type.SCATTER_POINTS.equals(type))
       serie = new ScatterPointSerie2d(name);
+    else if (Serie2d.Type.STREAMING.equals(type))
+      serie = new StreamingSerie2d(name);
+    else if (Serie2d.Type.LINE_DECIMATED.equals(type))
+      serie = new DecimatedLineSerie2d(name);
     else
       throw new IllegalArgumentException("Unsupported serie type " + type);
     return serie;
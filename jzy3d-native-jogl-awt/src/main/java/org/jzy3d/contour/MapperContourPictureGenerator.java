@@ -1,14 +1,23 @@
 package org.jzy3d.contour;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.function.DoubleToIntFunction;
+import java.util.stream.IntStream;
 
+import org.jzy3d.colors.ColorLUT;
 import org.jzy3d.maths.Range;
+import org.jzy3d.plot3d.builder.HeightField;
 import org.jzy3d.plot3d.builder.Mapper;
 
 
 /**
  * Computes the contour matrix of a {@link Mapper}, and returns it as a {@link BufferedImage}.
  * 
+ * The mapper is sampled in parallel over rows, so it must be thread safe unless
+ * {@link #setParallel(boolean)} is set to false. The coloring policy is only called by the thread
+ * requesting the image.
+ * 
  * @author Juan Barandiaran
  * @author Martin Pernollet
  */
@@ -17,6 +26,7 @@ public class MapperContourPictureGenerator extends AbstractContourGenerator
   public static int PIXEL_NEIGHBOUR_THRESHOLD = 2;
   public static float LINE_STRIP_WIDTH = 2;
   public static int MERGE_STRIP_DIST = 1;
+  public static int LUT_SIZE = 4096;
 
   public MapperContourPictureGenerator(Mapper mapper, Range xrange, Range yrange) {
     this.mapper = mapper;
@@ -45,18 +55,85 @@ public class MapperContourPictureGenerator extends AbstractContourGenerator
     return buildImage(xRes, yRes, contours, policy);
   }
 
+  /**
+   * Sample the mapper in parallel (or reuse the cached {@link HeightField}), quantize values in
+   * nLevels bands and color each band once. NaN values get the color of 0, as they did when the
+   * quantized matrix was colored cell by cell.
+   */
   @Override
   public BufferedImage getFilledContourImage(IContourColoringPolicy policy, int xRes, int yRes,
       int nLevels) {
-    double[][] contours = computeFilledContour(xRes, yRes, nLevels);
-    return buildImage(xRes, yRes, contours, policy);
+    HeightField field = getHeightField(xRes, yRes);
+
+    // same bands than quantizeMatrix(matrix, min, max, n)
+    final double step = (field.getMax() - field.getMin()) / nLevels;
+    if (!(step > 0)) {
+      final int rgb = policy.getRGB(field.getMin());
+      return buildImage(field, value -> rgb);
+    }
+
+    final int kmin = (int) (field.getMin() / step);
+    final int kmax = (int) (field.getMax() / step);
+    final int[] bands = new int[kmax - kmin + 1];
+    for (int k = kmin; k <= kmax; k++)
+      bands[k - kmin] = policy.getRGB(step * k);
+    final int undefined = policy.getRGB(0);
+
+    return buildImage(field, value -> {
+      if (value != value) // NaN
+        return undefined;
+      return bands[(int) (value / step) - kmin];
+    });
   }
 
+  /**
+   * Sample the mapper in parallel (or reuse the cached {@link HeightField}) and color values
+   * through a lookup table of {@link #LUT_SIZE} colors sampled from the policy. NaN values get the
+   * color the policy gives to NaN.
+   */
   @Override
   public BufferedImage getHeightMap(IContourColoringPolicy policy, int xRes, int yRes,
       int nLevels) {
-    double[][] contours = computeXYColors(xRes, yRes, nLevels);
-    return buildImage(xRes, yRes, contours, policy);
+    HeightField field = getHeightField(xRes, yRes);
+
+    double min = field.getMin();
+    double max = field.getMax();
+    int[] table = new int[LUT_SIZE];
+    for (int i = 0; i < LUT_SIZE; i++)
+      table[i] = policy.getRGB(min + (max - min) * i / (LUT_SIZE - 1));
+
+    final ColorLUT lut = new ColorLUT(min, max, table);
+    lut.setNaNRGB(policy.getRGB(Double.NaN));
+    return buildImage(field, value -> lut.getRGB(value));
+  }
+
+  /**
+   * Return the cached field if it has the requested resolution, otherwise sample the mapper.
+   *
+   * The field is kept so that regenerating an image with another coloring policy or number of
+   * levels does not evaluate the mapper again. Call {@link #setHeightField(HeightField)} with null
+   * if the mapper has changed.
+   */
+  public HeightField getHeightField(int xRes, int yRes) {
+    HeightField field = this.field;
+    if (field == null || field.getXRes() != xRes || field.getYRes() != yRes) {
+      field = HeightField.compute(mapper, xrange, xRes, yrange, yRes, parallel);
+      this.field = field;
+    }
+    return field;
+  }
+
+  public void setHeightField(HeightField field) {
+    this.field = field;
+  }
+
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  /** Set to false to sample a mapper that is not thread safe from the calling thread only. */
+  public void setParallel(boolean parallel) {
+    this.parallel = parallel;
   }
 
   /**********************************************/
@@ -65,9 +142,31 @@ public class MapperContourPictureGenerator extends AbstractContourGenerator
       IContourColoringPolicy policy) {
     // Build an image with a size
     BufferedImage image = new BufferedImage(xRes, yRes, BufferedImage.TYPE_INT_RGB);
+    int[] raster = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
     for (int x = 0; x < xRes; x++)
       for (int y = 0; y < yRes; y++)
-        image.setRGB(x, y, policy.getRGB(contours[x][y]));
+        raster[y * xRes + x] = policy.getRGB(contours[x][y]);
+    return image;
+  }
+
+  /**
+   * Build an image by writing colors straight into the raster, in parallel over rows. The Y axis is
+   * inverted because DrawableTexture is handled like this.
+   */
+  protected BufferedImage buildImage(final HeightField field, final DoubleToIntFunction color) {
+    final int xRes = field.getXRes();
+    final int yRes = field.getYRes();
+    final double[] values = field.getValues();
+
+    BufferedImage image = new BufferedImage(xRes, yRes, BufferedImage.TYPE_INT_RGB);
+    final int[] raster = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+    IntStream.range(0, yRes).parallel().forEach(yi -> {
+      int src = yi * xRes;
+      int dst = (yRes - 1 - yi) * xRes;
+      for (int xi = 0; xi < xRes; xi++)
+        raster[dst + xi] = color.applyAsInt(values[src + xi]);
+    });
     return image;
   }
 
@@ -79,30 +178,16 @@ public class MapperContourPictureGenerator extends AbstractContourGenerator
    **/
   @Override
   protected void computeHeightMatrix(double matrix[][], int xRes, int yRes) {
-    double value;
-    minValue = Double.MAX_VALUE;
-    maxValue = -Double.MAX_VALUE;
-
-    // TODO: This matrix filling could be done at the same time the surface
-    // is computed to save time and avoid calling the mapper.f() two times
-    // for each point.
-    double xstep = xrange.getRange() / (double) (xRes - 1);
-    double ystep = yrange.getRange() / (double) (yRes - 1);
+    HeightField field = getHeightField(xRes, yRes);
+    minValue = field.getMin();
+    maxValue = field.getMax();
+
+    // Y coordinate in the matrix is inverted because
+    // DrawableTexture
+    // is handled like this
     for (int xi = 0; xi < xRes; xi++) {
       for (int yi = 0; yi < yRes; yi++) {
-        double x = xrange.getMin() + xi * xstep;
-        double y = yrange.getMin() + yi * ystep;
-
-        value = mapper.f(x, y);
-
-        // Y coordinate in the matrix is inverted because
-        // DrawableTexture
-        // is handled like this
-        matrix[xi][yRes - 1 - yi] = value;
-        if (value < minValue)
-          minValue = value;
-        if (value > maxValue)
-          maxValue = value;
+        matrix[xi][yRes - 1 - yi] = field.get(xi, yi);
       }
     }
   }
@@ -110,5 +195,6 @@ public class MapperContourPictureGenerator extends AbstractContourGenerator
   protected Mapper mapper;
   protected Range xrange;
   protected Range yrange;
-
+  protected HeightField field;
+  protected boolean parallel = true;
 }
@@ -0,0 +1,443 @@
+package org.jzy3d.contour;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.jzy3d.colors.AWTColor;
+import org.jzy3d.colors.Color;
+import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Range;
+import org.jzy3d.maths.Utils;
+import org.jzy3d.plot3d.builder.HeightField;
+import org.jzy3d.plot3d.builder.Mapper;
+import org.jzy3d.plot3d.primitives.LineStrip;
+import org.jzy3d.plot3d.primitives.Point;
+import org.jzy3d.plot3d.primitives.contour.ContourMesh;
+
+
+/**
+ * Computes the contour lines of a {@link HeightField} with the marching squares algorithm, and
+ * returns them as a {@link ContourMesh}.
+ *
+ * Unlike {@link MapperContourMeshGenerator} which follows the pixels of a quantized matrix, this
+ * generator interpolates the position where each level crosses the edges of a grid cell, which
+ * gives lines that do not depend on the matrix resolution. All levels are extracted in a single
+ * sweep over the grid cells, processed in parallel by bands of rows. Segments are then joined into
+ * one {@link LineStrip} per connected iso-line, in parallel for each level.
+ *
+ * The generator may either sample a {@link Mapper} at the requested resolution, or reuse a
+ * {@link HeightField} already used to build a surface.
+ */
+public class MarchingSquaresContourGenerator extends AbstractContourGenerator
+    implements IContourMeshGenerator {
+  public static float LINE_STRIP_WIDTH = 2;
+  public static int ROWS_PER_BAND = 64;
+
+  public MarchingSquaresContourGenerator(Mapper mapper, Range xrange, Range yrange) {
+    this.mapper = mapper;
+    this.xrange = xrange;
+    this.yrange = yrange;
+  }
+
+  public MarchingSquaresContourGenerator(HeightField field) {
+    this.field = field;
+    this.xrange = field.getXRange();
+    this.yrange = field.getYRange();
+  }
+
+  /**
+   * Extract nLevels contours evenly spaced, at the same heights than the bands of
+   * {@link #quantizeMatrix(double[][], double, double, int)}.
+   */
+  @Override
+  public ContourMesh getContourMesh(IContourColoringPolicy policy, int xRes, int yRes, int nLevels,
+      float planeAxe, boolean writeText) {
+    HeightField field = getHeightField(xRes, yRes);
+    return computeMesh(policy, field, getLevels(field.getMin(), field.getMax(), nLevels),
+        planeAxe);
+  }
+
+  /** Extract contours at user-defined heights, sorted from min to max. */
+  @Override
+  public ContourMesh getContourMesh(IContourColoringPolicy policy, int xRes, int yRes,
+      double sortedLevels[], float planeAxe, boolean writeText) {
+    for (int n = 1; n < sortedLevels.length; n++) {
+      if (sortedLevels[n] < sortedLevels[n - 1]) {
+        throw new RuntimeException(
+            "Levels sent to getContourStrips() are not in order from Min to Max");
+      }
+    }
+    return computeMesh(policy, getHeightField(xRes, yRes), sortedLevels, planeAxe);
+  }
+
+  @Override
+  public double[][] getContourMatrix(int xRes, int yRes, int nLevels) {
+    return computeContour(xRes, yRes, nLevels);
+  }
+
+  /**
+   * Return the field of this generator if it has the requested resolution, otherwise sample the
+   * mapper.
+   */
+  public HeightField getHeightField(int xRes, int yRes) {
+    if (field == null || field.getXRes() != xRes || field.getYRes() != yRes) {
+      if (mapper == null)
+        throw new IllegalArgumentException("No mapper to sample a " + xRes + "x" + yRes
+            + " field, expect " + field.getXRes() + "x" + field.getYRes());
+      field = HeightField.compute(mapper, xrange, xRes, yrange, yRes);
+    }
+    return field;
+  }
+
+  /** Return the multiples of (max-min)/n that are strictly between min and max. */
+  protected double[] getLevels(double min, double max, int n) {
+    double step = (max - min) / n;
+    if (!(step > 0))
+      return new double[0];
+    double[] levels = new double[n + 1];
+    int k = 0;
+    for (long i = (long) Math.floor(min / step); k < levels.length; i++) {
+      double level = i * step;
+      if (level >= max)
+        break;
+      if (level > min)
+        levels[k++] = level;
+    }
+    return Arrays.copyOf(levels, k);
+  }
+
+  /**********************************************/
+
+  protected ContourMesh computeMesh(final IContourColoringPolicy policy, final HeightField field,
+      final double[] levels, final float planeAxe) {
+    ContourMesh mesh = new ContourMesh();
+    if (levels.length == 0)
+      return mesh;
+
+    final int nBands = (field.getYRes() - 1 + ROWS_PER_BAND - 1) / ROWS_PER_BAND;
+    final Segments[][] bands = new Segments[nBands][];
+
+    IntStream.range(0, nBands).parallel().forEach(b -> {
+      int from = b * ROWS_PER_BAND;
+      int to = Math.min(from + ROWS_PER_BAND, field.getYRes() - 1);
+      bands[b] = sweep(field, levels, from, to);
+    });
+
+    final List<List<LineStrip>> strips = new ArrayList<List<LineStrip>>(levels.length);
+    for (int l = 0; l < levels.length; l++)
+      strips.add(null);
+
+    IntStream.range(0, levels.length).parallel().forEach(l -> {
+      Segments all = new Segments();
+      for (int b = 0; b < nBands; b++)
+        all.addAll(bands[b][l]);
+      Color color = getColor(policy, levels[l]);
+      strips.set(l, join(field, levels[l], all, color, planeAxe));
+    });
+
+    for (int l = 0; l < levels.length; l++) {
+      if (strips.get(l).isEmpty())
+        continue;
+      mesh.lines.setLevelLines(levels[l], strips.get(l));
+      mesh.setLevelLabel(levels[l], Utils.num2str('f', levels[l], 2));
+    }
+    return mesh;
+  }
+
+  protected Color getColor(IContourColoringPolicy policy, double level) {
+    if (policy instanceof DefaultContourColoringPolicy)
+      return ((DefaultContourColoringPolicy) policy).getColorMapper()
+          .getColor(new Coord3d(0, 0, level));
+    return AWTColor.fromAWT(new java.awt.Color(policy.getRGB(level)));
+  }
+
+  /**
+   * Visit all cells having their lower row in [rowFrom;rowTo[ and collect the segments of all
+   * levels crossing each cell.
+   *
+   * A segment is stored as a pair of edge ids, where the horizontal edge starting at grid point
+   * (i,j) has id 2*(j*xRes+i) and the vertical one has id 2*(j*xRes+i)+1. Two cells sharing an edge
+   * thus produce the same id for the same crossing, which allows exact joining.
+   */
+  protected Segments[] sweep(HeightField field, double[] levels, int rowFrom, int rowTo) {
+    Segments[] segments = new Segments[levels.length];
+    for (int l = 0; l < levels.length; l++)
+      segments[l] = new Segments();
+
+    double[] v = field.getValues();
+    int nx = field.getXRes();
+
+    for (int j = rowFrom; j < rowTo; j++) {
+      for (int i = 0; i < nx - 1; i++) {
+        int p = j * nx + i;
+        double v00 = v[p];
+        double v10 = v[p + 1];
+        double v01 = v[p + nx];
+        double v11 = v[p + nx + 1];
+
+        double cmin = Math.min(Math.min(v00, v10), Math.min(v01, v11));
+        double cmax = Math.max(Math.max(v00, v10), Math.max(v01, v11));
+        if (Double.isNaN(cmin) || Double.isNaN(cmax))
+          continue;
+
+        // levels crossing this cell are those in ]cmin;cmax]
+        int lo = upperBound(levels, cmin);
+        int hi = upperBound(levels, cmax);
+
+        if (lo == hi)
+          continue;
+
+        long bottom = 2L * p;
+        long left = 2L * p + 1;
+        long top = 2L * (p + nx);
+        long right = 2L * (p + 1) + 1;
+
+        for (int l = lo; l < hi; l++) {
+          double level = levels[l];
+          int config = (v00 >= level ? 1 : 0) | (v10 >= level ? 2 : 0) | (v11 >= level ? 4 : 0)
+              | (v01 >= level ? 8 : 0);
+          Segments s = segments[l];
+
+          switch (config) {
+            case 1:
+            case 14:
+              s.add(left, bottom);
+              break;
+            case 2:
+            case 13:
+              s.add(bottom, right);
+              break;
+            case 3:
+            case 12:
+              s.add(left, right);
+              break;
+            case 4:
+            case 11:
+              s.add(right, top);
+              break;
+            case 6:
+            case 9:
+              s.add(bottom, top);
+              break;
+            case 7:
+            case 8:
+              s.add(left, top);
+              break;
+            case 5:
+              // saddle : decide with the cell center if corners 00 and 11 are connected
+              if ((v00 + v10 + v01 + v11) / 4 >= level) {
+                s.add(bottom, right);
+                s.add(top, left);
+              } else {
+                s.add(left, bottom);
+                s.add(right, top);
+              }
+              break;
+            case 10:
+              // saddle : decide with the cell center if corners 10 and 01 are connected
+              if ((v00 + v10 + v01 + v11) / 4 >= level) {
+                s.add(left, bottom);
+                s.add(right, top);
+              } else {
+                s.add(bottom, right);
+                s.add(top, left);
+              }
+              break;
+            default:
+              break;
+          }
+        }
+      }
+    }
+    return segments;
+  }
+
+  /** Return the index of the first value strictly greater than key. */
+  protected static int upperBound(double[] sorted, double key) {
+    int lo = 0;
+    int hi = sorted.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (sorted[mid] <= key)
+        lo = mid + 1;
+      else
+        hi = mid;
+    }
+    return lo;
+  }
+
+  /**
+   * Join segments sharing an edge into polylines. Open lines are walked from one of their free
+   * ends first, then remaining segments form closed loops.
+   */
+  protected List<LineStrip> join(HeightField field, double level, Segments segments, Color color,
+      float planeAxe) {
+    List<LineStrip> strips = new ArrayList<LineStrip>();
+    int n = segments.size;
+    if (n == 0)
+      return strips;
+
+    EdgeIndex index = new EdgeIndex(n * 2);
+    for (int s = 0; s < n; s++) {
+      index.put(segments.edges[2 * s], s);
+      index.put(segments.edges[2 * s + 1], s);
+    }
+
+    boolean[] visited = new boolean[n];
+
+    // open lines, starting from a free end
+    for (int s = 0; s < n; s++) {
+      if (visited[s])
+        continue;
+      long a = segments.edges[2 * s];
+      long b = segments.edges[2 * s + 1];
+      if (index.other(a, s) < 0)
+        strips.add(walk(field, level, segments, index, visited, s, a, color, planeAxe));
+      else if (index.other(b, s) < 0)
+        strips.add(walk(field, level, segments, index, visited, s, b, color, planeAxe));
+    }
+
+    // closed loops
+    for (int s = 0; s < n; s++) {
+      if (!visited[s])
+        strips.add(walk(field, level, segments, index, visited, s, segments.edges[2 * s], color,
+            planeAxe));
+    }
+    return strips;
+  }
+
+  protected LineStrip walk(HeightField field, double level, Segments segments, EdgeIndex index,
+      boolean[] visited, int s, long from, Color color, float planeAxe) {
+    LineStrip strip = new LineStrip();
+    strip.setWidth(LINE_STRIP_WIDTH);
+    strip.add(new Point(crossing(field, level, from, planeAxe), color));
+
+    long edge = from;
+    while (s >= 0 && !visited[s]) {
+      visited[s] = true;
+      long a = segments.edges[2 * s];
+      long b = segments.edges[2 * s + 1];
+      edge = (a == edge) ? b : a;
+      strip.add(new Point(crossing(field, level, edge, planeAxe), color));
+      s = index.other(edge, s);
+    }
+    return strip;
+  }
+
+  /** Interpolate the position where level crosses the given edge. */
+  protected Coord3d crossing(HeightField field, double level, long edge, float planeAxe) {
+    int nx = field.getXRes();
+    int p = (int) (edge >> 1);
+    int i = p % nx;
+    int j = p / nx;
+    double[] v = field.getValues();
+    double v0 = v[p];
+
+    if ((edge & 1) == 0) {
+      double t = ratio(level, v0, v[p + 1]);
+      return new Coord3d(field.getX(i) + t * field.getXStep(), field.getY(j), planeAxe);
+    } else {
+      double t = ratio(level, v0, v[p + nx]);
+      return new Coord3d(field.getX(i), field.getY(j) + t * field.getYStep(), planeAxe);
+    }
+  }
+
+  protected static double ratio(double level, double v0, double v1) {
+    double d = v1 - v0;
+    if (d == 0)
+      return 0.5;
+    return (level - v0) / d;
+  }
+
+  /***********************************/
+
+  @Override
+  protected void computeHeightMatrix(double matrix[][], int xRes, int yRes) {
+    HeightField field = getHeightField(xRes, yRes);
+    minValue = field.getMin();
+    maxValue = field.getMax();
+
+    // Y coordinate in the matrix is inverted because DrawableTexture is handled like this
+    for (int xi = 0; xi < xRes; xi++) {
+      for (int yi = 0; yi < yRes; yi++) {
+        matrix[xi][yRes - 1 - yi] = field.get(xi, yi);
+      }
+    }
+  }
+
+  /***********************************/
+
+  /** A growable list of segments, each made of two edge ids. */
+  protected static class Segments {
+    long[] edges = new long[32];
+    int size = 0;
+
+    void add(long a, long b) {
+      if (2 * size + 2 > edges.length)
+        edges = Arrays.copyOf(edges, edges.length * 2);
+      edges[2 * size] = a;
+      edges[2 * size + 1] = b;
+      size++;
+    }
+
+    void addAll(Segments other) {
+      if (2 * (size + other.size) > edges.length)
+        edges = Arrays.copyOf(edges, Math.max(edges.length * 2, 2 * (size + other.size)));
+      System.arraycopy(other.edges, 0, edges, 2 * size, 2 * other.size);
+      size += other.size;
+    }
+  }
+
+  /**
+   * An open addressing map from an edge id to the (at most two) segments ending on it.
+   */
+  protected static class EdgeIndex {
+    long[] keys;
+    int[] first;
+    int[] second;
+    int mask;
+
+    EdgeIndex(int expected) {
+      int capacity = Integer.highestOneBit(Math.max(4, expected * 2) - 1) << 1;
+      keys = new long[capacity];
+      first = new int[capacity];
+      second = new int[capacity];
+      Arrays.fill(keys, -1);
+      mask = capacity - 1;
+    }
+
+    int slot(long key) {
+      int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+      int i = (h ^ (h >>> 16)) & mask;
+      while (keys[i] != -1 && keys[i] != key)
+        i = (i + 1) & mask;
+      return i;
+    }
+
+    void put(long key, int segment) {
+      int i = slot(key);
+      if (keys[i] == -1) {
+        keys[i] = key;
+        first[i] = segment;
+        second[i] = -1;
+      } else {
+        second[i] = segment;
+      }
+    }
+
+    /** Return the segment ending on this edge that is not the given one, or -1. */
+    int other(long key, int segment) {
+      int i = slot(key);
+      if (keys[i] == -1)
+        return -1;
+      return first[i] == segment ? second[i] : first[i];
+    }
+  }
+
+  protected Mapper mapper;
+  protected HeightField field;
+  protected Range xrange;
+  protected Range yrange;
+}
@@ -2,6 +2,7 @@ package org.jzy3d.plot3d.primitives.contour;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.jzy3d.plot3d.primitives.LineStrip;
@@ -19,6 +20,14 @@ public class ContourLevels {
     lines.put(level, line);
   }
 
+  /**
+   * Set the lines of a level at once, without trying to merge them, which is useful for lines that
+   * are already connected by the generator.
+   */
+  public void setLevelLines(double level, List<LineStrip> strips) {
+    lines.put(level, new ContourLevel(lines.size(), (float) level, strips));
+  }
+
   public void appendLevelLine(double level, LineStrip strip) {
     ContourLevel line = lines.get(level);
     if (line != null)
@@ -0,0 +1,87 @@
+package org.jzy3d.contour;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.jzy3d.colors.ColorMapper;
+import org.jzy3d.colors.colormaps.ColorMapRainbow;
+import org.jzy3d.maths.Range;
+import org.jzy3d.plot3d.builder.Mapper;
+
+public class TestMapperContourPictureGenerator {
+  Mapper mapper = new Mapper() {
+    @Override
+    public double f(double x, double y) {
+      return x * Math.sin(x * y);
+    }
+  };
+
+  Range range = new Range(-3, 3);
+
+  DefaultContourColoringPolicy policy =
+      new DefaultContourColoringPolicy(new ColorMapper(new ColorMapRainbow(), -3, 3));
+
+  @Test
+  public void filledContourImageMatchesQuantizedMatrix() {
+    int xRes = 120;
+    int yRes = 80;
+    int nLevels = 10;
+
+    MapperContourPictureGenerator generator =
+        new MapperContourPictureGenerator(mapper, range, range);
+    BufferedImage image = generator.getFilledContourImage(policy, xRes, yRes, nLevels);
+    double[][] matrix = generator.computeFilledContour(xRes, yRes, nLevels);
+
+    for (int x = 0; x < xRes; x++)
+      for (int y = 0; y < yRes; y++)
+        Assert.assertEquals(policy.getRGB(matrix[x][y]) | 0xFF000000, image.getRGB(x, y));
+  }
+
+  @Test
+  public void filledContourImageColorsNaNLikeQuantizedMatrix() {
+    Mapper holes = new Mapper() {
+      @Override
+      public double f(double x, double y) {
+        return x < 0 ? Double.NaN : x * y;
+      }
+    };
+    int xRes = 30;
+    int yRes = 20;
+    int nLevels = 5;
+
+    MapperContourPictureGenerator generator =
+        new MapperContourPictureGenerator(holes, range, range);
+    generator.setParallel(false);
+    BufferedImage image = generator.getFilledContourImage(policy, xRes, yRes, nLevels);
+    double[][] matrix = generator.computeFilledContour(xRes, yRes, nLevels);
+
+    for (int x = 0; x < xRes; x++)
+      for (int y = 0; y < yRes; y++)
+        Assert.assertEquals(policy.getRGB(matrix[x][y]) | 0xFF000000, image.getRGB(x, y));
+  }
+
+  @Test
+  public void heightMapIsFlippedVertically() {
+    int xRes = 50;
+    int yRes = 40;
+
+    MapperContourPictureGenerator generator =
+        new MapperContourPictureGenerator(mapper, range, range);
+    BufferedImage image = generator.getHeightMap(policy, xRes, yRes, 10);
+    double[][] matrix = generator.computeXYColors(xRes, yRes, 10);
+
+    Assert.assertEquals(xRes, image.getWidth());
+    Assert.assertEquals(yRes, image.getHeight());
+
+    // colors are sampled from a LUT, hence may differ by a few units per channel
+    for (int x = 0; x < xRes; x++) {
+      for (int y = 0; y < yRes; y++) {
+        int expected = policy.getRGB(matrix[x][y]);
+        int actual = image.getRGB(x, y);
+        for (int shift = 0; shift < 24; shift += 8)
+          Assert.assertEquals((expected >> shift) & 0xFF, (actual >> shift) & 0xFF, 4);
+      }
+    }
+  }
+}
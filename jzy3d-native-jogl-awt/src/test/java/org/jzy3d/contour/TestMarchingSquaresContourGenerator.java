@@ -0,0 +1,65 @@
+package org.jzy3d.contour;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.jzy3d.colors.ColorMapper;
+import org.jzy3d.colors.colormaps.ColorMapRainbow;
+import org.jzy3d.maths.Range;
+import org.jzy3d.plot3d.builder.HeightField;
+import org.jzy3d.plot3d.builder.Mapper;
+import org.jzy3d.plot3d.primitives.LineStrip;
+import org.jzy3d.plot3d.primitives.Point;
+import org.jzy3d.plot3d.primitives.contour.ContourLevel;
+import org.jzy3d.plot3d.primitives.contour.ContourMesh;
+
+public class TestMarchingSquaresContourGenerator {
+  Mapper cone = new Mapper() {
+    @Override
+    public double f(double x, double y) {
+      return Math.sqrt(x * x + y * y);
+    }
+  };
+
+  DefaultContourColoringPolicy policy =
+      new DefaultContourColoringPolicy(new ColorMapper(new ColorMapRainbow(), 0, 3));
+
+  @Test
+  public void circleLevelIsOneClosedLine() {
+    HeightField field = HeightField.compute(cone, new Range(-2, 2), 201, new Range(-2, 2), 301);
+    MarchingSquaresContourGenerator generator = new MarchingSquaresContourGenerator(field);
+
+    ContourMesh mesh = generator.getContourMesh(policy, 201, 301, new double[] {0.5, 1}, 0, false);
+
+    for (double level : new double[] {0.5, 1}) {
+      ContourLevel contour = mesh.lines.getContourLevel(level);
+      Assert.assertEquals(1, contour.getLines().size());
+
+      LineStrip strip = contour.getLines().get(0);
+      Assert.assertTrue(strip.size() > 50);
+      Assert.assertEquals(strip.get(0).xyz, strip.getLastPoint().xyz);
+
+      for (Point p : strip.getPoints()) {
+        double r = Math.sqrt(p.xyz.x * p.xyz.x + p.xyz.y * p.xyz.y);
+        Assert.assertEquals(level, r, 0.01);
+      }
+    }
+  }
+
+  @Test
+  public void levelsCrossingBorderAreOpenLines() {
+    MarchingSquaresContourGenerator generator =
+        new MarchingSquaresContourGenerator(cone, new Range(0, 2), new Range(0, 2));
+
+    ContourMesh mesh = generator.getContourMesh(policy, 100, 100, 4, 0, false);
+
+    // levels are multiples of 2.83/4 between 0 and 2.83
+    Assert.assertEquals(3, mesh.getLevels().size());
+
+    for (double level : mesh.getLevels()) {
+      ContourLevel contour = mesh.lines.getContourLevel(level);
+      for (LineStrip strip : contour.getLines()) {
+        Assert.assertNotEquals(strip.get(0).xyz, strip.getLastPoint().xyz);
+      }
+    }
+  }
+}
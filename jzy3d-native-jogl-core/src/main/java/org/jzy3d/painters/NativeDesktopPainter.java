@@ -409,8 +409,10 @@ public class NativeDesktopPainter extends AbstractPainter implements IPainter {
     switch (mode) {
       case COMPILE:
         glNewList(list, GL2.GL_COMPILE);
+        break;
       case COMPILE_AND_EXECUTE:
         glNewList(list, GL2.GL_COMPILE_AND_EXECUTE);
+        break;
     }
   }
 
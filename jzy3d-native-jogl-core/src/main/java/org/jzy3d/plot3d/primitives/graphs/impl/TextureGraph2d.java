@@ -65,6 +65,12 @@ public class TextureGraph2d<V, E> extends DefaultDrawableGraph2d<V, E> {
     t.draw(painter);
   }
 
+  /** Vertices are textures bound with the actual painter, hence not retainable. */
+  @Override
+  public boolean isRetainable() {
+    return false;
+  }
+
   /***********************/
 
   protected SharedTexture resource;
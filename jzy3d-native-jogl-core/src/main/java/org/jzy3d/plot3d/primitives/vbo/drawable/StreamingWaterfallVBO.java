@@ -0,0 +1,180 @@
+package org.jzy3d.plot3d.primitives.vbo.drawable;
+
+import java.nio.FloatBuffer;
+
+import org.apache.log4j.Logger;
+import org.jzy3d.maths.BoundingBox3d;
+import org.jzy3d.painters.IPainter;
+import org.jzy3d.painters.NativeDesktopPainter;
+import org.jzy3d.plot3d.primitives.Drawable;
+import org.jzy3d.plot3d.primitives.IGLBindedResource;
+import org.jzy3d.plot3d.primitives.StreamingWaterfall;
+import org.jzy3d.plot3d.transform.Transform;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.opengl.GL;
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.fixedfunc.GLPointerFunc;
+
+/**
+ * Draws a {@link StreamingWaterfall} from a vertex buffer object holding one region per row slot.
+ *
+ * The buffer is allocated once with {@link GL#GL_DYNAMIC_DRAW} when mounted. Before each rendering,
+ * only the rows appended since the previous rendering are written with glBufferSubData, through a
+ * direct buffer holding a single row, so that appending rows costs a row upload each, whatever the
+ * depth of the waterfall. All rows are uploaded again when the waterfall version changes, e.g. after
+ * changing its color mapper.
+ *
+ * Rows are drawn from the oldest to the newest, each as a white triangle strip between the values
+ * and the floor, and a line strip colored by the values.
+ */
+public class StreamingWaterfallVBO extends Drawable implements IGLBindedResource {
+  public StreamingWaterfallVBO(StreamingWaterfall waterfall) {
+    this.waterfall = waterfall;
+  }
+
+  @Override
+  public boolean hasMountedOnce() {
+    return hasMountedOnce;
+  }
+
+  @Override
+  public void mount(IPainter painter) {
+    GL gl = ((NativeDesktopPainter) painter).getGL();
+    int rowBytes = waterfall.getRowSize() * Buffers.SIZEOF_FLOAT;
+
+    gl.glGenBuffers(1, arrayName, 0);
+    gl.glBindBuffer(GL.GL_ARRAY_BUFFER, arrayName[0]);
+    gl.glBufferData(GL.GL_ARRAY_BUFFER, (long) rowBytes * waterfall.getDepth(), null,
+        GL.GL_DYNAMIC_DRAW);
+    gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+
+    row = Buffers.newDirectFloatBuffer(waterfall.getRowSize());
+    uploaded = 0;
+    version = waterfall.getVersion() - 1;
+    hasMountedOnce = true;
+  }
+
+  @Override
+  public void draw(IPainter painter) {
+    GL2 gl = ((NativeDesktopPainter) painter).getGL().getGL2();
+
+    // buffers can only be released while the GL context is current
+    if (disposed) {
+      if (hasMountedOnce) {
+        gl.glDeleteBuffers(1, arrayName, 0);
+        hasMountedOnce = false;
+      }
+      return;
+    }
+
+    if (!hasMountedOnce)
+      mount(painter);
+
+    doTransform(painter);
+
+    gl.glBindBuffer(GL.GL_ARRAY_BUFFER, arrayName[0]);
+    long appended;
+    int rows;
+    synchronized (waterfall) {
+      upload(gl);
+      appended = waterfall.getAppended();
+      rows = waterfall.getRowCount();
+    }
+
+    int bins = waterfall.getBins();
+    int vertexBytes = StreamingWaterfall.VERTEX_SIZE * Buffers.SIZEOF_FLOAT;
+    gl.glEnableClientState(GLPointerFunc.GL_VERTEX_ARRAY);
+
+    if (waterfall.getFaceDisplayed()) {
+      gl.glEnable(GL.GL_POLYGON_OFFSET_FILL);
+      gl.glPolygonOffset(waterfall.getPolygonOffsetFactor(), waterfall.getPolygonOffsetUnit());
+      painter.color(waterfall.getFaceColor());
+      gl.glVertexPointer(3, GL.GL_FLOAT, vertexBytes, 0);
+      for (long r = appended - rows; r < appended; r++)
+        gl.glDrawArrays(GL.GL_TRIANGLE_STRIP, waterfall.getSlot(r) * bins * 2, bins * 2);
+      gl.glDisable(GL.GL_POLYGON_OFFSET_FILL);
+    }
+
+    if (waterfall.getWireframeDisplayed()) {
+      // skip the floor vertices by striding over two vertices
+      gl.glLineWidth(waterfall.getWireframeWidth());
+      gl.glVertexPointer(3, GL.GL_FLOAT, 2 * vertexBytes, 0);
+      if (waterfall.getWireframeColor() == null) {
+        gl.glEnableClientState(GL2.GL_COLOR_ARRAY);
+        gl.glColorPointer(4, GL.GL_FLOAT, 2 * vertexBytes, 3 * Buffers.SIZEOF_FLOAT);
+      } else
+        painter.color(waterfall.getWireframeColor());
+      for (long r = appended - rows; r < appended; r++)
+        gl.glDrawArrays(GL.GL_LINE_STRIP, waterfall.getSlot(r) * bins, bins);
+      gl.glDisableClientState(GL2.GL_COLOR_ARRAY);
+    }
+
+    gl.glDisableClientState(GLPointerFunc.GL_VERTEX_ARRAY);
+    gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+    doDrawBoundsIfDisplayed(painter);
+  }
+
+  /** Release the vertex buffer at the next rendering. */
+  @Override
+  public void dispose() {
+    super.dispose();
+    disposed = true;
+  }
+
+  /**
+   * Write the rows appended since the last upload into the bound buffer, or all rows if the
+   * waterfall version changed or if more rows than its depth were appended.
+   */
+  protected void upload(GL gl) {
+    long appended = waterfall.getAppended();
+    long from = Math.max(uploaded, appended - waterfall.getDepth());
+    if (version != waterfall.getVersion() || appended < uploaded) {
+      from = appended - waterfall.getRowCount();
+      version = waterfall.getVersion();
+    }
+
+    long rowBytes = (long) waterfall.getRowSize() * Buffers.SIZEOF_FLOAT;
+    for (long r = from; r < appended; r++) {
+      int slot = waterfall.getSlot(r);
+      row.clear();
+      waterfall.putRow(slot, row);
+      row.flip();
+      gl.glBufferSubData(GL.GL_ARRAY_BUFFER, slot * rowBytes, rowBytes, row);
+    }
+    uploaded = appended;
+  }
+
+  /* */
+
+  @Override
+  public BoundingBox3d getBounds() {
+    return waterfall.getBounds();
+  }
+
+  @Override
+  public void updateBounds() {
+    waterfall.updateBounds();
+  }
+
+  @Override
+  public void applyGeometryTransform(Transform transform) {
+    Logger.getLogger(StreamingWaterfallVBO.class).warn("not implemented");
+  }
+
+  public StreamingWaterfall getWaterfall() {
+    return waterfall;
+  }
+
+  /* */
+
+  protected StreamingWaterfall waterfall;
+  protected FloatBuffer row;
+  /** Number of rows appended to the waterfall when the buffer was last updated */
+  protected long uploaded;
+  protected int version;
+
+  protected int arrayName[] = new int[1];
+  protected boolean hasMountedOnce = false;
+  protected boolean disposed = false;
+}
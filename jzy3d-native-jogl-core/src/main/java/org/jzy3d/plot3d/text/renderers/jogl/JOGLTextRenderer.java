@@ -2,6 +2,8 @@ package org.jzy3d.plot3d.text.renderers.jogl;
 
 import java.awt.Font;
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.jzy3d.colors.Color;
 import org.jzy3d.maths.BoundingBox3d;
@@ -16,6 +18,17 @@ import org.jzy3d.plot3d.text.align.Valign;
 
 import com.jogamp.opengl.util.awt.TextRenderer;
 
+/**
+ * Draws texts with a JOGL {@link TextRenderer}, which rasterizes glyphs once into a texture atlas
+ * and then draws each text as textured quads.
+ *
+ * Between {@link #beginBatch(IPainter)} and {@link #flush(IPainter)}, texts are not drawn
+ * immediately but queued, and the flush draws all of them between a single begin/end pair of the
+ * {@link TextRenderer}, hence submitting their quads at once rather than flushing them text by text.
+ * Axes batch their labels this way. Other texts are drawn immediately, unless the renderer is
+ * {@link #setBatched(boolean) batched}, in which case its user should invoke
+ * {@link #flush(IPainter)} after drawing its texts.
+ */
 public class JOGLTextRenderer extends AbstractTextRenderer implements ITextRenderer {
   public JOGLTextRenderer() {
     this(new DefaultTextStyle(java.awt.Color.BLUE));
@@ -41,6 +54,12 @@ public class JOGLTextRenderer extends AbstractTextRenderer implements ITextRende
       Valign valign, Color color, Coord2d screenOffset, Coord3d sceneOffset) {
     // gl.getGL2().glPushMatrix();
 
+    if (batched || batching) {
+      Coord3d real = position.add(sceneOffset);
+      queue(s, real.x, real.y, real.z);
+      return null;
+    }
+
     renderer.begin3DRendering();
     if (LAYOUT) { // work in progress
       Rectangle2D d = style.getBounds(s, font, renderer.getFontRenderContext());
@@ -63,8 +82,63 @@ public class JOGLTextRenderer extends AbstractTextRenderer implements ITextRende
     return null;
   }
 
+  @Override
+  public void beginBatch(IPainter painter) {
+    batching = true;
+  }
+
+  /** Draw the queued texts at once. */
+  @Override
+  public void flush(IPainter painter) {
+    batching = false;
+    if (queued == 0)
+      return;
+    try {
+      renderer.begin3DRendering();
+      for (int i = 0; i < queued; i++)
+        renderer.draw3D(texts.get(i), positions[i * 3], positions[i * 3 + 1],
+            positions[i * 3 + 2], 1);
+      renderer.flush();
+      renderer.end3DRendering();
+    } finally {
+      texts.clear();
+      queued = 0;
+    }
+  }
+
+  protected void queue(String s, float x, float y, float z) {
+    if (queued * 3 == positions.length) {
+      float[] grown = new float[positions.length * 2];
+      System.arraycopy(positions, 0, grown, 0, positions.length);
+      positions = grown;
+    }
+    texts.add(s);
+    positions[queued * 3] = x;
+    positions[queued * 3 + 1] = y;
+    positions[queued * 3 + 2] = z;
+    queued++;
+  }
+
+  public boolean isBatched() {
+    return batched;
+  }
+
+  /**
+   * If true, texts are always queued and drawn at once by {@link #flush(IPainter)}, rather than
+   * only between {@link #beginBatch(IPainter)} and {@link #flush(IPainter)}. Default is false.
+   */
+  public void setBatched(boolean batched) {
+    this.batched = batched;
+  }
+
   protected boolean LAYOUT = false;
 
+  protected boolean batched = false;
+  protected boolean batching = false;
+  protected List<String> texts = new ArrayList<>();
+  protected float[] positions = new float[3 * 64];
+  protected int queued;
+
   protected Font font;
   protected TextRenderer.RenderDelegate style;
   protected TextRenderer renderer;
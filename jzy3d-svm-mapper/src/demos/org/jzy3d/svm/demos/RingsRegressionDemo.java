@@ -9,28 +9,47 @@ import org.instantsvm.XValResult;
 import org.instantsvm.regression.RegressionInputs;
 import org.instantsvm.regression.RegressionParameters;
 import org.instantsvm.regression.RegressionSVM;
+import org.jzy3d.chart.SwingChartLauncher;
 import org.jzy3d.maths.Array;
 import org.jzy3d.maths.Coord3d;
+import org.jzy3d.maths.Rectangle;
+import org.jzy3d.svm.editors.RegressionParamsEditor;
 import org.jzy3d.svm.utils.Conversion;
 
 import libsvm.svm_parameter;
 
 public class RingsRegressionDemo extends Abstract3dDemo {
   public static void main(String[] args) throws IOException {
-    RegressionInputs inputs = Conversion.toRegressionInputs(getInputs());
-    Parameters params = getParams();
+    final RegressionInputs inputs = Conversion.toRegressionInputs(getInputs());
+    final Parameters params = getParams();
+    final RegressionSVM svm = new RegressionSVM();
 
-    RegressionSVM svm = new RegressionSVM();
-    XValResult r = svm.xval(inputs.getX(), inputs.getY(), params, 3, 0, 10000, 6, 0, 5, 6);
-    System.out.println("Best parameters:" + r);
-    Array.print(r.errors);
+    // the editor shows the search progress and the best parameters so far, and may cancel it
+    final RegressionParamsEditor editor = new RegressionParamsEditor(params);
+    SwingChartLauncher.openPanel(editor, new Rectangle(100, 100, 800, 600), "Regression params");
 
-    params.getParam().C = r.bestC;
-    params.getParam().gamma = r.bestG;
-    svm.train(inputs, params);
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        editor.xvalStarted(svm, 6 * 6);
+        XValResult r =
+            svm.xval(inputs.getX(), inputs.getY(), params, 3, 0, 10000, 6, 0, 5, 6, editor);
+        editor.xvalDone(r);
+        if (r.cancelled) {
+          System.out.println("Cross validation cancelled, best parameters so far:" + r);
+          return;
+        }
+        System.out.println("Best parameters:" + r);
+        Array.print(r.errors);
 
-    System.out.println("Maybe reused a trained svm!");
-    openChart(getRegressionChart(svm, inputs));
+        params.getParam().C = r.bestC;
+        params.getParam().gamma = r.bestG;
+        svm.train(inputs, params);
+
+        System.out.println("Maybe reused a trained svm!");
+        openChart(getRegressionChart(svm, inputs));
+      }
+    }, "xval").start();
   }
 
   public static Coord3d[] getInputs() {
@@ -1,21 +1,54 @@
 package org.jzy3d.svm.editors;
 
 import java.awt.GridLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 
+import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 
+import org.instantsvm.IXValListener;
 import org.instantsvm.Parameters;
+import org.instantsvm.SVM;
+import org.instantsvm.XValResult;
 
-public class RegressionParamsEditor extends JPanel {
+/**
+ * Display the regression parameters, and the progress of a cross validation searching C and gamma.
+ * 
+ * Register the editor as listener of {@link SVM#xval} after calling
+ * {@link #xvalStarted(SVM, int)}, and run the search out of the Swing thread: the C and gamma
+ * fields then show the best point found so far, and the cancel button stops the search.
+ */
+public class RegressionParamsEditor extends JPanel implements IXValListener {
   public RegressionParamsEditor(Parameters params) {
-    setLayout(new GridLayout(3, 2));
+    setLayout(new GridLayout(5, 2));
     // int min = 0;
     // int max = 100;
 
 
     setParameters(params);
+
+    progress = new JProgressBar();
+    progress.setStringPainted(true);
+    add(new JLabel("cross validation"));
+    add(progress);
+
+    cancel = new JButton("Cancel");
+    cancel.setEnabled(false);
+    cancel.addActionListener(new ActionListener() {
+      @Override
+      public void actionPerformed(ActionEvent e) {
+        SVM s = svm;
+        if (s != null)
+          s.cancelXval();
+      }
+    });
+    add(new JLabel());
+    add(cancel);
   }
 
   public void setParameters(Parameters params) {
@@ -34,7 +67,59 @@ public class RegressionParamsEditor extends JPanel {
     return fields[i];
   }
 
+  /* CROSS VALIDATION */
+
+  /**
+   * Reset the progress for a search of the given number of (C, gamma) points, and let the cancel
+   * button stop the search of this svm. May be called from any thread.
+   */
+  public void xvalStarted(final SVM svm, final int points) {
+    this.svm = svm;
+    SwingUtilities.invokeLater(new Runnable() {
+      @Override
+      public void run() {
+        progress.setMaximum(points);
+        progress.setValue(0);
+        cancel.setEnabled(true);
+      }
+    });
+  }
+
+  /** Show the final result and disable the cancel button. May be called from any thread. */
+  public void xvalDone(final XValResult result) {
+    this.svm = null;
+    SwingUtilities.invokeLater(new Runnable() {
+      @Override
+      public void run() {
+        cancel.setEnabled(false);
+        showBest(result);
+      }
+    });
+  }
+
+  @Override
+  public void pointEvaluated(final XValResult partial, int c, int g) {
+    final double bestC = partial.bestC;
+    final double bestG = partial.bestG;
+    SwingUtilities.invokeLater(new Runnable() {
+      @Override
+      public void run() {
+        progress.setValue(progress.getValue() + 1);
+        fields[1].setText(Double.toString(bestC));
+        fields[2].setText(Double.toString(bestG));
+      }
+    });
+  }
+
+  protected void showBest(XValResult result) {
+    fields[1].setText(Double.toString(result.bestC));
+    fields[2].setText(Double.toString(result.bestG));
+  }
+
   protected JTextField[] fields = new JTextField[4];
+  protected JProgressBar progress;
+  protected JButton cancel;
+  protected volatile SVM svm;
 
   private static final long serialVersionUID = 3090387949522460142L;
 
@@ -2,15 +2,11 @@ package org.jzy3d.svm.tesselation;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Vector;
 
 import org.jzy3d.maths.Coord3d;
 import org.jzy3d.maths.Range;
 import org.jzy3d.plot3d.builder.Mapper;
 import org.jzy3d.plot3d.builder.concrete.OrthonormalGrid;
-import org.jzy3d.svm.utils.Conversion;
-
-import libsvm.svm_node;
 
 public class SvmGrid extends OrthonormalGrid {
   public SvmGrid(Range xyrange, int xysteps) {
@@ -24,14 +20,23 @@ public class SvmGrid extends OrthonormalGrid {
   @Override
   public List<Coord3d> apply(Mapper mapper) {
     if (mapper instanceof SvmMapper) {
-      SvmMapper svmm = (SvmMapper) mapper;
+      double xstep = xrange.getRange() / (double) (xsteps - 1);
+      double ystep = yrange.getRange() / (double) (ysteps - 1);
+
+      double[] xs = new double[xsteps];
+      for (int xi = 0; xi < xsteps; xi++)
+        xs[xi] = xrange.getMin() + xi * xstep;
+      double[] ys = new double[ysteps];
+      for (int yi = 0; yi < ysteps; yi++)
+        ys[yi] = yrange.getMin() + yi * ystep;
 
-      Vector<svm_node[]> nodes = Conversion.toDataset(xrange, yrange, xsteps, ysteps);
-      double[] out = svmm.f(nodes);
+      // evaluate the whole grid with a single batch prediction
+      double[] out = ((SvmMapper) mapper).fGrid(xs, ys);
 
       List<Coord3d> output = new ArrayList<Coord3d>(xsteps * ysteps);
-      for (int i = 0; i < out.length; i++)
-        output.add(new Coord3d(nodes.get(i)[0].value, nodes.get(i)[1].value, out[i]));
+      for (int xi = 0; xi < xsteps; xi++)
+        for (int yi = 0; yi < ysteps; yi++)
+          output.add(new Coord3d(xs[xi], ys[yi], out[xi * ysteps + yi]));
       return output;
     }
     return null;
@@ -34,10 +34,33 @@ public class SvmMapper extends Mapper {
 
   @Override
   public double f(double x, double y) {
-    output = svm.apply(Conversion.toDataset(Conversion.toVector(x, y)));
-    return output[0];
+    return svm.apply(x, y);
   }
 
+  /** Evaluate all inputs at once with the dense batch predictor of the SVM. */
+  @Override
+  public double[] f(double[] x, double[] y) {
+    output = svm.apply(x, y);
+    return output;
+  }
+
+  /**
+   * Evaluate all points of a grid, and return values for each x value, for each y value, as
+   * ordered by an {@link org.jzy3d.plot3d.builder.concrete.OrthonormalGrid}.
+   */
+  public double[] fGrid(double[] xs, double[] ys) {
+    output = svm.applyGrid(xs, ys);
+    return output;
+  }
+
+  @Override
+  public float[] fAsFloat(double[] x, double[] y) {
+    double[] z = f(x, y);
+    float[] out = new float[z.length];
+    for (int i = 0; i < z.length; i++)
+      out[i] = (float) z[i];
+    return out;
+  }
 
   public double[] f(Vector<svm_node[]> nodes) {
     output = svm.apply(nodes);
@@ -2,6 +2,7 @@ package org.instantsvm.demos.regression;
 
 import java.io.IOException;
 
+import org.instantsvm.IXValListener;
 import org.instantsvm.XValResult;
 import org.instantsvm.regression.RegressionInputs;
 import org.instantsvm.regression.RegressionParameters;
@@ -22,7 +23,13 @@ public class XValDemo {
 
     // Train and save
     RegressionSVM svm = new RegressionSVM();
-    XValResult r = svm.xval(inputs.getX(), inputs.getY(), p, 3, 0, 10000, 6, 0, 5, 6);
+    XValResult r = svm.xval(inputs.getX(), inputs.getY(), p, 3, 0, 10000, 6, 0, 5, 6,
+        new IXValListener() {
+          @Override
+          public void pointEvaluated(XValResult partial, int c, int g) {
+            System.out.println("C[" + c + "] gamma[" + g + "] error=" + partial.errors[c][g]);
+          }
+        });
     System.out.println("Best parameters:" + r);
     LibSvmConsole.print(r.errors);
     /*
@@ -0,0 +1,343 @@
+package org.instantsvm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import libsvm.svm;
+import libsvm.svm_model;
+import libsvm.svm_node;
+import libsvm.svm_parameter;
+import libsvm.svm_problem;
+
+/**
+ * Grid search of the C and gamma parameters by n-fold cross validation, where each fold of each
+ * parameter point is trained by a separate worker thread.
+ *
+ * Each training uses its own copy of the base {@link svm_parameter}, so that workers never share
+ * mutable state. All parameter points are evaluated on the same folds, drawn once with a seeded
+ * random generator, which makes errors of the different points comparable. Folds are stratified by
+ * class for classification, as done by libsvm svm_cross_validation.
+ *
+ * Errors are the ones of {@link SVM#do_cross_validation(int)}: the sum of squared errors for
+ * regression, the accuracy in percent for classification. The best point is the one with the lowest
+ * error for regression and the highest accuracy for classification.
+ *
+ * Workers are the threads of a fork/join pool, which also computes the kernel columns of their
+ * trainings instead of the libsvm kernel pool. The search thus runs at most {@link #getThreads()}
+ * threads, whatever {@link svm#svm_set_kernel_threads(int)}.
+ *
+ * Memory of each worker is bounded by the libsvm kernel cache size, see
+ * {@link #setCacheSize(double)}.
+ */
+public class CrossValidation {
+  public static final long DEFAULT_SEED = 0;
+
+  public CrossValidation(svm_problem prob, svm_parameter param, int nrfold) {
+    this.prob = prob;
+    this.param = param;
+    this.nrfold = nrfold;
+    this.threads = Runtime.getRuntime().availableProcessors();
+    this.cacheSize = param.cache_size;
+    this.seed = DEFAULT_SEED;
+    this.listeners = new ArrayList<IXValListener>();
+    this.cancelled = new AtomicBoolean(false);
+  }
+
+  /**
+   * Evaluate cSteps x gSteps parameter points, C varying from cMin by (cMax-cMin)/cSteps and gamma
+   * from gMin by (gMax-gMin)/gSteps, and block until all points are evaluated or the search is
+   * cancelled. Points that were not evaluated before cancellation have a NaN error.
+   *
+   * If the calling thread is interrupted, the search is cancelled and returns a result marked as
+   * cancelled once the folds being trained are done. The interrupt status is kept.
+   */
+  public XValResult search(double cMin, double cMax, int cSteps, double gMin, double gMax,
+      int gSteps) {
+    cancelled.set(false);
+
+    final double[] cValues = new double[cSteps];
+    for (int i = 0; i < cSteps; i++)
+      cValues[i] = cMin + (cMax - cMin) / cSteps * i;
+    final double[] gValues = new double[gSteps];
+    for (int j = 0; j < gSteps; j++)
+      gValues[j] = gMin + (gMax - gMin) / gSteps * j;
+
+    final double[][] errors = new double[cSteps][gSteps];
+    for (double[] row : errors)
+      Arrays.fill(row, Double.NaN);
+    final XValResult result = new XValResult(errors, Double.NaN, Double.NaN);
+
+    final int[] foldStart = new int[nrfold + 1];
+    final int[] perm = folds(foldStart);
+    final svm_problem[] subprobs = new svm_problem[nrfold];
+    for (int f = 0; f < nrfold; f++)
+      subprobs[f] = subproblem(perm, foldStart[f], foldStart[f + 1]);
+
+    ForkJoinPool executor = new ForkJoinPool(threads, pool -> {
+      ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("xval-worker-" + thread.getPoolIndex());
+      thread.setDaemon(true);
+      return thread;
+    }, null, false);
+    final CountDownLatch done = new CountDownLatch(cSteps * gSteps * nrfold);
+
+    try {
+      for (int i = 0; i < cSteps; i++) {
+        for (int j = 0; j < gSteps; j++) {
+          final svm_parameter p = (svm_parameter) param.clone();
+          p.C = cValues[i];
+          p.gamma = gValues[j];
+          p.cache_size = cacheSize;
+
+          final double[] target = new double[prob.l];
+          final AtomicInteger remaining = new AtomicInteger(nrfold);
+          final int ci = i, gj = j;
+
+          for (int f = 0; f < nrfold; f++) {
+            final int fold = f;
+            executor.execute(new Runnable() {
+              @Override
+              public void run() {
+                try {
+                  if (cancelled.get())
+                    return;
+                  predictFold(p, subprobs[fold], perm, foldStart[fold], foldStart[fold + 1],
+                      target);
+                  if (remaining.decrementAndGet() == 0)
+                    pointDone(result, ci, gj, p, error(target));
+                } finally {
+                  done.countDown();
+                }
+              }
+            });
+          }
+        }
+      }
+      awaitFolds(done);
+    } finally {
+      executor.shutdownNow();
+    }
+    result.cancelled = cancelled.get();
+    return result;
+  }
+
+  /** Wait for all folds, cancelling the search if the calling thread is interrupted. */
+  protected void awaitFolds(CountDownLatch done) {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        done.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+        cancel();
+      }
+    }
+    if (interrupted)
+      Thread.currentThread().interrupt();
+  }
+
+  /** Stop the search as soon as the folds being trained are done. */
+  public void cancel() {
+    cancelled.set(true);
+  }
+
+  public boolean isCancelled() {
+    return cancelled.get();
+  }
+
+  /* */
+
+  protected void pointDone(XValResult result, int c, int g, svm_parameter p, double error) {
+    synchronized (result) {
+      result.errors[c][g] = error;
+      if (isBetter(error, result))
+        result.setBest(p.C, p.gamma, error);
+      for (IXValListener listener : listeners)
+        listener.pointEvaluated(result, c, g);
+    }
+  }
+
+  protected boolean isBetter(double error, XValResult result) {
+    if (Double.isNaN(result.bestError))
+      return true;
+    if (isRegression())
+      return error < result.bestError;
+    else
+      return error > result.bestError;
+  }
+
+  protected boolean isRegression() {
+    return param.svm_type == svm_parameter.EPSILON_SVR || param.svm_type == svm_parameter.NU_SVR;
+  }
+
+  /** Train on all folds but one and predict the samples of that fold in target. */
+  protected void predictFold(svm_parameter p, svm_problem subprob, int[] perm, int begin, int end,
+      double[] target) {
+    svm_model submodel = svm.svm_train(subprob, p);
+    boolean probability = p.probability == 1
+        && (p.svm_type == svm_parameter.C_SVC || p.svm_type == svm_parameter.NU_SVC);
+    double[] probEstimates = probability ? new double[svm.svm_get_nr_class(submodel)] : null;
+
+    for (int j = begin; j < end; j++) {
+      svm_node[] x = prob.x[perm[j]];
+      if (probability)
+        target[perm[j]] = svm.svm_predict_probability(submodel, x, probEstimates);
+      else
+        target[perm[j]] = svm.svm_predict(submodel, x);
+    }
+  }
+
+  protected double error(double[] target) {
+    if (isRegression()) {
+      double totalError = 0;
+      for (int i = 0; i < prob.l; i++)
+        totalError += (target[i] - prob.y[i]) * (target[i] - prob.y[i]);
+      return totalError;
+    } else {
+      int correct = 0;
+      for (int i = 0; i < prob.l; i++)
+        if (target[i] == prob.y[i])
+          ++correct;
+      return 100.0 * correct / prob.l;
+    }
+  }
+
+  /**
+   * Shuffle sample indices and group them by fold, stratified by class for classification.
+   *
+   * @param foldStart receives the first index in the returned permutation of each fold, followed
+   *        by the number of samples.
+   */
+  protected int[] folds(int[] foldStart) {
+    int l = prob.l;
+    int[] perm = new int[l];
+    Random random = new Random(seed);
+
+    if ((param.svm_type == svm_parameter.C_SVC || param.svm_type == svm_parameter.NU_SVC)
+        && nrfold < l) {
+      // group sample indices by class
+      List<Double> labels = new ArrayList<Double>();
+      List<List<Integer>> classes = new ArrayList<List<Integer>>();
+      for (int i = 0; i < l; i++) {
+        double label = (int) prob.y[i];
+        int c = labels.indexOf(label);
+        if (c < 0) {
+          c = labels.size();
+          labels.add(label);
+          classes.add(new ArrayList<Integer>());
+        }
+        classes.get(c).add(i);
+      }
+      for (List<Integer> members : classes)
+        shuffle(members, random);
+
+      // each fold takes its share of each class
+      int k = 0;
+      for (int f = 0; f < nrfold; f++) {
+        foldStart[f] = k;
+        for (List<Integer> members : classes) {
+          int count = members.size();
+          for (int j = f * count / nrfold; j < (f + 1) * count / nrfold; j++)
+            perm[k++] = members.get(j);
+        }
+      }
+      foldStart[nrfold] = k;
+    } else {
+      for (int i = 0; i < l; i++)
+        perm[i] = i;
+      for (int i = 0; i < l; i++) {
+        int j = i + random.nextInt(l - i);
+        int tmp = perm[i];
+        perm[i] = perm[j];
+        perm[j] = tmp;
+      }
+      for (int f = 0; f <= nrfold; f++)
+        foldStart[f] = f * l / nrfold;
+    }
+    return perm;
+  }
+
+  private static void shuffle(List<Integer> list, Random random) {
+    for (int i = 0; i < list.size(); i++) {
+      int j = i + random.nextInt(list.size() - i);
+      Integer tmp = list.get(i);
+      list.set(i, list.get(j));
+      list.set(j, tmp);
+    }
+  }
+
+  /** The training problem of a fold, made of all samples out of [begin;end[ */
+  protected svm_problem subproblem(int[] perm, int begin, int end) {
+    svm_problem subprob = new svm_problem();
+    subprob.l = prob.l - (end - begin);
+    subprob.x = new svm_node[subprob.l][];
+    subprob.y = new double[subprob.l];
+
+    int k = 0;
+    for (int j = 0; j < prob.l; j++) {
+      if (j >= begin && j < end)
+        continue;
+      subprob.x[k] = prob.x[perm[j]];
+      subprob.y[k] = prob.y[perm[j]];
+      ++k;
+    }
+    return subprob;
+  }
+
+  /* */
+
+  public void addListener(IXValListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(IXValListener listener) {
+    listeners.remove(listener);
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  /** Set the number of worker threads, by default the number of available processors. */
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
+  public double getCacheSize() {
+    return cacheSize;
+  }
+
+  /**
+   * Set the kernel cache size of each worker in MB, by default the cache size of the base
+   * parameters. The search requires about threads x cache size of memory on top of the problem.
+   */
+  public void setCacheSize(double cacheSize) {
+    this.cacheSize = cacheSize;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  /** Set the seed of the random generator used to draw folds. */
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  protected svm_problem prob;
+  protected svm_parameter param;
+  protected int nrfold;
+  protected int threads;
+  protected double cacheSize;
+  protected long seed;
+  protected List<IXValListener> listeners;
+  protected AtomicBoolean cancelled;
+}
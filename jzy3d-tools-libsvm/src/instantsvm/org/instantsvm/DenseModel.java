@@ -0,0 +1,258 @@
+package org.instantsvm;
+
+import java.util.stream.IntStream;
+
+import libsvm.svm_model;
+import libsvm.svm_node;
+import libsvm.svm_parameter;
+
+/**
+ * A copy of a trained {@link svm_model} where support vectors are stored in a dense row-major
+ * matrix, to evaluate large batches of queries without going through sparse {@link svm_node}
+ * arrays.
+ *
+ * Queries are given as a packed array of {@link #getDimensions()} values per query, where missing
+ * features of a sparse vector are 0. Batches are split in chunks evaluated in parallel. Results are
+ * the ones of {@link libsvm.svm#svm_predict(svm_model, svm_node[])}, up to rounding errors since
+ * the RBF kernel is computed with precomputed squared norms as done by libsvm during training.
+ *
+ * Precomputed kernels are not supported.
+ */
+public class DenseModel {
+  /** Number of queries evaluated by a single task */
+  public static final int CHUNK_SIZE = 1024;
+
+  public DenseModel(svm_model model) {
+    if (model.param.kernel_type == svm_parameter.PRECOMPUTED)
+      throw new IllegalArgumentException("precomputed kernels can not be evaluated densely");
+
+    this.model = model;
+    this.param = model.param;
+    this.l = model.l;
+
+    int maxIndex = -1;
+    for (svm_node[] sv : model.SV)
+      for (svm_node node : sv)
+        maxIndex = Math.max(maxIndex, node.index);
+    this.dims = maxIndex + 1;
+
+    this.sv = new double[l * dims];
+    this.svSquare = new double[l];
+    for (int i = 0; i < l; i++) {
+      double sum = 0;
+      for (svm_node node : model.SV[i]) {
+        sv[i * dims + node.index] = node.value;
+        sum += node.value * node.value;
+      }
+      svSquare[i] = sum;
+    }
+
+    this.regression = param.svm_type == svm_parameter.ONE_CLASS
+        || param.svm_type == svm_parameter.EPSILON_SVR || param.svm_type == svm_parameter.NU_SVR;
+    this.coef = regression ? model.sv_coef[0] : null;
+  }
+
+  /** Number of values per query, i.e. the highest feature index of the support vectors + 1. */
+  public int getDimensions() {
+    return dims;
+  }
+
+  public svm_model getModel() {
+    return model;
+  }
+
+  /** Predict a single dense query of {@link #getDimensions()} values. */
+  public double predict(double[] query) {
+    double[] kvalue = regression ? null : new double[l];
+    return predict(query, 0, kvalue);
+  }
+
+  /**
+   * Predict 2-D queries, x being the feature of index 0 and y the feature of index 1.
+   */
+  public double[] predict(double[] x, double[] y) {
+    if (dims > 2)
+      throw new IllegalArgumentException("model expects " + dims + " features");
+
+    double[] queries = new double[x.length * dims];
+    for (int i = 0; i < x.length; i++) {
+      if (dims > 0)
+        queries[i * dims] = x[i];
+      if (dims > 1)
+        queries[i * dims + 1] = y[i];
+    }
+    double[] out = new double[x.length];
+    predictAll(queries, out);
+    return out;
+  }
+
+  /**
+   * Predict the 2-D queries of a grid, x being the feature of index 0 and y the feature of index 1.
+   * Results are stored for each x value, for each y value, i.e. out[xi * ys.length + yi].
+   *
+   * For RBF regression models, the kernel is separable: exp(-g|q-s|^2) = exp(-g(qx-sx)^2) *
+   * exp(-g(qy-sy)^2), so that kernel factors are computed once per grid row and column, and each
+   * grid point only requires a dot product of the factors.
+   */
+  public double[] predictGrid(final double[] xs, final double[] ys) {
+    if (!regression || param.kernel_type != svm_parameter.RBF || dims > 2
+        || (long) ys.length * l > MAX_GRID_FACTORS) {
+      double[] x = new double[xs.length * ys.length];
+      double[] y = new double[xs.length * ys.length];
+      for (int i = 0; i < xs.length; i++) {
+        for (int j = 0; j < ys.length; j++) {
+          x[i * ys.length + j] = xs[i];
+          y[i * ys.length + j] = ys[j];
+        }
+      }
+      return predict(x, y);
+    }
+
+    final int ny = ys.length;
+    final double[] yFactors = new double[ny * l];
+    IntStream.range(0, ny).parallel().forEach(j -> {
+      for (int i = 0; i < l; i++)
+        yFactors[j * l + i] = dims > 1 ? factor(ys[j], sv[i * dims + 1]) : 1;
+    });
+
+    final double[] out = new double[xs.length * ny];
+    IntStream.range(0, xs.length).parallel().forEach(xi -> {
+      double[] xFactors = new double[l];
+      for (int i = 0; i < l; i++)
+        xFactors[i] = coef[i] * (dims > 0 ? factor(xs[xi], sv[i * dims]) : 1);
+
+      for (int j = 0; j < ny; j++) {
+        double sum = 0;
+        int row = j * l;
+        for (int i = 0; i < l; i++)
+          sum += xFactors[i] * yFactors[row + i];
+        sum -= model.rho[0];
+        if (param.svm_type == svm_parameter.ONE_CLASS)
+          sum = (sum > 0) ? 1 : -1;
+        out[xi * ny + j] = sum;
+      }
+    });
+    return out;
+  }
+
+  private double factor(double q, double s) {
+    double d = q - s;
+    return Math.exp(-param.gamma * d * d);
+  }
+
+  /** Maximum number of kernel factors precomputed by {@link #predictGrid(double[], double[])} */
+  public static final int MAX_GRID_FACTORS = 1 << 24;
+
+  /**
+   * Predict a batch of packed dense queries and store results in out, which size is the number of
+   * queries.
+   */
+  public void predictAll(final double[] queries, final double[] out) {
+    final int n = out.length;
+    int chunks = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+    IntStream.range(0, chunks).parallel().forEach(c -> {
+      double[] kvalue = regression ? null : new double[l];
+      int end = Math.min(n, (c + 1) * CHUNK_SIZE);
+      for (int q = c * CHUNK_SIZE; q < end; q++)
+        out[q] = predict(queries, q * dims, kvalue);
+    });
+  }
+
+  /* */
+
+  protected double predict(double[] queries, int offset, double[] kvalue) {
+    double qSquare = 0;
+    if (param.kernel_type == svm_parameter.RBF)
+      for (int d = 0; d < dims; d++)
+        qSquare += queries[offset + d] * queries[offset + d];
+
+    if (regression) {
+      double sum = 0;
+      for (int i = 0; i < l; i++)
+        sum += coef[i] * kernel(queries, offset, qSquare, i);
+      sum -= model.rho[0];
+      if (param.svm_type == svm_parameter.ONE_CLASS)
+        return (sum > 0) ? 1 : -1;
+      return sum;
+    } else {
+      for (int i = 0; i < l; i++)
+        kvalue[i] = kernel(queries, offset, qSquare, i);
+      return vote(kvalue);
+    }
+  }
+
+  protected double kernel(double[] queries, int offset, double qSquare, int i) {
+    double dot = 0;
+    int row = i * dims;
+    for (int d = 0; d < dims; d++)
+      dot += queries[offset + d] * sv[row + d];
+
+    switch (param.kernel_type) {
+      case svm_parameter.LINEAR:
+        return dot;
+      case svm_parameter.POLY:
+        return powi(param.gamma * dot + param.coef0, param.degree);
+      case svm_parameter.RBF:
+        return Math.exp(-param.gamma * Math.max(0, qSquare + svSquare[i] - 2 * dot));
+      case svm_parameter.SIGMOID:
+        return Math.tanh(param.gamma * dot + param.coef0);
+      default:
+        return 0;
+    }
+  }
+
+  /** One-against-one voting, as in libsvm svm_predict_values */
+  protected double vote(double[] kvalue) {
+    int nr_class = model.nr_class;
+    int[] vote = new int[nr_class];
+    int p = 0;
+    int si = 0;
+    for (int i = 0; i < nr_class; i++) {
+      int sj = si + model.nSV[i];
+      for (int j = i + 1; j < nr_class; j++) {
+        double sum = 0;
+        double[] coef1 = model.sv_coef[j - 1];
+        double[] coef2 = model.sv_coef[i];
+        for (int k = 0; k < model.nSV[i]; k++)
+          sum += coef1[si + k] * kvalue[si + k];
+        for (int k = 0; k < model.nSV[j]; k++)
+          sum += coef2[sj + k] * kvalue[sj + k];
+        sum -= model.rho[p++];
+
+        if (sum > 0)
+          ++vote[i];
+        else
+          ++vote[j];
+        sj += model.nSV[j];
+      }
+      si += model.nSV[i];
+    }
+
+    int vote_max_idx = 0;
+    for (int i = 1; i < nr_class; i++)
+      if (vote[i] > vote[vote_max_idx])
+        vote_max_idx = i;
+    return model.label[vote_max_idx];
+  }
+
+  private static double powi(double base, int times) {
+    double tmp = base, ret = 1.0;
+
+    for (int t = times; t > 0; t /= 2) {
+      if (t % 2 == 1)
+        ret *= tmp;
+      tmp = tmp * tmp;
+    }
+    return ret;
+  }
+
+  protected svm_model model;
+  protected svm_parameter param;
+  protected int l;
+  protected int dims;
+  protected double[] sv;
+  protected double[] svSquare;
+  protected double[] coef;
+  protected boolean regression;
+}
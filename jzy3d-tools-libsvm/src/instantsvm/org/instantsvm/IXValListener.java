@@ -0,0 +1,20 @@
+package org.instantsvm;
+
+/**
+ * Receives the progress of a {@link CrossValidation} grid search.
+ *
+ * Listeners are called from worker threads, one parameter point at a time, while holding the lock
+ * of the result: the partial result is consistent during the call, and should not be kept to be
+ * read later from another thread without synchronizing on it. Listeners should return quickly, as
+ * other workers wait for them to report their points.
+ */
+public interface IXValListener {
+  /**
+   * Called each time all folds of a parameter point are evaluated.
+   *
+   * @param partial the errors evaluated so far, NaN for pending points, and the best point so far.
+   * @param c index of the evaluated C value
+   * @param g index of the evaluated gamma value
+   */
+  public void pointEvaluated(XValResult partial, int c, int g);
+}
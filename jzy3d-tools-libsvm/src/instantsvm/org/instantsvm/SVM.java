@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Vector;
 
+import org.instantsvm.utils.Conversion;
 import org.instantsvm.utils.LibSvmConsole;
 import org.instantsvm.utils.LibSvmIO;
 
@@ -34,46 +35,107 @@ public class SVM {
 
     load(vx, vy);
     model = svm.svm_train(prob, param);
+    denseModel = null;
     parameters.setParam(param);
   }
 
   public XValResult xval(Vector<svm_node[]> vx, Vector<Double> vy, Parameters parameters,
       int nrfold, double cMin, double cMax, int cSteps, double gMin, double gMax, int gSteps) {
+    return xval(vx, vy, parameters, nrfold, cMin, cMax, cSteps, gMin, gMax, gSteps, null);
+  }
+
+  /**
+   * Search the C and gamma parameters giving the lowest cross validation error. Parameter points
+   * and folds are evaluated concurrently by a {@link CrossValidation}, and each evaluated point is
+   * reported to the listener, if not null. The search can be stopped with {@link #cancelXval()}
+   * or by interrupting the calling thread, in which case the result is marked as cancelled and only
+   * holds the points evaluated so far.
+   */
+  public XValResult xval(Vector<svm_node[]> vx, Vector<Double> vy, Parameters parameters,
+      int nrfold, double cMin, double cMax, int cSteps, double gMin, double gMax, int gSteps,
+      IXValListener listener) {
     this.parameters = parameters;
     this.param = parameters.getParam();
 
     load(vx, vy);
 
+    CrossValidation xval = new CrossValidation(prob, param, nrfold);
+    if (listener != null)
+      xval.addListener(listener);
+    crossValidation = xval;
+    try {
+      return xval.search(cMin, cMax, cSteps, gMin, gMax, gSteps);
+    } finally {
+      crossValidation = null;
+    }
+  }
 
-    double[][] errors = new double[cSteps][gSteps];
-    double cRange = cMax - cMin;
-    double gRange = gMax - gMin;
-    double cStep = cRange / cSteps;
-    double gStep = gRange / gSteps;
-    double bestC = 0;
-    double bestG = 0;
+  /** Stop the running cross validation, if any. */
+  public void cancelXval() {
+    CrossValidation xval = crossValidation;
+    if (xval != null)
+      xval.cancel();
+  }
 
-    double min = Double.POSITIVE_INFINITY;
-    for (int i = 0; i < cSteps; i++) {
-      for (int j = 0; j < gSteps; j++) {
-        param.C = cMin + cStep * i;
-        param.gamma = gMin + gStep * j;
+  public double[] apply(Vector<svm_node[]> x) {
+    return predict(x, null, 0);
+  }
 
-        errors[i][j] = do_cross_validation(nrfold);
+  /**
+   * Predict the value of 2-D inputs, x being the feature of index 0 and y the feature of index 1.
+   * Evaluation is made in batch on a {@link DenseModel} of the support vectors, and does not
+   * report errors on the console. Models with more than 2 features are evaluated with
+   * {@link svm#svm_predict(svm_model, svm_node[])}, as {@link #apply(double, double)} does.
+   */
+  public double[] apply(double[] x, double[] y) {
+    DenseModel dense = getDenseModel();
+    if (dense != null && dense.getDimensions() <= 2)
+      return dense.predict(x, y);
+
+    double[] output = new double[x.length];
+    for (int i = 0; i < x.length; i++)
+      output[i] = svm.svm_predict(model, Conversion.toVector(x[i], y[i]));
+    return output;
+  }
 
-        if (errors[i][j] < min) {
-          min = errors[i][j];
-          bestC = param.C;
-          bestG = param.gamma;
-        }
-      }
-    }
+  /**
+   * Predict the value of a grid of 2-D inputs, stored for each x value, for each y value.
+   */
+  public double[] applyGrid(double[] xs, double[] ys) {
+    DenseModel dense = getDenseModel();
+    if (dense != null && dense.getDimensions() <= 2)
+      return dense.predictGrid(xs, ys);
+
+    double[] output = new double[xs.length * ys.length];
+    for (int i = 0; i < xs.length; i++)
+      for (int j = 0; j < ys.length; j++)
+        output[i * ys.length + j] = svm.svm_predict(model, Conversion.toVector(xs[i], ys[j]));
+    return output;
+  }
 
-    return new XValResult(errors, bestC, bestG);
+  /** Predict the value of a 2-D input without building an svm_node array. */
+  public double apply(double x, double y) {
+    DenseModel dense = getDenseModel();
+    if (dense != null && dense.getDimensions() <= 2) {
+      double[] query = new double[dense.getDimensions()];
+      if (query.length > 0)
+        query[0] = x;
+      if (query.length > 1)
+        query[1] = y;
+      return dense.predict(query);
+    }
+    return svm.svm_predict(model, Conversion.toVector(x, y));
   }
 
-  public double[] apply(Vector<svm_node[]> x) {
-    return predict(x, null, 0);
+  /**
+   * Return a dense copy of the model for batch prediction, built at first call after training or
+   * loading, or null if the kernel can not be evaluated densely.
+   */
+  public synchronized DenseModel getDenseModel() {
+    if (denseModel == null && model != null
+        && model.param.kernel_type != svm_parameter.PRECOMPUTED)
+      denseModel = new DenseModel(model);
+    return denseModel;
   }
 
   public Parameters getParameters() {
@@ -118,6 +180,7 @@ public class SVM {
 
   protected void mountModel(svm_model model) {
     this.model = model;
+    this.denseModel = null;
     this.parameters = new Parameters(model.param);
   }
 
@@ -260,6 +323,8 @@ public class SVM {
   protected svm_parameter param;
   protected svm_problem prob;
   protected svm_model model;
+  protected DenseModel denseModel;
+  protected volatile CrossValidation crossValidation;
   // protected int cross_validation;
   // protected int nr_fold;
   protected Parameters parameters;
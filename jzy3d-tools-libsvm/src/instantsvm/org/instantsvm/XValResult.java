@@ -7,6 +7,12 @@ public class XValResult {
     this.bestG = bestG;
   }
 
+  public void setBest(double bestC, double bestG, double bestError) {
+    this.bestC = bestC;
+    this.bestG = bestG;
+    this.bestError = bestError;
+  }
+
   @Override
   public String toString() {
     return "C = " + bestC + " gamma=" + bestG;
@@ -14,6 +20,8 @@ public class XValResult {
 
   public double bestC;
   public double bestG;
+  public double bestError = Double.NaN;
   public double[][] errors;
-
+  /** true if the search was cancelled before all parameters were evaluated */
+  public boolean cancelled;
 }
@@ -7,6 +7,10 @@ import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.StringTokenizer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 
 //
 // Kernel Cache
@@ -14,44 +18,45 @@ import java.util.StringTokenizer;
 // l is the number of total data items
 // size is the cache size limit in bytes
 //
+// the LRU list is stored in primitive arrays indexed by column, the list head
+// being the extra entry l, so that the cache holds no per-column objects
+//
 class Cache {
   private final int l;
   private long size;
 
-  private final class head_t {
-    head_t prev, next; // a cicular list
-    float[] data;
-    int len; // data[0,len) is cached in this entry
-  }
+  private final float[][] data;
+  private final int[] len; // data[i][0,len[i]) is cached for column i
+  private final int[] prev, next; // a circular list, l is the list head
 
-  private final head_t[] head;
-  private head_t lru_head;
+  private long hits;
+  private long misses;
 
   Cache(int l_, long size_) {
     l = l_;
     size = size_;
-    head = new head_t[l];
-    for (int i = 0; i < l; i++)
-      head[i] = new head_t();
+    data = new float[l][];
+    len = new int[l];
+    prev = new int[l + 1];
+    next = new int[l + 1];
     size /= 4;
-    size -= l * (16 / 4); // sizeof(head_t) == 16
+    size -= l * (16 / 4); // per column bookkeeping, as with one object per column
     size = Math.max(size, 2 * (long) l); // cache must be large enough for two columns
-    lru_head = new head_t();
-    lru_head.next = lru_head.prev = lru_head;
+    next[l] = prev[l] = l;
   }
 
-  private void lru_delete(head_t h) {
+  private void lru_delete(int h) {
     // delete from current location
-    h.prev.next = h.next;
-    h.next.prev = h.prev;
+    next[prev[h]] = next[h];
+    prev[next[h]] = prev[h];
   }
 
-  private void lru_insert(head_t h) {
+  private void lru_insert(int h) {
     // insert to last position
-    h.next = lru_head;
-    h.prev = lru_head.prev;
-    h.prev.next = h;
-    h.next.prev = h;
+    next[h] = l;
+    prev[h] = prev[l];
+    next[prev[h]] = h;
+    prev[l] = h;
   }
 
   // request data [0,len)
@@ -59,36 +64,38 @@ class Cache {
   // (p >= len if nothing needs to be filled)
   // java: simulate pointer using single-element array
   int get_data(int index, float[][] data, int len) {
-    head_t h = head[index];
-    if (h.len > 0)
-      lru_delete(h);
-    int more = len - h.len;
+    if (this.len[index] > 0)
+      lru_delete(index);
+    int more = len - this.len[index];
 
     if (more > 0) {
+      misses++;
+
       // free old space
       while (size < more) {
-        head_t old = lru_head.next;
+        int old = next[l];
         lru_delete(old);
-        size += old.len;
-        old.data = null;
-        old.len = 0;
+        size += this.len[old];
+        this.data[old] = null;
+        this.len[old] = 0;
       }
 
       // allocate new space
       float[] new_data = new float[len];
-      if (h.data != null)
-        System.arraycopy(h.data, 0, new_data, 0, h.len);
-      h.data = new_data;
+      if (this.data[index] != null)
+        System.arraycopy(this.data[index], 0, new_data, 0, this.len[index]);
+      this.data[index] = new_data;
       size -= more;
       do {
-        int _ = h.len;
-        h.len = len;
+        int _ = this.len[index];
+        this.len[index] = len;
         len = _;
       } while (false);
-    }
+    } else
+      hits++;
 
-    lru_insert(h);
-    data[0] = h.data;
+    lru_insert(index);
+    data[0] = this.data[index];
     return len;
   }
 
@@ -96,24 +103,24 @@ class Cache {
     if (i == j)
       return;
 
-    if (head[i].len > 0)
-      lru_delete(head[i]);
-    if (head[j].len > 0)
-      lru_delete(head[j]);
+    if (len[i] > 0)
+      lru_delete(i);
+    if (len[j] > 0)
+      lru_delete(j);
     do {
-      float[] _ = head[i].data;
-      head[i].data = head[j].data;
-      head[j].data = _;
+      float[] _ = data[i];
+      data[i] = data[j];
+      data[j] = _;
     } while (false);
     do {
-      int _ = head[i].len;
-      head[i].len = head[j].len;
-      head[j].len = _;
+      int _ = len[i];
+      len[i] = len[j];
+      len[j] = _;
     } while (false);
-    if (head[i].len > 0)
-      lru_insert(head[i]);
-    if (head[j].len > 0)
-      lru_insert(head[j]);
+    if (len[i] > 0)
+      lru_insert(i);
+    if (len[j] > 0)
+      lru_insert(j);
 
     if (i > j)
       do {
@@ -121,24 +128,36 @@ class Cache {
         i = j;
         j = _;
       } while (false);
-    for (head_t h = lru_head.next; h != lru_head; h = h.next) {
-      if (h.len > i) {
-        if (h.len > j)
+    for (int h = next[l]; h != l;) {
+      int n = next[h];
+      if (len[h] > i) {
+        if (len[h] > j)
           do {
-            float _ = h.data[i];
-            h.data[i] = h.data[j];
-            h.data[j] = _;
+            float _ = data[h][i];
+            data[h][i] = data[h][j];
+            data[h][j] = _;
           } while (false);
         else {
           // give up
           lru_delete(h);
-          size += h.len;
-          h.data = null;
-          h.len = 0;
+          size += len[h];
+          data[h] = null;
+          len[h] = 0;
         }
       }
+      h = n;
     }
   }
+
+  // number of requests served without computing any kernel value
+  long hits() {
+    return hits;
+  }
+
+  // number of requests that computed some kernel values
+  long misses() {
+    return misses;
+  }
 }
 
 
@@ -155,12 +174,39 @@ abstract class QMatrix {
   abstract float[] get_QD();
 
   abstract void swap_index(int i, int j);
+
+  // the column cache, if any, to report its statistics
+  Cache get_cache() {
+    return null;
+  }
 };
 
 
+//
+// when all samples have sorted feature indices and at least half of the
+// features are set, samples are also stored densely, row-major, with missing
+// features being 0: dense dot products add the same non zero products in the
+// same order as sparse ones, hence give the same kernel values.
+//
+// the dense copy may use at most half of cache_size, and is deducted from
+// the memory left to the kernel cache, see cache_bytes().
+//
+// columns of at least 2 * PARALLEL_CHUNK values are computed by the kernel
+// pool of svm, read once per kernel, each value being computed independently
+// of others. a training running in a fork/join pool, e.g. a fold of a cross
+// validation, computes its columns in that pool instead, so that nested
+// parallelism does not multiply threads.
+//
 abstract class Kernel extends QMatrix {
+  static final int PARALLEL_CHUNK = 2048;
+  static final long MAX_DENSE_SIZE = 1 << 26; // number of dense values
+
   private svm_node[][] x;
   private final double[] x_square;
+  private final double[] dense; // null if samples are stored sparsely only
+  private final int dims;
+  private final long cache_bytes;
+  private final ForkJoinPool pool; // null to compute columns in the calling thread
 
   // svm_parameter
   private final int kernel_type;
@@ -181,6 +227,13 @@ abstract class Kernel extends QMatrix {
       x[i] = x[j];
       x[j] = _;
     } while (false);
+    if (dense != null)
+      for (int d = 0, a = i * dims, b = j * dims; d < dims; d++, a++, b++)
+        do {
+          double _ = dense[a];
+          dense[a] = dense[b];
+          dense[b] = _;
+        } while (false);
     if (x_square != null)
       do {
         double _ = x_square[i];
@@ -203,13 +256,13 @@ abstract class Kernel extends QMatrix {
   double kernel_function(int i, int j) {
     switch (kernel_type) {
       case svm_parameter.LINEAR:
-        return dot(x[i], x[j]);
+        return dot(i, j);
       case svm_parameter.POLY:
-        return powi(gamma * dot(x[i], x[j]) + coef0, degree);
+        return powi(gamma * dot(i, j) + coef0, degree);
       case svm_parameter.RBF:
-        return Math.exp(-gamma * (x_square[i] + x_square[j] - 2 * dot(x[i], x[j])));
+        return Math.exp(-gamma * (x_square[i] + x_square[j] - 2 * dot(i, j)));
       case svm_parameter.SIGMOID:
-        return Math.tanh(gamma * dot(x[i], x[j]) + coef0);
+        return Math.tanh(gamma * dot(i, j) + coef0);
       case svm_parameter.PRECOMPUTED:
         return x[i][(int) (x[j][0].value)].value;
       default:
@@ -224,15 +277,110 @@ abstract class Kernel extends QMatrix {
     this.coef0 = param.coef0;
 
     x = x_.clone();
+    ForkJoinPool caller = ForkJoinTask.getPool();
+    pool = caller != null ? caller : svm.kernel_pool();
+
+    long budget = (long) (param.cache_size * (1 << 20));
+    int max_index =
+        kernel_type == svm_parameter.PRECOMPUTED ? -1 : dense_max_index(l, x, budget / 2 / 8);
+    if (max_index >= 0) {
+      dims = max_index + 1;
+      dense = new double[l * dims];
+      for (int i = 0; i < l; i++)
+        for (svm_node node : x[i])
+          dense[i * dims + node.index] = node.value;
+    } else {
+      dims = 0;
+      dense = null;
+    }
+    cache_bytes = budget - (dense == null ? 0 : 8L * dense.length);
 
     if (kernel_type == svm_parameter.RBF) {
       x_square = new double[l];
       for (int i = 0; i < l; i++)
-        x_square[i] = dot(x[i], x[i]);
+        x_square[i] = dot(i, i);
     } else
       x_square = null;
   }
 
+  // size in bytes left to the kernel cache once samples are stored
+  long cache_bytes() {
+    return cache_bytes;
+  }
+
+  // return the highest feature index if samples should be stored densely in at most max_size
+  // values, -1 otherwise
+  private static int dense_max_index(int l, svm_node[][] x, long max_size) {
+    int max_index = -1;
+    long nnz = 0;
+    for (int i = 0; i < l; i++) {
+      int last = -1;
+      for (svm_node node : x[i]) {
+        if (node.index <= last)
+          return -1; // unsorted, sparse dot products skip some products
+        last = node.index;
+      }
+      max_index = Math.max(max_index, last);
+      nnz += x[i].length;
+    }
+    long size = (long) l * (max_index + 1);
+    if (max_index < 0 || size > Math.min(MAX_DENSE_SIZE, max_size) || 2 * nnz < size)
+      return -1;
+    return max_index;
+  }
+
+  private double dot(int i, int j) {
+    if (dense == null)
+      return dot(x[i], x[j]);
+    double sum = 0;
+    for (int d = 0, a = i * dims, b = j * dims; d < dims; d++)
+      sum += dense[a++] * dense[b++];
+    return sum;
+  }
+
+  // data[j] = (float) kernel_function(i, j) for j in [start,len)
+  void kernel_column(int i, float[] data, int start, int len) {
+    if (pool == null || len - start < 2 * PARALLEL_CHUNK) {
+      for (int j = start; j < len; j++)
+        data[j] = (float) kernel_function(i, j);
+      return;
+    }
+
+    ColumnTask task = new ColumnTask(this, i, data, start, len);
+    if (ForkJoinTask.getPool() == pool)
+      task.invoke();
+    else
+      pool.invoke(task);
+  }
+
+  private static final class ColumnTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final Kernel kernel;
+    private final int i;
+    private final float[] data;
+    private final int start, len;
+
+    ColumnTask(Kernel kernel, int i, float[] data, int start, int len) {
+      this.kernel = kernel;
+      this.i = i;
+      this.data = data;
+      this.start = start;
+      this.len = len;
+    }
+
+    @Override
+    protected void compute() {
+      if (len - start <= PARALLEL_CHUNK) {
+        for (int j = start; j < len; j++)
+          data[j] = (float) kernel.kernel_function(i, j);
+      } else {
+        int mid = (start + len) >>> 1;
+        invokeAll(new ColumnTask(kernel, i, data, start, mid),
+            new ColumnTask(kernel, i, data, mid, len));
+      }
+    }
+  }
+
   static double dot(svm_node[] x, svm_node[] y) {
     double sum = 0;
     int xlen = x.length;
@@ -672,6 +820,13 @@ class Solver {
     si.upper_bound_n = Cn;
 
     svm.info("\noptimization finished, #iter = " + iter + "\n");
+
+    Cache cache = Q.get_cache();
+    if (cache != null) {
+      long requests = cache.hits() + cache.misses();
+      svm.info("kernel cache hits = " + cache.hits() + "/" + requests + " ("
+          + (requests > 0 ? 100 * cache.hits() / requests : 0) + "%)\n");
+    }
   }
 
   // return 1 if already optimal, return 0 otherwise
@@ -1084,7 +1239,7 @@ class SVC_Q extends Kernel {
   SVC_Q(svm_problem prob, svm_parameter param, byte[] y_) {
     super(prob.l, prob.x, param);
     y = y_.clone();
-    cache = new Cache(prob.l, (long) (param.cache_size * (1 << 20)));
+    cache = new Cache(prob.l, cache_bytes());
     QD = new float[prob.l];
     for (int i = 0; i < prob.l; i++)
       QD[i] = (float) kernel_function(i, i);
@@ -1095,12 +1250,20 @@ class SVC_Q extends Kernel {
     float[][] data = new float[1][];
     int start, j;
     if ((start = cache.get_data(i, data, len)) < len) {
+      // (float) (y[i] * y[j] * k) == y[i] * y[j] * (float) k as y is +1 or -1
+      kernel_column(i, data[0], start, len);
       for (j = start; j < len; j++)
-        data[0][j] = (float) (y[i] * y[j] * kernel_function(i, j));
+        if (y[i] != y[j])
+          data[0][j] = -data[0][j];
     }
     return data[0];
   }
 
+  @Override
+  Cache get_cache() {
+    return cache;
+  }
+
   @Override
   float[] get_QD() {
     return QD;
@@ -1130,7 +1293,7 @@ class ONE_CLASS_Q extends Kernel {
 
   ONE_CLASS_Q(svm_problem prob, svm_parameter param) {
     super(prob.l, prob.x, param);
-    cache = new Cache(prob.l, (long) (param.cache_size * (1 << 20)));
+    cache = new Cache(prob.l, cache_bytes());
     QD = new float[prob.l];
     for (int i = 0; i < prob.l; i++)
       QD[i] = (float) kernel_function(i, i);
@@ -1139,14 +1302,17 @@ class ONE_CLASS_Q extends Kernel {
   @Override
   float[] get_Q(int i, int len) {
     float[][] data = new float[1][];
-    int start, j;
-    if ((start = cache.get_data(i, data, len)) < len) {
-      for (j = start; j < len; j++)
-        data[0][j] = (float) kernel_function(i, j);
-    }
+    int start;
+    if ((start = cache.get_data(i, data, len)) < len)
+      kernel_column(i, data[0], start, len);
     return data[0];
   }
 
+  @Override
+  Cache get_cache() {
+    return cache;
+  }
+
   @Override
   float[] get_QD() {
     return QD;
@@ -1177,7 +1343,7 @@ class SVR_Q extends Kernel {
   SVR_Q(svm_problem prob, svm_parameter param) {
     super(prob.l, prob.x, param);
     l = prob.l;
-    cache = new Cache(l, (long) (param.cache_size * (1 << 20)));
+    cache = new Cache(l, cache_bytes());
     QD = new float[2 * l];
     sign = new byte[2 * l];
     index = new int[2 * l];
@@ -1216,10 +1382,8 @@ class SVR_Q extends Kernel {
   float[] get_Q(int i, int len) {
     float[][] data = new float[1][];
     int j, real_i = index[i];
-    if (cache.get_data(real_i, data, l) < l) {
-      for (j = 0; j < l; j++)
-        data[0][j] = (float) kernel_function(real_i, j);
-    }
+    if (cache.get_data(real_i, data, l) < l)
+      kernel_column(real_i, data[0], 0, l);
 
     // reorder and copy
     float buf[] = buffer[next_buffer];
@@ -1234,6 +1398,11 @@ class SVR_Q extends Kernel {
   float[] get_QD() {
     return QD;
   }
+
+  @Override
+  Cache get_cache() {
+    return cache;
+  }
 }
 
 
@@ -1257,6 +1426,42 @@ public class svm {
     svm_print_string.print(s);
   }
 
+  private static int kernel_threads = Runtime.getRuntime().availableProcessors();
+  private static ForkJoinPool kernel_pool;
+
+  /**
+   * Set the number of threads computing kernel columns during training, by default the number of
+   * available processors. With one thread, columns are computed by the training thread. Trained
+   * models do not depend on the number of threads.
+   */
+  public static synchronized void svm_set_kernel_threads(int threads) {
+    threads = Math.max(1, threads);
+    // trainings in progress keep the pool they started with: it is not shut down, and its idle
+    // daemon threads terminate by themselves
+    if (threads != kernel_threads)
+      kernel_pool = null;
+    kernel_threads = threads;
+  }
+
+  public static synchronized int svm_get_kernel_threads() {
+    return kernel_threads;
+  }
+
+  // the pool computing kernel columns, or null to compute them in the calling thread
+  static synchronized ForkJoinPool kernel_pool() {
+    if (kernel_threads <= 1)
+      return null;
+    if (kernel_pool == null)
+      kernel_pool = new ForkJoinPool(kernel_threads, pool -> {
+        ForkJoinWorkerThread thread =
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("svm-kernel-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+      }, null, false);
+    return kernel_pool;
+  }
+
   private static void solve_c_svc(svm_problem prob, svm_parameter param, double[] alpha,
       Solver.SolutionInfo si, double Cp, double Cn) {
     int l = prob.l;
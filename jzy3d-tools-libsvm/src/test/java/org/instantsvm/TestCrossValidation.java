@@ -0,0 +1,79 @@
+package org.instantsvm;
+
+import java.util.Random;
+
+import org.instantsvm.regression.RegressionParameters;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import libsvm.svm;
+import libsvm.svm_node;
+import libsvm.svm_parameter;
+import libsvm.svm_problem;
+
+public class TestCrossValidation {
+  @BeforeClass
+  public static void quiet() {
+    svm.svm_set_print_string_function(s -> {
+    });
+  }
+
+  @Test
+  public void parallelSearchMatchesSequential() {
+    svm_problem prob = problem(90);
+    svm_parameter param = new RegressionParameters(0.01, 1, 0.5).getParam();
+
+    CrossValidation sequential = new CrossValidation(prob, param, 3);
+    sequential.setThreads(1);
+    XValResult expected = sequential.search(1, 100, 4, 0.1, 2, 4);
+
+    CrossValidation parallel = new CrossValidation(prob, param, 3);
+    parallel.setThreads(4);
+    XValResult actual = parallel.search(1, 100, 4, 0.1, 2, 4);
+
+    Assert.assertFalse(actual.cancelled);
+    Assert.assertEquals(expected.bestC, actual.bestC, 0);
+    Assert.assertEquals(expected.bestG, actual.bestG, 0);
+    Assert.assertEquals(expected.bestError, actual.bestError, 0);
+    for (int i = 0; i < expected.errors.length; i++)
+      Assert.assertArrayEquals(expected.errors[i], actual.errors[i], 0);
+  }
+
+  @Test
+  public void interruptionCancelsTheSearch() {
+    svm_problem prob = problem(60);
+    svm_parameter param = new RegressionParameters(0.01, 1, 0.5).getParam();
+
+    CrossValidation xval = new CrossValidation(prob, param, 3);
+    xval.setThreads(2);
+    Thread.currentThread().interrupt();
+    XValResult result = xval.search(1, 100, 8, 0.1, 2, 8);
+
+    Assert.assertTrue(Thread.interrupted());
+    Assert.assertTrue(result.cancelled);
+    Assert.assertTrue(xval.isCancelled());
+  }
+
+  protected svm_problem problem(int n) {
+    Random random = new Random(1);
+    svm_problem prob = new svm_problem();
+    prob.l = n;
+    prob.x = new svm_node[n][];
+    prob.y = new double[n];
+    for (int i = 0; i < n; i++) {
+      double x = random.nextDouble() * 4 - 2;
+      double y = random.nextDouble() * 4 - 2;
+      prob.x[i] = new svm_node[] {node(0, x), node(1, y)};
+      prob.y[i] = Math.sin(x) * Math.cos(y) + random.nextGaussian() * 0.05;
+    }
+    return prob;
+  }
+
+  protected svm_node node(int index, double value) {
+    svm_node node = new svm_node();
+    node.index = index;
+    node.value = value;
+    return node;
+  }
+}